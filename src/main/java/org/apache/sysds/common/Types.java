@@ -841,6 +841,7 @@ public interface Types {
 		FEDERATED, // A federated matrix
 		PROTO,  // protocol buffer representation
 		HDF5,   // Hierarchical Data Format (HDF)
+		COLUMNAR, // binary columnar representation (w/ column projection)
 		UNKNOWN;
 		
 		public boolean isIJV() {
@@ -848,7 +849,7 @@ public interface Types {
 		}
 		
 		public boolean isTextFormat() {
-			return this != BINARY && this != COMPRESSED;
+			return this != BINARY && this != COMPRESSED && this != COLUMNAR;
 		}
 		
 		public static boolean isTextFormat(String fmt) {
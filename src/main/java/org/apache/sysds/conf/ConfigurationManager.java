@@ -262,10 +262,30 @@ public class ConfigurationManager{
 		return getDMLConfig().getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION);
 	}
 	
+	public static boolean isFederatedBinaryProtocol(){
+		return getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_BINARY_PROTOCOL);
+	}
+
+	public static boolean isFederatedPipelining(){
+		return getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_PIPELINING);
+	}
+
 	public static boolean isFederatedReadCacheEnabled(){
 		return getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_READCACHE);
 	}
 
+	public static int getFederatedReadCacheLimit(){
+		return getDMLConfig().getIntValue(DMLConfig.FEDERATED_READCACHE_LIMIT);
+	}
+
+	public static String getFederatedReadCachePolicy(){
+		return getDMLConfig().getTextValue(DMLConfig.FEDERATED_READCACHE_POLICY);
+	}
+
+	public static int getFederatedReuseCacheLimit(){
+		return getDMLConfig().getIntValue(DMLConfig.FEDERATED_REUSECACHE_LIMIT);
+	}
+
 	public static boolean isPrefetchEnabled() {
 		return (getDMLConfig().getBooleanValue(DMLConfig.ASYNC_PREFETCH)
 			|| OptimizerUtils.ASYNC_PREFETCH);
@@ -88,6 +88,7 @@ public class DMLConfig
 	public static final String COMPRESSED_COST_MODEL= "sysds.compressed.costmodel";
 	public static final String COMPRESSED_TRANSPOSE = "sysds.compressed.transpose";
 	public static final String COMPRESSED_TRANSFORMENCODE = "sysds.compressed.transformencode";
+	public static final String COMPRESSED_STREAMREAD = "sysds.compressed.streamread"; // boolean: compress CSV and binary reads in row chunks
 	public static final String NATIVE_BLAS          = "sysds.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysds.native.blas.directory";
 	public static final String DAG_LINEARIZATION    = "sysds.compile.linearization";
@@ -107,8 +108,14 @@ public class DMLConfig
 	public static final String LOCAL_SPARK_NUM_THREADS = "sysds.local.spark.number.threads"; // the number of threads allowed to be used in the local spark configuration, default is * to enable use of all threads.
 	public static final String LINEAGECACHESPILL    = "sysds.lineage.cachespill"; // boolean: whether to spill cache entries to disk
 	public static final String COMPILERASSISTED_RW  = "sysds.lineage.compilerassisted"; // boolean: whether to apply compiler assisted rewrites
+	public static final String LINEAGE_PERSISTENT_DIR = "sysds.lineage.persistentdir"; // string: directory of persistent lineage cache across runs (none disables)
 	public static final String BUFFERPOOL_LIMIT     = "sysds.caching.bufferpoollimit"; // max buffer pool size in percentage
 	public static final String MEMORY_MANAGER       = "sysds.caching.memorymanager"; // static or unified memory manager
+	public static final String BUFFERPOOL_COMPRESSED_LIMIT = "sysds.caching.compressedlimit"; // max size of compressed buffer pool tier in percentage (0 disables)
+	public static final String CACHING_MMAP         = "sysds.caching.mmap"; // boolean: evict dense blocks to memory-mapped files
+	public static final String CACHING_EVICTION_POLICY = "sysds.caching.evictionpolicy"; // string: fifo, lru, or costnsize buffer pool eviction
+	public static final String CACHING_OFFHEAP      = "sysds.caching.offheap"; // boolean: keep released dense blocks in direct memory
+	public static final String CACHING_PREFETCH_DEPTH = "sysds.caching.prefetch.depth"; // int: instruction look-ahead for restoring evicted inputs (0 disables)
 	
 	// Fraction of available memory to use. The available memory is computer when the GPUContext is created
 	// to handle the tradeoff on calling cudaMemGetInfo too often.
@@ -125,7 +132,12 @@ public class DMLConfig
 	public static final String FEDERATED_PAR_INST = "sysds.federated.par_inst";
 	public static final String FEDERATED_PAR_CONN = "sysds.federated.par_conn";
 	public static final String FEDERATED_READCACHE = "sysds.federated.readcache";
+	public static final String FEDERATED_READCACHE_LIMIT = "sysds.federated.readcache.limit"; // max size in % of buffer pool
+	public static final String FEDERATED_READCACHE_POLICY = "sysds.federated.readcache.policy"; // LRU or LFU
+	public static final String FEDERATED_REUSECACHE_LIMIT = "sysds.federated.reusecache.limit"; // max size in % of buffer pool
 	public static final String FEDERATED_COMPRESSION = "sysds.federated.compression";
+	public static final String FEDERATED_BINARY_PROTOCOL = "sysds.federated.binaryprotocol"; // boolean
+	public static final String FEDERATED_PIPELINING = "sysds.federated.pipelining"; // boolean
 	public static final String PRIVACY_CONSTRAINT_MOCK = "sysds.federated.priv_mock";
 	/** Trigger frequency of the collecting and parsing statistics process on registered workers for monitoring in seconds */
 	public static final String FEDERATED_MONITOR_FREQUENCY = "sysds.federated.monitorFreq";
@@ -173,6 +185,7 @@ public class DMLConfig
 		_defaultVals.put(COMPRESSED_COST_MODEL,  "AUTO");
 		_defaultVals.put(COMPRESSED_TRANSPOSE,   "auto");
 		_defaultVals.put(COMPRESSED_TRANSFORMENCODE, "false");
+		_defaultVals.put(COMPRESSED_STREAMREAD,  "false");
 		_defaultVals.put(DAG_LINEARIZATION,      DagLinearizer.DEPTH_FIRST.name());
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_API,            GeneratorAPI.JAVA.name() );
@@ -184,8 +197,14 @@ public class DMLConfig
 		_defaultVals.put(NATIVE_BLAS_DIR,        "none" );
 		_defaultVals.put(LINEAGECACHESPILL,      "true" );
 		_defaultVals.put(COMPILERASSISTED_RW,    "true" );
+		_defaultVals.put(LINEAGE_PERSISTENT_DIR, "none" );
 		_defaultVals.put(BUFFERPOOL_LIMIT,       "15"); // % of total heap
 		_defaultVals.put(MEMORY_MANAGER,         "static"); // static/unified partitioning of heap
+		_defaultVals.put(BUFFERPOOL_COMPRESSED_LIMIT, "0"); // % of total heap
+		_defaultVals.put(CACHING_MMAP,           "false");
+		_defaultVals.put(CACHING_EVICTION_POLICY, null); // CacheableData.CACHING_BUFFER_POLICY
+		_defaultVals.put(CACHING_OFFHEAP,        "false");
+		_defaultVals.put(CACHING_PREFETCH_DEPTH, "0");
 		_defaultVals.put(PRINT_GPU_MEMORY_INFO,  "false" );
 		_defaultVals.put(EVICTION_SHADOW_BUFFERSIZE,  "0.0" );
 		_defaultVals.put(STATS_MAX_WRAP_LEN,     "30" );
@@ -206,8 +225,13 @@ public class DMLConfig
 		_defaultVals.put(FEDERATED_PAR_CONN,     "-1"); // vcores
 		_defaultVals.put(FEDERATED_PAR_INST,     "-1"); // vcores
 		_defaultVals.put(FEDERATED_READCACHE,    "true"); // vcores
+		_defaultVals.put(FEDERATED_READCACHE_LIMIT, "50"); // % of buffer pool size
+		_defaultVals.put(FEDERATED_READCACHE_POLICY, "LRU");
+		_defaultVals.put(FEDERATED_REUSECACHE_LIMIT, "0"); // disabled
 		_defaultVals.put(FEDERATED_MONITOR_FREQUENCY, "3");
 		_defaultVals.put(FEDERATED_COMPRESSION, "none");
+		_defaultVals.put(FEDERATED_BINARY_PROTOCOL, "false");
+		_defaultVals.put(FEDERATED_PIPELINING, "false");
 		_defaultVals.put(PRIVACY_CONSTRAINT_MOCK, null);
 		_defaultVals.put(ASYNC_PREFETCH,   "false" );
 		_defaultVals.put(ASYNC_SPARK_BROADCAST,  "false" );
@@ -458,13 +482,14 @@ public class DMLConfig
 			CP_PARALLEL_OPS, CP_PARALLEL_IO, PARALLEL_ENCODE, NATIVE_BLAS, NATIVE_BLAS_DIR,
 			COMPRESSED_LINALG, COMPRESSED_LOSSY, COMPRESSED_VALID_COMPRESSIONS, COMPRESSED_OVERLAPPING,
 			COMPRESSED_SAMPLING_RATIO, COMPRESSED_SOFT_REFERENCE_COUNT,
-			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, DAG_LINEARIZATION,
+			COMPRESSED_COCODE, COMPRESSED_TRANSPOSE, COMPRESSED_TRANSFORMENCODE, COMPRESSED_STREAMREAD, DAG_LINEARIZATION,
 			CODEGEN, CODEGEN_API, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
-			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
+			STATS_MAX_WRAP_LEN, LINEAGECACHESPILL, COMPILERASSISTED_RW, LINEAGE_PERSISTENT_DIR, BUFFERPOOL_LIMIT, MEMORY_MANAGER,
 			PRINT_GPU_MEMORY_INFO, AVAILABLE_GPUS, SYNCHRONIZE_GPU, EAGER_CUDA_FREE, GPU_RULE_BASED_PLACEMENT,
 			FLOATING_POINT_PRECISION, GPU_EVICTION_POLICY, LOCAL_SPARK_NUM_THREADS, EVICTION_SHADOW_BUFFERSIZE,
 			GPU_MEMORY_ALLOCATOR, GPU_MEMORY_UTILIZATION_FACTOR, USE_SSL_FEDERATED_COMMUNICATION,
-			DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_TIMEOUT, FEDERATED_MONITOR_FREQUENCY, FEDERATED_COMPRESSION,
+			DEFAULT_FEDERATED_INITIALIZATION_TIMEOUT, FEDERATED_TIMEOUT, FEDERATED_MONITOR_FREQUENCY, FEDERATED_COMPRESSION, FEDERATED_BINARY_PROTOCOL, FEDERATED_PIPELINING,
+			FEDERATED_READCACHE_LIMIT, FEDERATED_READCACHE_POLICY, FEDERATED_REUSECACHE_LIMIT,
 			ASYNC_PREFETCH, ASYNC_SPARK_BROADCAST, ASYNC_SPARK_CHECKPOINT, IO_COMPRESSION_CODEC
 		}; 
 		
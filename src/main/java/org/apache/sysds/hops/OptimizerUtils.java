@@ -532,6 +532,29 @@ public class OptimizerUtils
 		return (long)(bufferPoolFactor * maxMem);
 	}
 
+	/**
+	 * Returns the size of the compressed in-memory tier of the
+	 * buffer pool as set in the config (0 if disabled)
+	 *
+	 * @return compressed buffer pool size in bytes
+	 */
+	public static long getCompressedBufferPoolLimit() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		double factor = (double)(conf.getIntValue(DMLConfig.BUFFERPOOL_COMPRESSED_LIMIT))/100;
+		return (long)(factor * InfrastructureAnalyzer.getLocalMaxMemory());
+	}
+
+	/**
+	 * Returns the capacity of the unified memory manager, which
+	 * covers both operation and buffer pool memory (85%).
+	 *
+	 * @return unified memory manager size in bytes
+	 */
+	public static long getUMMLimit() {
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		return (long)(DEFAULT_UMM_UTIL_FACTOR * maxMem);
+	}
+
 	/**
 	 * Check if unified memory manager is in effect
 	 * @return boolean
@@ -565,8 +588,7 @@ public class OptimizerUtils
 		MEMORY_MANAGER = MemoryManager.UNIFIED_MEMORY_MANAGER;
 		UnifiedMemoryManager.cleanup();
 		UnifiedMemoryManager.init();
-		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
-		BUFFER_POOL_SIZE = (long) (DEFAULT_UMM_UTIL_FACTOR * maxMem);
+		BUFFER_POOL_SIZE = getUMMLimit();
 		UnifiedMemoryManager.setUMMLimit(BUFFER_POOL_SIZE);
 	}
 	
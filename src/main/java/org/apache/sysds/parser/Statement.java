@@ -78,6 +78,12 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_NBATCHES = "nbatches";
 	public static final String PS_HE = "he";
 	public static final String PS_NUM_BACKUP_WORKERS = "num_backup_workers";
+	public static final String PS_COMBINE_PUSHES = "combine_pushes";
+	public static final String PS_GRAD_COMPRESSION = "compression";
+	public enum PSGradCompression {
+		NONE, TOPK, QUANTIZE
+	}
+	public static final String PS_GRAD_COMPRESSION_RATIO = "compression_ratio";
 
 	public enum PSModeType {
 		FEDERATED, LOCAL, REMOTE_SPARK
@@ -132,6 +138,7 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_FED_GRADIENTS_FNAME = "1701-NCC-gradients_fname";
 	public static final String PS_FED_AGGREGATION_FNAME = "1701-NCC-aggregation_fname";
 	public static final String PS_FED_MODEL_VARID = "1701-NCC-model_varid";
+	public static final String PS_FED_RESIDUALS = "1701-NCC-residuals";
 
 	public abstract boolean controlStatement();
 	
@@ -47,14 +47,18 @@ import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
 import org.apache.sysds.runtime.compress.lib.CLALibCMOps;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable;
 import org.apache.sysds.runtime.compress.lib.CLALibCompAgg;
 import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
+import org.apache.sysds.runtime.compress.lib.CLALibGroupedAgg;
 import org.apache.sysds.runtime.compress.lib.CLALibMMChain;
 import org.apache.sysds.runtime.compress.lib.CLALibMatrixMult;
 import org.apache.sysds.runtime.compress.lib.CLALibMerge;
+import org.apache.sysds.runtime.compress.lib.CLALibRemoveEmpty;
 import org.apache.sysds.runtime.compress.lib.CLALibRexpand;
 import org.apache.sysds.runtime.compress.lib.CLALibScalar;
 import org.apache.sysds.runtime.compress.lib.CLALibSlice;
+import org.apache.sysds.runtime.compress.lib.CLALibSort;
 import org.apache.sysds.runtime.compress.lib.CLALibSquash;
 import org.apache.sysds.runtime.compress.lib.CLALibTSMM;
 import org.apache.sysds.runtime.compress.lib.CLALibTernaryOp;
@@ -64,6 +68,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.functionobjects.SortIndex;
 import org.apache.sysds.runtime.functionobjects.SwapIndex;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
@@ -594,14 +599,18 @@ public class CompressedMatrixBlock extends MatrixBlock {
 			tmp.setNonZeros(nz);
 			return tmp;
 		}
-		else {
-			// Allow transpose to be compressed output. In general we need to have a transposed flag on
-			// the compressed matrix. https://issues.apache.org/jira/browse/SYSTEMDS-3025
-			String message = op.getClass().getSimpleName() + " -- " + op.fn.getClass().getSimpleName();
-			MatrixBlock tmp = getUncompressed(message, op.getNumThreads());
-			return tmp.reorgOperations(op, ret, startRow, startColumn, length);
+		else if(op.fn instanceof SortIndex && this.getNumColumns() == 1) {
+			// sort the dictionary instead of the rows, if the column is indexable
+			MatrixBlock tmp = CLALibSort.sort(this, op);
+			if(tmp != null)
+				return tmp;
 		}
 
+		// Allow transpose to be compressed output. In general we need to have a transposed flag on
+		// the compressed matrix. https://issues.apache.org/jira/browse/SYSTEMDS-3025
+		String message = op.getClass().getSimpleName() + " -- " + op.fn.getClass().getSimpleName();
+		MatrixBlock tmp = getUncompressed(message, op.getNumThreads());
+		return tmp.reorgOperations(op, ret, startRow, startColumn, length);
 	}
 
 	public boolean isOverlapping() {
@@ -799,9 +808,9 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	}
 
 	@Override
-	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
+	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result, int k) {
 		MatrixBlock right = getUncompressed(weights);
-		return getUncompressed("sortOperations").sortOperations(right, result);
+		return CLALibSort.sortOperations(this, right, result, k);
 	}
 
 	@Override
@@ -816,22 +825,20 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
-		printDecompressWarning("groupedAggOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return CLALibGroupedAgg.groupedAggOperations(this, (MatrixBlock) tgt, (MatrixBlock) wghts, (MatrixBlock) ret,
+			ngroups, op, k);
 	}
 
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
-		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		return CLALibRemoveEmpty.rmempty(this, ret, rows, emptyReturn, select);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.ctable(this, scalar, (MatrixBlock) that, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 1");
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
@@ -841,6 +848,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.ctable(this, scalar, scalar2, resultMap, resultBlock))
+			return;
 		printDecompressWarning("ctableOperations Var 2");
 		MatrixBlock tmp = getUncompressed();
 		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
@@ -857,6 +866,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		final int k = ConfigurationManager.isParallelMatrixOperations() ? InfrastructureAnalyzer
+			.getLocalParallelism() : 1;
+		if(CLALibCTable.ctable(this, (MatrixBlock) that, scalar, ignoreZeros, resultMap, resultBlock, k))
+			return;
 		printDecompressWarning("ctableOperations Var 4");
 		MatrixBlock left = getUncompressed();
 		MatrixBlock right = getUncompressed(that);
@@ -875,6 +888,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
+		if(CLALibCTable.ctable(this, (MatrixBlock) that, (MatrixBlock) that2, resultMap, resultBlock))
+			return;
 		MatrixBlock left = getUncompressed("ctableOperations Var 7");
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(that2);
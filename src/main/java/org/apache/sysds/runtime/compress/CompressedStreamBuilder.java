@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ADictBasedColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
+import org.apache.sysds.runtime.compress.colgroup.scheme.ICLAScheme;
+import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
+import org.apache.sysds.runtime.compress.lib.CLALibScheme;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Compress a matrix from a stream of row chunks, without materializing the full uncompressed input.
+ *
+ * The first chunk is compressed with the normal compression (sampling, co-coding and encoding), and the compression
+ * scheme of the result is extracted. All following chunks are encoded directly with this scheme, which is updated if a
+ * chunk contains values not covered yet. Once all chunks are added, the column groups of the chunks are appended into
+ * the final column groups, where chunks encoded with an outdated version of the scheme are re-encoded with the final
+ * scheme. Therefore, the memory requirements are the compressed size plus one uncompressed chunk.
+ *
+ * All chunks except the last must have the same number of rows.
+ */
+public class CompressedStreamBuilder {
+	private static final Log LOG = LogFactory.getLog(CompressedStreamBuilder.class.getName());
+
+	/** The number of cells in a chunk read by the streaming readers, that is 32MB if dense */
+	public static long CHUNK_CELLS = 1L << 22;
+
+	private final int _nCols;
+	private final int _k;
+	private final CompressionSettingsBuilder _csb;
+
+	/** The compressed chunks, or the uncompressed chunks if the first chunk was not compressible */
+	private final List<MatrixBlock> _chunks = new ArrayList<>();
+	private CompressionScheme _scheme;
+	private boolean _uncompressed = false;
+	private int _blen = -1;
+	private int _nRows = 0;
+	private long _nnz = 0;
+
+	/**
+	 * Create a stream builder with default compression settings.
+	 *
+	 * @param nCols The number of columns of all chunks
+	 * @param k     The parallelization degree
+	 */
+	public CompressedStreamBuilder(int nCols, int k) {
+		this(nCols, k, new CompressionSettingsBuilder());
+	}
+
+	/**
+	 * Create a stream builder.
+	 *
+	 * @param nCols The number of columns of all chunks
+	 * @param k     The parallelization degree
+	 * @param csb   The compression settings used for the compression of the first chunk
+	 */
+	public CompressedStreamBuilder(int nCols, int k, CompressionSettingsBuilder csb) {
+		_nCols = nCols;
+		_k = k;
+		_csb = csb;
+	}
+
+	/**
+	 * Get the number of rows per chunk for the given number of columns, rounded to a multiple of the block size.
+	 *
+	 * @param nCols The number of columns
+	 * @param blen  The block size
+	 * @return The number of rows per chunk
+	 */
+	public static int getChunkRows(long nCols, int blen) {
+		final long rows = CHUNK_CELLS / Math.max(nCols, 1);
+		return (int) Math.max(blen, rows / blen * blen);
+	}
+
+	/**
+	 * Append the next row chunk. The chunk is not referenced after the call, and can not be reused by the caller.
+	 *
+	 * @param chunk The uncompressed chunk to compress and append
+	 */
+	public void append(MatrixBlock chunk) {
+		final int rows = chunk.getNumRows();
+		if(chunk.getNumColumns() != _nCols)
+			throw new DMLCompressionException(
+				"Invalid chunk with " + chunk.getNumColumns() + " columns, expected " + _nCols);
+		if(rows == 0)
+			return;
+		if(_blen < 0)
+			_blen = rows;
+		else if(_nRows % _blen != 0 || rows > _blen)
+			throw new DMLCompressionException(
+				"Invalid chunk with " + rows + " rows, all chunks except the last must have " + _blen + " rows");
+
+		if(chunk.getNonZeros() < 0)
+			chunk.recomputeNonZeros();
+		_nRows += rows;
+		_nnz += chunk.getNonZeros();
+
+		if(_uncompressed)
+			_chunks.add(chunk);
+		else if(_scheme == null)
+			appendFirst(chunk);
+		else
+			_chunks.add(_scheme.updateAndEncode(chunk, _k));
+	}
+
+	/**
+	 * Get the number of rows appended so far.
+	 *
+	 * @return The number of rows
+	 */
+	public int getNumRows() {
+		return _nRows;
+	}
+
+	/**
+	 * Combine all chunks into the final matrix.
+	 *
+	 * @return The compressed matrix, or an uncompressed matrix if the input did not compress.
+	 */
+	public MatrixBlock build() {
+		if(_nRows == 0)
+			return new MatrixBlock(0, _nCols, true);
+		else if(_uncompressed)
+			return combineUncompressed();
+
+		final MatrixBlock ret = combineCompressed();
+		final long uncompressedSize = MatrixBlock.estimateSizeInMemory(_nRows, _nCols, _nnz);
+		if(ret.getInMemorySize() > uncompressedSize) {
+			LOG.info("Streamed compression is larger than uncompressed, therefore decompressing");
+			return ((CompressedMatrixBlock) ret).decompress(_k);
+		}
+		return ret;
+	}
+
+	private void appendFirst(MatrixBlock chunk) {
+		final MatrixBlock c = CompressedMatrixBlockFactory.compress(chunk, _k, _csb).getLeft();
+		if(c instanceof CompressedMatrixBlock && !((CompressedMatrixBlock) c).isOverlapping()) {
+			final CompressedMatrixBlock cmb = (CompressedMatrixBlock) c;
+			cmb.clearSoftReferenceToDecompressed();
+			_scheme = CLALibScheme.getScheme(cmb);
+			_chunks.add(cmb);
+		}
+		else {
+			LOG.debug("First chunk not compressible, therefore not compressing the stream");
+			_uncompressed = true;
+			_chunks.add(chunk);
+		}
+	}
+
+	private MatrixBlock combineUncompressed() {
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(_nRows, _nCols, _nnz);
+		final MatrixBlock ret = new MatrixBlock(_nRows, _nCols, sparse, _nnz);
+		ret.allocateBlock();
+		for(int i = 0; i < _chunks.size(); i++)
+			_chunks.get(i).putInto(ret, i * _blen, 0, false);
+		_chunks.clear();
+		ret.setNonZeros(_nnz);
+		ret.examSparsity(_k);
+		return ret;
+	}
+
+	private MatrixBlock combineCompressed() {
+		final int nChunks = _chunks.size();
+		final int nGroups = ((CompressedMatrixBlock) _chunks.get(0)).getColGroups().size();
+		final AColGroup[][] groups = new AColGroup[nGroups][nChunks];
+		for(int c = 0; c < nChunks; c++) {
+			final List<AColGroup> gs = ((CompressedMatrixBlock) _chunks.get(c)).getColGroups();
+			for(int i = 0; i < nGroups; i++)
+				groups[i][c] = gs.get(i);
+		}
+
+		// re-encode the column groups of chunks encoded with a previous version of the scheme
+		for(int c = 0; c < nChunks - 1; c++) {
+			MatrixBlock tmp = null;
+			for(int i = 0; i < nGroups; i++) {
+				if(!isSameEncoding(groups[i][c], groups[i][nChunks - 1])) {
+					if(tmp == null)
+						tmp = CLALibDecompress.decompress((CompressedMatrixBlock) _chunks.get(c), _k);
+					groups[i][c] = reEncode(i, groups[i][c], tmp);
+				}
+			}
+		}
+		_chunks.clear();
+
+		final List<AColGroup> ret = new ArrayList<>(nGroups);
+		for(int i = 0; i < nGroups; i++) {
+			appendChunks(i, groups[i], ret);
+			groups[i] = null;
+		}
+		return new CompressedMatrixBlock(_nRows, _nCols, _nnz, false, ret);
+	}
+
+	private AColGroup reEncode(int i, AColGroup g, MatrixBlock chunk) {
+		try {
+			return _scheme.get(i).encode(chunk);
+		}
+		catch(Exception e) {
+			// the scheme does not cover the chunk, e.g., if a constant scheme was replaced by a DDC scheme
+			LOG.debug("Failed re-encoding streamed column group", e);
+			return g;
+		}
+	}
+
+	private void appendChunks(int i, AColGroup[] g, List<AColGroup> ret) {
+		if(g.length == 1) {
+			ret.add(g[0]);
+			return;
+		}
+		if(isSameEncoding(g)) {
+			try {
+				final AColGroup r = AColGroup.appendN(g, _blen, _nRows);
+				if(r != null) {
+					ret.add(r);
+					return;
+				}
+			}
+			catch(Exception e) {
+				LOG.debug("Failed appending streamed column groups", e);
+			}
+		}
+		appendViaReEncoding(i, g, ret);
+	}
+
+	/**
+	 * Fallback if the chunks of one column group could not be appended, for instance if some chunks are encoded as
+	 * empty or constant. The chunks of this column group are decompressed one at a time, first to update the scheme
+	 * with all chunks, and then to encode all chunks with the final scheme, such that they can be appended. Only one
+	 * decompressed chunk is in memory at a time.
+	 */
+	private void appendViaReEncoding(int i, AColGroup[] g, List<AColGroup> ret) {
+		try {
+			ICLAScheme s = _scheme.get(i);
+			for(int c = 0; c < g.length; c++)
+				s = s.update(decompressChunk(g, c));
+			final AColGroup[] e = new AColGroup[g.length];
+			for(int c = 0; c < g.length; c++)
+				e[c] = s.encode(decompressChunk(g, c));
+			final AColGroup r = AColGroup.appendN(e, _blen, _nRows);
+			if(r != null) {
+				ret.add(r);
+				return;
+			}
+			appendUncompressed(e, ret);
+		}
+		catch(Exception ex) {
+			LOG.debug("Failed re-encoding streamed column group", ex);
+			appendUncompressed(g, ret);
+		}
+	}
+
+	private MatrixBlock decompressChunk(AColGroup[] g, int c) {
+		// decompress into a chunk of all columns, to encode with the column indexes of the scheme
+		final int rows = Math.min(_blen, _nRows - c * _blen);
+		final MatrixBlock tmp = new MatrixBlock(rows, _nCols, false);
+		tmp.allocateDenseBlock();
+		g[c].decompressToDenseBlock(tmp.getDenseBlock(), 0, rows, 0, 0);
+		tmp.recomputeNonZeros();
+		return tmp;
+	}
+
+	private void appendUncompressed(AColGroup[] g, List<AColGroup> ret) {
+		// last resort, the uncompressed columns of this column group in their final size
+		final IColIndex cols = g[0].getColIndices();
+		final IColIndex target = ColIndexFactory.create(cols.size());
+		final boolean sparse = MatrixBlock.evalSparseFormatInMemory(_nRows, cols.size(), _nnz / _nCols * cols.size());
+		final MatrixBlock tmp = new MatrixBlock(_nRows, cols.size(), sparse);
+		tmp.allocateBlock();
+		for(int c = 0; c < g.length; c++) {
+			final int rl = c * _blen;
+			final int ru = Math.min(rl + _blen, _nRows);
+			if(sparse)
+				g[c].copyAndSet(target).decompressToSparseBlock(tmp.getSparseBlock(), 0, ru - rl, rl, 0);
+			else
+				g[c].copyAndSet(target).decompressToDenseBlock(tmp.getDenseBlock(), 0, ru - rl, rl, 0);
+		}
+		tmp.recomputeNonZeros();
+		tmp.examSparsity();
+		ret.add(ColGroupUncompressed.create(tmp, cols));
+	}
+
+	private static boolean isSameEncoding(AColGroup[] g) {
+		final AColGroup last = g[g.length - 1];
+		for(AColGroup x : g)
+			if(!isSameEncoding(x, last))
+				return false;
+		return true;
+	}
+
+	private static boolean isSameEncoding(AColGroup a, AColGroup b) {
+		if(a.getClass() != b.getClass())
+			return false;
+		else if(a instanceof ADictBasedColGroup) {
+			final IDictionary da = ((ADictBasedColGroup) a).getDictionary();
+			final IDictionary db = ((ADictBasedColGroup) b).getDictionary();
+			return da == db || da.equals(db);
+		}
+		return true;
+	}
+}
@@ -22,11 +22,13 @@ package org.apache.sysds.runtime.compress.colgroup;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex.SliceResult;
 import org.apache.sysds.runtime.compress.colgroup.scheme.ICLAScheme;
@@ -55,6 +57,9 @@ public abstract class AColGroup implements Serializable {
 	protected static final Log LOG = LogFactory.getLog(AColGroup.class.getName());
 	private static final long serialVersionUID = -1318908671481L;
 
+	/** Number of cells decompressed at a time in the default row selection */
+	private static final int SELECT_BLOCK_CELLS = 65536;
+
 	/** Public super types of compression ColGroups supported */
 	public static enum CompressionType {
 		UNCOMPRESSED, RLE, OLE, DDC, CONST, EMPTY, SDC, SDCFOR, DDCFOR, DeltaDDC, LinearFunctional;
@@ -505,6 +510,44 @@ public abstract class AColGroup implements Serializable {
 	 */
 	public abstract AColGroup sliceRows(int rl, int ru);
 
+	/**
+	 * Select a subset of rows out of the column group and return a new column group only containing the selected rows
+	 * in order, for instance for removeEmpty with a select vector.
+	 * 
+	 * Similar to slicing, column groups with index structures override this to maintain pointers to the original
+	 * dictionaries and only filter the index structures. The default decompresses the selected rows in blocks into an
+	 * uncompressed column group.
+	 * 
+	 * @param rows  The rows to select, sorted ascending without duplicates
+	 * @param nRows The number of rows in this column group
+	 * @return A new column group containing rows.length rows, or null if empty
+	 */
+	public AColGroup selectRows(int[] rows, int nRows) {
+		final int nCol = _colIndexes.size();
+		final int blksz = Math.max(1, Math.min(nRows, SELECT_BLOCK_CELLS / nCol));
+		final AColGroup g = copyAndSet(ColIndexFactory.create(nCol));
+		final MatrixBlock ret = new MatrixBlock(rows.length, nCol, false);
+		ret.allocateDenseBlock();
+		final MatrixBlock tmp = new MatrixBlock(blksz, nCol, false);
+		tmp.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		final double[] t = tmp.getDenseBlockValues();
+		for(int i = 0; i < rows.length;) {
+			// decompress the block starting at the next selected row
+			final int rl = rows[i];
+			final int ru = Math.min(rl + blksz, nRows);
+			Arrays.fill(t, 0);
+			g.decompressToDenseBlock(tmp.getDenseBlock(), rl, ru, -rl, 0);
+			for(; i < rows.length && rows[i] < ru; i++)
+				System.arraycopy(t, (rows[i] - rl) * nCol, c, i * nCol, nCol);
+		}
+		ret.recomputeNonZeros();
+		if(ret.isEmpty())
+			return null;
+		ret.examSparsity();
+		return ColGroupUncompressed.create(ret, _colIndexes);
+	}
+
 	/**
 	 * Short hand method for getting minimum value contained in this column group.
 	 * 
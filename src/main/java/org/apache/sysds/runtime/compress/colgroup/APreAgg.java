@@ -216,6 +216,8 @@ public abstract class APreAgg extends AColGroupValue {
 			DictLibMatrixMult.TSMMDictionaryWithScaling(rDict, getCounts(), leftIdx, rightIdx, result);
 		else if(sameIdx)
 			DictLibMatrixMult.MMDictsWithScaling(lDict, rDict, leftIdx, rightIdx, result, getCounts());
+		else if(supportsCoOccurrence(lhs) && shouldCountCoOccurrence(lhs))
+			leftMultByCoOccurrence(lhs, result);
 		else if(shouldPreAggregateLeft(lhs)) {// left preAgg
 			final IDictionary lhsPA = lhs.preAggregateThatIndexStructure(this);
 			if(lhsPA != null)
@@ -229,6 +231,83 @@ public abstract class APreAgg extends AColGroupValue {
 
 	}
 
+	/**
+	 * Multiply via the joint co-occurrence counts of the distinct tuples of both sides, following:
+	 * 
+	 * t(lhs) %*% this = t(lDict) %*% counts %*% rDict
+	 * 
+	 * Therefore the index structures are only scanned once with an integer increment per row, and the dictionary rows
+	 * are only combined once per distinct pair of tuples.
+	 * 
+	 * @param lhs    The left hand side column group
+	 * @param result The result to add to
+	 */
+	private void leftMultByCoOccurrence(APreAgg lhs, MatrixBlock result) {
+		final int nvL = lhs.getNumValues();
+		final int nvR = this.getNumValues();
+		final int nColL = lhs._colIndexes.size();
+		final int nColR = this._colIndexes.size();
+		final int[] counts = new int[nvL * nvR];
+		countCoOccurrence(lhs, counts);
+
+		if(nColR <= nColL) { // aggregate the right dictionary for each left tuple
+			final double[] v = new double[nvL * nColR];
+			for(int l = 0, off = 0; l < nvL; l++)
+				for(int r = 0; r < nvR; r++, off++)
+					if(counts[off] != 0)
+						_dict.addToEntry(v, r, l, nColR, counts[off]);
+			final IDictionary rhsPA = Dictionary.createNoCheck(v).getMBDict(nColR);
+			if(rhsPA != null)
+				DictLibMatrixMult.MMDicts(lhs._dict, rhsPA, lhs._colIndexes, _colIndexes, result);
+		}
+		else { // aggregate the left dictionary for each right tuple
+			final double[] v = new double[nvR * nColL];
+			for(int l = 0, off = 0; l < nvL; l++)
+				for(int r = 0; r < nvR; r++, off++)
+					if(counts[off] != 0)
+						lhs._dict.addToEntry(v, l, r, nColL, counts[off]);
+			final IDictionary lhsPA = Dictionary.createNoCheck(v).getMBDict(nColL);
+			if(lhsPA != null)
+				DictLibMatrixMult.MMDicts(lhsPA, _dict, lhs._colIndexes, _colIndexes, result);
+		}
+	}
+
+	private boolean shouldCountCoOccurrence(APreAgg lhs) {
+		final long nRows = Math.min(lhs.numRowsToMultiply(), this.numRowsToMultiply());
+		final long nPairs = (long) lhs.getNumValues() * this.getNumValues();
+		final int nColL = lhs._colIndexes.size();
+		final int nColR = this._colIndexes.size();
+		// the pre aggregate adds a dictionary row for each row, while the co-occurrence counting increments one
+		// integer for each row and then adds a dictionary row for each distinct pair.
+		final long preAggCost = nRows * (shouldPreAggregateLeft(lhs) ? nColR : nColL);
+		final long coOccurrenceCost = nRows + nPairs * Math.min(nColL, nColR);
+		return nPairs < nRows && coOccurrenceCost < preAggCost;
+	}
+
+	/**
+	 * Get if the joint co-occurrence counts of the tuples of the given left hand side and this column group can be
+	 * counted, see countCoOccurrence.
+	 * 
+	 * @param lhs The left hand side column group
+	 * @return If supported
+	 */
+	protected boolean supportsCoOccurrence(APreAgg lhs) {
+		return false;
+	}
+
+	/**
+	 * Count the number of rows where each pair of tuples of the left hand side and this column group occur together.
+	 * The count of the left tuple l and this tuple r is added to counts[l * this.getNumValues() + r].
+	 * 
+	 * @param lhs    The left hand side column group
+	 * @param counts The counts to add to
+	 */
+	protected void countCoOccurrence(APreAgg lhs, int[] counts) {
+		throw new NotImplementedException(
+			"Not supported co-occurrence counts of " + lhs.getClass().getSimpleName() + " and "
+				+ getClass().getSimpleName());
+	}
+
 	private void leftMultByUncompressedColGroup(ColGroupUncompressed lhs, MatrixBlock result) {
 		if(lhs.getNumCols() != 1)
 			LOG.warn("Transpose of uncompressed to fit to template need t(a) %*% b");
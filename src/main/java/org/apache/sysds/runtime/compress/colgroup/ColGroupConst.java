@@ -562,6 +562,11 @@ public class ColGroupConst extends ADictBasedColGroup implements IContainDefault
 		return this;
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		return this;
+	}
+
 	@Override
 	public AColGroup append(AColGroup g) {
 		if(g instanceof ColGroupConst && g._colIndexes.size() == _colIndexes.size() &&
@@ -38,6 +38,7 @@ import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToByte;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToChar;
 import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffsetIterator;
 import org.apache.sysds.runtime.compress.colgroup.scheme.DDCScheme;
 import org.apache.sysds.runtime.compress.colgroup.scheme.ICLAScheme;
@@ -432,6 +433,39 @@ public class ColGroupDDC extends APreAgg implements IMapToDataGroup {
 		_data.preAggregateDDC_RLE(that._ptr, that._data, that._dict, ret, that._colIndexes.size());
 	}
 
+	@Override
+	protected boolean supportsCoOccurrence(APreAgg lhs) {
+		// not for subclasses such as delta encoding, where the map does not index the row tuples directly
+		return getClass() == ColGroupDDC.class && (lhs.getClass() == ColGroupDDC.class ||
+			lhs instanceof ColGroupSDCZeros || lhs instanceof ColGroupSDCSingleZeros);
+	}
+
+	@Override
+	protected void countCoOccurrence(APreAgg lhs, int[] counts) {
+		if(lhs.getClass() == ColGroupDDC.class)
+			_data.countCoOccurrence(((ColGroupDDC) lhs)._data, getNumValues(), counts);
+		else if(lhs instanceof ColGroupSDCZeros)
+			countCoOccurrenceSDC(((ColGroupSDCZeros) lhs)._indexes, ((ColGroupSDCZeros) lhs)._data, counts);
+		else if(lhs instanceof ColGroupSDCSingleZeros)
+			countCoOccurrenceSDC(((ColGroupSDCSingleZeros) lhs)._indexes, null, counts);
+		else
+			super.countCoOccurrence(lhs, counts);
+	}
+
+	private void countCoOccurrenceSDC(AOffset thatOffsets, AMapToData thatData, int[] counts) {
+		// rows not contained in the offsets are zero on the left side and do not contribute
+		final int nVal = getNumValues();
+		final AOffsetIterator itThat = thatOffsets.getOffsetIterator();
+		final int finalOff = thatOffsets.getOffsetToLast();
+		for(int i = 0; true; i++) {
+			final int fr = thatData == null ? 0 : thatData.getIndex(i);
+			counts[fr * nVal + _data.getIndex(itThat.value())]++;
+			if(itThat.value() == finalOff)
+				break;
+			itThat.next();
+		}
+	}
+
 	@Override
 	public boolean sameIndexStructure(AColGroupCompressed that) {
 		return that instanceof ColGroupDDC && ((ColGroupDDC) that)._data == _data;
@@ -552,6 +586,11 @@ public class ColGroupDDC extends APreAgg implements IMapToDataGroup {
 		}
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		return ColGroupDDC.create(_colIndexes, _dict, _data.select(rows, rows.length), null);
+	}
+
 	@Override
 	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
 		return create(colIndexes, newDictionary, _data, getCachedCounts());
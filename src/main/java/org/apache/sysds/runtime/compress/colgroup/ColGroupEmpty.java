@@ -325,6 +325,11 @@ public class ColGroupEmpty extends AColGroupCompressed
 		return null;
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		return null;
+	}
+
 	@Override
 	public AColGroup copyAndSet(IColIndex colIndexes) {
 		return new ColGroupEmpty(colIndexes);
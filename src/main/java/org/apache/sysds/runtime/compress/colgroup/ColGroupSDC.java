@@ -42,6 +42,7 @@ import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
 import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
 import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.compress.utils.Util;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
@@ -579,6 +580,16 @@ public class ColGroupSDC extends ASDC implements IMapToDataGroup {
 		return create(_colIndexes, ru - rl, _dict, _defaultTuple, off.offsetSlice, newData, null);
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		final IntArrayList dataIdx = new IntArrayList();
+		final AOffset off = _indexes.select(rows, dataIdx);
+		if(dataIdx.size() == 0)
+			return ColGroupConst.create(_colIndexes, Dictionary.create(_defaultTuple));
+		final AMapToData newData = _data.select(dataIdx.extractValues(), dataIdx.size());
+		return create(_colIndexes, rows.length, _dict, _defaultTuple, off, newData, null);
+	}
+
 	@Override
 	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
 		return create(colIndexes, _numRows, newDictionary, _defaultTuple, _indexes, _data, getCachedCounts());
@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
 import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
 import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.compress.utils.Util;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
@@ -546,6 +547,15 @@ public class ColGroupSDCSingle extends ASDC {
 		return create(_colIndexes, ru - rl, _dict, _defaultTuple, off.offsetSlice, null);
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		final IntArrayList dataIdx = new IntArrayList();
+		final AOffset off = _indexes.select(rows, dataIdx);
+		if(dataIdx.size() == 0)
+			return ColGroupConst.create(_colIndexes, Dictionary.create(_defaultTuple));
+		return create(_colIndexes, rows.length, _dict, _defaultTuple, off, null);
+	}
+
 	@Override
 	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
 		return create(colIndexes, _numRows, newDictionary, _defaultTuple, _indexes, getCachedCounts());
@@ -43,6 +43,7 @@ import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
 import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
 import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
@@ -833,6 +834,15 @@ public class ColGroupSDCSingleZeros extends ASDCZero {
 		return create(_colIndexes, ru - rl, _dict, off.offsetSlice, null);
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		final IntArrayList dataIdx = new IntArrayList();
+		final AOffset off = _indexes.select(rows, dataIdx);
+		if(dataIdx.size() == 0)
+			return null;
+		return create(_colIndexes, rows.length, _dict, off, null);
+	}
+
 	@Override
 	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
 		return create(colIndexes, _numRows, newDictionary, _indexes, getCachedCounts());
@@ -37,10 +37,12 @@ import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
 import org.apache.sysds.runtime.compress.colgroup.offset.AOffset.OffsetSliceInfo;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffsetIterator;
 import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
 import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
 import org.apache.sysds.runtime.compress.estim.encoding.EncodingFactory;
 import org.apache.sysds.runtime.compress.estim.encoding.IEncode;
+import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.Builtin;
@@ -606,6 +608,30 @@ public class ColGroupSDCZeros extends ASDCZero implements IMapToDataGroup {
 			return false;
 	}
 
+	@Override
+	protected boolean supportsCoOccurrence(APreAgg lhs) {
+		return lhs.getClass() == ColGroupDDC.class;
+	}
+
+	@Override
+	protected void countCoOccurrence(APreAgg lhs, int[] counts) {
+		if(lhs.getClass() != ColGroupDDC.class) {
+			super.countCoOccurrence(lhs, counts);
+			return;
+		}
+		// rows not contained in the offsets are zero on this side and do not contribute
+		final AMapToData thatData = ((ColGroupDDC) lhs)._data;
+		final int nVal = getNumValues();
+		final AOffsetIterator it = _indexes.getOffsetIterator();
+		final int finalOff = _indexes.getOffsetToLast();
+		for(int i = 0; true; i++) {
+			counts[thatData.getIndex(it.value()) * nVal + _data.getIndex(i)]++;
+			if(it.value() == finalOff)
+				break;
+			it.next();
+		}
+	}
+
 	@Override
 	public void preAggregateThatDDCStructure(ColGroupDDC that, Dictionary ret) {
 		_data.preAggregateSDCZ_DDC(that._data, that._dict, _indexes, ret, that._colIndexes.size());
@@ -755,6 +781,16 @@ public class ColGroupSDCZeros extends ASDCZero implements IMapToDataGroup {
 		return create(_colIndexes, ru - rl, _dict, off.offsetSlice, newData, null);
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows, int nRows) {
+		final IntArrayList dataIdx = new IntArrayList();
+		final AOffset off = _indexes.select(rows, dataIdx);
+		if(dataIdx.size() == 0)
+			return null;
+		final AMapToData newData = _data.select(dataIdx.extractValues(), dataIdx.size());
+		return create(_colIndexes, rows.length, _dict, off, newData, null);
+	}
+
 	@Override
 	protected AColGroup copyAndSet(IColIndex colIndexes, IDictionary newDictionary) {
 		return create(colIndexes, _numRows, newDictionary, _indexes, _data, getCachedCounts());
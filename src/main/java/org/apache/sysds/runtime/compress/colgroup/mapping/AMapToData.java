@@ -478,6 +478,20 @@ public abstract class AMapToData implements Serializable {
 			getIndex(r2), getIndex(r3), getIndex(r4), getIndex(r5), getIndex(r6), getIndex(r7), getIndex(r8), nCol);
 	}
 
+	/**
+	 * Count the co-occurrences of the indexes of that map and this map row by row, where the count of the pair (l, r)
+	 * is added to ret[l * nVal + r]. Both maps must have the same size.
+	 * 
+	 * @param tm   Map of other side
+	 * @param nVal The number of distinct values in this map
+	 * @param ret  The counts to add to
+	 */
+	public void countCoOccurrence(AMapToData tm, int nVal, int[] ret) {
+		final int sz = size();
+		for(int r = 0; r < sz; r++)
+			ret[tm.getIndex(r) * nVal + getIndex(r)]++;
+	}
+
 	/**
 	 * PreAggregate into SDCZero dictionary from DDC dictionary.
 	 * 
@@ -881,6 +895,20 @@ public abstract class AMapToData implements Serializable {
 	 */
 	public abstract AMapToData slice(int l, int u);
 
+	/**
+	 * Select the given positions of this map into a new map, with the same number of unique values.
+	 * 
+	 * @param idx The positions to select
+	 * @param len The number of positions to select from the idx array
+	 * @return A new map containing the values at the selected positions
+	 */
+	public AMapToData select(int[] idx, int len) {
+		final AMapToData ret = MapToFactory.create(len, getUnique());
+		for(int i = 0; i < len; i++)
+			ret.set(i, getIndex(idx[i]));
+		return ret;
+	}
+
 	public abstract AMapToData append(AMapToData t);
 
 	public abstract AMapToData appendN(IMapToDataGroup[] d);
@@ -615,6 +615,36 @@ public abstract class AOffset implements Serializable {
 			return ((ISliceOffset) this).slice(lowOff, highOff, lowValue - l, highValue - l, low, high);
 	}
 
+	/**
+	 * Select the offsets contained in a sorted list of rows. The returned offsets are the positions in the list of
+	 * selected rows, and the data indexes of the selected offsets are appended to the given list.
+	 * 
+	 * @param rows    The rows to select, sorted ascending without duplicates
+	 * @param dataIdx The list to append the data indexes of the selected offsets to
+	 * @return The offsets of the selected rows, relative to the selection
+	 */
+	public AOffset select(int[] rows, IntArrayList dataIdx) {
+		final AIterator it = getIterator();
+		if(it == null)
+			return new OffsetEmpty();
+		final IntArrayList r = new IntArrayList();
+		final int last = getOffsetToLast();
+		int i = 0;
+		while(i < rows.length) {
+			final int v = it.value();
+			while(i < rows.length && rows[i] < v)
+				i++;
+			if(i < rows.length && rows[i] == v) {
+				r.appendValue(i++);
+				dataIdx.appendValue(it.getDataIndex());
+			}
+			if(v >= last)
+				break;
+			it.next();
+		}
+		return OffsetFactory.createOffset(r);
+	}
+
 	/**
 	 * Append the offsets from that other offset to the offsets in this.
 	 * 
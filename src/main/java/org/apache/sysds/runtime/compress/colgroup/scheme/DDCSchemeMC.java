@@ -113,28 +113,23 @@ public class DDCSchemeMC extends DDCScheme {
 		final AMapToData d = MapToFactory.create(nRow, map.size());
 		DblArray cellVals;
 		ACount<DblArray> emptyIdx = map.getC(emptyRow);
-		if(emptyIdx == null) {
-
-			while((cellVals = reader.nextRow()) != null) {
-				final int row = reader.getCurrentRowIndex();
-
-				final int id = map.getId(cellVals);
-				d.set(row, id);
-
+		int r = 0;
+		while((cellVals = reader.nextRow()) != null) {
+			final int row = reader.getCurrentRowIndex();
+			if(row != r) {
+				// the reader skips empty rows
+				if(emptyIdx == null)
+					throw new DMLCompressionException("Invalid encode of empty rows not contained in scheme");
+				while(r < row)
+					d.set(r++, emptyIdx.id);
 			}
+			final int id = map.getId(cellVals);
+			d.set(row, id);
+			r++;
 		}
-		else {
-			int r = 0;
-			while((cellVals = reader.nextRow()) != null) {
-				final int row = reader.getCurrentRowIndex();
-				if(row != r) {
-					while(r < row)
-						d.set(r++, emptyIdx.id);
-				}
-				final int id = map.getId(cellVals);
-				d.set(row, id);
-				r++;
-			}
+		if(r < nRow) {
+			if(emptyIdx == null)
+				throw new DMLCompressionException("Invalid encode of empty rows not contained in scheme");
 			while(r < nRow)
 				d.set(r++, emptyIdx.id);
 		}
@@ -183,38 +178,31 @@ public class DDCSchemeMC extends DDCScheme {
 		final AMapToData d = MapToFactory.create(nRow, map.size());
 		int max = d.getMaxPossible();
 
+		// the reader skips empty rows, therefore the empty row is added to the map if the skipped rows are found.
 		DblArray cellVals;
-		ACount<DblArray> emptyIdx = map.getC(emptyRow);
-		if(emptyIdx == null) {
-			while((cellVals = reader.nextRow()) != null) {
-				final int row = reader.getCurrentRowIndex();
-				final int id = map.increment(cellVals);
-				if(id >= max)
+		int r = 0;
+		while((cellVals = reader.nextRow()) != null) {
+			final int row = reader.getCurrentRowIndex();
+			if(row != r) {
+				final int emptyId = map.increment(emptyRow, row - r);
+				if(emptyId >= max)
 					throw new DMLCompressionException("Failed update and encode with " + max + " possible values");
-				d.set(row, id);
+				while(r < row)
+					d.set(r++, emptyId);
 			}
+			final int id = map.increment(cellVals);
+			if(id >= max)
+				throw new DMLCompressionException(
+					"Failed update and encode with " + max + " possible values" + map + " " + map.size());
+			d.set(row, id);
+			r++;
 		}
-		else {
-			int r = 0;
-			while((cellVals = reader.nextRow()) != null) {
-				final int row = reader.getCurrentRowIndex();
-				if(row != r) {
-					map.increment(emptyRow, row - r);
-					while(r < row)
-						d.set(r++, emptyIdx.id);
-				}
-				final int id = map.increment(cellVals);
-				if(id >= max)
-					throw new DMLCompressionException(
-						"Failed update and encode with " + max + " possible values" + map + " " + map.size());
-				d.set(row, id);
-				r++;
-			}
-			if(r < nRow)
-
-				map.increment(emptyRow, nRow - r);
+		if(r < nRow) {
+			final int emptyId = map.increment(emptyRow, nRow - r);
+			if(emptyId >= max)
+				throw new DMLCompressionException("Failed update and encode with " + max + " possible values");
 			while(r < nRow)
-				d.set(r++, emptyIdx.id);
+				d.set(r++, emptyId);
 		}
 		if(lastDict == null || lastDict.getNumberOfValues(columns.size()) != map.size())
 			lastDict = DictionaryFactory.create(map, columns.size(), false, data.getSparsity());
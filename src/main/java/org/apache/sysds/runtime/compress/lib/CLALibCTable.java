@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibUtils.IndexedColumn;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Contingency tables with a compressed first input. The value pairs are computed on the dictionary indexes of the
+ * compressed column: with a scalar second input from the dictionary counts, with a compressed second input from the
+ * joint counts of both columns, and otherwise by a row-wise pass over the indexes without decompressing the values.
+ */
+public final class CLALibCTable {
+	protected static final Log LOG = LogFactory.getLog(CLALibCTable.class.getName());
+
+	/** Maximum number of cells of joint counts relative to the number of rows */
+	private static final double MAX_JOINT_RATIO = 0.25;
+
+	private CLALibCTable() {
+		// private constructor
+	}
+
+	/**
+	 * Compute ctable(A, v2, w) with a compressed column vector A, if applicable.
+	 *
+	 * @param A           The compressed first input
+	 * @param v2          The scalar second input
+	 * @param w           The scalar weight
+	 * @param resultMap   The result map, if the output dimensions are unknown
+	 * @param resultBlock The result block, if the output dimensions are known
+	 * @return true if computed in the compressed domain, false if the caller should decompress
+	 */
+	public static boolean ctable(CompressedMatrixBlock A, double v2, double w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final IndexedColumn a = IndexedColumn.create(A);
+		if(a == null)
+			return false;
+		final CTable ctable = CTable.getCTableFnObject();
+		final double[] av = a.getValues();
+		final int[] counts = a.getCounts();
+		for(int i = 0; i < av.length; i++)
+			if(counts[i] != 0)
+				ctable.execute(av[i], v2, w * counts[i], false, resultMap, resultBlock);
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+		return true;
+	}
+
+	/**
+	 * Compute ctable(A, v2, W) with a compressed column vector A, if applicable.
+	 *
+	 * @param A           The compressed first input
+	 * @param v2          The scalar second input
+	 * @param W           The weights
+	 * @param resultMap   The result map, if the output dimensions are unknown
+	 * @param resultBlock The result block, if the output dimensions are known
+	 * @return true if computed in the compressed domain, false if the caller should decompress
+	 */
+	public static boolean ctable(CompressedMatrixBlock A, double v2, MatrixBlock W, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final IndexedColumn a = IndexedColumn.create(A);
+		if(a == null || !isColumn(W, A.getNumRows()))
+			return false;
+		ctableRows(a, null, v2, W, 1, false, resultMap, resultBlock);
+		return true;
+	}
+
+	/**
+	 * Compute ctable(A, B, w) with a compressed column vector A, if applicable.
+	 *
+	 * @param A           The compressed first input
+	 * @param B           The second input
+	 * @param w           The scalar weight
+	 * @param ignoreZeros Ignore pairs of zeros
+	 * @param resultMap   The result map, if the output dimensions are unknown
+	 * @param resultBlock The result block, if the output dimensions are known
+	 * @param k           The parallelization degree
+	 * @return true if computed in the compressed domain, false if the caller should decompress
+	 */
+	public static boolean ctable(CompressedMatrixBlock A, MatrixBlock B, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock, int k) {
+		final IndexedColumn a = IndexedColumn.create(A);
+		if(a == null || !isColumn(B, A.getNumRows()))
+			return false;
+		final IndexedColumn b = IndexedColumn.create(B);
+		if(b != null && (double) a.getNumValues() * b.getNumValues() <= MAX_JOINT_RATIO * a.getNumRows())
+			ctableJoint(a, b, w, ignoreZeros, resultMap, resultBlock, k);
+		else
+			ctableRows(a, B, 0, null, w, ignoreZeros, resultMap, resultBlock);
+		return true;
+	}
+
+	/**
+	 * Compute ctable(A, B, W) with a compressed column vector A, if applicable.
+	 *
+	 * @param A           The compressed first input
+	 * @param B           The second input
+	 * @param W           The weights
+	 * @param resultMap   The result map, if the output dimensions are unknown
+	 * @param resultBlock The result block, if the output dimensions are known
+	 * @return true if computed in the compressed domain, false if the caller should decompress
+	 */
+	public static boolean ctable(CompressedMatrixBlock A, MatrixBlock B, MatrixBlock W, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final IndexedColumn a = IndexedColumn.create(A);
+		if(a == null || !isColumn(B, A.getNumRows()) || !isColumn(W, A.getNumRows()))
+			return false;
+		ctableRows(a, B, 0, W, 1, false, resultMap, resultBlock);
+		return true;
+	}
+
+	private static boolean isColumn(MatrixBlock mb, int nRows) {
+		return mb.getNumColumns() == 1 && mb.getNumRows() == nRows;
+	}
+
+	private static void ctableJoint(IndexedColumn a, IndexedColumn b, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock, int k) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final int[] joint = a.getJointCounts(b, k);
+		final double[] av = a.getValues();
+		final double[] bv = b.getValues();
+		for(int i = 0; i < av.length; i++)
+			for(int j = 0; j < bv.length; j++)
+				if(joint[i * bv.length + j] != 0)
+					ctable.execute(av[i], bv[j], w * joint[i * bv.length + j], ignoreZeros, resultMap, resultBlock);
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+
+	private static void ctableRows(IndexedColumn a, MatrixBlock B, double v2, MatrixBlock W, double w,
+		boolean ignoreZeros, CTableMap resultMap, MatrixBlock resultBlock) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final MatrixBlock Bu = B == null ? null : CompressedMatrixBlock.getUncompressed(B, "ctable second input");
+		final MatrixBlock Wu = W == null ? null : CompressedMatrixBlock.getUncompressed(W, "ctable weights");
+		final int nRows = a.getNumRows();
+		final int blksz = IndexedColumn.BLOCK_SIZE;
+		final double[] av = a.getValues();
+		final int[] idx = new int[blksz];
+		final double[] bv = Bu == null ? null : new double[blksz];
+		final double[] wv = Wu == null ? null : new double[blksz];
+		for(int bi = 0; bi < nRows; bi += blksz) {
+			final int bu = Math.min(bi + blksz, nRows);
+			a.getIndexes(bi, bu, idx);
+			if(bv != null)
+				CLALibUtils.getColumn(Bu, 0, bi, bu, bv);
+			if(wv != null)
+				CLALibUtils.getColumn(Wu, 0, bi, bu, wv);
+			for(int i = 0; i < bu - bi; i++)
+				ctable.execute(av[idx[i]], bv == null ? v2 : bv[i], wv == null ? w : wv[i], ignoreZeros, resultMap,
+					resultBlock);
+		}
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+}
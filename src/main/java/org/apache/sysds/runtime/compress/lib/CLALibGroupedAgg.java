@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibUtils.IndexedColumn;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Grouped aggregates (sum and count) with compressed groups, computed on the dictionary indexes of the groups
+ * instead of decompressing the groups vector. If the target is compressed as well, the grouped sums are computed
+ * from the joint counts of the dictionary indexes of groups and target.
+ */
+public final class CLALibGroupedAgg {
+	protected static final Log LOG = LogFactory.getLog(CLALibGroupedAgg.class.getName());
+
+	/** Maximum number of cells of joint counts relative to the number of rows */
+	private static final double MAX_JOINT_RATIO = 0.25;
+
+	private CLALibGroupedAgg() {
+		// private constructor
+	}
+
+	public static MatrixBlock groupedAggOperations(CompressedMatrixBlock groups, MatrixBlock target,
+		MatrixBlock weights, MatrixBlock ret, int ngroups, Operator op, int k) {
+		final IndexedColumn g = IndexedColumn.create(groups);
+		if(g == null || !isSupported(g, target, weights, op)) {
+			MatrixBlock left = groups.getUncompressed("groupedAggOperations");
+			MatrixBlock right = CompressedMatrixBlock.getUncompressed(target);
+			MatrixBlock w = weights == null ? null : CompressedMatrixBlock.getUncompressed(weights);
+			return left.groupedAggOperations(right, w, ret, ngroups, op, k);
+		}
+
+		// Determine the number of groups
+		if(ngroups <= 0) {
+			double min = groups.min();
+			double max = groups.max();
+			if(min <= 0)
+				throw new DMLRuntimeException(
+					"Invalid value (" + min + ") encountered in 'groups' while computing groupedAggregate");
+			if(max <= 0)
+				throw new DMLRuntimeException(
+					"Invalid value (" + max + ") encountered in 'groups' while computing groupedAggregate.");
+			ngroups = (int) max;
+		}
+
+		final int[] counts = g.getCounts();
+		final double[] agg = (op instanceof CMOperator) ? //
+			toDouble(counts) : aggregateSum(g, target, weights, k);
+
+		// map the dictionary entries to their groups
+		final KahanObject[] buffer = new KahanObject[ngroups];
+		final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		final double[] values = g.getValues();
+		for(int i = 0; i < values.length; i++) {
+			if(counts[i] == 0)
+				continue;
+			final int gi = (int) values[i];
+			if(gi > ngroups)
+				continue;
+			else if(gi <= 0)
+				throw new DMLRuntimeException(
+					"Invalid value (" + values[i] + ") encountered in 'groups' while computing groupedAggregate");
+			if(buffer[gi - 1] == null)
+				buffer[gi - 1] = new KahanObject(0, 0);
+			kplus.execute2(buffer[gi - 1], agg[i]);
+		}
+
+		MatrixBlock result = ret == null ? new MatrixBlock() : ret;
+		result.reset(ngroups, 1, false);
+		result.allocateDenseBlock();
+		final double[] c = result.getDenseBlockValues();
+		for(int i = 0; i < ngroups; i++)
+			c[i] = buffer[i] == null ? 0 : buffer[i]._sum;
+		result.recomputeNonZeros();
+		result.examSparsity();
+		return result;
+	}
+
+	private static boolean isSupported(IndexedColumn g, MatrixBlock target, MatrixBlock weights, Operator op) {
+		if(target.getNumRows() != g.getNumRows() || target.getNumColumns() != 1)
+			return false; // row vector or matrix targets, or invalid dimensions
+		if(weights != null && (weights.getNumRows() != g.getNumRows() || weights.getNumColumns() != 1))
+			return false;
+		if(op instanceof CMOperator)
+			return ((CMOperator) op).getAggOpType() == AggregateOperationTypes.COUNT && weights == null;
+		return op instanceof AggregateOperator && ((AggregateOperator) op).increOp.fn instanceof KahanPlus;
+	}
+
+	private static double[] aggregateSum(IndexedColumn g, MatrixBlock target, MatrixBlock weights, int k) {
+		final IndexedColumn t = weights == null ? IndexedColumn.create(target) : null;
+		if(t != null && (double) g.getNumValues() * t.getNumValues() <= MAX_JOINT_RATIO * g.getNumRows())
+			return aggregateSumJoint(g, t, k);
+		else
+			return aggregateSumRows(g, CompressedMatrixBlock.getUncompressed(target, "groupedAgg target"),
+				weights == null ? null : CompressedMatrixBlock.getUncompressed(weights, "groupedAgg weights"));
+	}
+
+	private static double[] aggregateSumJoint(IndexedColumn g, IndexedColumn t, int k) {
+		final int[] joint = g.getJointCounts(t, k);
+		final double[] tv = t.getValues();
+		final int nT = tv.length;
+		final double[] ret = new double[g.getNumValues()];
+		final KahanObject kbuff = new KahanObject(0, 0);
+		final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		for(int i = 0; i < ret.length; i++) {
+			kbuff.set(0, 0);
+			for(int j = 0; j < nT; j++)
+				if(joint[i * nT + j] != 0 && tv[j] != 0)
+					kplus.execute2(kbuff, tv[j] * joint[i * nT + j]);
+			ret[i] = kbuff._sum;
+		}
+		return ret;
+	}
+
+	private static double[] aggregateSumRows(IndexedColumn g, MatrixBlock target, MatrixBlock weights) {
+		final int nRows = g.getNumRows();
+		final KahanObject[] buffer = new KahanObject[g.getNumValues()];
+		for(int i = 0; i < buffer.length; i++)
+			buffer[i] = new KahanObject(0, 0);
+		if(target.isEmpty())
+			return new double[buffer.length];
+
+		final KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
+		final int blksz = IndexedColumn.BLOCK_SIZE;
+		final int[] idx = new int[blksz];
+		final double[] tv = new double[blksz];
+		final double[] wv = weights == null ? null : new double[blksz];
+		for(int bi = 0; bi < nRows; bi += blksz) {
+			final int bu = Math.min(bi + blksz, nRows);
+			g.getIndexes(bi, bu, idx);
+			CLALibUtils.getColumn(target, 0, bi, bu, tv);
+			if(wv != null)
+				CLALibUtils.getColumn(weights, 0, bi, bu, wv);
+			for(int i = 0; i < bu - bi; i++)
+				if(tv[i] != 0) // sparse-safe
+					kplus.execute2(buffer[idx[i]], wv == null ? tv[i] : tv[i] * wv[i]);
+		}
+
+		final double[] ret = new double[buffer.length];
+		for(int i = 0; i < ret.length; i++)
+			ret[i] = buffer[i]._sum;
+		return ret;
+	}
+
+	private static double[] toDouble(int[] counts) {
+		final double[] ret = new double[counts.length];
+		for(int i = 0; i < counts.length; i++)
+			ret[i] = counts[i];
+		return ret;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Remove empty rows of compressed matrices, or select rows with a select vector, with a compressed output. The column
+ * groups keep their dictionaries and only filter their index structures.
+ */
+public final class CLALibRemoveEmpty {
+	protected static final Log LOG = LogFactory.getLog(CLALibRemoveEmpty.class.getName());
+
+	private CLALibRemoveEmpty() {
+		// private constructor
+	}
+
+	/**
+	 * Remove empty rows or columns, consistent with the semantics of LibMatrixReorg.rmempty.
+	 *
+	 * @param in          The compressed input
+	 * @param ret         The result block, used if the result is not compressed
+	 * @param rows        If rows should be removed, otherwise columns
+	 * @param emptyReturn Return a row/column of zeros if all rows/columns are removed
+	 * @param select      The select vector, or null to remove empty rows/columns
+	 * @return The result, compressed if rows are selected
+	 */
+	public static MatrixBlock rmempty(CompressedMatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn,
+		MatrixBlock select) {
+		if(!rows) {
+			final MatrixBlock tmp = in.getUncompressed("removeEmptyOperations cols");
+			return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		}
+
+		final int nRows = in.getNumRows();
+		final int nCols = in.getNumColumns();
+		if(select != null && select.getNonZeros() == nRows)
+			return in; // select all
+
+		final int[] selected = select == null ? //
+			getNonEmptyRows(in) : getSelectedRows(CompressedMatrixBlock.getUncompressed(select, "removeEmpty select"));
+		if(selected.length == nRows)
+			return in;
+		else if(selected.length == 0) {
+			final int n = emptyReturn ? 1 : 0;
+			if(ret == null)
+				return new MatrixBlock(n, nCols, true);
+			ret.reset(n, nCols, true);
+			return ret;
+		}
+
+		final List<AColGroup> groups = in.getColGroups();
+		final List<AColGroup> newColGroups = new ArrayList<>(groups.size());
+		for(AColGroup g : groups) {
+			final AColGroup s = g.selectRows(selected, nRows);
+			newColGroups.add(s != null ? s : new ColGroupEmpty(g.getColIndices()));
+		}
+
+		final CompressedMatrixBlock cRet = new CompressedMatrixBlock(selected.length, nCols);
+		cRet.allocateColGroupList(newColGroups);
+		cRet.setOverlapping(in.isOverlapping());
+		if(select == null)
+			cRet.setNonZeros(in.getNonZeros());
+		else
+			cRet.recomputeNonZeros();
+		return cRet;
+	}
+
+	private static int[] getSelectedRows(MatrixBlock select) {
+		final boolean[] flags = DataConverter.convertToBooleanVector(select);
+		int n = 0;
+		for(boolean f : flags)
+			n += f ? 1 : 0;
+		final int[] ret = new int[n];
+		for(int i = 0, j = 0; j < n; i++)
+			if(flags[i])
+				ret[j++] = i;
+		return ret;
+	}
+
+	private static int[] getNonEmptyRows(CompressedMatrixBlock in) {
+		final int nRows = in.getNumRows();
+		final int nCols = in.getNumColumns();
+		final List<AColGroup> groups = in.getColGroups();
+		final int blklen = Math.max(16384 / nCols, 64);
+		final MatrixBlock tmp = new MatrixBlock(Math.min(nRows, blklen), nCols, false);
+		tmp.allocateDenseBlock();
+		final DenseBlock db = tmp.getDenseBlock();
+		final double[] t = tmp.getDenseBlockValues();
+
+		int[] ret = new int[Math.min(nRows, 1024)];
+		int n = 0;
+		for(int rl = 0; rl < nRows; rl += blklen) {
+			final int ru = Math.min(rl + blklen, nRows);
+			Arrays.fill(t, 0);
+			for(AColGroup g : groups)
+				g.decompressToDenseBlock(db, rl, ru, -rl, 0);
+			for(int i = rl, off = 0; i < ru; i++, off += nCols) {
+				if(!isEmpty(t, off, nCols)) {
+					if(n == ret.length)
+						ret = Arrays.copyOf(ret, Math.min(nRows, ret.length * 2));
+					ret[n++] = i;
+				}
+			}
+		}
+		return n == ret.length ? ret : Arrays.copyOf(ret, n);
+	}
+
+	private static boolean isEmpty(double[] t, int off, int nCols) {
+		for(int j = off; j < off + nCols; j++)
+			if(t[j] != 0)
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibUtils.IndexedColumn;
+import org.apache.sysds.runtime.functionobjects.SortIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+
+/**
+ * Sorting of compressed column vectors on their dictionaries. The distinct values are sorted, and the rows are
+ * assigned by their counts, which avoids sorting all rows. The outputs are equal to the uncompressed sorts.
+ */
+public final class CLALibSort {
+	protected static final Log LOG = LogFactory.getLog(CLALibSort.class.getName());
+
+	private CLALibSort() {
+		// private constructor
+	}
+
+	/**
+	 * Sort for quantiles, median and inter-quartile mean, with the same output as the uncompressed sort, that is a
+	 * (1+nnz) x 2 table of sorted values and weights, where the first row for the zero value holds the number of zeros
+	 * and all other rows are single non-zero values with weight 1. Instead of sorting all rows, only the distinct values
+	 * are sorted and expanded by their counts.
+	 *
+	 * @param in      The compressed input column vector
+	 * @param weights The weights or null
+	 * @param result  The result block
+	 * @param k       The parallelization degree
+	 * @return The sorted values (first column) and weights (second column)
+	 */
+	public static MatrixBlock sortOperations(CompressedMatrixBlock in, MatrixBlock weights, MatrixBlock result,
+		int k) {
+		final IndexedColumn col = weights == null ? IndexedColumn.create(in) : null;
+		if(col == null || containsNaN(col))
+			return in.getUncompressed("sortOperations", k).sortOperations(weights, result, k);
+
+		final SortedDictionary sd = new SortedDictionary(col);
+		final int nDistinct = sd.getNumDistinct();
+		final int nZeros = sd.getCount(0.0);
+		final int nRows = 1 + in.getNumRows() - nZeros;
+		if(result == null)
+			result = new MatrixBlock(nRows, 2, false);
+		else
+			result.reset(nRows, 2, false);
+		result.allocateDenseBlock();
+
+		// expand the sorted distinct values, with the zero row between negative and positive values
+		final double[] c = result.getDenseBlockValues();
+		int r = 0;
+		boolean zero = false;
+		for(int i = 0; i < nDistinct; i++) {
+			final double v = sd.getValue(i);
+			if(v == 0)
+				continue;
+			if(!zero && v > 0) {
+				r = setZeroRow(c, r, nZeros);
+				zero = true;
+			}
+			final int ru = r + 2 * sd.getCount(i);
+			for(; r < ru; r += 2) {
+				c[r] = v;
+				c[r + 1] = 1;
+			}
+		}
+		if(!zero)
+			setZeroRow(c, r, nZeros);
+		result.recomputeNonZeros();
+		return result;
+	}
+
+	private static int setZeroRow(double[] c, int r, int nZeros) {
+		c[r] = 0;
+		c[r + 1] = nZeros;
+		return r + 2;
+	}
+
+	/**
+	 * Sort (order) a compressed column vector, returning either the sorted values or the sorted row indexes. Ties are
+	 * returned in the order of their rows, consistent with the uncompressed sort.
+	 *
+	 * @param in The compressed input column vector
+	 * @param op The reorg operator with sort index function
+	 * @return The sorted values (compressed) or indexes, or null if not applicable
+	 */
+	public static MatrixBlock sort(CompressedMatrixBlock in, ReorgOperator op) {
+		final SortIndex fn = (SortIndex) op.fn;
+		final int[] by = fn.getCols();
+		if(by.length != 1 || by[0] != 1 || in.isEmpty())
+			return null;
+		final IndexedColumn col = IndexedColumn.create(in);
+		if(col == null || containsNaN(col))
+			return null;
+
+		final SortedDictionary sd = new SortedDictionary(col);
+		final boolean desc = fn.getDecreasing();
+		final int nRows = in.getNumRows();
+		final int nDistinct = sd.getNumDistinct();
+		if(fn.getIndexReturn()) {
+			// start positions of the distinct values in the output
+			final int[] pos = new int[nDistinct];
+			for(int i = 0, p = 0; i < nDistinct; i++) {
+				final int ix = desc ? nDistinct - i - 1 : i;
+				pos[ix] = p;
+				p += sd.getCount(ix);
+			}
+			final MatrixBlock ret = new MatrixBlock(nRows, 1, false);
+			ret.allocateDenseBlock();
+			final double[] c = ret.getDenseBlockValues();
+			final int[] rank = sd.getRanks();
+			final int blksz = IndexedColumn.BLOCK_SIZE;
+			final int[] idx = new int[blksz];
+			for(int bi = 0; bi < nRows; bi += blksz) {
+				final int bu = Math.min(bi + blksz, nRows);
+				col.getIndexes(bi, bu, idx);
+				for(int i = 0; i < bu - bi; i++)
+					c[pos[rank[idx[i]]]++] = bi + i + 1;
+			}
+			ret.setNonZeros(nRows);
+			return ret;
+		}
+		else {
+			// sorted values as run-length expanded map over the sorted distinct values
+			final double[] values = new double[nDistinct];
+			final AMapToData map = MapToFactory.create(nRows, nDistinct);
+			for(int i = 0, p = 0; i < nDistinct; i++) {
+				final int ix = desc ? nDistinct - i - 1 : i;
+				values[i] = sd.getValue(ix);
+				final int cnt = sd.getCount(ix);
+				for(int j = 0; j < cnt; j++)
+					map.set(p++, i);
+			}
+			final AColGroup g = ColGroupDDC.create(ColIndexFactory.create(1), Dictionary.create(values), map, null);
+			final long nnz = nRows - sd.getCount(0.0);
+			final List<AColGroup> groups = new ArrayList<>(1);
+			groups.add(g);
+			return new CompressedMatrixBlock(nRows, 1, nnz, false, groups);
+		}
+	}
+
+	private static boolean containsNaN(IndexedColumn col) {
+		for(double v : col.getValues())
+			if(Double.isNaN(v))
+				return true;
+		return false;
+	}
+
+	/**
+	 * The distinct values of an indexed column in ascending order, with the rank of each dictionary entry and the
+	 * number of rows per distinct value. Equal values of different dictionary entries (e.g., the SDC default) are
+	 * combined.
+	 */
+	private static final class SortedDictionary {
+		private final double[] _values;
+		private final int[] _counts;
+		private final int[] _ranks;
+
+		private SortedDictionary(IndexedColumn col) {
+			final double[] dv = col.getValues();
+			final int[] dc = col.getCounts();
+			final Integer[] order = new Integer[dv.length];
+			for(int i = 0; i < order.length; i++)
+				order[i] = i;
+			Arrays.sort(order, (a, b) -> Double.compare(dv[a], dv[b]));
+
+			final double[] values = new double[dv.length];
+			final int[] counts = new int[dv.length];
+			_ranks = new int[dv.length];
+			int n = -1;
+			for(int i = 0; i < order.length; i++) {
+				final int ix = order[i];
+				if(dc[ix] == 0)
+					continue; // unused dictionary entry
+				if(n < 0 || values[n] != dv[ix])
+					values[++n] = dv[ix];
+				counts[n] += dc[ix];
+				_ranks[ix] = n;
+			}
+			if(n < 0)
+				throw new DMLRuntimeException("Invalid sort of compressed column without rows");
+			_values = Arrays.copyOf(values, n + 1);
+			_counts = Arrays.copyOf(counts, n + 1);
+		}
+
+		private int getNumDistinct() {
+			return _values.length;
+		}
+
+		private double getValue(int i) {
+			return _values[i];
+		}
+
+		private int getCount(int i) {
+			return _counts[i];
+		}
+
+		private int[] getRanks() {
+			return _ranks;
+		}
+
+		private int getCount(double v) {
+			final int ix = indexOf(v);
+			return ix < 0 ? 0 : _counts[ix];
+		}
+
+		private int indexOf(double v) {
+			for(int i = 0; i < _values.length; i++)
+				if(_values[i] == v)
+					return i;
+			return -1;
+		}
+	}
+}
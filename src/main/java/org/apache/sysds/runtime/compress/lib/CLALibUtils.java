@@ -20,9 +20,12 @@
 package org.apache.sysds.runtime.compress.lib;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -33,11 +36,21 @@ import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AMorphingMMColGroup;
 import org.apache.sysds.runtime.compress.colgroup.APreAgg;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDCZeros;
 import org.apache.sysds.runtime.compress.colgroup.IFrameOfReferenceGroup;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IIterate;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.offset.AIterator;
+import org.apache.sysds.runtime.compress.colgroup.offset.AOffset;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public final class CLALibUtils {
 	protected static final Log LOG = LogFactory.getLog(CLALibUtils.class.getName());
@@ -249,4 +262,210 @@ public final class CLALibUtils {
 		else
 			return;
 	}
+
+	/**
+	 * Extract the values of a single column into the given buffer, for rows rl to ru.
+	 * 
+	 * @param mb  An uncompressed matrix block
+	 * @param col The column index
+	 * @param rl  The row to start at
+	 * @param ru  The row to end at (not inclusive)
+	 * @param ret The buffer to fill, starting at offset 0
+	 */
+	protected static void getColumn(MatrixBlock mb, int col, int rl, int ru, double[] ret) {
+		if(mb.isEmpty())
+			Arrays.fill(ret, 0, ru - rl, 0);
+		else if(mb.isInSparseFormat()) {
+			final SparseBlock sb = mb.getSparseBlock();
+			for(int r = rl; r < ru; r++)
+				ret[r - rl] = sb.get(r, col);
+		}
+		else if(mb.getNumColumns() == 1 && mb.getDenseBlock().isContiguous())
+			System.arraycopy(mb.getDenseBlockValues(), rl, ret, 0, ru - rl);
+		else
+			for(int r = rl; r < ru; r++)
+				ret[r - rl] = mb.get(r, col);
+	}
+
+	/**
+	 * A single compressed column, viewed as one dictionary index per row. The default value of SDC groups is appended
+	 * as an additional dictionary entry, such that operations like grouped aggregates or contingency tables can be
+	 * computed on the indexes and their counts without decompressing the values.
+	 */
+	protected static final class IndexedColumn {
+		/** Number of rows per block when extracting indexes */
+		protected static final int BLOCK_SIZE = 4096;
+
+		private final int _nRows;
+		private final double[] _values;
+		private final AMapToData _data;
+		private final AOffset _offsets;
+
+		private IndexedColumn(int nRows, double[] values, AMapToData data, AOffset offsets) {
+			_nRows = nRows;
+			_values = values;
+			_data = data;
+			_offsets = offsets;
+		}
+
+		/**
+		 * Create an indexed view of the given matrix block, if it is a non-overlapping compressed column vector in a
+		 * single DDC, SDC, constant, or empty column group.
+		 * 
+		 * @param mb The matrix block
+		 * @return The indexed column or null if not applicable
+		 */
+		protected static IndexedColumn create(MatrixBlock mb) {
+			if(!(mb instanceof CompressedMatrixBlock) || mb.getNumColumns() != 1)
+				return null;
+			final CompressedMatrixBlock cmb = (CompressedMatrixBlock) mb;
+			if(cmb.isOverlapping() || cmb.getColGroups().size() != 1)
+				return null;
+			final int nRows = cmb.getNumRows();
+			final AColGroup g = cmb.getColGroups().get(0);
+			if(g instanceof ColGroupDDC) {
+				final ColGroupDDC ddc = (ColGroupDDC) g;
+				return new IndexedColumn(nRows, getValues(ddc.getDictionary(), 0), ddc.getMapToData(), null);
+			}
+			else if(g instanceof ColGroupSDC) {
+				final ColGroupSDC sdc = (ColGroupSDC) g;
+				final double[] values = getValues(sdc.getDictionary(), 1);
+				values[values.length - 1] = sdc.getDefaultTuple()[0];
+				return new IndexedColumn(nRows, values, sdc.getMapToData(), sdc.getOffsets());
+			}
+			else if(g instanceof ColGroupSDCZeros) {
+				final ColGroupSDCZeros sdc = (ColGroupSDCZeros) g;
+				return new IndexedColumn(nRows, getValues(sdc.getDictionary(), 1), sdc.getMapToData(), sdc.getOffsets());
+			}
+			else if(g instanceof ColGroupConst)
+				return new IndexedColumn(nRows, new double[] {((ColGroupConst) g).getValues()[0]}, null, null);
+			else if(g instanceof ColGroupEmpty)
+				return new IndexedColumn(nRows, new double[] {0}, null, null);
+			return null;
+		}
+
+		private static double[] getValues(IDictionary dict, int extra) {
+			final int nVals = dict.getNumberOfValues(1);
+			final double[] ret = new double[nVals + extra];
+			for(int i = 0; i < nVals; i++)
+				ret[i] = dict.getValue(i, 0, 1);
+			return ret;
+		}
+
+		protected int getNumRows() {
+			return _nRows;
+		}
+
+		protected int getNumValues() {
+			return _values.length;
+		}
+
+		/**
+		 * Get the values of the dictionary entries, where the last entry is the default value for SDC groups.
+		 * 
+		 * @return The values
+		 */
+		protected double[] getValues() {
+			return _values;
+		}
+
+		/**
+		 * Get the number of rows per dictionary entry.
+		 * 
+		 * @return The counts
+		 */
+		protected int[] getCounts() {
+			final int[] ret = new int[_values.length];
+			if(_data == null)
+				ret[0] = _nRows;
+			else if(_offsets == null)
+				_data.getCounts(ret);
+			else {
+				_data.getCounts(ret);
+				ret[ret.length - 1] = _nRows - _data.size();
+			}
+			return ret;
+		}
+
+		/**
+		 * Extract the dictionary indexes of rows rl to ru into the given buffer.
+		 * 
+		 * @param rl  The row to start at
+		 * @param ru  The row to end at (not inclusive)
+		 * @param ret The buffer to fill, starting at offset 0
+		 */
+		protected void getIndexes(int rl, int ru, int[] ret) {
+			if(_data == null)
+				Arrays.fill(ret, 0, ru - rl, 0);
+			else if(_offsets == null) {
+				for(int r = rl; r < ru; r++)
+					ret[r - rl] = _data.getIndex(r);
+			}
+			else {
+				Arrays.fill(ret, 0, ru - rl, _values.length - 1);
+				final AIterator it = _offsets.getIterator(rl);
+				if(it == null)
+					return;
+				final int last = _offsets.getOffsetToLast();
+				while(it.value() < ru) {
+					ret[it.value() - rl] = _data.getIndex(it.getDataIndex());
+					if(it.value() >= last)
+						break;
+					it.next();
+				}
+			}
+		}
+
+		/**
+		 * Get the number of rows per pair of dictionary entries of this and that column, in row-major layout with the
+		 * entries of this column as rows.
+		 * 
+		 * @param that The other column with equal number of rows
+		 * @param k    The parallelization degree
+		 * @return The joint counts
+		 */
+		protected int[] getJointCounts(IndexedColumn that, int k) {
+			final int blocks = (_nRows + BLOCK_SIZE - 1) / BLOCK_SIZE;
+			if(k <= 1 || blocks < 2)
+				return getJointCounts(that, 0, _nRows);
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				final int blkz = (int) Math.ceil((double) blocks / k) * BLOCK_SIZE;
+				final List<Future<int[]>> tasks = new ArrayList<>();
+				for(int i = 0; i < _nRows; i += blkz) {
+					final int rl = i;
+					final int ru = Math.min(i + blkz, _nRows);
+					tasks.add(pool.submit(() -> getJointCounts(that, rl, ru)));
+				}
+				final int[] ret = tasks.get(0).get();
+				for(int i = 1; i < tasks.size(); i++) {
+					final int[] tmp = tasks.get(i).get();
+					for(int j = 0; j < ret.length; j++)
+						ret[j] += tmp[j];
+				}
+				return ret;
+			}
+			catch(Exception e) {
+				throw new DMLCompressionException("Failed parallel joint counts of compressed columns", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		private int[] getJointCounts(IndexedColumn that, int rl, int ru) {
+			final int nThat = that.getNumValues();
+			final int[] ret = new int[getNumValues() * nThat];
+			final int[] a = new int[BLOCK_SIZE];
+			final int[] b = new int[BLOCK_SIZE];
+			for(int bi = rl; bi < ru; bi += BLOCK_SIZE) {
+				final int bu = Math.min(bi + BLOCK_SIZE, ru);
+				getIndexes(bi, bu, a);
+				that.getIndexes(bi, bu, b);
+				for(int i = 0; i < bu - bi; i++)
+					ret[a[i] * nThat + b[i]]++;
+			}
+			return ret;
+		}
+	}
 }
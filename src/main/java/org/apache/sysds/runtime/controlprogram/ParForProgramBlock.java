@@ -290,6 +290,7 @@ public class ParForProgramBlock extends ForProgramBlock {
 	public static final boolean ALLOW_NESTED_PARALLELISM    = true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static final boolean CONVERT_NESTED_REMOTE_PARFOR = true; //convert parfor to for in remote parfor
 	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
+	public static final boolean USE_PARTITIONED_RESULT_MERGE = true; // if local result merge is run in parallel over row partitions of the output
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
 	public static       boolean ALLOW_REUSE_PARTITION_VARS  = true; //reuse partition input matrices, applied only if read-only in surrounding loops
@@ -775,6 +776,8 @@ public class ParForProgramBlock extends ForProgramBlock {
 			LineageCacheConfig.setReuseLineageTraces(false); //disable lineage trace reuse
 			for( Thread thread : threads )
 				thread.join();
+			if( DMLScript.STATISTICS )
+				ParForStatistics.incrementTaskQueueStats(queue.getNumDequeued(), queue.getNumWaits());
 			
 			// Step 4) collecting results from each parallel worker
 			//obtain results and cleanup other intermediates before result merge
@@ -1391,7 +1394,8 @@ public class ParForProgramBlock extends ForProgramBlock {
 					String fname = constructResultMergeFileName();
 					ResultMerge<?> rm = createResultMerge(_resultMerge,
 						out, in, fname, var._isAccum, _numThreads, ec);
-					CacheableData<?> outNew = USE_PARALLEL_RESULT_MERGE ?
+					CacheableData<?> outNew = (USE_PARALLEL_RESULT_MERGE || (USE_PARTITIONED_RESULT_MERGE
+						&& _numThreads > 1 && _resultMerge != PResultMerge.REMOTE_SPARK)) ?
 						rm.executeParallelMerge(_numThreads) :
 						rm.executeSerialMerge();
 					
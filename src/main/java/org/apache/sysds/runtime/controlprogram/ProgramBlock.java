@@ -19,6 +19,7 @@
 package org.apache.sysds.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -36,12 +37,18 @@ import org.apache.sysds.parser.StatementBlock;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.DMLScriptException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.BuiltinNaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.Data;
 import org.apache.sysds.runtime.instructions.cp.DoubleObject;
 import org.apache.sysds.runtime.instructions.cp.IntObject;
@@ -51,6 +58,7 @@ import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.lineage.LineageCache;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.utils.stats.RecompileStatistics;
@@ -196,7 +204,13 @@ public abstract class ProgramBlock implements ParseInfo {
 	}
 
 	protected void executeInstructions(ArrayList<Instruction> inst, ExecutionContext ec) {
+		int depth = CacheableData.CACHING_PREFETCH_DEPTH;
 		for(int i = 0; i < inst.size(); i++) {
+			// start asynchronous restore of evicted inputs of upcoming instructions
+			// (initial window, and subsequently the next instruction entering it)
+			if(depth > 0)
+				for(int j = (i == 0) ? 1 : i + depth; j <= i + depth && j < inst.size(); j++)
+					prefetchEvictedInputs(inst.get(j), ec);
 			// indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
 			// execute instruction
@@ -204,6 +218,23 @@ public abstract class ProgramBlock implements ParseInfo {
 		}
 	}
 
+	private static void prefetchEvictedInputs(Instruction inst, ExecutionContext ec) {
+		CPOperand[] inputs = (inst instanceof ComputationCPInstruction) ?
+			((ComputationCPInstruction) inst).getInputs() : (inst instanceof BuiltinNaryCPInstruction) ?
+			((BuiltinNaryCPInstruction) inst).getInputs() : null;
+		ExecutorService pool = LazyWriteBuffer.getUtilThreadPool();
+		if(inputs == null || pool == null)
+			return;
+		for(CPOperand in : inputs) {
+			if(in == null || !in.isMatrix() && !in.isFrame())
+				continue;
+			Data dat = ec.getVariable(in);
+			if(dat instanceof CacheableData && ((CacheableData<?>) dat).prefetchEvictedBlob(pool)
+				&& DMLScript.STATISTICS)
+				CacheStatistics.incrementPrefetches();
+		}
+	}
+
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType,
 		ExecutionContext ec) {
 		// execute all instructions (indexed access required due to debug mode)
@@ -251,8 +282,15 @@ public abstract class ProgramBlock implements ParseInfo {
 			if(!LineageCache.reuse(tmp, ec)) {
 				long et0 = (!ReuseCacheType.isNone() || DMLScript.LINEAGE_ESTIMATE) ? System.nanoTime() : 0;
 
-				// process actual instruction
-				tmp.processInstruction(ec);
+				// process actual instruction (w/ reserved output memory)
+				boolean reserved = reserveOutputMem(tmp, ec);
+				try {
+					tmp.processInstruction(ec);
+				}
+				finally {
+					if(reserved)
+						UnifiedMemoryManager.releaseOutputMem();
+				}
 
 				// cache result
 				LineageCache.putValue(tmp, ec, et0);
@@ -292,6 +330,24 @@ public abstract class ProgramBlock implements ParseInfo {
 		}
 	}
 
+	private static boolean reserveOutputMem(Instruction inst, ExecutionContext ec) {
+		// reclaim lent buffer pool memory for large matrix outputs of CP instructions
+		if(!OptimizerUtils.isUMMEnabled() || !(inst instanceof ComputationCPInstruction))
+			return false;
+		CPOperand out = ((ComputationCPInstruction) inst).getOutput();
+		Data dat = (out != null) ? ec.getVariables().get(out.getName()) : null;
+		if(!(dat instanceof MatrixObject))
+			return false;
+		DataCharacteristics dc = ((MatrixObject) dat).getDataCharacteristics();
+		if(!dc.dimsKnown())
+			return false;
+		long size = OptimizerUtils.estimateSizeExactSparsity(dc);
+		if(size <= CacheableData.CACHING_THRESHOLD)
+			return false;
+		UnifiedMemoryManager.reserveOutputMem(size);
+		return true;
+	}
+
 	protected UpdateType[] prepareUpdateInPlaceVariables(ExecutionContext ec, long tid) {
 		if(_sb == null || _sb.getUpdateInPlaceVars().isEmpty())
 			return null;
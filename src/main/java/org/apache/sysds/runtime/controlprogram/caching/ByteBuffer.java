@@ -38,11 +38,22 @@ import org.apache.sysds.runtime.util.LocalFileUtils;
  */
 public class ByteBuffer
 {
+	//estimated restore cost (file open and seek, plus local read and
+	//deserialization per byte) if not measured
+	private static final long RESTORE_NANOS_PER_BLOCK = 1_000_000;
+	private static final double RESTORE_NANOS_PER_BYTE = 2;
+	
 	private volatile boolean _serialized;
 	private volatile boolean _shallow;
 	private volatile boolean _matrix;
 	private final long _size;
 	
+	//meta data for cost-based eviction policies
+	private long _restoreCost = -1; //in nano sec
+	protected int _numAccesses = 1;
+	protected double _score = 0;
+	protected long _seq = 0;
+	
 	protected byte[]     _bdata = null; //sparse matrix
 	protected CacheBlock<?> _cdata = null; //dense matrix/frame
 	
@@ -114,6 +125,30 @@ public class ByteBuffer
 		}
 	}
 	
+	/**
+	 * Returns the serialized representation of the cache block, which is
+	 * either the existing byte array or a new serialized copy.
+	 * 
+	 * @return serialized cache block, or null if too large for a byte array
+	 * @throws IOException if IOException occurs
+	 */
+	public byte[] getSerializedBytes()
+		throws IOException
+	{
+		if( !_shallow )
+			return _bdata;
+		long size = _cdata.getExactSerializedSize();
+		if( size > DenseBlockLDRB.MAX_ALLOC )
+			return null;
+		CacheDataOutput dout = new CacheDataOutput((int)size);
+		_cdata.write(dout);
+		return dout._buff;
+	}
+	
+	public boolean isMatrix() {
+		return _matrix;
+	}
+	
 	/**
 	 * Returns the buffer size in bytes.
 	 * 
@@ -123,6 +158,21 @@ public class ByteBuffer
 		return _size;
 	}
 
+	/**
+	 * Returns the measured or estimated cost of restoring the
+	 * evicted cache block into memory.
+	 * 
+	 * @return restore cost in nano seconds
+	 */
+	public long getRestoreCost() {
+		return (_restoreCost >= 0) ? _restoreCost :
+			RESTORE_NANOS_PER_BLOCK + (long)(_size * RESTORE_NANOS_PER_BYTE);
+	}
+	
+	public void setRestoreCost(long cost) {
+		_restoreCost = cost;
+	}
+
 	public boolean isShallow() {
 		return _shallow;
 	}
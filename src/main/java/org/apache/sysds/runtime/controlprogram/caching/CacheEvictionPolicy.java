@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.Map;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+
+/**
+ * Eviction policy of the buffer pool, which maintains the order or scores of
+ * the entries in the eviction queue on insert and access, and selects the
+ * entries to evict. All methods are called while holding the queue lock.
+ * 
+ * By default, entries are evicted in queue order (FIFO).
+ */
+public interface CacheEvictionPolicy
+{
+	/**
+	 * Called after a new entry was appended to the eviction queue.
+	 * 
+	 * @param queue eviction queue
+	 * @param fname file name of the entry
+	 * @param bbuff byte buffer of the entry
+	 */
+	public default void onInsert(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+		//do nothing
+	}
+	
+	/**
+	 * Called after a read access to an entry of the eviction queue.
+	 * 
+	 * @param queue eviction queue
+	 * @param fname file name of the entry
+	 * @param bbuff byte buffer of the entry
+	 */
+	public default void onAccess(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+		//do nothing
+	}
+	
+	/**
+	 * Selects and removes the next entry to evict from the non-empty queue.
+	 * 
+	 * @param queue eviction queue
+	 * @return removed queue entry
+	 */
+	public default Map.Entry<String, ByteBuffer> removeVictim(CacheEvictionQueue queue) {
+		return queue.removeFirst();
+	}
+	
+	public static CacheEvictionPolicy create(RPolicy policy) {
+		switch( policy ) {
+			case FIFO: return new CacheEvictionPolicy() {};
+			case LRU: return new LRUEvictionPolicy();
+			case COSTNSIZE: return new CostNSizeEvictionPolicy();
+			default:
+				throw new DMLRuntimeException("Unsupported buffer pool eviction policy: "+policy);
+		}
+	}
+	
+	/**
+	 * Least-recently-used eviction by reinserting accessed entries at
+	 * the end of the eviction queue.
+	 */
+	public static class LRUEvictionPolicy implements CacheEvictionPolicy {
+		@Override
+		public void onAccess(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+			//reinsert entry at end of eviction queue
+			queue.remove(fname);
+			queue.addLast(fname, bbuff);
+		}
+	}
+}
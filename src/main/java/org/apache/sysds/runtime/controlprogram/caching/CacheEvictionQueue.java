@@ -19,9 +19,9 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 public class CacheEvictionQueue extends LinkedHashMap<String, ByteBuffer>
@@ -50,15 +50,17 @@ public class CacheEvictionQueue extends LinkedHashMap<String, ByteBuffer>
 		return entry;
 	}
 
-	public Map.Entry<String, ByteBuffer> removeFirstUnpinned(List<String> pinnedList) {
-		//move iterator to first entry
+	public Map.Entry<String, ByteBuffer> removeFirstUnpinned(Collection<String> pinnedList) {
+		//move iterator to first unpinned entry
 		Iterator<Map.Entry<String, ByteBuffer>> iter = entrySet().iterator();
-		var entry = iter.next();
-		while (pinnedList.contains(entry.getKey()))
-			entry = iter.next();
-
-		//remove current iterator entry
-		iter.remove();
-		return entry;
+		while( iter.hasNext() ) {
+			var entry = iter.next();
+			if( !pinnedList.contains(entry.getKey()) ) {
+				//remove current iterator entry
+				iter.remove();
+				return entry;
+			}
+		}
+		return null; //all entries pinned
 	}
 }
@@ -40,6 +40,21 @@ public class CacheStatistics
 	private static final LongAdder _numHitsFS       = new LongAdder();
 	private static final LongAdder _numHitsHDFS     = new LongAdder();
 	private static final LongAdder _numHitsLin      = new LongAdder();
+	
+	//read-ahead statistics (restores of evicted blobs)
+	private static final LongAdder _numPrefetches   = new LongAdder();
+	private static final LongAdder _numPrefetchHits = new LongAdder();
+	private static final LongAdder _numPrefetchMiss = new LongAdder();
+
+	//compressed tier statistics (hits, writes, raw and compressed bytes)
+	private static final LongAdder _numHitsCTier    = new LongAdder();
+	private static final LongAdder _numWritesCTier  = new LongAdder();
+	private static final LongAdder _bytesRawCTier   = new LongAdder();
+	private static final LongAdder _bytesCompCTier  = new LongAdder();
+
+	//unified memory manager statistics (reservations, evictions)
+	private static final LongAdder _numReservesUMM  = new LongAdder();
+	private static final LongAdder _numReclaimsUMM  = new LongAdder();
 
 	//write statistics caching
 	private static final LongAdder _numWritesBPool = new LongAdder();
@@ -60,6 +75,18 @@ public class CacheStatistics
 		_numHitsFS.reset();
 		_numHitsHDFS.reset();
 		
+		_numHitsCTier.reset();
+		_numWritesCTier.reset();
+		_bytesRawCTier.reset();
+		_bytesCompCTier.reset();
+		
+		_numPrefetches.reset();
+		_numPrefetchHits.reset();
+		_numPrefetchMiss.reset();
+		
+		_numReservesUMM.reset();
+		_numReclaimsUMM.reset();
+		
 		_numWritesBPool.reset();
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
@@ -131,6 +158,62 @@ public class CacheStatistics
 		return _numHitsLin.longValue();
 	}
 
+	public static void incrementCTierHits() {
+		_numHitsCTier.increment();
+	}
+	
+	public static long getCTierHits() {
+		return _numHitsCTier.longValue();
+	}
+	
+	public static void incrementCTierWrites(long rawBytes, long compBytes) {
+		_numWritesCTier.increment();
+		_bytesRawCTier.add(rawBytes);
+		_bytesCompCTier.add(compBytes);
+	}
+	
+	public static long getCTierWrites() {
+		return _numWritesCTier.longValue();
+	}
+	
+	public static double getCTierCompressionRatio() {
+		long comp = _bytesCompCTier.longValue();
+		return comp > 0 ? (double)_bytesRawCTier.longValue() / comp : 0;
+	}
+	
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+	
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+	
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+	
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+	
+	public static void incrementPrefetchMisses() {
+		_numPrefetchMiss.increment();
+	}
+	
+	public static long getPrefetchMisses() {
+		return _numPrefetchMiss.longValue();
+	}
+	
+	public static void incrementUMMReclaims(long numEvicted) {
+		_numReservesUMM.increment();
+		_numReclaimsUMM.add(numEvicted);
+	}
+	
+	public static long getUMMReclaims() {
+		return _numReclaimsUMM.longValue();
+	}
+
 	public static void incrementBPoolWrites() {
 		_numWritesBPool.increment();
 	}
@@ -226,6 +309,37 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayCTier() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numWritesCTier.longValue());
+		sb.append("/");
+		sb.append(_numHitsCTier.longValue());
+		sb.append("/");
+		sb.append(String.format("%.2f", getCTierCompressionRatio()));
+		
+		return sb.toString();
+	}
+	
+	public static String displayUMMReclaims() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numReservesUMM.longValue());
+		sb.append("/");
+		sb.append(_numReclaimsUMM.longValue());
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetches() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchHits.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchMiss.longValue());
+		
+		return sb.toString();
+	}
+	
 	public static String displayWrites() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numWritesLin.longValue());
@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.lang3.mutable.MutableBoolean;
@@ -36,6 +38,7 @@ import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FTypes.FType;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -53,6 +56,7 @@ import org.apache.sysds.runtime.io.FileFormatProperties;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.io.ReaderWriterFederated;
 import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaData;
@@ -88,6 +92,10 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
 	public static boolean CACHING_ASYNC_SERIALIZE = false;
+	public static boolean CACHING_EVICTION_MMAP = false; //see DMLConfig.CACHING_MMAP
+	public static boolean CACHING_OFFHEAP = false; //see DMLConfig.CACHING_OFFHEAP
+	public static long CACHING_OFFHEAP_THRESHOLD = 16 * 1024 * 1024; //min size of off-heap dense blocks (bytes)
+	public static int CACHING_PREFETCH_DEPTH = 0; //see DMLConfig.CACHING_PREFETCH_DEPTH
 	
 	//NOTE CACHING_ASYNC_SERIALIZE:
 	// The serialization of matrices and frames (ultra-sparse matrices or 
@@ -208,6 +216,10 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	private String  _cacheFileName = null; //local eviction file name
 	private boolean _requiresLocalWrite = false; //flag if local write for read obj
 	private boolean _isAcquireFromEmpty = false; //flag if read from status empty 
+	//pending asynchronous restore of an evicted blob (soft reference to not
+	//hold prefetched blobs that are never acquired outside the memory budget)
+	private volatile Future<SoftReference<T>> _prefetch = null;
+	private long    _restoreTime = -1;     //last measured restore time (ns), for eviction
 	
 	//spark-specific handles
 	//note: we use the abstraction of LineageObjects for two reasons: (1) to keep track of cleanup
@@ -726,12 +738,20 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 					if (OptimizerUtils.isUMMEnabled())
 						UnifiedMemoryManager.writeBlock(filePath, _data);
 					else
-						LazyWriteBuffer.writeBlock(filePath, _data);
+						LazyWriteBuffer.writeBlock(filePath, _data, _restoreTime);
 				}
 				catch (Exception e) {
 					throw new DMLRuntimeException("Eviction to local path " + filePath + " ("+hashCode()+") failed.", e);
 				}
 				_requiresLocalWrite = false;
+				
+				//move large dense data off-heap (no pins left) on eviction into the
+				//buffer pool, but not on read releases to avoid repeated pin copies
+				//(the total off-heap size is bounded by the buffer pool limit)
+				if( CACHING_OFFHEAP && _data instanceof MatrixBlock
+					&& !(_data instanceof CompressedMatrixBlock) )
+					((MatrixBlock) _data).offloadDenseBlock(
+						CACHING_OFFHEAP_THRESHOLD, OptimizerUtils.getBufferPoolLimit());
 			}
 
 			if( DMLScript.STATISTICS && write && hasValidLineage() )
@@ -775,6 +795,7 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		// clear the in-memory data
 		_data = null;
 		clearCache();
+		clearPrefetch();
 		setCacheLineage(null);
 		
 		// clear rdd/broadcast back refs
@@ -1006,7 +1027,17 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Cannot restore on top of existing in-memory data.");
 
 		try {
-			_data = readBlobFromCache(cacheFilePathAndName);
+			//probe pending or completed asynchronous restore
+			_data = getPrefetch();
+			if( _data == null ) {
+				//measure restore times only for reads from the compressed tier or
+				//local FS, for buffer pool hits (shallow deserialize) keep the estimate
+				boolean bpHit = !OptimizerUtils.isUMMEnabled()
+					&& LazyWriteBuffer.probe(this);
+				long t0 = System.nanoTime();
+				_data = readBlobFromCache(cacheFilePathAndName);
+				_restoreTime = bpHit ? -1 : System.nanoTime() - t0;
+			}
 		}
 		catch (IOException e) {
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Restore failed.", e);	
@@ -1023,6 +1054,54 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
 	
+	/**
+	 * Starts an asynchronous restore of the evicted data blob on the given
+	 * thread pool, which is picked up by a subsequent acquire read. This call
+	 * is a no-op if the blob is not evicted or a restore is already pending.
+	 * 
+	 * @param pool thread pool for asynchronous restore
+	 * @return true if a new asynchronous restore was started
+	 */
+	public synchronized boolean prefetchEvictedBlob(ExecutorService pool) {
+		//prefetch only evicted blobs (cached, but neither pinned nor soft-referenced)
+		if( pool == null || _prefetch != null || !isCachingActive()
+			|| _cacheStatus != CacheStatus.CACHED || _data != null
+			|| (_cache != null && _cache.get() != null) )
+			return false;
+		final String fname = getCacheFilePathAndName();
+		_prefetch = pool.submit(() -> new SoftReference<>(readBlobFromCache(fname)));
+		return true;
+	}
+	
+	private T getPrefetch() {
+		Future<SoftReference<T>> prefetch = _prefetch;
+		_prefetch = null;
+		T ret = null;
+		if( prefetch != null ) {
+			try {
+				ret = prefetch.get().get();
+			}
+			catch(Exception ex) {
+				//fallback to synchronous restore (e.g., concurrent deletes)
+				LOG.debug("Failed asynchronous restore of "+getDebugName(), ex);
+			}
+		}
+		if( DMLScript.STATISTICS && CACHING_PREFETCH_DEPTH > 0 ) {
+			if( ret != null )
+				CacheStatistics.incrementPrefetchHits();
+			else
+				CacheStatistics.incrementPrefetchMisses();
+		}
+		return ret;
+	}
+	
+	private void clearPrefetch() {
+		if( _prefetch != null ) {
+			_prefetch.cancel(false);
+			_prefetch = null;
+		}
+	}
+	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
 	 * evicted data blob, without reading it.
@@ -1451,6 +1530,21 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 			throw new IOException(e);
 		}
 	
+		//memory-mapped eviction of dense blocks
+		CACHING_EVICTION_MMAP = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_MMAP);
+		//off-heap storage of released dense blocks
+		CACHING_OFFHEAP = ConfigurationManager.getDMLConfig()
+			.getBooleanValue(DMLConfig.CACHING_OFFHEAP);
+		//buffer pool eviction policy (if not configured, keep current policy)
+		String policy = ConfigurationManager.getDMLConfig()
+			.getTextValue(DMLConfig.CACHING_EVICTION_POLICY);
+		if( policy != null )
+			CACHING_BUFFER_POLICY = RPolicy.valueOf(policy.toUpperCase());
+		//asynchronous read-ahead of evicted instruction inputs
+		CACHING_PREFETCH_DEPTH = ConfigurationManager.getDMLConfig()
+			.getIntValue(DMLConfig.CACHING_PREFETCH_DEPTH);
+		
 		if (OptimizerUtils.isUMMEnabled())
 			//init unified memory manager
 			UnifiedMemoryManager.init();
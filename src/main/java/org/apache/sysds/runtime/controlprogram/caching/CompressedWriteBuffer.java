@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
+
+/**
+ * Second, compressed in-memory tier of the buffer pool. Blocks evicted from
+ * the {@link LazyWriteBuffer} are serialized and compressed with a fast
+ * byte-level codec (LZ4), and only spilled to local disk if they do not
+ * compress well or the budget of this tier is exceeded (in FIFO order).
+ * All methods are called while holding the lock of the buffer pool.
+ */
+public class CompressedWriteBuffer
+{
+	//min compression ratio for keeping a block in memory
+	public static final double MIN_COMPRESSION_RATIO = 2;
+	
+	private final long _limit;
+	private long _size;
+	private final LinkedHashMap<String, CompressedEntry> _queue;
+	private final Lz4Compressor _compressor;
+	
+	public CompressedWriteBuffer(long limit) {
+		_limit = limit;
+		_size = 0;
+		_queue = new LinkedHashMap<>();
+		_compressor = new Lz4Compressor();
+	}
+	
+	/**
+	 * Evicts the given buffer pool entry into the compressed tier, or
+	 * into the local file system if it does not compress well.
+	 * 
+	 * @param fname file name of the cache block
+	 * @param bbuff serialized buffer pool entry
+	 * @return number of blocks written to the local file system
+	 * @throws IOException if IOException occurs
+	 */
+	public int writeBlock(String fname, ByteBuffer bbuff) throws IOException {
+		byte[] raw = bbuff.getSerializedBytes();
+		if( raw == null ) { //too large for byte serialization
+			bbuff.evictBuffer(fname);
+			return 1;
+		}
+		
+		//compress serialized block and check ratio and budget
+		byte[] cdata = new byte[_compressor.maxCompressedLength(raw.length)];
+		int clen = _compressor.compress(raw, 0, raw.length, cdata, 0, cdata.length);
+		if( raw.length < MIN_COMPRESSION_RATIO * clen || clen > _limit ) {
+			LocalFileUtils.writeByteArrayToLocal(fname, raw);
+			return 1;
+		}
+		
+		//make room by spilling compressed blocks, and append new block
+		int numEvicted = evict(clen);
+		byte[] tmp = new byte[clen];
+		System.arraycopy(cdata, 0, tmp, 0, clen);
+		_queue.put(fname, new CompressedEntry(tmp, raw.length, bbuff.isMatrix()));
+		_size += clen;
+		
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementCTierWrites(raw.length, clen);
+		return numEvicted;
+	}
+	
+	/**
+	 * Probes the compressed tier for the given block. The compressed block is
+	 * kept until deleted or spilled, similar to evicted files on local disk.
+	 * 
+	 * @param fname file name of the cache block
+	 * @return compressed entry, or null if not contained in this tier
+	 */
+	public CompressedEntry getBlock(String fname) {
+		return _queue.get(fname);
+	}
+	
+	/**
+	 * Decompresses and deserializes the given compressed block, which
+	 * is thread-safe and thus, can be called outside the buffer pool lock.
+	 * 
+	 * @param entry compressed entry
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock<?> readBlock(CompressedEntry entry) throws IOException {
+		byte[] raw = decompress(entry);
+		DataInput din = entry.matrix ? new CacheDataInput(raw) :
+			new DataInputStream(new ByteArrayInputStream(raw));
+		CacheBlock<?> ret = entry.matrix ? new MatrixBlock() : new FrameBlock();
+		ret.readFields(din);
+		return ret;
+	}
+	
+	public boolean containsBlock(String fname) {
+		return _queue.containsKey(fname);
+	}
+	
+	public boolean deleteBlock(String fname) {
+		CompressedEntry entry = _queue.remove(fname);
+		if( entry != null )
+			_size -= entry.cdata.length;
+		return entry != null;
+	}
+	
+	/**
+	 * Spills all blocks of the compressed tier to the local file system.
+	 * 
+	 * @return number of blocks written to the local file system
+	 * @throws IOException if IOException occurs
+	 */
+	public int evictAll() throws IOException {
+		return evict(_limit + 1);
+	}
+	
+	public void clear() {
+		_queue.clear();
+		_size = 0;
+	}
+	
+	public long getSize() {
+		return _size;
+	}
+	
+	public long getLimit() {
+		return _limit;
+	}
+	
+	public int getNumBlocks() {
+		return _queue.size();
+	}
+	
+	private int evict(long reqSize) throws IOException {
+		int numEvicted = 0;
+		Iterator<Entry<String, CompressedEntry>> iter = _queue.entrySet().iterator();
+		while( _size + reqSize > _limit && iter.hasNext() ) {
+			Entry<String, CompressedEntry> e = iter.next();
+			LocalFileUtils.writeByteArrayToLocal(e.getKey(), decompress(e.getValue()));
+			_size -= e.getValue().cdata.length;
+			iter.remove();
+			numEvicted++;
+		}
+		return numEvicted;
+	}
+	
+	private static byte[] decompress(CompressedEntry entry) {
+		byte[] raw = new byte[entry.rlen];
+		new Lz4Decompressor().decompress(entry.cdata, 0, entry.cdata.length, raw, 0, raw.length);
+		return raw;
+	}
+	
+	public static class CompressedEntry {
+		private final byte[] cdata;
+		private final int rlen;
+		private final boolean matrix;
+		
+		public CompressedEntry(byte[] cdata, int rlen, boolean matrix) {
+			this.cdata = cdata;
+			this.rlen = rlen;
+			this.matrix = matrix;
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map.Entry;
+import java.util.PriorityQueue;
+
+/**
+ * Size- and cost-aware eviction policy (greedy-dual-size-frequency), which
+ * scores entries by their number of accesses times restore cost per byte,
+ * plus an inflation value for aging. The inflation value is raised to the
+ * score of every evicted entry, which lets unused entries age out over time.
+ * Entries with minimal score are evicted first, i.e., large blocks that are
+ * cheap to restore and rarely accessed before small or frequently used ones.
+ * 
+ * Scored entries are kept in a priority queue, where outdated scores and
+ * entries removed from the eviction queue are skipped on victim selection.
+ */
+public class CostNSizeEvictionPolicy implements CacheEvictionPolicy
+{
+	//inflation value (score of the last evicted entry)
+	private double _inflation = 0;
+	
+	//candidates ordered by score (and insertion order for ties)
+	private final PriorityQueue<Candidate> _heap = new PriorityQueue<>();
+	private long _seq = 0;
+	
+	@Override
+	public void onInsert(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+		bbuff._seq = _seq++;
+		bbuff._score = computeScore(bbuff);
+		addCandidate(queue, fname, bbuff);
+	}
+	
+	@Override
+	public void onAccess(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+		bbuff._numAccesses++;
+		bbuff._score = computeScore(bbuff);
+		addCandidate(queue, fname, bbuff);
+	}
+	
+	@Override
+	public Entry<String, ByteBuffer> removeVictim(CacheEvictionQueue queue) {
+		//poll entry with minimal score, skipping outdated candidates
+		while( !_heap.isEmpty() ) {
+			Candidate c = _heap.poll();
+			if( !c.isValid(queue) )
+				continue;
+			queue.remove(c._fname);
+			_inflation = Math.max(_inflation, c._score);
+			return new SimpleEntry<>(c._fname, c._bbuff);
+		}
+		//robustness for entries added w/o policy
+		return queue.removeFirst();
+	}
+	
+	public double getInflation() {
+		return _inflation;
+	}
+	
+	private void addCandidate(CacheEvictionQueue queue, String fname, ByteBuffer bbuff) {
+		_heap.add(new Candidate(fname, bbuff));
+		//rebuild the heap if dominated by outdated candidates
+		if( _heap.size() > 2 * queue.size() + 16 )
+			_heap.removeIf(c -> !c.isValid(queue));
+	}
+	
+	private double computeScore(ByteBuffer bbuff) {
+		double size = Math.max(bbuff.getSize(), 1);
+		return _inflation + bbuff._numAccesses * bbuff.getRestoreCost() / size;
+	}
+	
+	private static class Candidate implements Comparable<Candidate> {
+		private final String _fname;
+		private final ByteBuffer _bbuff;
+		private final double _score;
+		
+		private Candidate(String fname, ByteBuffer bbuff) {
+			_fname = fname;
+			_bbuff = bbuff;
+			_score = bbuff._score;
+		}
+		
+		private boolean isValid(CacheEvictionQueue queue) {
+			//still queued and not rescored by a subsequent access
+			return _score == _bbuff._score && queue.get(_fname) == _bbuff;
+		}
+		
+		@Override
+		public int compareTo(Candidate o) {
+			int ret = Double.compare(_score, o._score);
+			return (ret != 0) ? ret : Long.compare(_bbuff._seq, o._bbuff._seq);
+		}
+	}
+}
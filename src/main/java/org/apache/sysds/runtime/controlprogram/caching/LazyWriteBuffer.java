@@ -34,7 +34,8 @@ public class LazyWriteBuffer {
 
 	public enum RPolicy {
 		FIFO, //first-in, first-out eviction
-		LRU   //least recently used eviction
+		LRU,  //least recently used eviction
+		COSTNSIZE //restore cost, size, and access frequency
 	}
 	
 	//global size limit in bytes
@@ -47,11 +48,33 @@ public class LazyWriteBuffer {
 	//for (1) queue semantics and (2) constant time get/insert/delete operations)
 	private static CacheEvictionQueue _mQueue;
 	
+	//eviction policy for maintaining the queue and selecting evicted entries
+	private static CacheEvictionPolicy _policy;
+	
+	//optional compressed in-memory tier for evicted blocks (null if disabled)
+	private static CompressedWriteBuffer _cBuff;
+	
 	//maintenance service for synchronous or asynchronous delete of evicted files
 	private static CacheMaintenanceService _fClean;
 	
 	public static int writeBlock(String fname, CacheBlock<?> cb)
 		throws IOException
+	{
+		return writeBlock(fname, cb, -1);
+	}
+	
+	/**
+	 * Writes the cache block into the buffer pool (or local file system
+	 * if too large), evicting other blocks if necessary.
+	 * 
+	 * @param fname file name of the cache block
+	 * @param cb cache block
+	 * @param restoreCost measured restore cost in nano seconds, or -1 if unknown
+	 * @return number of evicted blocks
+	 * @throws IOException if IOException occurs
+	 */
+	public static int writeBlock(String fname, CacheBlock<?> cb, long restoreCost)
+		throws IOException
 	{
 		//obtain basic meta data of cache block
 		//(size refers to potentially compact converted shallow-serialize
@@ -67,6 +90,7 @@ public class LazyWriteBuffer {
 		if(!requiresWrite) {
 			//create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
+			bbuff.setRestoreCost(restoreCost);
 			
 			// modify buffer pool
 			synchronized(_mQueue) {
@@ -75,6 +99,7 @@ public class LazyWriteBuffer {
 				
 				//put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
+				_policy.onInsert(_mQueue, fname, bbuff);
 				_size += lSize;
 			}
 			
@@ -101,8 +126,8 @@ public class LazyWriteBuffer {
 	private static int evict(long lSize) throws IOException {
 		int numEvicted = 0;
 		while(_size + lSize > _limit && !_mQueue.isEmpty()) {
-			// remove first entry from eviction queue
-			Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+			// remove next entry from eviction queue
+			Entry<String, ByteBuffer> entry = _policy.removeVictim(_mQueue);
 			String ftmp = entry.getKey();
 			ByteBuffer tmp = entry.getValue();
 
@@ -110,11 +135,15 @@ public class LazyWriteBuffer {
 				// wait for pending serialization
 				tmp.checkSerialized();
 
-				// evict matrix
-				tmp.evictBuffer(ftmp);
+				// evict matrix (to compressed tier or local FS)
+				if( _cBuff != null )
+					numEvicted += _cBuff.writeBlock(ftmp, tmp);
+				else {
+					tmp.evictBuffer(ftmp);
+					numEvicted++;
+				}
 				tmp.freeMemory();
 				_size -= tmp.getSize();
-				numEvicted++;
 			}
 		}
 		return numEvicted;
@@ -133,6 +162,8 @@ public class LazyWriteBuffer {
 				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			else if( _cBuff != null && _cBuff.deleteBlock(fname) )
+				requiresDelete = false;
 		}
 		
 		//delete from FS if required
@@ -145,29 +176,33 @@ public class LazyWriteBuffer {
 	{
 		CacheBlock<?> cb = null;
 		ByteBuffer ldata = null;
+		CompressedWriteBuffer.CompressedEntry cdata = null;
 		
 		//probe write buffer
 		synchronized( _mQueue )
 		{
 			ldata = _mQueue.get(fname);
 			
-			//modify eviction order (accordingly to access)
-			if(CacheableData.CACHING_BUFFER_POLICY == RPolicy.LRU
-				&& ldata != null )
-			{
-				//reinsert entry at end of eviction queue
-				_mQueue.remove( fname );
-				_mQueue.addLast( fname, ldata );
-			}
+			//modify eviction order or scores (accordingly to access)
+			if( ldata != null )
+				_policy.onAccess(_mQueue, fname, ldata);
+			else if( _cBuff != null )
+				cdata = _cBuff.getBlock(fname);
 		}
 		
-		//deserialize or read from FS if required
+		//deserialize, decompress, or read from FS if required
 		if( ldata != null )
 		{
 			cb = ldata.deserializeBlock();
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSBuffHits();
 		}
+		else if( cdata != null )
+		{
+			cb = CompressedWriteBuffer.readBlock(cdata);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementCTierHits();
+		}
 		else
 		{
 			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
@@ -180,14 +215,19 @@ public class LazyWriteBuffer {
 
 	public static void init() {
 		_mQueue = new CacheEvictionQueue();
+		_policy = CacheEvictionPolicy.create(CacheableData.CACHING_BUFFER_POLICY);
 		_fClean = new CacheMaintenanceService();
 		_limit = OptimizerUtils.getBufferPoolLimit();
 		_size = 0;
+		long climit = OptimizerUtils.getCompressedBufferPoolLimit();
+		_cBuff = (climit > 0) ? new CompressedWriteBuffer(climit) : null;
 	}
 
 	public static void cleanup() {
 		if( _mQueue != null )
 			_mQueue.clear();
+		if( _cBuff != null )
+			_cBuff.clear();
 		if( _fClean != null )
 			_fClean.close();
 	}
@@ -212,6 +252,19 @@ public class LazyWriteBuffer {
 			return _limit - _size; }
 	}
 	
+	/**
+	 * Probes if the cache block of the given object is held in the
+	 * (uncompressed) buffer pool.
+	 * 
+	 * @param cd cacheable data object
+	 * @return true if the block is queued in the buffer pool
+	 */
+	public static boolean probe(CacheableData<?> cd) {
+		String fname = cd.getCacheFilePathAndName();
+		synchronized( _mQueue ) {
+			return _mQueue.containsKey(fname); }
+	}
+	
 	public static int getQueueSize() {
 		return _mQueue.size();
 	}
@@ -237,6 +290,11 @@ public class LazyWriteBuffer {
 				"limit="+_limit+", " +
 				"size[bytes]="+_size+", " +
 				"size[elements]="+_mQueue.size()+"/"+_mQueue.size());
+			if( _cBuff != null )
+				System.out.println("\tWB: Compressed Tier Meta Data: " +
+					"limit="+_cBuff.getLimit()+", " +
+					"size[bytes]="+_cBuff.getSize()+", " +
+					"size[elements]="+_cBuff.getNumBlocks());
 			
 			//print current buffer entries
 			int count = _mQueue.size();
@@ -276,6 +334,14 @@ public class LazyWriteBuffer {
 				tmp.freeMemory();
 			}
 		}
+		
+		//spill compressed tier
+		if( _cBuff != null )
+			_cBuff.evictAll();
+	}
+	
+	public static CompressedWriteBuffer getCompressedWriteBuffer() {
+		return _cBuff;
 	}
 	
 	public static ExecutorService getUtilThreadPool() {
@@ -31,6 +31,7 @@ import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FTypes.FType;
 import org.apache.sysds.lops.Lop;
@@ -442,8 +443,15 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		// Read matrix and maintain meta data,
 		// if the MatrixObject is federated there is nothing extra to read, and therefore only acquire read and release
 		int blen = mc.getBlocksize() <= 0 ? ConfigurationManager.getBlocksize() : mc.getBlocksize();
-		MatrixBlock newData = isFederated() ? acquireReadAndRelease() : DataConverter.readMatrixFromHDFS(fname,
-			iimd.getFileFormat(), rlen, clen, blen, mc.getNonZeros(), getFileFormatProperties());
+		MatrixBlock newData = null;
+		if(isFederated())
+			newData = acquireReadAndRelease();
+		else if(isStreamCompressedRead(iimd.getFileFormat()))
+			newData = DataConverter.readMatrixFromHDFSCompressed(fname, iimd.getFileFormat(), rlen, clen, blen,
+				mc.getNonZeros(), getFileFormatProperties(), OptimizerUtils.getConstrainedNumThreads(-1));
+		else
+			newData = DataConverter.readMatrixFromHDFS(fname, iimd.getFileFormat(), rlen, clen, blen,
+				mc.getNonZeros(), getFileFormatProperties());
 
 		if(iimd.getFileFormat() == FileFormat.CSV) {
 			_metaData = _metaData instanceof MetaDataFormat ? new MetaDataFormat(newData.getDataCharacteristics(),
@@ -462,6 +470,11 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		return newData;
 	}
 
+	private static boolean isStreamCompressedRead(FileFormat fmt) {
+		return (fmt == FileFormat.CSV || fmt == FileFormat.BINARY) &&
+			ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_STREAMREAD);
+	}
+
 	@Override
 	protected MatrixBlock readBlobFromRDD(RDDObject rdd, MutableBoolean writeStatus) throws IOException {
 		// note: the read of a matrix block from an RDD might trigger
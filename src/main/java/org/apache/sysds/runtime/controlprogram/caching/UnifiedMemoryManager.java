@@ -19,7 +19,6 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
-import org.apache.commons.lang3.NotImplementedException;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -27,8 +26,11 @@ import org.apache.sysds.runtime.util.LocalFileUtils;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Unified Memory Manager - Initial Design
@@ -81,37 +83,57 @@ import java.util.Map;
  *  	and output. Evict cached objects to make space for the inputs.
  *  	Evict cached objects to reserve worst-case output memory.
  *
+ * Lending and Reclaiming:
+ * As long as operations do not need it, the buffer pool may grow into the unused operation
+ * memory (up to the UMM capacity). Before executing a CP instruction with a large matrix
+ * output, ProgramBlock reserves memory via reserveOutputMem, which reclaims lent memory by
+ * evicting unpinned objects, but never shrinks the buffer pool below its minimum (capacity -
+ * operation memory limit). Reservations are tracked per executing thread, and held until the
+ * output is written into the UMM or the instruction completes (see releaseOutputMem), such
+ * that concurrent writes or pins cannot refill the reclaimed memory before the output is
+ * allocated.
+ *
  * Thread-safeness:
- * Initially, the UMM will be used in an instance-based manner. For global visibility and
- * use in parallel for loops, the UMM would need to provide a static, synchronized API, but
- * this constitutes a source of severe contention. In the future, we will consider a design
- * with thread-local UMMs for the individual parfor workers.
+ * The UMM exposes a static API, where all state is guarded by the eviction queue. Pins are
+ * reference-counted per object, which allows concurrent readers of the same object. Pins,
+ * writes, and output reservations only select victims under the lock, while their eviction
+ * to local FS happens outside (readers, writes, and deletes of objects with pending
+ * evictions wait for their completion). Parfor
+ * still falls back to the static LazyWriteBuffer, where we might consider thread-local UMMs
+ * for the individual parfor workers in the future.
  */
 
 public class UnifiedMemoryManager
 {
 	// Maximum size of UMM in bytes (default 85%)
-	private static long _limit;
+	private static volatile long _limit;
 	// Current total size of the cached objects
-	private static long _totCachedSize;
+	private static volatile long _totCachedSize;
 	// Operational memory limit in bytes (70%)
-	private static long _opMemLimit;
-	// List of pinned entries
-	private static final List<String> _pinnedEntries = new ArrayList<>();
+	private static volatile long _opMemLimit;
+	// Pinned entries with reference counts and the sizes accounted at pin time
+	private static final Map<String, PinnedEntry> _pinnedEntries = new HashMap<>();
+	// Files of evicted objects that exist in local FS
+	private static final Set<String> _evictedFiles = new HashSet<>();
+	// Objects removed from the eviction queue, whose eviction is still pending
+	private static final Set<String> _pendingEvictions = new HashSet<>();
 
 	// Eviction queue of <filename,buffer> pairs (implemented via linked hash map
 	// for (1) queue semantics and (2) constant time get/insert/delete operations)
-	private static CacheEvictionQueue _mQueue;
+	private static final CacheEvictionQueue _mQueue = new CacheEvictionQueue();
 
 	// Maintenance service for synchronous or asynchronous delete of evicted files
 	private static CacheMaintenanceService _fClean;
 
 	// Pinned size of physical memory. Starts from 0 for each operation. Max is 70% of heap
 	// This increases only if the input is not present in the cache and read from FS/rdd/fed/gpu
-	private static long _pinnedPhysicalMemSize = 0;
+	private static volatile long _pinnedPhysicalMemSize = 0;
 	// Size of pinned virtual memory. This tracks the total input size
 	// This increases if the input is available in the cache.
 	private static long _pinnedVirtualMemSize = 0;
+	// Reserved operation memory for outputs, in total and per thread
+	private static volatile long _reservedMemSize = 0;
+	private static final Map<Long, Long> _reservations = new HashMap<>();
 
 	//---------------- OPERATION MEMORY MAINTENANCE -------------------//
 
@@ -121,38 +143,147 @@ public class UnifiedMemoryManager
 			return;
 		}
 
+		String fname = cd.getCacheFilePathAndName();
 		// Space accounting based on an estimated size and before reading the blob
 		long estimatedSize = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
-		if (probe(cd))
-			// Availability in the cache means no memory overhead.
-			// We still need to track to derive the worst-case output memory
-			_pinnedVirtualMemSize += estimatedSize;
-		else {
-			// The blob will be restored from local FS, or will be read
-			// from other backends. Make space if not available.
-			makeSpace(estimatedSize);
-			_pinnedPhysicalMemSize += estimatedSize;
+		List<Map.Entry<String, ByteBuffer>> victims = new ArrayList<>();
+		synchronized(_mQueue) {
+			// Concurrent readers share the accounted memory of the first pin
+			PinnedEntry pe = _pinnedEntries.get(fname);
+			if (pe != null) {
+				pe.count++;
+				return;
+			}
+			boolean cached = _mQueue.containsKey(fname);
+			if (cached)
+				// Availability in the cache means no memory overhead.
+				// We still need to track to derive the worst-case output memory
+				_pinnedVirtualMemSize += estimatedSize;
+			else {
+				// The blob will be restored from local FS, or will be read
+				// from other backends. Make space if not available.
+				selectVictims(estimatedSize, victims);
+				_pinnedPhysicalMemSize += estimatedSize;
+			}
+			// Track the pinned entries to protect from evictions
+			_pinnedEntries.put(fname, new PinnedEntry(estimatedSize, !cached));
+		}
+		// Evict the selected objects outside the lock
+		int numEvicted = evict(victims);
+		if (DMLScript.STATISTICS)
+			CacheStatistics.incrementFSWrites(numEvicted);
+	}
+
+	/**
+	 * Reserves operation memory for an output allocation of the given size,
+	 * by reclaiming buffer pool memory that has been lent to cached objects.
+	 * The reservation is bounded by the remaining operation memory, so the
+	 * buffer pool never shrinks below its minimum. The reserved memory is
+	 * held for the current thread until it writes its output into the UMM,
+	 * or releases it via {@link #releaseOutputMem()} after the instruction.
+	 *
+	 * @param size output size in bytes
+	 * @return number of evicted objects
+	 */
+	public static int reserveOutputMem(long size) {
+		if (!CacheableData.isCachingActive())
+			return 0;
+
+		// Select victims and reserve under the lock, but evict outside
+		List<Map.Entry<String, ByteBuffer>> victims = new ArrayList<>();
+		synchronized(_mQueue) {
+			long reqSpace = Math.min(size, _opMemLimit - _pinnedPhysicalMemSize - _reservedMemSize);
+			if (reqSpace <= 0)
+				return 0;
+			selectVictims(reqSpace, victims);
+			_reservedMemSize += reqSpace;
+			_reservations.merge(Thread.currentThread().getId(), reqSpace, Long::sum);
+		}
+		int numEvicted = evict(victims);
+		if (DMLScript.STATISTICS) {
+			CacheStatistics.incrementFSWrites(numEvicted);
+			CacheStatistics.incrementUMMReclaims(numEvicted);
 		}
-		// Track the pinned entries to protect from evictions
-		_pinnedEntries.add(cd.getCacheFilePathAndName());
-
-		// Reserve space for output after pinning every input.
-		// This overly conservative approach removes the need to call reserveOutputMem() from
-		// each instruction. Ideally, every instruction first pins all the inputs, followed
-		// by reserving space for the output.
-		reserveOutputMem();
+		return numEvicted;
 	}
 
-	// Reserve space for output in the operation memory
-	public static void reserveOutputMem() {
-		if (!OptimizerUtils.isUMMEnabled() || !CacheableData.isCachingActive())
+	/**
+	 * Releases the reserved operation memory of the current thread, once
+	 * its instruction completed (output written or failed).
+	 */
+	public static void releaseOutputMem() {
+		if (_reservedMemSize == 0)
 			return;
+		synchronized(_mQueue) {
+			releaseOutputMemIntern();
+		}
+	}
+
+	// Releases the reservation of the current thread (caller holds the lock)
+	private static void releaseOutputMemIntern() {
+		Long reserved = _reservations.remove(Thread.currentThread().getId());
+		if (reserved != null)
+			_reservedMemSize -= reserved;
+	}
 
-		// Worst case upper bound for output = 70% - size(inputs)
-		// FIXME: Parfor splits this 70% into smaller limits
-		long maxOutputSize = _opMemLimit - (_pinnedVirtualMemSize + _pinnedPhysicalMemSize);
-		// Evict cached entries to make space in operation memory if needed
-		makeSpace(maxOutputSize);
+	// Selects unpinned victims until the requested space is free, and marks
+	// them as pending evictions (caller holds the lock, and evicts outside)
+	private static void selectVictims(long reqSpace, List<Map.Entry<String, ByteBuffer>> victims) {
+		while (getUMMFreeIntern() < reqSpace && !_mQueue.isEmpty()) {
+			var entry = _mQueue.removeFirstUnpinned(_pinnedEntries.keySet());
+			if (entry == null)
+				break; //all remaining entries pinned
+			if (entry.getValue() != null) {
+				_totCachedSize -= entry.getValue().getSize();
+				_pendingEvictions.add(entry.getKey());
+				victims.add(entry);
+			}
+		}
+	}
+
+	// Evicts the given entries to local FS (outside the lock)
+	private static int evict(List<Map.Entry<String, ByteBuffer>> victims) {
+		int numEvicted = 0;
+		try {
+			for (Map.Entry<String, ByteBuffer> entry : victims) {
+				ByteBuffer bb = entry.getValue();
+				// Wait for pending serialization
+				bb.checkSerialized();
+				// Evict object
+				bb.evictBuffer(entry.getKey());
+				bb.freeMemory();
+				synchronized(_mQueue) {
+					_pendingEvictions.remove(entry.getKey());
+					_evictedFiles.add(entry.getKey());
+					_mQueue.notifyAll();
+				}
+				numEvicted++;
+			}
+		}
+		catch (Exception e) {
+			throw new DMLRuntimeException("Eviction of "+(victims.size()-numEvicted)+" objects in the UMM failed.", e);
+		}
+		finally {
+			// Release remaining pending evictions (e.g., on failures)
+			synchronized(_mQueue) {
+				for (int i = numEvicted; i < victims.size(); i++)
+					_pendingEvictions.remove(victims.get(i).getKey());
+				_mQueue.notifyAll();
+			}
+		}
+		return numEvicted;
+	}
+
+	// Waits for the completion of a pending eviction (caller holds the lock)
+	private static void waitForPendingEviction(String fname) {
+		while (_pendingEvictions.contains(fname)) {
+			try {
+				_mQueue.wait();
+			}
+			catch (InterruptedException e) {
+				throw new DMLRuntimeException(e);
+			}
+		}
 	}
 	
 	// Unpins (releases) a cache block from operation memory
@@ -160,43 +291,56 @@ public class UnifiedMemoryManager
 		if (!CacheableData.isCachingActive())
 			return;
 
-		// TODO: Track preserved output memory to protect from concurrent threads
-		if (!_pinnedEntries.contains(cd.getCacheFilePathAndName()))
-			return; //unpinned. output of an instruction
-
-		// We still use the estimated size even though we have the blobs available.
-		// This makes sure we are subtracting exactly what we added during pinning.
-		long estimatedSize = OptimizerUtils.estimateSize(cd.getDataCharacteristics());
-		if (probe(cd))
-			_pinnedVirtualMemSize -= estimatedSize;
-		else
-			_pinnedPhysicalMemSize -= estimatedSize;
-
-		_pinnedEntries.remove(cd.getCacheFilePathAndName());
+		synchronized(_mQueue) {
+			PinnedEntry pe = _pinnedEntries.get(cd.getCacheFilePathAndName());
+			if (pe == null || --pe.count > 0)
+				return; //unpinned output of an instruction, or still pinned by other readers
+
+			// We still use the estimated size even though we have the blobs available.
+			// This makes sure we are subtracting exactly what we added during pinning.
+			if (pe.physical)
+				_pinnedPhysicalMemSize -= pe.size;
+			else
+				_pinnedVirtualMemSize -= pe.size;
+			_pinnedEntries.remove(cd.getCacheFilePathAndName());
+		}
 	}
 
 	//---------------- UMM MAINTENANCE & LOOKUP -------------------//
 
 	// Initialize the unified memory manager
 	public static void init() {
-		_mQueue = new CacheEvictionQueue();
-		_fClean = new CacheMaintenanceService();
-		_limit = OptimizerUtils.getBufferPoolLimit();
-		_opMemLimit = (long)(OptimizerUtils.getLocalMemBudget()); //70% of heap
-		_totCachedSize = 0;
-		_pinnedPhysicalMemSize = 0;
-		_pinnedVirtualMemSize = 0;
+		synchronized(_mQueue) {
+			_mQueue.clear();
+			_pinnedEntries.clear();
+			_evictedFiles.clear();
+			_pendingEvictions.clear();
+			_fClean = new CacheMaintenanceService();
+			_limit = OptimizerUtils.getUMMLimit(); //85% of heap
+			_opMemLimit = (long)(OptimizerUtils.getLocalMemBudget()); //70% of heap
+			_totCachedSize = 0;
+			_pinnedPhysicalMemSize = 0;
+			_pinnedVirtualMemSize = 0;
+			_reservedMemSize = 0;
+			_reservations.clear();
+		}
 	}
 
 	// Cleanup the unified memory manager
 	public static void cleanup() {
-		if( _mQueue != null )
+		synchronized(_mQueue) {
 			_mQueue.clear();
-		if( _fClean != null )
-			_fClean.close();
-		_totCachedSize = 0;
-		_pinnedPhysicalMemSize = 0;
-		_pinnedVirtualMemSize = 0;
+			_pinnedEntries.clear();
+			_evictedFiles.clear();
+			_pendingEvictions.clear();
+			if( _fClean != null )
+				_fClean.close();
+			_totCachedSize = 0;
+			_pinnedPhysicalMemSize = 0;
+			_pinnedVirtualMemSize = 0;
+			_reservedMemSize = 0;
+			_reservations.clear();
+		}
 	}
 
 	/**
@@ -216,7 +360,8 @@ public class UnifiedMemoryManager
 				"size[bytes]="+_totCachedSize+", " +
 				"size[elements]="+_mQueue.size()+", " +
 				"pinned[elements]="+_pinnedEntries.size()+", " +
-				"pinned[bytes]="+_pinnedPhysicalMemSize);
+				"pinned[bytes]="+_pinnedPhysicalMemSize+", " +
+				"reserved[bytes]="+_reservedMemSize);
 
 			// print current cached entries
 			int count = _mQueue.size();
@@ -232,7 +377,9 @@ public class UnifiedMemoryManager
 	}
 
 	public static void setUMMLimit(long val) {
-		_limit = val;
+		synchronized(_mQueue) {
+			_limit = val;
+		}
 	}
 
 	public static long getUMMSize() {
@@ -244,7 +391,33 @@ public class UnifiedMemoryManager
 	// Get the available memory in UMM
 	public static long getUMMFree() {
 		synchronized(_mQueue) {
-			return _limit - (_totCachedSize + _pinnedPhysicalMemSize);
+			return getUMMFreeIntern();
+		}
+	}
+
+	// Get the available memory in UMM (caller holds the lock)
+	private static long getUMMFreeIntern() {
+		return _limit - (_totCachedSize + _pinnedPhysicalMemSize + _reservedMemSize);
+	}
+
+	// Get the reserved operation memory of all threads
+	public static long getUMMReserved() {
+		synchronized(_mQueue) {
+			return _reservedMemSize;
+		}
+	}
+
+	// Get the memory occupied by cached objects
+	public static long getUMMCached() {
+		synchronized(_mQueue) {
+			return _totCachedSize;
+		}
+	}
+
+	// Get the memory of pinned objects that are not backed by cached objects
+	public static long getUMMPinned() {
+		synchronized(_mQueue) {
+			return _pinnedPhysicalMemSize;
 		}
 	}
 
@@ -258,6 +431,7 @@ public class UnifiedMemoryManager
 		//probe write buffer
 		synchronized (_mQueue)
 		{
+			waitForPendingEviction(fname);
 			ldata = _mQueue.get(fname);
 
 			//modify eviction order (accordingly to access)
@@ -289,45 +463,20 @@ public class UnifiedMemoryManager
 
 	public static boolean probe(CacheableData<?> cd) {
 		String filePath = cd.getCacheFilePathAndName();
-		return _mQueue.containsKey(filePath);
+		synchronized(_mQueue) {
+			return _mQueue.containsKey(filePath);
+		}
 	}
 
-	// Make required space. Evict if needed.
+	// Make required space. Evict if needed (outside the lock).
 	public static int makeSpace(long reqSpace) {
-		int numEvicted = 0;
-		// Check if sufficient space is already available
-		if (getUMMFree() > reqSpace)
-			return numEvicted;
-
-		// Evict cached objects to make space
-		try {
-			synchronized(_mQueue) {
-				// Evict blobs to make room (by default FIFO)
-				while (getUMMFree() < reqSpace && !_mQueue.isEmpty()) {
-					//remove first unpinned entry from eviction queue
-					var entry = _mQueue.removeFirstUnpinned(_pinnedEntries);
-					String ftmp = entry.getKey();
-					ByteBuffer bb = entry.getValue();
-
-					if(bb != null) {
-						// Wait for pending serialization
-						bb.checkSerialized();
-						// Evict object
-						bb.evictBuffer(ftmp);
-						bb.freeMemory();
-						_totCachedSize -= bb.getSize();
-						numEvicted++;
-					}
-				}
-			}
-		}
-		catch (Exception e) {
-			throw new DMLRuntimeException("Eviction request of size "+(reqSpace-getUMMFree())+ " in the UMM failed.", e);
+		List<Map.Entry<String, ByteBuffer>> victims = new ArrayList<>();
+		synchronized(_mQueue) {
+			selectVictims(reqSpace, victims);
 		}
-
+		int numEvicted = evict(victims);
 		if( DMLScript.STATISTICS )
 			CacheStatistics.incrementFSWrites(numEvicted);
-
 		return numEvicted;
 	}
 
@@ -346,17 +495,32 @@ public class UnifiedMemoryManager
 		{
 			// Create byte buffer handle (no block allocation yet)
 			ByteBuffer bbuff = new ByteBuffer( lSize );
+			List<Map.Entry<String, ByteBuffer>> victims = new ArrayList<>();
 
 			// Modify buffer pool
 			synchronized( _mQueue )
 			{
-				// Evict blocks to make room if required
-				numEvicted += makeSpace(lSize);
+				waitForPendingEviction(fname);
+				// Replace a previous version of this object
+				ByteBuffer old = _mQueue.remove(fname);
+				if( old != null ) {
+					_totCachedSize -= old.getSize();
+					old.freeMemory();
+				}
+				// The output is now accounted in the cache
+				releaseOutputMemIntern();
+				// Select blocks to evict to make room if required
+				selectVictims(lSize, victims);
 				// Put placeholder into buffer pool (reserve mem)
 				_mQueue.addLast(fname, bbuff);
 				_totCachedSize += lSize;
 			}
 
+			// Evict selected blocks (outside synchronized critical path)
+			numEvicted += evict(victims);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSWrites(numEvicted);
+
 			// Serialize matrix (outside synchronized critical path)
 			_fClean.serializeData(bbuff, cb);
 
@@ -367,6 +531,9 @@ public class UnifiedMemoryManager
 		{
 			// Write directly to local FS (bypass buffer if too large)
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			synchronized( _mQueue ) {
+				_evictedFiles.add(fname);
+			}
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -387,16 +554,17 @@ public class UnifiedMemoryManager
 
 		synchronized( _mQueue )
 		{
+			waitForPendingEviction(fname);
 			//remove queue entry
 			ByteBuffer ldata = _mQueue.remove(fname);
 			if( ldata != null ) {
 				_totCachedSize -= ldata.getSize();
-				requiresDelete = false;
 				ldata.freeMemory(); //cleanup
 			}
+			//delete from FS if evicted or not in memory
+			requiresDelete = _evictedFiles.remove(fname) || ldata == null;
 		}
 
-		//delete from FS if required
 		if( requiresDelete )
 			_fClean.deleteFile(fname);
 	}
@@ -406,9 +574,16 @@ public class UnifiedMemoryManager
 	 * representations (files in local FS). All internally thread pools must be
 	 * shut down in a graceful manner (e.g., wait for pending deletes).
 	 */
-	public void deleteAll() {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void deleteAll() {
+		synchronized( _mQueue ) {
+			for( ByteBuffer bb : _mQueue.values() )
+				if( bb != null )
+					bb.freeMemory();
+			for( String fname : _evictedFiles )
+				_fClean.deleteFile(fname);
+		}
+		//release state and wait for pending deletes
+		cleanup();
 	}
 
 	/**
@@ -420,21 +595,36 @@ public class UnifiedMemoryManager
 	public static void forceEviction()
 		throws IOException
 	{
-		//evict all matrices and frames
-		while( !_mQueue.isEmpty() )
-		{
-			//remove first entry from eviction queue
-			Map.Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
-			ByteBuffer tmp = entry.getValue();
+		synchronized( _mQueue ) {
+			//evict all matrices and frames
+			while( !_mQueue.isEmpty() )
+			{
+				//remove first entry from eviction queue
+				Map.Entry<String, ByteBuffer> entry = _mQueue.removeFirst();
+				ByteBuffer tmp = entry.getValue();
+
+				if( tmp != null ) {
+					//wait for pending serialization
+					tmp.checkSerialized();
+
+					//evict matrix
+					tmp.evictBuffer(entry.getKey());
+					tmp.freeMemory();
+					_totCachedSize -= tmp.getSize();
+					_evictedFiles.add(entry.getKey());
+				}
+			}
+		}
+	}
 
-			if( tmp != null ) {
-				//wait for pending serialization
-				tmp.checkSerialized();
+	private static class PinnedEntry {
+		private final long size;       //accounted size at pin time
+		private final boolean physical; //not available in the cache at pin time
+		private int count = 1;         //number of active pins
 
-				//evict matrix
-				tmp.evictBuffer(entry.getKey());
-				tmp.freeMemory();
-			}
+		private PinnedEntry(long size, boolean physical) {
+			this.size = size;
+			this.physical = physical;
 		}
 	}
 }
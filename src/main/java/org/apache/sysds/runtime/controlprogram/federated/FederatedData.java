@@ -23,10 +23,14 @@ import java.io.Serializable;
 import java.net.ConnectException;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 
 import javax.net.ssl.SSLException;
@@ -41,6 +45,7 @@ import io.netty.channel.EventLoopGroup;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
@@ -67,6 +72,11 @@ public class FederatedData {
 	private static final Log LOG = LogFactory.getLog(FederatedData.class.getName());
 	private static final Set<InetSocketAddress> _allFedSites = new HashSet<>();
 
+	/** Pipelined requests per federated site, sent ahead of the next request to this site */
+	private static final Map<InetSocketAddress, FederatedRequestPipeline> _pipelines = new HashMap<>();
+	/** Locks per federated site, held while waiting for the response of a flushed pipeline */
+	private static final Map<InetSocketAddress, Object> _pipelineLocks = new ConcurrentHashMap<>();
+
 	/** Thread pool specific for the federated requests */
 	private static EventLoopGroup workerGroup = null;
 
@@ -171,6 +181,69 @@ public class FederatedData {
 		return executeFederatedOperation(_address, request);
 	}
 
+	public Future<FederatedResponse> pipelineFederatedOperation(FederatedRequest... request) {
+		return pipelineFederatedOperation(_address, request);
+	}
+
+	/**
+	 * Appends a federated operation, whose response is not immediately consumed, to the request
+	 * pipeline of a federated worker. Pipelined requests are sent in order ahead of the next executed
+	 * request to this worker, or when the returned response is accessed.
+	 *
+	 * @param address socket address (incl host and port)
+	 * @param request the requested operation
+	 * @return the future response, resolved once the pipelined requests are executed
+	 */
+	public static Future<FederatedResponse> pipelineFederatedOperation(InetSocketAddress address,
+		FederatedRequest... request) {
+		final Future<FederatedResponse> ret;
+		final boolean full;
+		synchronized(FederatedData.class) {
+			FederatedRequestPipeline p = _pipelines.computeIfAbsent(address, FederatedRequestPipeline::new);
+			ret = p.append(request);
+			full = p.size() >= FederatedRequestPipeline.MAX_PIPELINED_REQUESTS;
+		}
+		if(DMLScript.STATISTICS)
+			FederatedStatistics.incPipelinedRequestCount(request.length);
+		if(full)
+			flushPipeline(address);
+		return ret;
+	}
+
+	/**
+	 * Sends the pipelined requests of a federated worker and waits for their execution.
+	 *
+	 * @param address socket address (incl host and port)
+	 */
+	public static void flushPipeline(InetSocketAddress address) {
+		// the lock of this site is held until completion to retain the order of flushes,
+		// while the round trip does not block requests to other sites
+		synchronized(_pipelineLocks.computeIfAbsent(address, a -> new Object())) {
+			final Future<FederatedResponse> ret = sendPipeline(address);
+			if(ret != null)
+				FederationUtils.waitFor(Collections.singletonList(ret));
+		}
+	}
+
+	public static void flushPipelines() {
+		final List<InetSocketAddress> addresses;
+		synchronized(FederatedData.class) {
+			addresses = new ArrayList<>(_pipelines.keySet());
+		}
+		// send all pipelines before waiting for their responses
+		final List<Future<FederatedResponse>> ret = new ArrayList<>();
+		for(InetSocketAddress address : addresses) {
+			final Future<FederatedResponse> f = sendPipeline(address);
+			if(f != null)
+				ret.add(f);
+		}
+		FederationUtils.waitFor(ret);
+	}
+
+	private synchronized static Future<FederatedResponse> sendPipeline(InetSocketAddress address) {
+		return _pipelines.containsKey(address) ? executeFederatedOperation(address) : null;
+	}
+
 	/**
 	 * Executes an federated operation on a federated worker.
 	 *
@@ -192,6 +265,25 @@ public class FederatedData {
 	 * @return the response
 	 */
 	public synchronized static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address, int retry,
+		FederatedRequest... request) {
+		// send pipelined requests of this worker ahead of the given requests
+		final FederatedRequestPipeline p = _pipelines.remove(address);
+		if(p == null)
+			return sendFederatedOperation(address, retry, request);
+		if(DMLScript.STATISTICS)
+			FederatedStatistics.incPipelineFlushCount();
+		try {
+			Promise<FederatedResponse> ret = sendFederatedOperation(address, retry, p.prepend(request));
+			ret.addListener(f -> p.complete((FederatedResponse) f.getNow(), f.cause()));
+			return ret;
+		}
+		catch(RuntimeException ex) {
+			p.complete(null, ex);
+			throw ex;
+		}
+	}
+
+	private static Promise<FederatedResponse> sendFederatedOperation(InetSocketAddress address, int retry,
 		FederatedRequest... request) {
 		try {
 			final Bootstrap b = new Bootstrap();
@@ -222,7 +314,7 @@ public class FederatedData {
 					catch(Exception e2) {
 						throw new DMLRuntimeException(e);
 					}
-					return executeFederatedOperation(address, retry + 1, request);
+					return sendFederatedOperation(address, retry + 1, request);
 				}
 				else {
 					throw new DMLRuntimeException(e);
@@ -249,10 +341,11 @@ public class FederatedData {
 				if(timeout > -1)
 					cp.addLast(new ReadTimeoutHandler(timeout));
 
+				final boolean binary = ConfigurationManager.isFederatedBinaryProtocol();
 				compressionStrategy.ifPresent(strategy -> cp.addLast(strategy.left));
-				cp.addLast(FederationUtils.decoder());
+				cp.addLast(binary ? new FederatedMessageDecoder() : FederationUtils.decoder());
 				compressionStrategy.ifPresent(strategy -> cp.addLast(strategy.right));
-				cp.addLast(new FederatedRequestEncoder());
+				cp.addLast(binary ? new FederatedMessageEncoder() : new FederatedRequestEncoder());
 				cp.addLast(handler);
 			}
 		};
@@ -289,6 +382,12 @@ public class FederatedData {
 	}
 
 	public static void clearWorkGroup() {
+		try {
+			flushPipelines();
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to flush pipelined requests to federated sites.", ex);
+		}
 		if(workerGroup != null)
 			workerGroup.shutdownGracefully();
 		workerGroup = null;
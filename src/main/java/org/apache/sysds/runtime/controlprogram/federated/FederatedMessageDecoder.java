@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+
+/**
+ * Netty decoder of federated requests and responses via the binary {@link FederatedWireProtocol}. Frames are
+ * obtained as slices of the received buffers, from which matrix and frame blocks are read without intermediate
+ * copies.
+ */
+public class FederatedMessageDecoder extends LengthFieldBasedFrameDecoder {
+
+	public FederatedMessageDecoder() {
+		// frame length of 4 bytes, stripped from the frame
+		super(Integer.MAX_VALUE, 0, 4, 0, 4);
+	}
+
+	@Override
+	protected Object decode(ChannelHandlerContext ctx, ByteBuf in) throws Exception {
+		ByteBuf frame = (ByteBuf) super.decode(ctx, in);
+		if(frame == null)
+			return null;
+		try {
+			return FederatedWireProtocol.readMessage(frame);
+		}
+		finally {
+			frame.release();
+		}
+	}
+}
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.lineage.LineageCache;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageItem;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Netty encoder of federated requests and responses via the binary {@link FederatedWireProtocol}, which writes
+ * directly into pooled buffers of the estimated message size. Similar to the object encoder of federated responses,
+ * serialized responses of cache blocks are put into and reused from the lineage cache.
+ */
+public class FederatedMessageEncoder extends MessageToByteEncoder<Object> {
+
+	@Override
+	public boolean acceptOutboundMessage(Object msg) throws Exception {
+		return FederatedWireProtocol.isSupportedMessage(msg);
+	}
+
+	@Override
+	protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) throws Exception {
+		int initCapacity = 256; // default initial capacity
+		try {
+			if(msg instanceof FederatedResponse)
+				initCapacity = Math.toIntExact(((FederatedResponse) msg).estimateSerializationBufferSize());
+			else if(msg instanceof FederatedRequest)
+				initCapacity = Math.toIntExact(((FederatedRequest) msg).estimateSerializationBufferSize());
+			else if(msg instanceof FederatedRequest[]) {
+				long size = 0;
+				for(FederatedRequest fr : (FederatedRequest[]) msg)
+					size += fr.estimateSerializationBufferSize();
+				initCapacity = Math.toIntExact(size);
+			}
+		}
+		catch(ArithmeticException ae) { // size exceeds integer limits
+			initCapacity = Integer.MAX_VALUE;
+		}
+		if(preferDirect)
+			return ctx.alloc().ioBuffer(initCapacity);
+		else
+			return ctx.alloc().heapBuffer(initCapacity);
+	}
+
+	@Override
+	protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+		LineageItem objLI = null;
+		if(!ReuseCacheType.isNone() && msg instanceof FederatedResponse) {
+			FederatedResponse response = (FederatedResponse) msg;
+			Object[] data = response.getRawData();
+			if(response.isSuccessful() && data != null && data.length != 0 && data[0] instanceof CacheBlock<?>) {
+				objLI = response.getLineageItem();
+				byte[] cachedBytes = LineageCache.reuseSerialization(objLI);
+				if(cachedBytes != null) {
+					out.writeBytes(cachedBytes);
+					return;
+				}
+			}
+		}
+
+		final int startIdx = out.writerIndex();
+		final long t0 = (objLI != null) ? System.nanoTime() : 0;
+		FederatedWireProtocol.writeMessage(msg, out);
+
+		if(objLI != null) {
+			long t1 = System.nanoTime();
+			byte[] dst = new byte[out.writerIndex() - startIdx];
+			out.getBytes(startIdx, dst);
+			LineageCache.putSerializedObject(dst, objLI, (t1 - t0));
+		}
+	}
+}
@@ -19,18 +19,52 @@
 
 package org.apache.sysds.runtime.controlprogram.federated;
 
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 
+/**
+ * Read cache of federated workers, which shares the data objects of read files across
+ * coordinators and sessions. The cache is bounded in size (by default a fraction of the
+ * buffer pool), and evicts entries according to a LRU or LFU policy. Evicted data objects
+ * remain valid for execution contexts still referencing them, but are read again on the
+ * next read request.
+ */
 public class FederatedReadCache {
 	private static final Logger LOG = Logger.getLogger(FederatedReadCache.class);
 
-	private Map<String, ReadCacheEntry> _rmap = new ConcurrentHashMap<>();
+	public enum EvictionPolicy {
+		LRU, // least recently used
+		LFU, // least frequently used (ties by recency)
+	}
+
+	private final Map<String, ReadCacheEntry> _rmap = new ConcurrentHashMap<>();
+	private final AtomicLong _clock = new AtomicLong();
+	private final long _limit; // -1 for config-dependent limit
+	private final EvictionPolicy _policy; // null for config-dependent policy
+	private long _size = 0; // size of cached data objects in bytes
+
+	public FederatedReadCache() {
+		this(-1, null);
+	}
+
+	/**
+	 * Create a read cache with a fixed size limit and eviction policy.
+	 *
+	 * @param limit  the maximum size of cached data objects in bytes
+	 * @param policy the eviction policy
+	 */
+	public FederatedReadCache(long limit, EvictionPolicy policy) {
+		_limit = limit;
+		_policy = policy;
+	}
 
 	/**
 	 * Get the data from the ReadCacheEntry corresponding to the specified
@@ -45,11 +79,17 @@ public class FederatedReadCache {
 	public CacheableData<?> get(String fname, boolean putPlaceholder) {
 		ReadCacheEntry tmp = putPlaceholder ?
 			_rmap.putIfAbsent(fname, new ReadCacheEntry()) : _rmap.get(fname);
-		return (tmp != null) ? tmp.get() : null;
+		CacheableData<?> ret = (tmp != null) ? tmp.get() : null;
+		if(ret != null)
+			tmp.touch(_clock.incrementAndGet());
+		else if(DMLScript.STATISTICS)
+			FederatedStatistics.incFedReadCacheMissCount();
+		return ret;
 	}
 
 	/**
-	 * Set the data for the ReadCacheEntry with specified filename.
+	 * Set the data for the ReadCacheEntry with specified filename, and evict
+	 * other entries if the size limit of the read cache is exceeded.
 	 *
 	 * @param fname the filename of the read data
 	 * @param data the CacheableData object for setting the ReadCacheEntry
@@ -59,7 +99,14 @@ public class FederatedReadCache {
 		ReadCacheEntry rce = _rmap.get(fname);
 		if(rce == null)
 			throw new DMLRuntimeException("Tried to set the data for an unregistered ReadCacheEntry.");
-		rce.setValue(data);
+		rce.touch(_clock.incrementAndGet());
+		rce.setValue(data, estimateSize(data));
+		synchronized(this) {
+			_size += rce._size;
+			if(DMLScript.STATISTICS)
+				FederatedStatistics.incFedReadCacheBytes(rce._size);
+			makeSpace(fname, getLimit());
+		}
 	}
 
 	/**
@@ -76,12 +123,83 @@ public class FederatedReadCache {
 		rce.setInvalid();
 	}
 
+	/**
+	 * Get the size of all cached data objects.
+	 *
+	 * @return the size in bytes
+	 */
+	public synchronized long getSize() {
+		return _size;
+	}
+
+	/**
+	 * Get the number of entries, including placeholders of ongoing reads.
+	 *
+	 * @return the number of entries
+	 */
+	public int getNumEntries() {
+		return _rmap.size();
+	}
+
+	public boolean contains(String fname) {
+		return _rmap.containsKey(fname);
+	}
+
+	private long getLimit() {
+		return (_limit >= 0) ? _limit : (long) (OptimizerUtils.getBufferPoolLimit()
+			* ConfigurationManager.getFederatedReadCacheLimit() / 100d);
+	}
+
+	private EvictionPolicy getPolicy() {
+		return (_policy != null) ? _policy :
+			EvictionPolicy.valueOf(ConfigurationManager.getFederatedReadCachePolicy().toUpperCase());
+	}
+
+	private void makeSpace(String fname, long limit) {
+		final EvictionPolicy policy = getPolicy();
+		while(_size > limit) {
+			// select victim among all completed entries, the given entry only as last resort
+			String victim = null;
+			ReadCacheEntry vEntry = null;
+			for(Map.Entry<String, ReadCacheEntry> e : _rmap.entrySet()) {
+				ReadCacheEntry rce = e.getValue();
+				if(!rce.isEvictable() || e.getKey().equals(fname))
+					continue;
+				if(vEntry == null || rce.isBetterVictim(vEntry, policy)) {
+					victim = e.getKey();
+					vEntry = rce;
+				}
+			}
+			if(vEntry == null) {
+				victim = fname;
+				vEntry = _rmap.get(fname);
+			}
+			if(vEntry == null || !_rmap.remove(victim, vEntry))
+				break;
+			LOG.debug("Evicting the ReadCacheEntry of file " + victim + " (" + vEntry._size + " bytes).");
+			_size -= vEntry._size;
+			if(DMLScript.STATISTICS) {
+				FederatedStatistics.incFedReadCacheEvictionCount();
+				FederatedStatistics.incFedReadCacheBytes(-vEntry._size);
+			}
+		}
+	}
+
+	private static long estimateSize(CacheableData<?> data) {
+		// data objects are read lazily, so we use the estimate based on the meta data
+		return Math.max(data.getDataSize(), (data.getMetaData() != null) ?
+			OptimizerUtils.estimateSize(data.getDataCharacteristics()) : 0);
+	}
+
 	/**
 	 * Class representing an entry of the federated read cache.
 	 */
 	public static class ReadCacheEntry {
 		protected CacheableData<?> _data = null;
 		private boolean _is_valid = true;
+		private long _size = 0;
+		private volatile long _lastAccess = 0;
+		private volatile long _numAccess = 0;
 
 		public synchronized CacheableData<?> get() {
 			try {
@@ -102,6 +220,7 @@ public class FederatedReadCache {
 			if(DMLScript.STATISTICS) {
 				FederatedStatistics.incFedReuseReadHitCount();
 				FederatedStatistics.incFedReuseReadBytesCount(_data);
+				FederatedStatistics.incFedReadCacheHitCount();
 			}
 
 			//comes here if data is placed or the entry is removed by the running thread
@@ -109,11 +228,16 @@ public class FederatedReadCache {
 		}
 
 		public synchronized void setValue(CacheableData<?> val) {
+			setValue(val, 0);
+		}
+
+		private synchronized void setValue(CacheableData<?> val, long size) {
 			if(_data != null)
 				throw new DMLRuntimeException("Tried to set the value of a ReadCacheEntry twice. "
 					+ "Should only be performed once.");
 
 			_data = val;
+			_size = size;
 			//resume all threads waiting for _data
 			notifyAll();
 		}
@@ -122,6 +246,20 @@ public class FederatedReadCache {
 			_is_valid = false;
 			notify(); // resume one waiting thread so it can try reading the data
 		}
+
+		private synchronized boolean isEvictable() {
+			return _data != null;
+		}
+
+		private synchronized void touch(long time) {
+			_lastAccess = time;
+			_numAccess++;
+		}
+
+		private boolean isBetterVictim(ReadCacheEntry that, EvictionPolicy policy) {
+			if(policy == EvictionPolicy.LFU && _numAccess != that._numAccess)
+				return _numAccess < that._numAccess;
+			return _lastAccess < that._lastAccess;
+		}
 	}
 }
-
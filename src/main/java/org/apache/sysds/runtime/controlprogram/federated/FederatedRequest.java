@@ -50,6 +50,7 @@ public class FederatedRequest implements Serializable {
 		EXEC_UDF,  // execute arbitrary user-defined function
 		CLEAR,     // clear all variables and execution contexts (i.e., rmvar ALL)
 		NOOP,      // no operation (part of request sequence and ID carrying)
+		BARRIER,   // end of pipelined requests (response selected from subsequent requests)
 	}
 
 	private RequestType _method;
@@ -86,6 +87,21 @@ public class FederatedRequest implements Serializable {
 		_pid = Long.valueOf(IDHandler.getProcessID());
 	}
 
+	/**
+	 * Constructor for requests received over the binary wire protocol, which retain the
+	 * header, checksums, and lineage trace of the sender.
+	 */
+	protected FederatedRequest(RequestType method, long id, long tid, long pid, List<Object> data,
+		List<Long> checksums, String lineageTrace) {
+		_method = method;
+		_id = id;
+		_tid = tid;
+		_pid = pid;
+		_data = data;
+		_checksums = checksums;
+		_lineageTrace = lineageTrace;
+	}
+
 	public RequestType getType() {
 		return _method;
 	}
@@ -141,6 +157,10 @@ public class FederatedRequest implements Serializable {
 		}
 	}
 
+	protected List<Long> getChecksums() {
+		return _checksums;
+	}
+
 	public long getChecksum(int i) {
 		if(_checksums == null)
 			setChecksum();
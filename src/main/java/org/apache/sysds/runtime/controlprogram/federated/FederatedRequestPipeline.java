@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+
+/**
+ * Pipeline of federated requests to a single federated site, whose responses are not
+ * immediately consumed by the coordinator (e.g., instructions creating intermediates). The
+ * pipelined requests are sent in order ahead of the next request to this site (separated by
+ * a barrier), which avoids a round trip per instruction. The responses of pipelined requests
+ * are resolved from the response of this combined batch, or on access which flushes the
+ * pipeline. Since the federated worker stops at the first failing request, errors of pipelined
+ * requests surface in the response of the next consumed request.
+ *
+ * Note: instances are not thread-safe, and only accessed under the lock of
+ * {@link FederatedData}.
+ */
+class FederatedRequestPipeline {
+	/** Maximum number of pipelined requests per federated site before a forced flush */
+	protected static final int MAX_PIPELINED_REQUESTS = 64;
+
+	private final InetSocketAddress _address;
+	private final List<FederatedRequest> _requests = new ArrayList<>();
+	private final List<CompletableFuture<FederatedResponse>> _responses = new ArrayList<>();
+
+	protected FederatedRequestPipeline(InetSocketAddress address) {
+		_address = address;
+	}
+
+	protected Future<FederatedResponse> append(FederatedRequest[] request) {
+		CompletableFuture<FederatedResponse> ret = new CompletableFuture<>();
+		_requests.addAll(Arrays.asList(request));
+		_responses.add(ret);
+		return new PipelinedResponse(_address, ret);
+	}
+
+	protected int size() {
+		return _requests.size();
+	}
+
+	/**
+	 * Prepends the pipelined requests to the given batch of requests.
+	 *
+	 * @param request batch of requests, whose response is returned by the federated worker
+	 * @return combined batch of pipelined requests, barrier, and given requests
+	 */
+	protected FederatedRequest[] prepend(FederatedRequest[] request) {
+		if(request == null || request.length == 0)
+			return _requests.toArray(new FederatedRequest[0]);
+		List<FederatedRequest> ret = new ArrayList<>(_requests.size() + request.length + 1);
+		ret.addAll(_requests);
+		FederatedRequest barrier = new FederatedRequest(RequestType.BARRIER, -1);
+		barrier.setTID(request[0].getTID());
+		ret.add(barrier);
+		ret.addAll(Arrays.asList(request));
+		return ret.toArray(new FederatedRequest[0]);
+	}
+
+	/**
+	 * Resolves the responses of all pipelined requests from the response of the combined batch.
+	 *
+	 * @param response response of the combined batch (first error if any request failed)
+	 * @param cause    exception if the batch could not be sent or received, otherwise null
+	 */
+	protected void complete(FederatedResponse response, Throwable cause) {
+		for(CompletableFuture<FederatedResponse> f : _responses) {
+			if(cause != null || response == null)
+				f.completeExceptionally((cause != null) ? cause : new FederatedWorkerHandlerException(
+					"Missing response for pipelined federated requests."));
+			else
+				f.complete(response.isSuccessful() ? new FederatedResponse(ResponseType.SUCCESS_EMPTY) : response);
+		}
+	}
+
+	protected static boolean isPending(Future<FederatedResponse> response) {
+		return response instanceof PipelinedResponse && !response.isDone();
+	}
+
+	/**
+	 * Response of a pipelined request, which flushes the pipeline of its federated site on
+	 * blocking access if it is not yet resolved.
+	 */
+	private static class PipelinedResponse implements Future<FederatedResponse> {
+		private final InetSocketAddress _address;
+		private final CompletableFuture<FederatedResponse> _response;
+
+		private PipelinedResponse(InetSocketAddress address, CompletableFuture<FederatedResponse> response) {
+			_address = address;
+			_response = response;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return _response.isDone();
+		}
+
+		@Override
+		public FederatedResponse get() throws InterruptedException, ExecutionException {
+			if(!_response.isDone())
+				FederatedData.flushPipeline(_address);
+			return _response.get();
+		}
+
+		@Override
+		public FederatedResponse get(long timeout, TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+			if(!_response.isDone())
+				FederatedData.flushPipeline(_address);
+			return _response.get(timeout, unit);
+		}
+	}
+}
@@ -67,6 +67,14 @@ public class FederatedResponse implements Serializable {
 		_linItem = linItem;
 	}
 
+	protected ResponseType getStatus() {
+		return _status;
+	}
+
+	protected Object[] getRawData() {
+		return _data;
+	}
+
 	public boolean isSuccessful() {
 		return _status != ResponseType.ERROR;
 	}
@@ -0,0 +1,391 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.Instruction.IType;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.DataGenCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.MultiReturnBuiltinCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.MultiReturnComplexMatrixBuiltinCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.MultiReturnParameterizedBuiltinCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+
+/**
+ * Worker-global reuse cache of instruction results, shared across the execution contexts of
+ * all coordinators. Every data object at the worker is associated with a reuse key, derived
+ * from the file name of read data, the lineage trace or checksum of data received from the
+ * coordinator, or the instruction and the keys of its inputs. Identical computations over the
+ * same data (e.g., tsmm or colSums over a shared federated file) are then computed once.
+ *
+ * Access control: keys of read data are shared, as every coordinator can read the federated
+ * file itself. In contrast, keys of data received from a coordinator rely on meta data asserted
+ * by this coordinator, and hence, are scoped to the coordinator (host and process), which
+ * propagates to all results computed from this data. Reuse is therefore restricted to results
+ * derived from the same data a coordinator has access to.
+ *
+ * Isolation: the cache holds private copies of the results (bounded by the configured share of
+ * the buffer pool), and hands out copies on reuse, because data objects of a coordinator might
+ * be updated in-place. Compressed matrices only copy the envelope of their immutable column
+ * groups. Read keys include the file format and modification time, such that updated files are
+ * not served from the cache.
+ */
+public class FederatedReuseCache {
+	private static final Log LOG = LogFactory.getLog(FederatedReuseCache.class.getName());
+
+	/** Opcodes excluded from reuse due to side effects or non-determinism */
+	private static final Set<String> EXCLUDED_OPCODES = Set.of(
+		"print", "stop", "assert", "time", "leftIndex", "mapLeftIndex");
+
+	private final Map<Data, ReuseKey> _keys = Collections.synchronizedMap(new WeakHashMap<>());
+	private final LinkedHashMap<String, CacheEntry> _cache = new LinkedHashMap<>(16, 0.75f, true);
+	private final long _limit; // -1 for config-dependent limit
+	private long _size = 0;
+
+	public FederatedReuseCache() {
+		this(-1);
+	}
+
+	/**
+	 * Create a reuse cache with a fixed size limit.
+	 *
+	 * @param limit the maximum size of cached results in bytes
+	 */
+	public FederatedReuseCache(long limit) {
+		_limit = limit;
+	}
+
+	public boolean isEnabled() {
+		return getLimit() > 0;
+	}
+
+	/**
+	 * Associates the data object read from the given file with a shared reuse key, derived
+	 * from the file name, format, and modification time. If the modification time cannot be
+	 * obtained, the data object is not associated with a reuse key.
+	 *
+	 * @param data  the read data object
+	 * @param fname the file name
+	 */
+	public void setReadKey(CacheableData<?> data, String fname) {
+		final FileFormat fmt = (data.getMetaData() instanceof MetaDataFormat) ?
+			((MetaDataFormat) data.getMetaData()).getFileFormat() : null;
+		final long mtime = getModificationTime(fname);
+		if(mtime < 0)
+			_keys.remove(data);
+		else
+			setReadKey(data, fname, fmt, mtime);
+	}
+
+	/**
+	 * Associates the data object read from the given file with a shared reuse key.
+	 *
+	 * @param data  the read data object
+	 * @param fname the file name
+	 * @param fmt   the file format, or null if unknown
+	 * @param mtime the modification time of the file
+	 */
+	public void setReadKey(Data data, String fname, FileFormat fmt, long mtime) {
+		_keys.put(data, new ReuseKey(digest("read", fname + Lop.OPERAND_DELIMITOR + fmt
+			+ Lop.OPERAND_DELIMITOR + mtime), null));
+	}
+
+	/**
+	 * Associates a data object received from a coordinator with a reuse key scoped
+	 * to this coordinator.
+	 *
+	 * @param data        the received data object
+	 * @param id          the lineage trace or checksum asserted by the coordinator
+	 * @param coordinator the identifier of the coordinator
+	 */
+	public void setPutKey(Data data, String id, String coordinator) {
+		_keys.put(data, new ReuseKey(digest("put", id), coordinator));
+	}
+
+	/**
+	 * Obtains the reuse key of a computation instruction, if the instruction is deterministic
+	 * and all of its inputs are associated with reuse keys.
+	 *
+	 * @param ins the instruction
+	 * @param ec  the execution context of the instruction
+	 * @return the reuse key, or null if not reusable
+	 */
+	public ReuseKey getKey(Instruction ins, ExecutionContext ec) {
+		if(ins.getType() != IType.CONTROL_PROGRAM || !(ins instanceof ComputationCPInstruction)
+			|| ins instanceof DataGenCPInstruction || getOutputs(ins).size() != 1
+			|| EXCLUDED_OPCODES.contains(ins.getOpcode()))
+			return null;
+		final String output = ((ComputationCPInstruction) ins).getOutput().getName();
+		final String[] parts = InstructionUtils.getInstructionPartsWithValueType(ins.toString());
+		StringBuilder sb = new StringBuilder();
+		String scope = null;
+		for(String part : parts) {
+			String name = getVariableName(part);
+			if(name == null)
+				sb.append(part); // opcode, literal, or parameter
+			else if(name.equals(output))
+				sb.append("_out");
+			else {
+				Data dat = ec.getVariable(name);
+				ReuseKey key = (dat instanceof ScalarObject) ? getScalarKey((ScalarObject) dat) :
+					(dat != null) ? _keys.get(dat) : null;
+				if(key == null || (scope != null && key._scope != null && !scope.equals(key._scope)))
+					return null; // unknown inputs or inputs of different coordinators
+				scope = (scope != null) ? scope : key._scope;
+				sb.append(key._id);
+			}
+			sb.append(Instruction.OPERAND_DELIM);
+		}
+		return new ReuseKey(digest("inst", sb.toString()), scope);
+	}
+
+	/**
+	 * Probes the cache and, on a hit, sets the reused result as output of the instruction.
+	 *
+	 * @param key the reuse key of the instruction
+	 * @param ins the instruction
+	 * @param ec  the execution context of the instruction
+	 * @return true if the result was reused
+	 */
+	public boolean reuse(ReuseKey key, Instruction ins, ExecutionContext ec) {
+		CacheEntry e;
+		synchronized(this) {
+			e = _cache.get(key.getCacheKey());
+		}
+		if(e == null)
+			return false;
+		if(LOG.isTraceEnabled())
+			LOG.trace("Reusing the result of " + ins.getOpcode() + " with key " + key);
+		final String output = ((ComputationCPInstruction) ins).getOutput().getName();
+		final Object data = copy(e._data);
+		if(data instanceof MatrixBlock)
+			ec.setMatrixOutput(output, (MatrixBlock) data);
+		else if(data instanceof FrameBlock)
+			ec.setFrameOutput(output, (FrameBlock) data);
+		else
+			ec.setScalarOutput(output, (ScalarObject) data);
+		_keys.put(ec.getVariable(output), key);
+		if(DMLScript.STATISTICS)
+			FederatedStatistics.incFedResultReuseHitCount();
+		return true;
+	}
+
+	/**
+	 * Updates the reuse keys of the outputs of an executed instruction, and puts the result
+	 * of a reusable instruction into the cache.
+	 *
+	 * @param key the reuse key of the instruction, or null if not reusable
+	 * @param ins the instruction
+	 * @param ec  the execution context of the instruction
+	 */
+	public void put(ReuseKey key, Instruction ins, ExecutionContext ec) {
+		// outputs might be modified data objects, so we remove their stale keys
+		for(CPOperand out : getOutputs(ins)) {
+			Data dat = ec.getVariable(out.getName());
+			if(dat != null)
+				_keys.remove(dat);
+		}
+		if(key == null)
+			return;
+
+		final Data dat = ec.getVariable(((ComputationCPInstruction) ins).getOutput().getName());
+		final long limit = getLimit();
+		final Object data;
+		final long size;
+		if(dat instanceof CacheableData && dat.getDataType() != DataType.TENSOR) {
+			CacheBlock<?> cb = ((CacheableData<?>) dat).acquireReadAndRelease();
+			size = cb.getInMemorySize();
+			data = (size <= limit) ? copy(cb) : null;
+		}
+		else if(dat instanceof ScalarObject) {
+			data = dat;
+			size = ((ScalarObject) dat).getSize();
+		}
+		else
+			return;
+		_keys.put(dat, key);
+
+		if(size > limit)
+			return;
+		synchronized(this) {
+			CacheEntry old = _cache.put(key.getCacheKey(), new CacheEntry(data, size));
+			if(DMLScript.STATISTICS)
+				FederatedStatistics.incFedResultReusePutCount();
+			_size += size - ((old != null) ? old._size : 0);
+			// evict least recently used results
+			Iterator<CacheEntry> iter = _cache.values().iterator();
+			while(_size > limit && iter.hasNext()) {
+				CacheEntry e = iter.next();
+				iter.remove();
+				_size -= e._size;
+				if(DMLScript.STATISTICS)
+					FederatedStatistics.incFedResultReuseEvictionCount();
+			}
+		}
+	}
+
+	public synchronized long getSize() {
+		return _size;
+	}
+
+	public synchronized int getNumEntries() {
+		return _cache.size();
+	}
+
+	public synchronized void clear() {
+		_cache.clear();
+		_size = 0;
+	}
+
+	private long getLimit() {
+		return (_limit >= 0) ? _limit : (long) (OptimizerUtils.getBufferPoolLimit()
+			* ConfigurationManager.getFederatedReuseCacheLimit() / 100d);
+	}
+
+	private static Object copy(Object data) {
+		// private copies of cached results, as data objects might be updated in-place
+		if(data instanceof CompressedMatrixBlock)
+			return new CompressedMatrixBlock((CompressedMatrixBlock) data);
+		else if(data instanceof MatrixBlock)
+			return new MatrixBlock((MatrixBlock) data);
+		else if(data instanceof FrameBlock)
+			return new FrameBlock((FrameBlock) data);
+		return data; // immutable scalars
+	}
+
+	private static long getModificationTime(String fname) {
+		try {
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			FileStatus status = fs.getFileStatus(path);
+			long ret = status.getModificationTime();
+			// directories of part files are not updated on in-place writes of parts
+			if(status.isDirectory())
+				for(FileStatus part : fs.listStatus(path))
+					ret = Math.max(ret, part.getModificationTime());
+			return ret;
+		}
+		catch(Exception ex) {
+			LOG.debug("Failed to obtain the modification time of " + fname, ex);
+			return -1;
+		}
+	}
+
+	private static List<CPOperand> getOutputs(Instruction ins) {
+		if(ins instanceof MultiReturnBuiltinCPInstruction)
+			return ((MultiReturnBuiltinCPInstruction) ins).getOutputs();
+		else if(ins instanceof MultiReturnParameterizedBuiltinCPInstruction)
+			return ((MultiReturnParameterizedBuiltinCPInstruction) ins).getOutputs();
+		else if(ins instanceof MultiReturnComplexMatrixBuiltinCPInstruction)
+			return ((MultiReturnComplexMatrixBuiltinCPInstruction) ins).getOutputs();
+		else if(ins instanceof ComputationCPInstruction && ((ComputationCPInstruction) ins).getOutput() != null)
+			return List.of(((ComputationCPInstruction) ins).getOutput());
+		return List.of();
+	}
+
+	private static String getVariableName(String part) {
+		// operands of parameterized instructions are given as name=operand
+		int pos = part.indexOf(Instruction.VALUETYPE_PREFIX);
+		int eq = part.indexOf(Lop.NAME_VALUE_SEPARATOR);
+		String opr = (eq >= 0 && eq < pos) ? part.substring(eq + 1) : part;
+		String[] tmp = opr.split(Instruction.VALUETYPE_PREFIX);
+		if(tmp.length < 3 || (tmp.length == 4 && Boolean.parseBoolean(tmp[3])))
+			return null;
+		return tmp[0];
+	}
+
+	private static ReuseKey getScalarKey(ScalarObject so) {
+		// scalar values are sent or computed at the worker, and thus, can be shared
+		return new ReuseKey(digest("lit", so.getValueType() + so.getLanguageSpecificStringValue()), null);
+	}
+
+	private static String digest(String type, String str) {
+		return UUID.nameUUIDFromBytes((type + ":" + str).getBytes(StandardCharsets.UTF_8)).toString();
+	}
+
+	/**
+	 * Reuse key of a data object, consisting of the identifier of its computation and the
+	 * scope of the coordinator that provided the data (null if shared).
+	 */
+	public static class ReuseKey {
+		private final String _id;
+		private final String _scope;
+
+		private ReuseKey(String id, String scope) {
+			_id = id;
+			_scope = scope;
+		}
+
+		public String getCacheKey() {
+			return (_scope != null) ? _scope + "#" + _id : _id;
+		}
+
+		public boolean isShared() {
+			return _scope == null;
+		}
+
+		@Override
+		public String toString() {
+			return getCacheKey();
+		}
+	}
+
+	private static class CacheEntry {
+		private final Object _data;
+		private final long _size;
+
+		private CacheEntry(Object data, long size) {
+			_data = data;
+			_size = size;
+		}
+	}
+}
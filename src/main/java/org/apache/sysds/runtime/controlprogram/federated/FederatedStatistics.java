@@ -88,6 +88,8 @@ public class FederatedStatistics {
 	private static final LongAdder transferredMatrixBytes = new LongAdder();
 	private static final LongAdder transferredFrameBytes = new LongAdder();
 	private static final LongAdder asyncPrefetchCount = new LongAdder();
+	private static final LongAdder pipelinedRequestCount = new LongAdder();
+	private static final LongAdder pipelineFlushCount = new LongAdder();
 	private static final LongAdder bytesSent = new LongAdder();
 	private static final LongAdder bytesReceived = new LongAdder();
 
@@ -97,6 +99,13 @@ public class FederatedStatistics {
 	private static final LongAdder fedLookupTableEntryCount = new LongAdder();
 	private static final LongAdder fedReuseReadHitCount = new LongAdder();
 	private static final LongAdder fedReuseReadBytesCount = new LongAdder();
+	private static final LongAdder fedReadCacheHitCount = new LongAdder();
+	private static final LongAdder fedReadCacheMissCount = new LongAdder();
+	private static final LongAdder fedReadCacheEvictionCount = new LongAdder();
+	private static final LongAdder fedReadCacheBytes = new LongAdder();
+	private static final LongAdder fedResultReuseHitCount = new LongAdder();
+	private static final LongAdder fedResultReusePutCount = new LongAdder();
+	private static final LongAdder fedResultReuseEvictionCount = new LongAdder();
 	private static final LongAdder fedBytesSent = new LongAdder();
 	private static final LongAdder fedBytesReceived = new LongAdder();
 
@@ -193,6 +202,22 @@ public class FederatedStatistics {
 		asyncPrefetchCount.add(c);
 	}
 
+	public static void incPipelinedRequestCount(long c) {
+		pipelinedRequestCount.add(c);
+	}
+
+	public static void incPipelineFlushCount() {
+		pipelineFlushCount.increment();
+	}
+
+	public static long getPipelinedRequestCount() {
+		return pipelinedRequestCount.longValue();
+	}
+
+	public static long getPipelineFlushCount() {
+		return pipelineFlushCount.longValue();
+	}
+
 	public static long getTotalFedTransferCount() {
 		return transferredScalarCount.longValue() + transferredListCount.longValue()
 			+ transferredMatrixCount.longValue() + transferredFrameCount.longValue()
@@ -213,11 +238,20 @@ public class FederatedStatistics {
 		transferredMatrixBytes.reset();
 		transferredFrameBytes.reset();
 		asyncPrefetchCount.reset();
+		pipelinedRequestCount.reset();
+		pipelineFlushCount.reset();
 		fedLookupTableGetCount.reset();
 		fedLookupTableGetTime.reset();
 		fedLookupTableEntryCount.reset();
 		fedReuseReadHitCount.reset();
 		fedReuseReadBytesCount.reset();
+		fedReadCacheHitCount.reset();
+		fedReadCacheMissCount.reset();
+		fedReadCacheEvictionCount.reset();
+		fedReadCacheBytes.reset();
+		fedResultReuseHitCount.reset();
+		fedResultReusePutCount.reset();
+		fedResultReuseEvictionCount.reset();
 		fedPutLineageCount.reset();
 		fedPutLineageItems.reset();
 		fedSerializationReuseCount.reset();
@@ -255,6 +289,10 @@ public class FederatedStatistics {
 					transferredFrameBytes.longValue() + " Bytes.\n");
 			sb.append("Federated prefetch count:\t" +
 				asyncPrefetchCount.longValue() + ".\n");
+			if(pipelinedRequestCount.longValue() > 0)
+				sb.append("Fed Pipelined (Req/Flush):\t" +
+					pipelinedRequestCount.longValue() + "/" +
+					pipelineFlushCount.longValue() + ".\n");
 			return sb.toString();
 		}
 		return "";
@@ -293,6 +331,8 @@ public class FederatedStatistics {
 			StringBuilder sb = new StringBuilder();
 			sb.append(displayFedLookupTableStats());
 			sb.append(displayFedReuseReadStats());
+			sb.append(displayFedReadCacheStats());
+			sb.append(displayFedResultReuseStats());
 			sb.append(displayFedPutLineageStats());
 			sb.append(displayFedSerializationReuseStats());
 
@@ -357,6 +397,9 @@ public class FederatedStatistics {
 		StringBuilder sb = new StringBuilder();
 		sb.append(displayFedLookupTableStats(mtsc.fLTGetCount, mtsc.fLTEntryCount, mtsc.fLTGetTime));
 		sb.append(displayFedReuseReadStats(mtsc.reuseReadHits, mtsc.reuseReadBytes));
+		sb.append(displayFedReadCacheStats(mtsc.readCacheHits, mtsc.readCacheMisses,
+			mtsc.readCacheEvictions, mtsc.readCacheBytes));
+		sb.append(displayFedResultReuseStats(mtsc.resultReuseHits, mtsc.resultReusePuts, mtsc.resultReuseEvictions));
 		sb.append(displayFedPutLineageStats(mtsc.putLineageCount, mtsc.putLineageItems));
 		sb.append(displayFedSerializationReuseStats(mtsc.serializationReuseCount, mtsc.serializationReuseBytes));
 		return sb.toString();
@@ -535,7 +578,12 @@ public class FederatedStatistics {
 
 		memoryUsage = (usedMemory / maxMemory) * 100;
 
-		return new UtilizationModel(cpuUsage, memoryUsage);
+		UtilizationModel ret = new UtilizationModel(cpuUsage, memoryUsage);
+		ret.readCacheHits = getFedReadCacheHitCount();
+		ret.readCacheMisses = getFedReadCacheMissCount();
+		ret.readCacheEvictions = getFedReadCacheEvictionCount();
+		ret.readCacheBytes = getFedReadCacheBytes();
+		return ret;
 	}
 
 	public static long getFedLookupTableGetTime() {
@@ -554,6 +602,34 @@ public class FederatedStatistics {
 		return fedReuseReadBytesCount.longValue();
 	}
 
+	public static long getFedReadCacheHitCount() {
+		return fedReadCacheHitCount.longValue();
+	}
+
+	public static long getFedReadCacheMissCount() {
+		return fedReadCacheMissCount.longValue();
+	}
+
+	public static long getFedReadCacheEvictionCount() {
+		return fedReadCacheEvictionCount.longValue();
+	}
+
+	public static long getFedReadCacheBytes() {
+		return fedReadCacheBytes.longValue();
+	}
+
+	public static long getFedResultReuseHitCount() {
+		return fedResultReuseHitCount.longValue();
+	}
+
+	public static long getFedResultReusePutCount() {
+		return fedResultReusePutCount.longValue();
+	}
+
+	public static long getFedResultReuseEvictionCount() {
+		return fedResultReuseEvictionCount.longValue();
+	}
+
 	public static long getFedPutLineageCount() {
 		return fedPutLineageCount.longValue();
 	}
@@ -594,6 +670,34 @@ public class FederatedStatistics {
 		fedReuseReadBytesCount.add(cb.getInMemorySize());
 	}
 
+	public static void incFedReadCacheHitCount() {
+		fedReadCacheHitCount.increment();
+	}
+
+	public static void incFedReadCacheMissCount() {
+		fedReadCacheMissCount.increment();
+	}
+
+	public static void incFedReadCacheEvictionCount() {
+		fedReadCacheEvictionCount.increment();
+	}
+
+	public static void incFedReadCacheBytes(long bytes) {
+		fedReadCacheBytes.add(bytes);
+	}
+
+	public static void incFedResultReuseHitCount() {
+		fedResultReuseHitCount.increment();
+	}
+
+	public static void incFedResultReusePutCount() {
+		fedResultReusePutCount.increment();
+	}
+
+	public static void incFedResultReuseEvictionCount() {
+		fedResultReuseEvictionCount.increment();
+	}
+
 	public static void aggFedPutLineage(String serializedLineage) {
 		fedPutLineageCount.increment();
 		fedPutLineageItems.add(serializedLineage.lines().count());
@@ -633,6 +737,35 @@ public class FederatedStatistics {
 		return "";
 	}
 
+	public static String displayFedReadCacheStats() {
+		return displayFedReadCacheStats(fedReadCacheHitCount.longValue(), fedReadCacheMissCount.longValue(),
+			fedReadCacheEvictionCount.longValue(), fedReadCacheBytes.longValue());
+	}
+
+	public static String displayFedReadCacheStats(long rcHits, long rcMisses, long rcEvictions, long rcBytes) {
+		if(rcHits > 0 || rcMisses > 0) {
+			return InstructionUtils.concatStrings(
+				"Fed ReadCache (Hit/Miss/Evict):\t",
+				String.valueOf(rcHits), "/", String.valueOf(rcMisses), "/", String.valueOf(rcEvictions), ".\n",
+				"Fed ReadCache size:\t\t", String.valueOf(rcBytes), " Bytes.\n");
+		}
+		return "";
+	}
+
+	public static String displayFedResultReuseStats() {
+		return displayFedResultReuseStats(fedResultReuseHitCount.longValue(),
+			fedResultReusePutCount.longValue(), fedResultReuseEvictionCount.longValue());
+	}
+
+	public static String displayFedResultReuseStats(long rrHits, long rrPuts, long rrEvictions) {
+		if(rrHits > 0 || rrPuts > 0) {
+			return InstructionUtils.concatStrings(
+				"Fed ResultReuse (Hit/Put/Evict):\t",
+				String.valueOf(rrHits), "/", String.valueOf(rrPuts), "/", String.valueOf(rrEvictions), ".\n");
+		}
+		return "";
+	}
+
 	public static String displayFedPutLineageStats() {
 		return displayFedPutLineageStats(fedPutLineageCount.longValue(),
 			fedPutLineageItems.longValue());
@@ -876,6 +1009,13 @@ public class FederatedStatistics {
 			private long fLTEntryCount = 0;
 			private long reuseReadHits = 0;
 			private long reuseReadBytes = 0;
+			private long readCacheHits = 0;
+			private long readCacheMisses = 0;
+			private long readCacheEvictions = 0;
+			private long readCacheBytes = 0;
+			private long resultReuseHits = 0;
+			private long resultReusePuts = 0;
+			private long resultReuseEvictions = 0;
 			private long putLineageCount = 0;
 			private long putLineageItems = 0;
 			private long serializationReuseCount = 0;
@@ -887,6 +1027,13 @@ public class FederatedStatistics {
 				fLTEntryCount = getFedLookupTableEntryCount();
 				reuseReadHits = getFedReuseReadHitCount();
 				reuseReadBytes = getFedReuseReadBytesCount();
+				readCacheHits = getFedReadCacheHitCount();
+				readCacheMisses = getFedReadCacheMissCount();
+				readCacheEvictions = getFedReadCacheEvictionCount();
+				readCacheBytes = getFedReadCacheBytes();
+				resultReuseHits = getFedResultReuseHitCount();
+				resultReusePuts = getFedResultReusePutCount();
+				resultReuseEvictions = getFedResultReuseEvictionCount();
 				putLineageCount = getFedPutLineageCount();
 				putLineageItems = getFedPutLineageItems();
 				serializationReuseCount = getFedSerializationReuseCount();
@@ -899,6 +1046,13 @@ public class FederatedStatistics {
 				fLTEntryCount += that.fLTEntryCount;
 				reuseReadHits += that.reuseReadHits;
 				reuseReadBytes += that.reuseReadBytes;
+				readCacheHits += that.readCacheHits;
+				readCacheMisses += that.readCacheMisses;
+				readCacheEvictions += that.readCacheEvictions;
+				readCacheBytes += that.readCacheBytes;
+				resultReuseHits += that.resultReuseHits;
+				resultReusePuts += that.resultReusePuts;
+				resultReuseEvictions += that.resultReuseEvictions;
 				putLineageCount += that.putLineageCount;
 				putLineageItems += that.putLineageItems;
 				serializationReuseCount += that.serializationReuseCount;
@@ -0,0 +1,423 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataInput;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataOutput;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+
+/**
+ * Binary wire protocol for federated requests and responses, which replaces the Java object serialization of entire
+ * request batches. Every message is a frame of [length, kind, body], where request headers (type, id, tid, pid) are
+ * encoded as fixed-size fields, and matrix/frame blocks, strings, and scalars are written as tagged parameters
+ * directly into (pooled) Netty byte buffers. Matrix blocks use bulk reads and writes of dense and sparse rows
+ * without intermediate byte arrays. All other parameters (e.g., UDFs, exceptions) fall back to Java serialization.
+ */
+public class FederatedWireProtocol {
+	// message kinds
+	protected static final byte MSG_REQUESTS = 1;
+	protected static final byte MSG_RESPONSE = 2;
+
+	// parameter tags
+	private static final byte NULL = 0;
+	private static final byte MATRIX = 1;
+	private static final byte FRAME = 2;
+	private static final byte STRING = 3;
+	private static final byte LONG = 4;
+	private static final byte DOUBLE = 5;
+	private static final byte BOOLEAN = 6;
+	private static final byte SCALAR = 7;
+	private static final byte JAVA = 8;
+
+	// number of values per bulk read/write of dense rows
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private FederatedWireProtocol() {
+		// private constructor for static utility class
+	}
+
+	/**
+	 * Writes a framed message of federated requests, a single federated request, or a federated response.
+	 *
+	 * @param msg the message
+	 * @param out the output buffer
+	 * @throws IOException if the message cannot be serialized
+	 */
+	public static void writeMessage(Object msg, ByteBuf out) throws IOException {
+		final int start = out.writerIndex();
+		out.writeInt(0); // frame length, set below
+		if(msg instanceof FederatedResponse) {
+			out.writeByte(MSG_RESPONSE);
+			writeResponse((FederatedResponse) msg, out);
+		}
+		else {
+			FederatedRequest[] requests = (msg instanceof FederatedRequest) ?
+				new FederatedRequest[] {(FederatedRequest) msg} : (FederatedRequest[]) msg;
+			out.writeByte(MSG_REQUESTS);
+			out.writeInt(requests.length);
+			for(FederatedRequest request : requests)
+				writeRequest(request, out);
+		}
+		out.setInt(start, out.writerIndex() - start - 4);
+	}
+
+	/**
+	 * Reads a message body (without the frame length) into federated requests or a federated response.
+	 *
+	 * @param in the input buffer of exactly one frame
+	 * @return a FederatedRequest[] or FederatedResponse
+	 * @throws IOException if the message cannot be deserialized
+	 */
+	public static Object readMessage(ByteBuf in) throws IOException {
+		final byte kind = in.readByte();
+		switch(kind) {
+			case MSG_REQUESTS:
+				FederatedRequest[] requests = new FederatedRequest[in.readInt()];
+				for(int i = 0; i < requests.length; i++)
+					requests[i] = readRequest(in);
+				return requests;
+			case MSG_RESPONSE:
+				return readResponse(in);
+			default:
+				// most likely a Java-serialized message from a peer without the binary protocol
+				throw new IOException("Invalid federated message kind: " + kind + " (check that "
+					+ DMLConfig.FEDERATED_BINARY_PROTOCOL + " is configured equally on coordinator and workers)");
+		}
+	}
+
+	public static boolean isSupportedMessage(Object msg) {
+		return msg instanceof FederatedRequest[] || msg instanceof FederatedRequest
+			|| msg instanceof FederatedResponse;
+	}
+
+	private static void writeRequest(FederatedRequest request, ByteBuf out) throws IOException {
+		out.writeByte(request.getType().ordinal());
+		out.writeLong(request.getID());
+		out.writeLong(request.getTID());
+		out.writeLong(request.getPID());
+		writeString(request.getLineageTrace(), out);
+		List<Long> checksums = request.getChecksums();
+		out.writeInt(checksums != null ? checksums.size() : -1);
+		if(checksums != null)
+			for(Long c : checksums)
+				out.writeLong(c);
+		out.writeInt(request.getNumParams());
+		for(int i = 0; i < request.getNumParams(); i++)
+			writeParam(request.getParam(i), out);
+	}
+
+	private static FederatedRequest readRequest(ByteBuf in) throws IOException {
+		RequestType type = RequestType.values()[in.readByte()];
+		long id = in.readLong();
+		long tid = in.readLong();
+		long pid = in.readLong();
+		String lineageTrace = readString(in);
+		int nChecksums = in.readInt();
+		List<Long> checksums = null;
+		if(nChecksums >= 0) {
+			checksums = new ArrayList<>(nChecksums);
+			for(int i = 0; i < nChecksums; i++)
+				checksums.add(in.readLong());
+		}
+		int nParams = in.readInt();
+		List<Object> data = new ArrayList<>(nParams);
+		for(int i = 0; i < nParams; i++)
+			data.add(readParam(in));
+		return new FederatedRequest(type, id, tid, pid, data, checksums, lineageTrace);
+	}
+
+	private static void writeResponse(FederatedResponse response, ByteBuf out) throws IOException {
+		out.writeByte(response.getStatus().ordinal());
+		Object[] data = response.getRawData();
+		out.writeInt(data != null ? data.length : -1);
+		if(data != null)
+			for(Object obj : data)
+				writeParam(obj, out);
+	}
+
+	private static FederatedResponse readResponse(ByteBuf in) throws IOException {
+		ResponseType status = ResponseType.values()[in.readByte()];
+		int len = in.readInt();
+		Object[] data = null;
+		if(len >= 0) {
+			data = new Object[len];
+			for(int i = 0; i < len; i++)
+				data[i] = readParam(in);
+		}
+		return new FederatedResponse(status, data);
+	}
+
+	private static void writeParam(Object obj, ByteBuf out) throws IOException {
+		// note: exact class checks because subclasses (e.g., compressed blocks) have their own serialization
+		if(obj == null)
+			out.writeByte(NULL);
+		else if(obj.getClass() == MatrixBlock.class) {
+			out.writeByte(MATRIX);
+			((MatrixBlock) obj).write(new ByteBufDataOutput(out));
+		}
+		else if(obj.getClass() == FrameBlock.class) {
+			out.writeByte(FRAME);
+			((FrameBlock) obj).write(new ByteBufDataOutput(out));
+		}
+		else if(obj instanceof String) {
+			out.writeByte(STRING);
+			writeString((String) obj, out);
+		}
+		else if(obj instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) obj);
+		}
+		else if(obj instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) obj);
+		}
+		else if(obj instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) obj);
+		}
+		else if(obj instanceof IntObject || obj instanceof DoubleObject || obj instanceof BooleanObject
+			|| obj instanceof StringObject) {
+			out.writeByte(SCALAR);
+			writeScalar(obj, out);
+		}
+		else {
+			// fallback Java serialization, with length prefix for skipping
+			out.writeByte(JAVA);
+			final int start = out.writerIndex();
+			out.writeInt(0);
+			try(ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(out))) {
+				oos.writeObject(obj);
+			}
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	private static Object readParam(ByteBuf in) throws IOException {
+		final byte tag = in.readByte();
+		switch(tag) {
+			case NULL:
+				return null;
+			case MATRIX:
+				MatrixBlock mb = new MatrixBlock();
+				mb.readFields(new ByteBufDataInput(in));
+				return mb;
+			case FRAME:
+				FrameBlock fb = new FrameBlock();
+				fb.readFields(new ByteBufDataInput(in));
+				return fb;
+			case STRING:
+				return readString(in);
+			case LONG:
+				return in.readLong();
+			case DOUBLE:
+				return in.readDouble();
+			case BOOLEAN:
+				return in.readBoolean();
+			case SCALAR:
+				return readScalar(in);
+			case JAVA:
+				int len = in.readInt();
+				try(ObjectInputStream ois = new ObjectInputStream(new ByteBufInputStream(in.readSlice(len)))) {
+					return ois.readObject();
+				}
+				catch(ClassNotFoundException ex) {
+					throw new IOException("Failed to deserialize federated parameter.", ex);
+				}
+			default:
+				throw new IOException("Invalid federated parameter tag: " + tag);
+		}
+	}
+
+	private static void writeScalar(Object obj, ByteBuf out) {
+		if(obj instanceof IntObject) {
+			out.writeByte(ValueType.INT64.ordinal());
+			out.writeLong(((IntObject) obj).getLongValue());
+		}
+		else if(obj instanceof DoubleObject) {
+			out.writeByte(ValueType.FP64.ordinal());
+			out.writeDouble(((DoubleObject) obj).getDoubleValue());
+		}
+		else if(obj instanceof BooleanObject) {
+			out.writeByte(ValueType.BOOLEAN.ordinal());
+			out.writeBoolean(((BooleanObject) obj).getBooleanValue());
+		}
+		else {
+			out.writeByte(ValueType.STRING.ordinal());
+			writeString(((StringObject) obj).getStringValue(), out);
+		}
+	}
+
+	private static Object readScalar(ByteBuf in) {
+		ValueType vt = ValueType.values()[in.readByte()];
+		switch(vt) {
+			case INT64:
+				return new IntObject(in.readLong());
+			case FP64:
+				return new DoubleObject(in.readDouble());
+			case BOOLEAN:
+				return new BooleanObject(in.readBoolean());
+			default:
+				return new StringObject(readString(in));
+		}
+	}
+
+	private static void writeString(String str, ByteBuf out) {
+		if(str == null) {
+			out.writeInt(-1);
+			return;
+		}
+		// note: no writeUTF because of its 64KB limit (e.g., for lineage traces)
+		final int start = out.writerIndex();
+		out.writeInt(0);
+		int len = out.writeCharSequence(str, StandardCharsets.UTF_8);
+		out.setInt(start, len);
+	}
+
+	private static String readString(ByteBuf in) {
+		int len = in.readInt();
+		return (len < 0) ? null : in.readCharSequence(len, StandardCharsets.UTF_8).toString();
+	}
+
+	/**
+	 * Data output that writes directly into a Netty byte buffer, incl bulk writes of dense and sparse rows.
+	 */
+	protected static class ByteBufDataOutput extends ByteBufOutputStream implements MatrixBlockDataOutput {
+		private final ByteBuf _buff;
+
+		public ByteBufDataOutput(ByteBuf buff) {
+			super(buff);
+			_buff = buff;
+		}
+
+		@Override
+		public void writeDoubleArray(int len, double[] varr) throws IOException {
+			// bulk writes via byte buffer views (big endian, like DataOutput)
+			for(int i = 0; i < len; i += CHUNK_SIZE) {
+				final int blen = Math.min(len - i, CHUNK_SIZE);
+				_buff.ensureWritable(blen * 8);
+				if(_buff.nioBufferCount() == 1) {
+					_buff.nioBuffer(_buff.writerIndex(), blen * 8).asDoubleBuffer().put(varr, i, blen);
+					_buff.writerIndex(_buff.writerIndex() + blen * 8);
+				}
+				else {
+					for(int j = i; j < i + blen; j++)
+						_buff.writeDouble(varr[j]);
+				}
+			}
+		}
+
+		@Override
+		public void writeSparseRows(int rlen, SparseBlock rows) throws IOException {
+			int lrlen = Math.min(rows.numRows(), rlen);
+			for(int i = 0; i < lrlen; i++) {
+				if(!rows.isEmpty(i)) {
+					int apos = rows.pos(i);
+					int alen = rows.size(i);
+					int[] aix = rows.indexes(i);
+					double[] avals = rows.values(i);
+					_buff.ensureWritable(4 + alen * 12);
+					_buff.writeInt(alen);
+					for(int j = apos; j < apos + alen; j++) {
+						_buff.writeInt(aix[j]);
+						_buff.writeDouble(avals[j]);
+					}
+				}
+				else
+					_buff.writeInt(0);
+			}
+			// process remaining empty rows
+			for(int i = lrlen; i < rlen; i++)
+				_buff.writeInt(0);
+		}
+	}
+
+	/**
+	 * Data input that reads directly from a Netty byte buffer, incl bulk reads of dense and sparse rows.
+	 */
+	protected static class ByteBufDataInput extends ByteBufInputStream implements MatrixBlockDataInput {
+		private final ByteBuf _buff;
+
+		public ByteBufDataInput(ByteBuf buff) {
+			super(buff);
+			_buff = buff;
+		}
+
+		@Override
+		public long readDoubleArray(int len, double[] varr) throws IOException {
+			// bulk reads via byte buffer views (big endian, like DataInput)
+			for(int i = 0; i < len; i += CHUNK_SIZE) {
+				final int blen = Math.min(len - i, CHUNK_SIZE);
+				if(_buff.nioBufferCount() == 1) {
+					_buff.nioBuffer(_buff.readerIndex(), blen * 8).asDoubleBuffer().get(varr, i, blen);
+					_buff.skipBytes(blen * 8);
+				}
+				else {
+					for(int j = i; j < i + blen; j++)
+						varr[j] = _buff.readDouble();
+				}
+			}
+			long nnz = 0;
+			for(int i = 0; i < len; i++)
+				nnz += (varr[i] != 0) ? 1 : 0;
+			return nnz;
+		}
+
+		@Override
+		public long readSparseRows(int rlen, long nnz, SparseBlock rows) throws IOException {
+			long gnnz = 0;
+			for(int i = 0; i < rlen; i++) {
+				int lnnz = _buff.readInt();
+				if(lnnz > 0) {
+					rows.allocate(i, lnnz);
+					for(int j = 0; j < lnnz; j++) {
+						int aix = _buff.readInt();
+						rows.append(i, aix, _buff.readDouble());
+					}
+					gnnz += lnnz;
+				}
+			}
+			// sanity check valid number of read nnz
+			if(gnnz != nnz)
+				throw new IOException("Invalid number of read nnz: " + gnnz + " vs " + nnz);
+			return nnz;
+		}
+	}
+}
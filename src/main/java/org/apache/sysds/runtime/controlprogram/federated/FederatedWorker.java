@@ -72,6 +72,7 @@ public class FederatedWorker {
 	private final int _port;
 	private final FederatedLookupTable _flt;
 	private final FederatedReadCache _frc;
+	private final FederatedReuseCache _rc;
 	private final FederatedWorkloadAnalyzer _fan;
 	private final boolean _debug;
 	private Timing networkTimer = new Timing();
@@ -79,6 +80,7 @@ public class FederatedWorker {
 	public FederatedWorker(int port, boolean debug) {
 		_flt = new FederatedLookupTable();
 		_frc = new FederatedReadCache();
+		_rc = new FederatedReuseCache();
 		if(ConfigurationManager.getCompressConfig().isWorkload())
 			_fan = new FederatedWorkloadAnalyzer();
 		else
@@ -189,17 +191,23 @@ public class FederatedWorker {
 	private ChannelInitializer<SocketChannel> createChannel(boolean ssl) {
 		try {
 			// TODO add ability to use real ssl files, not self signed certificates.
-			final SelfSignedCertificate cert = new SelfSignedCertificate();
-			final SslContext cont2 = SslContextBuilder.forServer(cert.certificate(), cert.privateKey()).build();
+			// create the certificate only if ssl is requested (not available in all environments)
+			final boolean sslConf = ConfigurationManager.getDMLConfig()
+				.getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION);
+			final SslContext cont2;
+			if(ssl || sslConf) {
+				final SelfSignedCertificate cert = new SelfSignedCertificate();
+				cont2 = SslContextBuilder.forServer(cert.certificate(), cert.privateKey()).build();
+			}
+			else
+				cont2 = null;
 
 			return new ChannelInitializer<>() {
 				@Override
 				public void initChannel(SocketChannel ch) {
 					final ChannelPipeline cp = ch.pipeline();
-					if(ConfigurationManager.getDMLConfig()
-						.getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION)) {
+					if(sslConf)
 						cp.addLast(cont2.newHandler(ch.alloc()));
-					}
 					if(ssl)
 						cp.addLast(cont2.newHandler(ch.alloc()));
 					final Optional<ImmutablePair<ChannelInboundHandlerAdapter, ChannelOutboundHandlerAdapter>> compressionStrategy = FederationUtils.compressionStrategy();
@@ -207,15 +215,23 @@ public class FederatedWorker {
 					cp.addLast("CompressionDecodingStartStatistics", new CompressionDecoderStartStatisticsHandler());
 					compressionStrategy.ifPresent(strategy -> cp.addLast("CompressionDecoder", strategy.left));
 					cp.addLast("CompressionDecoderEndStatistics", new CompressionDecoderEndStatisticsHandler());
-					cp.addLast("ObjectDecoder",
-						new ObjectDecoder(Integer.MAX_VALUE,
-							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+					final boolean binary = ConfigurationManager.isFederatedBinaryProtocol();
+					if(binary)
+						cp.addLast("FederatedMessageDecoder", new FederatedMessageDecoder());
+					else
+						cp.addLast("ObjectDecoder",
+							new ObjectDecoder(Integer.MAX_VALUE,
+								ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
 					cp.addLast("CompressionEncodingEndStatistics", new CompressionEncoderEndStatisticsHandler());
 					compressionStrategy.ifPresent(strategy -> cp.addLast("CompressionEncoder", strategy.right));
 					cp.addLast("CompressionEncodingStartStatistics", new CompressionEncoderStartStatisticsHandler());
-					cp.addLast("ObjectEncoder", new ObjectEncoder());
-					cp.addLast(FederationUtils.decoder(), new FederatedResponseEncoder());
-					cp.addLast(new FederatedWorkerHandler(_flt, _frc, _fan, networkTimer));
+					if(binary)
+						cp.addLast("FederatedMessageEncoder", new FederatedMessageEncoder());
+					else {
+						cp.addLast("ObjectEncoder", new ObjectEncoder());
+						cp.addLast(FederationUtils.decoder(), new FederatedResponseEncoder());
+					}
+					cp.addLast(new FederatedWorkerHandler(_flt, _frc, _rc, _fan, networkTimer));
 				}
 			};
 		}
@@ -97,6 +97,9 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 	/** Read cache shared by all worker handlers */
 	private final FederatedReadCache _frc;
+
+	/** Worker-global reuse cache of instruction results, null if disabled */
+	private final FederatedReuseCache _rc;
 	private Timing _timing = null;
 	
 	/** Federated workload analyzer */
@@ -115,8 +118,22 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 	 * @param fan A Workload analyzer object (should be null if not used).
 	 */
 	public FederatedWorkerHandler(FederatedLookupTable flt, FederatedReadCache frc, FederatedWorkloadAnalyzer fan) {
+		this(flt, frc, null, fan);
+	}
+
+	/**
+	 * Create a Federated Worker Handler.
+	 * 
+	 * @param flt The Federated Lookup Table of the current Federated Worker.
+	 * @param frc Read cache shared by all worker handlers.
+	 * @param rc  Result reuse cache shared by all worker handlers (null if not used).
+	 * @param fan A Workload analyzer object (should be null if not used).
+	 */
+	public FederatedWorkerHandler(FederatedLookupTable flt, FederatedReadCache frc, FederatedReuseCache rc,
+		FederatedWorkloadAnalyzer fan) {
 		_flt = flt;
 		_frc = frc;
+		_rc = (rc != null && rc.isEnabled()) ? rc : null;
 		_fan = fan;
 		
 		if(DMLScript.LINEAGE) {
@@ -128,8 +145,9 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		}
 	}
 	
-	public FederatedWorkerHandler(FederatedLookupTable flt, FederatedReadCache frc, FederatedWorkloadAnalyzer fan, Timing timing) {
-		this(flt, frc, fan);
+	public FederatedWorkerHandler(FederatedLookupTable flt, FederatedReadCache frc, FederatedReuseCache rc,
+		FederatedWorkloadAnalyzer fan, Timing timing) {
+		this(flt, frc, rc, fan);
 		_timing = timing;
 	}
 	
@@ -215,7 +233,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 			var eventStage = new EventStageModel();
 			// execute command and handle privacy constraints
-			final FederatedResponse tmp = executeCommand(request, ecm, eventStage);
+			final FederatedResponse tmp = executeCommand(request, ecm, eventStage, remoteHost);
 
 			if (DMLScript.STATISTICS) {
 				var requestStat = new RequestModel(request.getType().name(), 1L);
@@ -232,6 +250,10 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 					FederatedStatistics.addEvent(event);
 				return tmp; // Return first error without executing anything further
 			}
+			else if(t == RequestType.BARRIER) {
+				// responses of pipelined requests before the barrier are not consumed
+				response = null;
+			}
 			else if(t == RequestType.GET_VAR) {
 				// If any of the requests was a GET_VAR then set it as output.
 				if(response != null && numGETrequests > 0) {
@@ -297,8 +319,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		}
 	}
 
-	private FederatedResponse executeCommand(FederatedRequest request, ExecutionContextMap ecm, EventStageModel eventStage)
-		throws FederatedWorkerHandlerException, Exception
+	private FederatedResponse executeCommand(FederatedRequest request, ExecutionContextMap ecm,
+		EventStageModel eventStage, String remoteHost) throws FederatedWorkerHandlerException, Exception
 	{
 		final RequestType method = request.getType();
 		FederatedResponse result = null;
@@ -312,7 +334,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				break;
 			case PUT_VAR:
 				eventStage.operation = method.name();
-				result = putVariable(request, ecm);
+				result = putVariable(request, ecm, remoteHost);
 				break;
 			case GET_VAR:
 				eventStage.operation = method.name();
@@ -329,6 +351,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				result = execClear(ecm);
 				break;
 			case NOOP:
+			case BARRIER:
 				eventStage.operation = method.name();
 				result = execNoop();
 				break;
@@ -390,6 +413,8 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				throw ex;
 			}
 		}
+		if(_rc != null)
+			_rc.setReadKey(cd, filename);
 		
 		if(shouldTryAsyncCompress()) // TODO: replace the reused object
 			CompressedMatrixBlockFactory.compressAsync(ec, sId);
@@ -472,7 +497,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		return cd;
 	}
 
-	private FederatedResponse putVariable(FederatedRequest request, ExecutionContextMap ecm) {
+	private FederatedResponse putVariable(FederatedRequest request, ExecutionContextMap ecm, String remoteHost) {
 		checkNumParams(request.getNumParams(), 1, 2);
 		final String varName = String.valueOf(request.getID());
 		ExecutionContext ec = ecm.get(request.getTID());
@@ -521,6 +546,14 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				
 		// set variable and construct empty response
 		ec.setVariable(varName, data);
+		if(_rc != null && v instanceof CacheBlock) {
+			// received data is identified by its lineage or checksum (scoped to the coordinator)
+			String id = (request.getLineageTrace() != null) ? request.getLineageTrace() :
+				(request.getChecksums() != null && !request.getChecksums().isEmpty()) ?
+				String.valueOf(request.getChecksum(0)) : null;
+			if(id != null)
+				_rc.setPutKey(data, id, remoteHost + "-" + request.getPID());
+		}
 
 		if (DMLScript.STATISTICS){
 			FederatedStatistics.addDataObject(new DataObjectModel(varName, data.getDataType().name(), data.getValueType().name(), size));
@@ -581,7 +614,13 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		final long tid = request.getTID();
 		final ExecutionContext ec = getContextForInstruction(tid, ins, ecm);
 		setThreads(ins);
-		exec(ec, ins);
+		// probe the worker-global reuse cache before execution
+		final FederatedReuseCache.ReuseKey key = (_rc != null) ? _rc.getKey(ins, ec) : null;
+		if(key == null || !_rc.reuse(key, ins, ec)) {
+			exec(ec, ins);
+			if(_rc != null)
+				_rc.put(key, ins, ec);
+		}
 		adaptToWorkload(ec, _fan, tid, ins);
 		return new FederatedResponse(
 			ResponseType.SUCCESS_EMPTY, getOutputNnz(ec, ins));
@@ -340,7 +340,7 @@ public class FederationMap {
 		List<Future<FederatedResponse>> ret = new ArrayList<>();
 		int pos = 0;
 		for(Pair<FederatedRange, FederatedData> e : _fedMap)
-			ret.add(e.getValue().executeFederatedOperation((frSlices != null) ? addAll(frSlices[pos++], fr) : fr));
+			ret.add(execute(e.getValue(), wait, (frSlices != null) ? addAll(frSlices[pos++], fr) : fr));
 
 		// prepare results (future federated responses), with optional wait to ensure the
 		// order of requests without data dependencies (e.g., cleanup RPCs)
@@ -365,9 +365,9 @@ public class FederationMap {
 			if(Arrays.asList(fedRange1).contains(e.getKey())) {
 				FederatedRequest[] newFr = (frSlices1 != null) ? ((frSlices2 != null) ? (addAll(frSlices2[pos],
 					addAll(frSlices1[pos++], fr))) : addAll(frSlices1[pos++], fr)) : fr;
-				ret.add(e.getValue().executeFederatedOperation(newFr));
+				ret.add(execute(e.getValue(), wait, newFr));
 			}
-			else ret.add(e.getValue().executeFederatedOperation(elseFr));
+			else ret.add(execute(e.getValue(), wait, elseFr));
 		}
 
 		// prepare results (future federated responses), with optional wait to ensure the
@@ -395,7 +395,7 @@ public class FederationMap {
 			FederatedRequest[] fedReq = fr;
 			for(FederatedRequest[] slice : frSlices)
 				fedReq = addAll(slice[pos], fedReq);
-			ret.add(e.getValue().executeFederatedOperation(fedReq));
+			ret.add(execute(e.getValue(), wait, fedReq));
 			pos++;
 		}
 
@@ -406,6 +406,13 @@ public class FederationMap {
 		return ret.toArray(new Future[0]);
 	}
 
+	private static Future<FederatedResponse> execute(FederatedData fd, boolean wait, FederatedRequest... fr) {
+		// requests with wait only for ordering are pipelined (if enabled), and sent
+		// with the next request to the federated site, where their results are consumed
+		return (wait && FederationUtils.isPipelinable(fr)) ?
+			fd.pipelineFederatedOperation(fr) : fd.executeFederatedOperation(fr);
+	}
+
 	public List<Pair<FederatedRange, Future<FederatedResponse>>> requestFederatedData() {
 		if(!isInitialized())
 			throw new DMLRuntimeException("Federated matrix read only supported on initialized FederatedData");
@@ -451,14 +451,17 @@ public class FederationUtils {
 
 	public static void waitFor(List<Future<FederatedResponse>> responses) {
 		try {
+			// pipelined requests are ordered by construction and resolved on consumption
 			final int timeout = ConfigurationManager.getFederatedTimeout();
 			if(timeout > 0){
 				for(Future<FederatedResponse> fr : responses)
-					fr.get(timeout, TimeUnit.SECONDS);
+					if(!FederatedRequestPipeline.isPending(fr))
+						fr.get(timeout, TimeUnit.SECONDS);
 			}
 			else {
 				for(Future<FederatedResponse> fr : responses)
-					fr.get();
+					if(!FederatedRequestPipeline.isPending(fr))
+						fr.get();
 			}
 		}
 		catch(Exception ex) {
@@ -641,11 +644,37 @@ public class FederationUtils {
 		}
 	}
 
+	/**
+	 * Indicates if a batch of requests can be pipelined, i.e., only puts data or executes
+	 * instructions at the federated worker, without a response consumed by the coordinator
+	 * and without side effects outside the worker (e.g., writes).
+	 *
+	 * @param fr batch of federated requests
+	 * @return true if pipelining is enabled and applicable
+	 */
+	public static boolean isPipelinable(FederatedRequest... fr) {
+		if( !ConfigurationManager.isFederatedPipelining() || fr == null || fr.length == 0 )
+			return false;
+		for( FederatedRequest r : fr ) {
+			if( r == null )
+				return false;
+			if( r.getType() == RequestType.PUT_VAR )
+				continue;
+			if( r.getType() != RequestType.EXEC_INST || !(r.getParam(0) instanceof String)
+				|| "write".equals(InstructionUtils.getOpCode((String) r.getParam(0))) )
+				return false;
+		}
+		return true;
+	}
+
 	public static long sumNonZeros(Future<FederatedResponse>[] responses) {
 		long nnz = 0;
 		try {
-			for( Future<FederatedResponse> r : responses)
+			for( Future<FederatedResponse> r : responses) {
+				if( FederatedRequestPipeline.isPending(r) )
+					return -1; // unknown, without forcing pipelined requests
 				nnz += (Long)r.get().getData()[0];
+			}
 			return nnz;
 		}
 		catch(Exception ex) { }
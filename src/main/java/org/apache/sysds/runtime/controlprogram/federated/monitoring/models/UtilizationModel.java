@@ -27,11 +27,19 @@ public class UtilizationModel extends BaseModel {
 	public LocalDateTime timestamp;
 	public double cpuUsage;
 	public double memoryUsage;
+	public Long readCacheHits = 0L;
+	public Long readCacheMisses = 0L;
+	public Long readCacheEvictions = 0L;
+	public Long readCacheBytes = 0L;
 
 	private static final String JsonFormat = "{" +
 			"\"timestamp\": \"%s\"," +
 			"\"cpuUsage\": %.2f," +
-			"\"memoryUsage\": %.2f" +
+			"\"memoryUsage\": %.2f," +
+			"\"readCacheHits\": %d," +
+			"\"readCacheMisses\": %d," +
+			"\"readCacheEvictions\": %d," +
+			"\"readCacheBytes\": %d" +
 			"}";
 
 	public UtilizationModel() {
@@ -60,6 +68,7 @@ public class UtilizationModel extends BaseModel {
 
 	@Override
 	public String toString() {
-		return String.format(JsonFormat, this.timestamp, this.cpuUsage, this.memoryUsage);
+		return String.format(JsonFormat, this.timestamp, this.cpuUsage, this.memoryUsage,
+			this.readCacheHits, this.readCacheMisses, this.readCacheEvictions, this.readCacheBytes);
 	}
 }
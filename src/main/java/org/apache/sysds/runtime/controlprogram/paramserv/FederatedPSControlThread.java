@@ -374,6 +374,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.removeVariable(Statement.PS_FED_GRADIENTS_FNAME);
 			ec.removeVariable(Statement.PS_FED_AGGREGATION_FNAME);
 			ec.removeVariable(Statement.PS_FED_MODEL_VARID);
+			ec.removeVariable(Statement.PS_FED_RESIDUALS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_HYPER_PARAMS);
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
@@ -552,7 +553,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 					new long[]{_modelVarID}, numBatchesToCompute, localUpdate, localStartBatchNum);
 		} else {
 			udf = new federatedComputeGradientsForNBatches(new long[]{_featuresData.getVarID(), _labelsData.getVarID(),
-					_modelVarID}, numBatchesToCompute, localUpdate, localStartBatchNum);
+					_modelVarID}, numBatchesToCompute, localUpdate, localStartBatchNum, _compressor);
 		}
 		Future<FederatedResponse> udfResponse = _featuresData.executeFederatedOperation(
 				new FederatedRequest(RequestType.EXEC_UDF, _featuresData.getVarID(), udf));
@@ -583,12 +584,19 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		int _numBatchesToCompute;
 		boolean _localUpdate;
 		int _localStartBatchNum;
+		GradientCompressor _compressor;
 
 		protected federatedComputeGradientsForNBatches(long[] inIDs, int numBatchesToCompute, boolean localUpdate, int localStartBatchNum) {
+			this(inIDs, numBatchesToCompute, localUpdate, localStartBatchNum, null);
+		}
+
+		protected federatedComputeGradientsForNBatches(long[] inIDs, int numBatchesToCompute, boolean localUpdate,
+			int localStartBatchNum, GradientCompressor compressor) {
 			super(inIDs);
 			_numBatchesToCompute = numBatchesToCompute;
 			_localUpdate = localUpdate;
 			_localStartBatchNum = localStartBatchNum;
+			_compressor = compressor;
 		}
 
 		@Override
@@ -687,6 +695,14 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ParamservUtils.cleanupListObject(ec, ec.getVariable(Statement.PS_FED_MODEL_VARID).toString());
 			// TODO double check cleanup gradients and models
 
+			// compress the gradients, with residuals (error feedback) kept on the federated worker
+			if(_compressor != null && !modelAvg && accGradients != null) {
+				GradientCompressor compressor = new GradientCompressor(_compressor.getType(), _compressor.getRatio(),
+					GradientCompressor.getResiduals(ec, Statement.PS_FED_RESIDUALS));
+				accGradients = compressor.compress(accGradients);
+				compressor.setResiduals(ec, Statement.PS_FED_RESIDUALS);
+			}
+
 			// stop timing
 			DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
 			ParamServStatistics.accGradientComputeTime(gradientsTime.getLongValue());
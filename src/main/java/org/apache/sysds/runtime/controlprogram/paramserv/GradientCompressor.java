@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSGradCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+
+/**
+ * Lossy compression of pushed gradients with error feedback. The compression error of
+ * each gradient (the residual) is kept by the worker and added to its next gradient,
+ * such that no update is lost but only delayed.
+ *
+ * <ul>
+ * <li>TOPK: sparsification to the given ratio of values with largest magnitude, sent as
+ * sparse blocks.</li>
+ * <li>QUANTIZE: 8-bit linear quantization between the minimum and maximum value, sent as
+ * compressed blocks with a dictionary of at most 256 distinct values.</li>
+ * </ul>
+ */
+public class GradientCompressor implements Serializable {
+	private static final long serialVersionUID = 2861932453476478126L;
+
+	/** Number of quantization levels (8 bit) */
+	private static final int QUANTIZATION_LEVELS = 256;
+
+	private final PSGradCompression _type;
+	private final double _ratio;
+	// residuals of the last compression (error feedback), per gradient
+	private MatrixBlock[] _residuals;
+
+	public GradientCompressor(PSGradCompression type, double ratio) {
+		this(type, ratio, null);
+	}
+
+	public GradientCompressor(PSGradCompression type, double ratio, MatrixBlock[] residuals) {
+		if(type == PSGradCompression.TOPK && (ratio <= 0 || ratio > 1))
+			throw new DMLRuntimeException("Paramserv function: invalid compression ratio " + ratio
+				+ " for top-k sparsification, expected a ratio in (0,1].");
+		_type = type;
+		_ratio = ratio;
+		_residuals = residuals;
+	}
+
+	public PSGradCompression getType() {
+		return _type;
+	}
+
+	public double getRatio() {
+		return _ratio;
+	}
+
+	public MatrixBlock[] getResiduals() {
+		return _residuals;
+	}
+
+	/**
+	 * Compresses the given gradients, and cleans up the uncompressed gradients.
+	 *
+	 * @param gradients list of gradient matrices
+	 * @return new list of compressed gradient matrices
+	 */
+	public ListObject compress(ListObject gradients) {
+		if(_type == PSGradCompression.NONE)
+			return gradients;
+		final int n = gradients.getLength();
+		if(_residuals == null)
+			_residuals = new MatrixBlock[n];
+		else if(_residuals.length != n)
+			throw new DMLRuntimeException("Paramserv function: the number of gradients changed from "
+				+ _residuals.length + " to " + n + ".");
+
+		final long[] bytes = new long[2];
+		final double[] errors = new double[2];
+		List<Data> data = IntStream.range(0, n).parallel().mapToObj(i -> {
+			MatrixObject mo = (MatrixObject) gradients.getData().get(i);
+			MatrixBlock g = addResidual(mo.acquireReadAndRelease(), _residuals[i]);
+			MatrixBlock c = (_type == PSGradCompression.TOPK) ? sparsify(g) : quantize(g);
+			// the residual is the compression error, carried over to the next push
+			MatrixBlock r = g.binaryOperations(new BinaryOperator(Minus.getMinusFnObject()), c, new MatrixBlock());
+			_residuals[i] = r;
+			MatrixBlock out = (_type == PSGradCompression.QUANTIZE) ?
+				CompressedMatrixBlockFactory.compress(c, 1).getLeft() : c;
+			if(DMLScript.STATISTICS) {
+				synchronized(bytes) {
+					bytes[0] += g.getExactSizeOnDisk();
+					bytes[1] += out.getExactSizeOnDisk();
+					errors[0] += g.sumSq();
+					errors[1] += r.sumSq();
+				}
+			}
+			return ParamservUtils.newMatrixObject(out);
+		}).collect(Collectors.toList());
+
+		if(DMLScript.STATISTICS)
+			ParamServStatistics.accGradientCompression(bytes[0], bytes[1],
+				(errors[0] > 0) ? Math.sqrt(errors[1] / errors[0]) : 0);
+		ParamservUtils.cleanupListObject(gradients);
+		return new ListObject(data, gradients.getNames());
+	}
+
+	/**
+	 * Decompresses gradients that were received as compressed blocks (in place).
+	 *
+	 * @param gradients list of gradient matrices
+	 * @return the given list of gradient matrices
+	 */
+	public static ListObject decompress(ListObject gradients) {
+		for(Data dat : gradients.getData()) {
+			if(!(dat instanceof MatrixObject))
+				continue;
+			MatrixObject mo = (MatrixObject) dat;
+			MatrixBlock mb = mo.acquireReadAndRelease();
+			if(mb instanceof CompressedMatrixBlock) {
+				mo.acquireModify(((CompressedMatrixBlock) mb).decompress());
+				mo.release();
+			}
+		}
+		return gradients;
+	}
+
+	/**
+	 * Obtains the residuals of a worker from the given execution context (on federated workers).
+	 *
+	 * @param ec    execution context
+	 * @param vname variable name of the residuals
+	 * @return array of residual blocks, or null if not available
+	 */
+	public static MatrixBlock[] getResiduals(ExecutionContext ec, String vname) {
+		Data dat = ec.getVariable(vname);
+		if(!(dat instanceof ListObject))
+			return null;
+		return ((ListObject) dat).getData().stream()
+			.map(d -> ((MatrixObject) d).acquireReadAndRelease()).toArray(MatrixBlock[]::new);
+	}
+
+	/**
+	 * Keeps the residuals of this compressor in the given execution context (on federated workers).
+	 *
+	 * @param ec    execution context
+	 * @param vname variable name of the residuals
+	 */
+	public void setResiduals(ExecutionContext ec, String vname) {
+		if(_residuals == null)
+			return;
+		ec.setVariable(vname, new ListObject(Arrays.stream(_residuals)
+			.map(ParamservUtils::newMatrixObject).collect(Collectors.toList())));
+	}
+
+	private static MatrixBlock addResidual(MatrixBlock g, MatrixBlock r) {
+		// dense copy of the gradient, as input for sparsification and quantization
+		MatrixBlock ret = (r != null) ?
+			g.binaryOperations(new BinaryOperator(Plus.getPlusFnObject()), r, new MatrixBlock()) :
+			new MatrixBlock(g);
+		ret.sparseToDense();
+		if(ret.getDenseBlock() == null)
+			ret.allocateDenseBlock();
+		return ret;
+	}
+
+	private MatrixBlock sparsify(MatrixBlock g) {
+		double[] gv = g.getDenseBlockValues();
+		int k = (int) Math.max(1, Math.ceil(_ratio * gv.length));
+		if(k >= gv.length)
+			return g;
+		// threshold as the k-th largest magnitude
+		double[] abs = new double[gv.length];
+		for(int i = 0; i < gv.length; i++)
+			abs[i] = Math.abs(gv[i]);
+		Arrays.sort(abs);
+		double threshold = abs[gv.length - k];
+		// values equal to the threshold only fill up the remaining k
+		int numEqual = k;
+		for(int i = gv.length - k; i < gv.length; i++)
+			numEqual -= (abs[i] > threshold) ? 1 : 0;
+
+		int ncol = g.getNumColumns();
+		MatrixBlock ret = new MatrixBlock(g.getNumRows(), ncol, true);
+		for(int i = 0; i < gv.length; i++) {
+			double v = Math.abs(gv[i]);
+			if(v != 0 && (v > threshold || (v == threshold && numEqual-- > 0)))
+				ret.appendValue(i / ncol, i % ncol, gv[i]);
+		}
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static MatrixBlock quantize(MatrixBlock g) {
+		double[] gv = g.getDenseBlockValues();
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for(double v : gv) {
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+		}
+		double scale = (max - min) / (QUANTIZATION_LEVELS - 1);
+		MatrixBlock ret = new MatrixBlock(g.getNumRows(), g.getNumColumns(), false);
+		if(gv.length == 0)
+			return ret;
+		ret.allocateDenseBlock();
+		double[] rv = ret.getDenseBlockValues();
+		for(int i = 0; i < gv.length; i++)
+			rv[i] = (scale == 0) ? gv[i] : min + Math.round((gv[i] - min) / scale) * scale;
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
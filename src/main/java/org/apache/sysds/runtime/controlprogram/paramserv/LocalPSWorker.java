@@ -204,8 +204,10 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 					pushGradients(model);
 				}
 				else {
-					// Push the gradients to ps
+					// Push the gradients to ps, which takes over their cleanup (e.g., the new
+					// model might reference them), hence, they are unbound from this worker
 					pushGradients(gradients);
+					_ec.removeVariable(_output.getName());
 					ParamservUtils.cleanupListObject(_ec, Statement.PS_MODEL);
 				}
 				accNumBatches(1);
@@ -229,6 +231,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 	}
 
 	private void pushGradients(ListObject gradients) {
+		// Compress the gradients (but not averaged models) before pushing
+		if(_compressor != null && !_modelAvg)
+			gradients = _compressor.compress(gradients);
 		// Push the gradients to ps
 		_ps.push(_workerID, gradients);
 		if(LOG.isDebugEnabled()) {
@@ -19,13 +19,31 @@
 
 package org.apache.sysds.runtime.controlprogram.paramserv;
 
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.parser.Statement;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.utils.stats.ParamServStatistics;
 
 public class LocalParamServer extends ParamServer {
+	// Combining of concurrent pushes (ASP): workers append their gradients to a lock-free
+	// queue, and a single worker at a time accrues all pending gradients (in parallel over
+	// the layers of the model) and updates the global model with one aggregation.
+	// Other workers return immediately and wait for the broadcasted model in pull.
+	private boolean _combine = false;
+	private final Queue<Pair<Integer, ListObject>> _pending = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean _aggregating = new AtomicBoolean(false);
+	private volatile RuntimeException _failure = null;
 
 	public LocalParamServer() {
 		super();
@@ -47,16 +65,74 @@ public class LocalParamServer extends ParamServer {
 			nbatches, modelAvg, numBackupWorkers);
 	}
 
+	/**
+	 * Enables the combining of concurrent pushes of gradients, which is only
+	 * valid for asynchronous (ASP) updates of gradients.
+	 *
+	 * @param combine true to combine concurrent pushes
+	 */
+	public void setCombinePushes(boolean combine) {
+		_combine = combine;
+	}
+
 	@Override
 	public void push(int workerID, ListObject gradients) {
-		updateGlobalModel(workerID, gradients);
+		// decompress gradients received from workers with gradient compression
+		GradientCompressor.decompress(gradients);
+		if(!_combine) {
+			updateGlobalModel(workerID, gradients);
+			return;
+		}
+		_pending.add(new ImmutablePair<>(workerID, gradients));
+		if(DMLScript.STATISTICS)
+			ParamServStatistics.incCombinedPushes();
+		// re-check after releasing the flag to not miss pushes appended meanwhile
+		while(!_pending.isEmpty() && _aggregating.compareAndSet(false, true)) {
+			try {
+				combinePendingPushes();
+			}
+			catch(RuntimeException e) {
+				// fail the workers waiting for models of already combined pushes
+				_failure = e;
+				throw e;
+			}
+			finally {
+				_aggregating.set(false);
+			}
+		}
+	}
+
+	private void combinePendingPushes() {
+		// each worker has at most one pending push, so draining terminates
+		ListObject accGradients = null;
+		int[] workerIDs = new int[getNumWorkers()];
+		int num = 0;
+		for(Pair<Integer, ListObject> p = _pending.poll(); p != null; p = _pending.poll()) {
+			workerIDs[num++] = p.getKey();
+			accGradients = ParamservUtils.accrueGradients(accGradients, p.getValue(), true, true);
+		}
+		if(num == 0)
+			return;
+		updateGlobalGradients(Arrays.copyOf(workerIDs, num), accGradients);
+		if(DMLScript.STATISTICS)
+			ParamServStatistics.incCombinedUpdates();
 	}
 
 	@Override
 	public ListObject pull(int workerID) {
 		ListObject model;
 		try {
-			model = _modelMap.get(workerID).take();
+			if(!_combine)
+				model = _modelMap.get(workerID).take();
+			else {
+				// the push of this worker might be combined by a failing worker
+				model = _modelMap.get(workerID).poll(100, TimeUnit.MILLISECONDS);
+				while(model == null) {
+					if(_failure != null)
+						throw new DMLRuntimeException("Aggregation service of combined pushes failed.", _failure);
+					model = _modelMap.get(workerID).poll(100, TimeUnit.MILLISECONDS);
+				}
+			}
 		} catch (InterruptedException e) {
 			throw new DMLRuntimeException(e);
 		}
@@ -53,6 +53,7 @@ public abstract class PSWorker implements Serializable
 	protected Statement.PSFrequency _freq;
 	protected int _nbatches;
 	protected boolean _modelAvg;
+	protected GradientCompressor _compressor;
 
 	protected PSWorker() {}
 
@@ -69,6 +70,15 @@ public abstract class PSWorker implements Serializable
 		setupUpdateFunction(updFunc, ec);
 	}
 
+	/**
+	 * Sets the compression of pushed gradients of this worker (not used for model averaging).
+	 *
+	 * @param compressor gradient compressor with the error feedback state of this worker
+	 */
+	public void setGradientCompressor(GradientCompressor compressor) {
+		_compressor = compressor;
+	}
+
 	protected void setupUpdateFunction(String updFunc, ExecutionContext ec) {
 		// Get the update function
 		String[] cfn = DMLProgram.splitFunctionKey(updFunc);
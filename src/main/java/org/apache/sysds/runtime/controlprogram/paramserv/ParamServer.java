@@ -223,31 +223,13 @@ public abstract class ParamServer
 					break;
 				}
 				case ASP: {
-					updateGlobalModel(gradients);
-					// This works similarly to the one for BSP, but divides the sync counter by
-					// the number of workers, creating "Pseudo Epochs"
-					if (_numBatchesPerEpoch != -1 &&
-						((_freq == Statement.PSFrequency.EPOCH && ((float) ++_syncCounter % _numWorkers) == 0) ||
-						(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % _numBatchesPerEpoch == 0)) ||
-						(_freq == Statement.PSFrequency.NBATCHES)) {
-						if(LOG.isInfoEnabled())
-							LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (ASP) " + _epochCounter);
-
-						time_epoch();
-
-						if(_validationPossible)
-							validate();
-
-						_epochCounter++;
-						_syncCounter = 0;
-					}
-
-					broadcastModel(workerID);
+					updateGlobalGradientsASP(new int[] {workerID}, gradients);
 					break;
 				}
 				case SBP: {
 					if(_numUpdatesStraggling[workerID] > 0) {
 						LOG.info("[+] PRAMSERV: discarding result of backup-worker/straggler " + workerID);
+						ParamservUtils.cleanupListObject(_ec, gradients);
 						broadcastModel(workerID);
 						_numUpdatesStraggling[workerID]--;
 						break;
@@ -275,6 +257,54 @@ public abstract class ParamServer
 		}
 	}
 
+	/**
+	 * Updates the global model with the accrued gradients of one or multiple workers
+	 * (combined pushes under ASP), and broadcasts the new model to these workers.
+	 *
+	 * @param workerIDs ids of the workers, whose gradients are accrued
+	 * @param gradients accrued gradients
+	 */
+	protected synchronized void updateGlobalGradients(int[] workerIDs, ListObject gradients) {
+		try {
+			if(LOG.isDebugEnabled()) {
+				LOG.debug(String.format("Successfully pulled the combined gradients [size:%d kb] of %d workers.",
+					gradients.getDataSize() / 1024, workerIDs.length));
+			}
+			updateGlobalGradientsASP(workerIDs, gradients);
+		}
+		catch (Exception e) {
+			throw new DMLRuntimeException("Aggregation or validation service failed: ", e);
+		}
+	}
+
+	private void updateGlobalGradientsASP(int[] workerIDs, ListObject gradients) throws InterruptedException {
+		updateGlobalModel(gradients);
+		boolean completedEpoch = false;
+		for(int i = 0; i < workerIDs.length; i++) {
+			// This works similarly to the one for BSP, but divides the sync counter by
+			// the number of workers, creating "Pseudo Epochs"
+			if (_numBatchesPerEpoch != -1 &&
+				((_freq == Statement.PSFrequency.EPOCH && ((float) ++_syncCounter % _numWorkers) == 0) ||
+				(_freq == Statement.PSFrequency.BATCH && ((float) ++_syncCounter / _numWorkers) % _numBatchesPerEpoch == 0)) ||
+				(_freq == Statement.PSFrequency.NBATCHES)) {
+				if(LOG.isInfoEnabled())
+					LOG.info("[+] PARAMSERV: completed PSEUDO EPOCH (ASP) " + _epochCounter);
+
+				time_epoch();
+
+				_epochCounter++;
+				_syncCounter = 0;
+				completedEpoch = true;
+			}
+		}
+		// validate the model once, even if combined pushes completed multiple epochs
+		if(completedEpoch && _validationPossible)
+			validate();
+
+		for(int workerID : workerIDs)
+			broadcastModel(workerID);
+	}
+
 	private void performGlobalGradientUpdate() {
 		// Update the global model with accrued gradients
 		if(ACCRUE_BSP_GRADIENTS) {
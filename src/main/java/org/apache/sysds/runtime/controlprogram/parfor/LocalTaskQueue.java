@@ -19,7 +19,9 @@
 
 package org.apache.sysds.runtime.controlprogram.parfor;
 
-import java.util.LinkedList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -30,69 +32,100 @@ import org.apache.commons.logging.LogFactory;
  * for achieving dynamic load balancing. A good load balance between parallel workers is crucial
  * with regard to the overall speedup of parallelization (see Amdahl's law).
  * 
- * From a technical perspective, a thread monitor concept is used for blocking of waiting writers
- * and readers. Synchronized writes and reads ensure that each task is only read by exactly one
- * reader. Furthermore, the queue is implemented as a simple FIFO.
- * 
- *
+ * From a technical perspective, the queue is a lock-free FIFO (multi-producer, multi-consumer),
+ * which ensures that each task is only read by exactly one reader without serializing all
+ * readers and writers on a single monitor. Only readers of an empty queue (and writers of a
+ * full queue) fall back to blocking on the monitor of this queue, after a short spin phase,
+ * and writers only notify if there are blocked readers. For parfor loops with many small tasks,
+ * this avoids contention and unnecessary wakeups of waiting workers.
  */
 public class LocalTaskQueue<T> 
 {
 	
 	public static final int    MAX_SIZE      = 100000; //main memory constraint
 	public static final Object NO_MORE_TASKS = null; //object to signal NO_MORE_TASKS
+	private static final int   SPIN_COUNT    = 64; //spins before blocking on empty queue
+	
+	private final ConcurrentLinkedQueue<T> _data;
+	private final AtomicInteger _size; //size of queue (concurrent queue size is O(n))
+	private final AtomicInteger _waitingReaders;
+	private final AtomicInteger _waitingWriters;
+	private volatile boolean _closedInput = false;
+	
+	//statistics of task dequeues and blocking dequeues
+	private final LongAdder _numDequeued = new LongAdder();
+	private final LongAdder _numWaits = new LongAdder();
 	
-	private LinkedList<T>  _data        = null;
-	private boolean 	   _closedInput = false; 
 	private static final Log LOG = LogFactory.getLog(LocalTaskQueue.class.getName());
 	
 	public LocalTaskQueue()
 	{
-		_data        = new LinkedList<>();
-		_closedInput = false;
+		_data           = new ConcurrentLinkedQueue<>();
+		_size           = new AtomicInteger(0);
+		_waitingReaders = new AtomicInteger(0);
+		_waitingWriters = new AtomicInteger(0);
+		_closedInput    = false;
 	}
 	
 	/**
-	 * Synchronized insert of a new task to the end of the FIFO queue.
+	 * Lock-free insert of a new task to the end of the FIFO queue,
+	 * which only blocks if the maximum size of the queue is reached.
 	 * 
 	 * @param t task
 	 * @throws InterruptedException if InterruptedException occurs
 	 */
-	public synchronized void enqueueTask( T t ) 
+	public void enqueueTask( T t ) 
 		throws InterruptedException
 	{
-		while( _data.size() + 1 > MAX_SIZE )
-		{
-			LOG.warn("MAX_SIZE of task queue reached.");
-			wait(); //max constraint reached, wait for read
+		if( _size.incrementAndGet() > MAX_SIZE ) {
+			_size.decrementAndGet();
+			awaitCapacity(); //max constraint reached, wait for read
 		}
 		
-		_data.addLast( t );
+		_data.offer( t );
 		
-		notify(); //notify waiting readers
+		//notify waiting readers (if any), all waiters because readers and
+		//writers blocked on capacity share the monitor of this queue
+		if( _waitingReaders.get() > 0 )
+			synchronized( this ) {
+				notifyAll();
+			}
 	}
 	
 	/**
-	 * Synchronized read and delete from the top of the FIFO queue.
+	 * Lock-free read and delete from the top of the FIFO queue,
+	 * which only blocks if the queue is empty but not closed.
 	 * 
 	 * @return task
 	 * @throws InterruptedException if InterruptedException occurs
 	 */
 	@SuppressWarnings("unchecked")
-	public synchronized T dequeueTask() 
+	public T dequeueTask() 
 		throws InterruptedException
 	{
-		while( _data.isEmpty() )
-		{
-			if( !_closedInput )
-				wait(); // wait for writers
-			else
-				return (T)NO_MORE_TASKS; 
+		T t = _data.poll();
+		
+		//spin shortly before blocking, as tasks are typically created 
+		//much faster than consumed (except for the very first tasks)
+		for( int i=0; t == null && i < SPIN_COUNT && !_closedInput; i++ ) {
+			Thread.onSpinWait();
+			t = _data.poll();
+		}
+		
+		if( t == null ) {
+			t = awaitTask();
+			if( t == null )
+				return (T)NO_MORE_TASKS;
 		}
 		
-		T t = _data.removeFirst();
+		_size.decrementAndGet();
+		_numDequeued.increment();
 		
-		notify(); // notify waiting writers
+		//notify waiting writers (if any)
+		if( _waitingWriters.get() > 0 )
+			synchronized( this ) {
+				notifyAll();
+			}
 		
 		return t;
 	}
@@ -106,13 +139,69 @@ public class LocalTaskQueue<T>
 		_closedInput = true;
 		notifyAll(); //notify all waiting readers
 	}
+	
+	/**
+	 * Gets the number of tasks dequeued so far.
+	 * 
+	 * @return number of dequeued tasks
+	 */
+	public long getNumDequeued() {
+		return _numDequeued.longValue();
+	}
+	
+	/**
+	 * Gets the number of dequeues that blocked because the queue was empty.
+	 * 
+	 * @return number of blocking dequeues
+	 */
+	public long getNumWaits() {
+		return _numWaits.longValue();
+	}
+	
+	private synchronized T awaitTask() 
+		throws InterruptedException
+	{
+		//register as waiting reader before re-checking the queue, which
+		//guarantees that concurrent writers either see the waiting reader 
+		//(and notify after we released the monitor in wait) or we see the task
+		_waitingReaders.incrementAndGet();
+		_numWaits.increment();
+		try {
+			T t = _data.poll();
+			while( t == null && !_closedInput ) {
+				wait(); // wait for writers
+				t = _data.poll();
+			}
+			//closed input: drain tasks enqueued before close
+			return (t != null) ? t : _data.poll();
+		}
+		finally {
+			_waitingReaders.decrementAndGet();
+		}
+	}
+	
+	private synchronized void awaitCapacity() 
+		throws InterruptedException
+	{
+		_waitingWriters.incrementAndGet();
+		try {
+			while( _size.incrementAndGet() > MAX_SIZE ) {
+				_size.decrementAndGet();
+				LOG.warn("MAX_SIZE of task queue reached.");
+				wait(); //max constraint reached, wait for read
+			}
+		}
+		finally {
+			_waitingWriters.decrementAndGet();
+		}
+	}
 
 	@Override
-	public synchronized String toString() 
+	public String toString() 
 	{
 		StringBuilder sb = new StringBuilder();
 		sb.append("TASK QUEUE (size=");
-		sb.append(_data.size());
+		sb.append(_size.get());
 		sb.append(",close=");
 		sb.append(_closedInput);
 		sb.append(")\n");
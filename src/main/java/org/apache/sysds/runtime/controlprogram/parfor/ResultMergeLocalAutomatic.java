@@ -62,7 +62,7 @@ public class ResultMergeLocalAutomatic extends ResultMergeMatrix
 		long rows = dc.getRows();
 		long cols = dc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, par, OptimizerUtils.getLocalMemBudget()) )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName, _isAccum );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName, _isAccum );
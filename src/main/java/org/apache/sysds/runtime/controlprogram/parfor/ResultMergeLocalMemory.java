@@ -23,14 +23,19 @@ import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Local in-memory realization of result merge. If the resulting matrix is
@@ -138,6 +143,13 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 		return moNew;
 	}
 	
+	/**
+	 * Parallel merge, where the output is partitioned into row ranges and each thread
+	 * merges its row range across all inputs. In contrast to a parallelization over inputs,
+	 * this requires no synchronization on the output (also for sparse outputs, accumulative
+	 * merges, and merges with compare matrix). Output rows that are written by a single input 
+	 * (e.g., disjoint row-range writes) are directly copied without element-wise merge.
+	 */
 	@Override
 	public MatrixObject executeParallelMerge( int par ) 
 	{
@@ -160,38 +172,52 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 			
 			if( !inMO.isEmpty() ) //if there exist something to merge
 			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
+				//read/pin all inputs (incl. implicit read from HDFS)
+				MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+				for( int i=0; i<inMB.length; i++ )
+					inMB[i] = inMO.get(i).acquireRead();
 				
 				//create compare matrix if required (existing data in result)
 				_compare = getCompareMatrix(outMB);
+				
+				//create output in dense for compare and accumulation, otherwise in
+				//the format according to the estimated number of non-zeros
+				int rows = outMB.getNumRows();
+				int cols = outMB.getNumColumns();
+				boolean sparse = _compare == null && !_isAccum && MatrixBlock
+					.evalSparseFormatInMemory(rows, cols, getOutputNnzEstimate());
+				MatrixBlock outMBNew = new MatrixBlock(rows, cols, sparse);
+				if( sparse )
+					outMBNew.allocateAndResetSparseBlock(true, SparseBlock.Type.MCSR);
+				else
+					outMBNew.allocateDenseBlock();
 				if( _compare != null )
 					outMBNew.copy(outMB);
 				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
+				//parallel merge over row partitions of the output
+				int k = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
+				int blklen = Math.max((int)Math.ceil((double)rows/(4*k)), 1);
+				ExecutorService pool = CommonThreadPool.get(k);
+				ArrayList<Callable<Long>> tasks = new ArrayList<>();
+				for( int rl=0; rl<rows; rl+=blklen )
+					tasks.add(new ResultMergeTask(outMBNew, inMB, rl, Math.min(rl+blklen, rows)));
+				long nnz = 0;
+				try {
+					for( Future<Long> f : pool.invokeAll(tasks) )
+						nnz += f.get();
+				}
+				finally {
+					pool.shutdown();
+				}
+				outMBNew.setNonZeros(nnz);
+				
+				//change sparsity if required after 
+				outMBNew.examSparsity();
+				
+				//unpin and clear in-memory inputs
+				for( MatrixObject in : inMO ) {
+					in.release();
+					in.clearData();
 				}
 				
 				//create new output matrix 
@@ -210,8 +236,6 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
@@ -282,37 +306,142 @@ public class ResultMergeLocalMemory extends ResultMergeMatrix
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges a row range of all inputs into the output and returns
+	 * the number of non-zeros of this row range in the output.
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class ResultMergeTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _outMB;
+		private final MatrixBlock[] _inMB;
+		private final int _rl;
+		private final int _ru;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
+		public ResultMergeTask(MatrixBlock outMB, MatrixBlock[] inMB, int rl, int ru) {
 			_outMB = outMB;
+			_inMB = inMB;
+			_rl = rl;
+			_ru = ru;
 		}
 
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() {
+			if( _compare != null ) {
+				for( MatrixBlock in : _inMB )
+					mergeWithComp(_outMB, in, _compare, _rl, _ru);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			else if( _isAccum ) {
+				for( MatrixBlock in : _inMB )
+					mergeAccumulative(_outMB, in);
 			}
+			else if( _outMB.isInSparseFormat() ) {
+				for( int i=_rl; i<_ru; i++ )
+					mergeRowIntoSparse(_outMB.getSparseBlock(), i);
+			}
+			else {
+				for( int i=_rl; i<_ru; i++ )
+					mergeRowIntoDense(_outMB.getDenseBlock(), i);
+			}
+			return _outMB.recomputeNonZeros(_rl, _ru-1);
+		}
+		
+		private void mergeAccumulative(MatrixBlock out, MatrixBlock in) {
+			if( in.isEmptyBlock(false) )
+				return;
+			DenseBlock a = out.getDenseBlock();
+			int n = out.getNumColumns();
+			for( int i=_rl; i<_ru; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				if( in.isInSparseFormat() ) {
+					SparseBlock b = in.getSparseBlock();
+					if( b.isEmpty(i) ) continue;
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bvals = b.values(i);
+					for( int j=bpos; j<bpos+blen; j++ )
+						avals[aix+bix[j]] += bvals[j];
+				}
+				else {
+					DenseBlock b = in.getDenseBlock();
+					double[] bvals = b.values(i);
+					int bix = b.pos(i);
+					for( int j=0; j<n; j++ )
+						avals[aix+j] += bvals[bix+j];
+				}
+			}
+		}
+		
+		private void mergeRowIntoSparse(SparseBlock a, int i) {
+			boolean appended = false;
+			for( MatrixBlock in : _inMB ) {
+				if( in.isEmptyBlock(false) )
+					continue;
+				if( in.isInSparseFormat() ) {
+					SparseBlock b = in.getSparseBlock();
+					if( b.isEmpty(i) ) continue;
+					if( a.isEmpty(i) ) {
+						//copy entire sparse row (no merge and sort required)
+						a.set(i, b.get(i), true);
+						continue;
+					}
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bvals = b.values(i);
+					for( int j=bpos; j<bpos+blen; j++ )
+						if( bvals[j] != 0 )
+							a.append(i, bix[j], bvals[j]);
+					appended = true;
+				}
+				else {
+					DenseBlock b = in.getDenseBlock();
+					double[] bvals = b.values(i);
+					int bix = b.pos(i);
+					boolean empty = a.isEmpty(i);
+					for( int j=0; j<in.getNumColumns(); j++ )
+						if( bvals[bix+j] != 0 )
+							a.append(i, j, bvals[bix+j]);
+					appended |= !empty;
+				}
+			}
+			//only sort if appended to non-empty row
+			if( appended )
+				a.sort(i);
 		}
 		
+		private void mergeRowIntoDense(DenseBlock a, int i) {
+			double[] avals = a.values(i);
+			int aix = a.pos(i);
+			int n = _outMB.getNumColumns();
+			boolean empty = true;
+			for( MatrixBlock in : _inMB ) {
+				if( in.isEmptyBlock(false) )
+					continue;
+				if( in.isInSparseFormat() ) {
+					SparseBlock b = in.getSparseBlock();
+					if( b.isEmpty(i) ) continue;
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bvals = b.values(i);
+					for( int j=bpos; j<bpos+blen; j++ )
+						if( bvals[j] != 0 )
+							avals[aix+bix[j]] = bvals[j];
+				}
+				else {
+					DenseBlock b = in.getDenseBlock();
+					double[] bvals = b.values(i);
+					int bix = b.pos(i);
+					if( empty ) //copy entire dense row (no merge required)
+						System.arraycopy(bvals, bix, avals, aix, n);
+					else
+						for( int j=0; j<n; j++ )
+							if( bvals[bix+j] != 0 )
+								avals[aix+j] = bvals[bix+j];
+				}
+				empty = false;
+			}
+		}
 	}
 }
@@ -83,6 +83,20 @@ public abstract class ResultMergeMatrix extends ResultMerge<MatrixObject> {
 	 * @param compare Comparison matrix of old values.
 	 */
 	protected void mergeWithComp(MatrixBlock out, MatrixBlock in, DenseBlock compare) {
+		mergeWithComp(out, in, compare, 0, in.getNumRows());
+	}
+
+	/**
+	 * Merges the rows [rl, ru) of <code>in</code> into <code>out</code> with compare matrix, which allows
+	 * for parallel merge over disjoint row ranges of a dense output.
+	 * 
+	 * @param out     output matrix block
+	 * @param in      input matrix block
+	 * @param compare Comparison matrix of old values.
+	 * @param rl      row lower bound (inclusive)
+	 * @param ru      row upper bound (exclusive)
+	 */
+	protected void mergeWithComp(MatrixBlock out, MatrixBlock in, DenseBlock compare, int rl, int ru) {
 		// Notes for result correctness:
 		// * Always iterate over entire block in order to compare all values
 		// (using sparse iterator would miss values set to 0)
@@ -90,23 +104,22 @@ public abstract class ResultMergeMatrix extends ResultMerge<MatrixObject> {
 		// NaNs, since NaN != NaN, otherwise we would potentially overwrite results
 		// * For the case of accumulation, we add out += (new-old) to ensure correct results
 		// because all inputs have the old values replicated
-		final int rows = in.getNumRows();
 		final int cols = in.getNumColumns();
 		if(in.isEmptyBlock(false)) {
 			if(_isAccum)
 				return; // nothing to do
-			mergeWithCompEmpty(out, rows, cols, compare);
+			mergeWithCompEmpty(out, rl, ru, cols, compare);
 		}
 		else if(in.isInSparseFormat() && _isAccum)
-			mergeSparseAccumulative(out, in, rows, cols, compare);
+			mergeSparseAccumulative(out, in, rl, ru, cols, compare);
 		else if(in.isInSparseFormat())
-			mergeSparse(out, in, rows, cols, compare);
+			mergeSparse(out, in, rl, ru, cols, compare);
 		else // SPARSE/DENSE
-			mergeGeneric(out, in, rows, cols, compare);
+			mergeGeneric(out, in, rl, ru, cols, compare);
 	}
 
-	private void mergeWithCompEmpty(MatrixBlock out, int m, int n, DenseBlock compare) {
-		for(int i = 0; i < m; i++)
+	private void mergeWithCompEmpty(MatrixBlock out, int rl, int m, int n, DenseBlock compare) {
+		for(int i = rl; i < m; i++)
 			mergeWithCompEmptyRow(out, m, n, compare, i);
 	}
 
@@ -119,9 +132,9 @@ public abstract class ResultMergeMatrix extends ResultMerge<MatrixObject> {
 		}
 	}
 
-	private void mergeSparseAccumulative(MatrixBlock out, MatrixBlock in, int m, int n, DenseBlock compare) {
+	private void mergeSparseAccumulative(MatrixBlock out, MatrixBlock in, int rl, int m, int n, DenseBlock compare) {
 		final SparseBlock a = in.getSparseBlock();
-		for(int i = 0; i < m; i++) {
+		for(int i = rl; i < m; i++) {
 			if(a.isEmpty(i))
 				continue;
 			final int apos = a.pos(i);
@@ -144,9 +157,9 @@ public abstract class ResultMergeMatrix extends ResultMerge<MatrixObject> {
 		}
 	}
 
-	private void mergeSparse(MatrixBlock out, MatrixBlock in, int m, int n, DenseBlock compare) {
+	private void mergeSparse(MatrixBlock out, MatrixBlock in, int rl, int m, int n, DenseBlock compare) {
 		final SparseBlock a = in.getSparseBlock();
-		for(int i = 0; i < m; i++) {
+		for(int i = rl; i < m; i++) {
 			if(a.isEmpty(i))
 				mergeWithCompEmptyRow(out, m, n, compare, i);
 			else {
@@ -183,8 +196,8 @@ public abstract class ResultMergeMatrix extends ResultMerge<MatrixObject> {
 
 	}
 
-	private void mergeGeneric(MatrixBlock out, MatrixBlock in, int m, int n, DenseBlock compare) {
-		for(int i = 0; i < m; i++) {
+	private void mergeGeneric(MatrixBlock out, MatrixBlock in, int rl, int m, int n, DenseBlock compare) {
+		for(int i = rl; i < m; i++) {
 			for(int j = 0; j < n; j++) {
 				final double valOld = compare.get(i, j);
 				final double valNew = in.get(i, j); // input value
@@ -2033,7 +2033,7 @@ public class OptimizerRuleBased extends Optimizer {
 		boolean flagLargeResult = hasLargeTotalResults( n, pfpb.getResultVariables(), vars, true );
 		boolean flagRemoteLeftIndexing = hasResultMRLeftIndexing( n, pfpb.getResultVariables(), vars, true );
 		boolean flagCellFormatWoCompare = determineFlagCellFormatWoCompare(pfpb.getResultVariables(), vars); 
-		boolean flagOnlyInMemResults = hasOnlyInMemoryResults(n, pfpb.getResultVariables(), vars );
+		boolean flagOnlyInMemResults = hasOnlyInMemoryResults(n, pfpb.getResultVariables(), vars, n.getK() );
 		
 		//optimimality decision on result merge
 		//MR, if remote exec, and w/compare (prevent huge transfer/merge costs)
@@ -2200,7 +2200,7 @@ public class OptimizerRuleBased extends Optimizer {
 		return W;
 	}
 
-	protected boolean hasOnlyInMemoryResults( OptNode n, ArrayList<ResultVar> resultVars, LocalVariableMap vars ) 
+	protected boolean hasOnlyInMemoryResults( OptNode n, ArrayList<ResultVar> resultVars, LocalVariableMap vars, int k ) 
 	{
 		boolean ret = true;
 		
@@ -2221,14 +2221,14 @@ public class OptimizerRuleBased extends Optimizer {
 						long rows = mo.getNumRows();
 						long cols = mo.getNumColumns();
 						double memBudget = OptimizerUtils.getLocalMemBudget();
-						ret &= isInMemoryResultMerge(rows, cols, memBudget);
+						ret &= isInMemoryResultMerge(rows, cols, k, memBudget);
 					}
 				}
 			}
 		}
 		else {
 			for( OptNode c : n.getChilds() )
-				ret &= hasOnlyInMemoryResults(c, resultVars, vars);
+				ret &= hasOnlyInMemoryResults(c, resultVars, vars, k);
 		}
 		
 		return ret;
@@ -2246,12 +2246,18 @@ public class OptimizerRuleBased extends Optimizer {
 				rInvokeSetResultMerge(n.getChilds(), vars, inLocal);
 	}
 
-	public static boolean isInMemoryResultMerge( long rows, long cols, double memBudget )
+	public static boolean isInMemoryResultMerge( long rows, long cols, double memBudget ) {
+		return isInMemoryResultMerge(rows, cols, 1, memBudget);
+	}
+	
+	public static boolean isInMemoryResultMerge( long rows, long cols, int par, double memBudget )
 	{
 		if( !ParForProgramBlock.USE_PARALLEL_RESULT_MERGE )
 		{
-			//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
-			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
+			//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare;
+			//the partitioned merge (par>1) pins all par inputs at once: 2xout, par x in, 1xcompare
+			int numIn = (ParForProgramBlock.USE_PARTITIONED_RESULT_MERGE && par > 1) ? par : 1;
+			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/(3+numIn) );
 		}
 		else
 			return ( rows>=0 && cols>=0 && rows*cols < Math.pow(Hop.CPThreshold, 2) );
@@ -44,6 +44,7 @@ public abstract class DenseBlock implements Serializable, Block
 	public enum Type {
 		DRB, //dense row block
 		LDRB, //large dense row block
+		DRB_DIRECT, //dense row block in direct (off-heap) memory
 	}
 	
 	//NOTE: for a MxNxPxQ tensor the dimensions are given as
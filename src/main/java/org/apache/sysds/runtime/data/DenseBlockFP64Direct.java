@@ -0,0 +1,465 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.data;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlockDataOutput;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Dense row block of FP64 values that keeps its data in direct (off-heap)
+ * memory, organized in chunks of 2^27 values (1GB) to support blocks larger
+ * than the 2GB limit of a single direct buffer. Element-wise accessors
+ * operate directly on the off-heap data, which is invisible to GC.
+ *
+ * Since the existing kernels operate on linearized double arrays, calls to
+ * {@link #values(int)} and {@link #valuesAt(int)} pin the block, i.e., move
+ * the data into a heap view that is authoritative until the block is offloaded
+ * again via {@link #offload()}. The off-heap chunks are released while pinned,
+ * such that the data is never held twice. Callers have to ensure that no kernel
+ * holds a reference to the heap view when offloading (e.g., on release of a
+ * cache block).
+ *
+ * The total number of allocated off-heap bytes of all blocks is maintained
+ * for memory accounting. It is decremented when the chunks of a block are
+ * released (on pinning or reallocation), or once the block is garbage collected.
+ */
+public class DenseBlockFP64Direct extends DenseBlockDRB
+{
+	private static final long serialVersionUID = -3437790596644298476L;
+
+	private static final int CHUNK_SHIFT = 27;
+	/** Number of values per off-heap chunk */
+	public static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int COPY_BLOCK = 8192;
+
+	//total off-heap bytes of all live blocks
+	private static final AtomicLong _totalOffHeapSize = new AtomicLong(0);
+	private static final Cleaner _cleaner = Cleaner.create();
+
+	private transient volatile DoubleBuffer[] _buffs; //off-heap chunks, null if pinned
+	private transient long _capacity = -1;   //number of allocated off-heap values
+	private volatile double[] _pinned;       //heap view, if pinned (read once, see offload)
+	private transient Cleaner.Cleanable _release; //accounting of off-heap chunks
+
+	public DenseBlockFP64Direct(int[] dims) {
+		super(dims);
+		resetNoFill(_rlen, _odims);
+	}
+
+	public DenseBlockFP64Direct(int[] dims, double[] data) {
+		super(dims);
+		allocateBlock(0, data.length);
+		copyIn(data, 0, 0, data.length);
+	}
+
+	/**
+	 * Creates a dense block backed by the given chunks of {@link #CHUNK_SIZE}
+	 * values (the last chunk may be smaller), e.g., copy-on-write mapped regions
+	 * of a local file. These chunks are not allocated in direct memory, and
+	 * thus, not included in the off-heap accounting.
+	 *
+	 * @param dims   dimensions
+	 * @param chunks existing chunks of values
+	 */
+	public DenseBlockFP64Direct(int[] dims, DoubleBuffer[] chunks) {
+		super(dims);
+		_buffs = chunks;
+		_capacity = (long) _rlen * _odims[0];
+	}
+
+	@Override
+	protected void allocateBlock(int bix, int length) {
+		allocateBuffers(length);
+		_pinned = null;
+	}
+
+	private void allocateBuffers(int length) {
+		releaseBuffers(); //previous chunks unreachable
+		int nchunks = Math.max((length + CHUNK_SIZE - 1) >>> CHUNK_SHIFT, 1);
+		DoubleBuffer[] buffs = new DoubleBuffer[nchunks];
+		for( int i=0; i<nchunks; i++ ) {
+			int clen = Math.min(length - i * CHUNK_SIZE, CHUNK_SIZE);
+			buffs[i] = ByteBuffer.allocateDirect(8 * clen)
+				.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+		}
+		_buffs = buffs;
+		_capacity = length;
+		final long size = 8L * length;
+		_totalOffHeapSize.addAndGet(size);
+		_release = _cleaner.register(this, () -> _totalOffHeapSize.addAndGet(-size));
+	}
+
+	private void releaseBuffers() {
+		//decrement the accounting right away (runs the cleaner action once), while the
+		//direct memory is reclaimed by GC once concurrent readers dropped the chunks
+		if( _release != null ) {
+			_release.clean();
+			_release = null;
+		}
+		_buffs = null;
+	}
+
+	/**
+	 * Gets the total number of bytes allocated in direct memory
+	 * by all reachable off-heap dense blocks.
+	 *
+	 * @return total number of off-heap bytes
+	 */
+	public static long getTotalOffHeapSize() {
+		return _totalOffHeapSize.get();
+	}
+
+	@Override
+	public boolean isNumeric() {
+		return true;
+	}
+
+	@Override
+	public boolean isNumeric(ValueType vt) {
+		return ValueType.FP64 == vt;
+	}
+
+	@Override
+	public void resetNoFill(int rlen, int[] odims){
+		int len = rlen * odims[0];
+		if( len > capacity() )
+			allocateBlock(0, len);
+		_rlen = rlen;
+		_odims = odims;
+	}
+
+	@Override
+	public long capacity() {
+		double[] pinned = _pinned;
+		return (pinned != null) ? pinned.length : _capacity;
+	}
+
+	/**
+	 * Indicates if the block is currently pinned, i.e., if its data is
+	 * held by an authoritative heap view.
+	 *
+	 * @return true if pinned
+	 */
+	public synchronized boolean isPinned() {
+		return _pinned != null;
+	}
+
+	/**
+	 * Gets the exact number of bytes allocated in direct memory,
+	 * independent of a potentially existing heap view (and excluding
+	 * existing chunks such as mapped regions).
+	 *
+	 * @return number of off-heap bytes
+	 */
+	public long getOffHeapSize() {
+		return (_buffs != null && _release != null) ? 8 * _capacity : 0;
+	}
+
+	/**
+	 * Pins the block by moving the off-heap data into a heap view,
+	 * and releasing the off-heap chunks.
+	 *
+	 * @return heap view of the entire block
+	 */
+	public synchronized double[] pin() {
+		if( _pinned == null ) {
+			double[] tmp = new double[(int)Math.max(_capacity, 0)];
+			if( _buffs != null )
+				copyOut(0, tmp, 0, tmp.length);
+			_pinned = tmp;
+			releaseBuffers();
+		}
+		return _pinned;
+	}
+
+	/**
+	 * Moves a pinned heap view back into newly allocated direct memory and
+	 * releases the heap view for garbage collection. Unsynchronized accessors
+	 * read the volatile heap view exactly once, and fall back to it if the
+	 * off-heap chunks were concurrently released, i.e., they never see
+	 * a cleared view or released chunks.
+	 *
+	 * @return this dense block
+	 */
+	public synchronized DenseBlockFP64Direct offload() {
+		if( _pinned != null ) {
+			double[] tmp = _pinned;
+			allocateBuffers(tmp.length);
+			copyIn(tmp, 0, 0, tmp.length);
+			_pinned = null;
+		}
+		return this;
+	}
+
+	@Override
+	protected long computeNnz(int bix, int start, int length) {
+		double[] pinned = _pinned;
+		if( pinned != null )
+			return UtilFunctions.computeNnz(pinned, start, length);
+		long nnz = 0;
+		for( int i=start; i<start+length; i++ )
+			nnz += (getValue(i) != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return pin();
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return pin();
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public void incr(int r, int c) {
+		incr(r, c, 1);
+	}
+
+	@Override
+	public void incr(int r, int c, double delta) {
+		int ix = pos(r, c);
+		double[] pinned = _pinned;
+		if( pinned != null )
+			pinned[ix] += delta;
+		else
+			setValue(ix, getValue(ix) + delta);
+	}
+
+	@Override
+	public void fillBlock(int bix, int fromIndex, int toIndex, double v) {
+		double[] pinned = _pinned;
+		if( pinned != null )
+			Arrays.fill(pinned, fromIndex, toIndex, v);
+		else
+			for( int i=fromIndex; i<toIndex; i++ )
+				setValue(i, v);
+	}
+
+	@Override
+	public void fillRow(int r, double v){
+		int start = pos(r);
+		fillBlock(0, start, start + getDim(1), v);
+	}
+
+	@Override
+	protected void setInternal(int bix, int ix, double v) {
+		double[] pinned = _pinned;
+		if( pinned != null )
+			pinned[ix] = v;
+		else
+			setValue(ix, v);
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		setInternal(0, pos(r, c), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		int len = _rlen * _odims[0];
+		double[] pinned = _pinned;
+		if( pinned != null )
+			System.arraycopy(db.valuesAt(0), 0, pinned, 0, len);
+		else
+			copyIn(db.valuesAt(0), 0, 0, len);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		double[] pinned = _pinned;
+		if( pinned != null )
+			System.arraycopy(v, 0, pinned, pos(r), _odims[0]);
+		else
+			copyIn(v, 0, pos(r), _odims[0]);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, double v) {
+		setInternal(0, pos(ix), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, long v) {
+		setInternal(0, pos(ix), v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int[] ix, String v) {
+		setInternal(0, pos(ix), Double.parseDouble(v));
+		return this;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		int ix = pos(r, c);
+		double[] pinned = _pinned;
+		return (pinned != null) ? pinned[ix] : getValue(ix);
+	}
+
+	@Override
+	public double get(int[] ix) {
+		int pix = pos(ix);
+		double[] pinned = _pinned;
+		return (pinned != null) ? pinned[pix] : getValue(pix);
+	}
+
+	@Override
+	public String getString(int[] ix) {
+		return String.valueOf(get(ix));
+	}
+
+	@Override
+	public long getLong(int[] ix) {
+		return UtilFunctions.toLong(get(ix));
+	}
+
+	/**
+	 * Writes the first len values to the given data output without pinning
+	 * the block, using a small reusable buffer for copying out of direct memory.
+	 *
+	 * @param out data output
+	 * @param len number of values
+	 * @throws IOException if the write fails
+	 */
+	public synchronized void write(DataOutput out, int len) throws IOException {
+		if( _pinned != null ) {
+			writeValues(out, _pinned, len);
+			return;
+		}
+		double[] tmp = new double[Math.min(len, COPY_BLOCK)];
+		for( int i=0; i<len; i+=tmp.length ) {
+			int blen = Math.min(len - i, tmp.length);
+			copyOut(i, tmp, 0, blen);
+			writeValues(out, tmp, blen);
+		}
+	}
+
+	/**
+	 * Copies values into the given (e.g., memory-mapped) buffer without
+	 * pinning the block, i.e., without a heap copy of the off-heap data.
+	 *
+	 * @param ix  start index of values
+	 * @param dst destination buffer at its current position
+	 * @param len number of values
+	 */
+	public synchronized void copyOut(long ix, DoubleBuffer dst, int len) {
+		if( _pinned != null ) {
+			dst.put(_pinned, (int)ix, len);
+			return;
+		}
+		while( len > 0 ) {
+			int off = (int)(ix & CHUNK_MASK);
+			int blen = Math.min(len, CHUNK_SIZE - off);
+			DoubleBuffer buff = _buffs[(int)(ix >>> CHUNK_SHIFT)].duplicate();
+			buff.position(off);
+			buff.limit(off + blen);
+			dst.put(buff);
+			ix += blen; len -= blen;
+		}
+	}
+
+	private static void writeValues(DataOutput out, double[] vals, int len) throws IOException {
+		if( out instanceof MatrixBlockDataOutput )
+			((MatrixBlockDataOutput)out).writeDoubleArray(len, vals);
+		else
+			for( int j=0; j<len; j++ )
+				out.writeDouble(vals[j]);
+	}
+
+	private double getValue(long ix) {
+		DoubleBuffer[] buffs = _buffs;
+		if( buffs == null ) //concurrently pinned
+			return _pinned[(int)ix];
+		return buffs[(int)(ix >>> CHUNK_SHIFT)].get((int)(ix & CHUNK_MASK));
+	}
+
+	private void setValue(long ix, double v) {
+		DoubleBuffer[] buffs = _buffs;
+		if( buffs == null ) //concurrently pinned
+			_pinned[(int)ix] = v;
+		else
+			buffs[(int)(ix >>> CHUNK_SHIFT)].put((int)(ix & CHUNK_MASK), v);
+	}
+
+	private void copyIn(double[] src, int srcPos, long ix, int len) {
+		while( len > 0 ) {
+			int off = (int)(ix & CHUNK_MASK);
+			int blen = Math.min(len, CHUNK_SIZE - off);
+			DoubleBuffer buff = _buffs[(int)(ix >>> CHUNK_SHIFT)].duplicate();
+			buff.position(off);
+			buff.put(src, srcPos, blen);
+			srcPos += blen; ix += blen; len -= blen;
+		}
+	}
+
+	private void copyOut(long ix, double[] dst, int dstPos, int len) {
+		while( len > 0 ) {
+			int off = (int)(ix & CHUNK_MASK);
+			int blen = Math.min(len, CHUNK_SIZE - off);
+			DoubleBuffer buff = _buffs[(int)(ix >>> CHUNK_SHIFT)].duplicate();
+			buff.position(off);
+			buff.get(dst, dstPos, blen);
+			dstPos += blen; ix += blen; len -= blen;
+		}
+	}
+
+	private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		int len = (_pinned != null) ? 0 : (int)Math.max(_capacity, 0);
+		out.writeInt(len);
+		write(out, len);
+	}
+
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		int len = in.readInt();
+		if( _pinned == null ) {
+			allocateBlock(0, len);
+			for( int i=0; i<len; i++ )
+				setValue(i, in.readDouble());
+		}
+	}
+}
@@ -135,17 +135,50 @@ public abstract class DenseBlockFactory
 					default:
 						throw new NotImplementedException();
 				}
+			case DRB_DIRECT:
+				switch(vt) {
+					case FP64: return new DenseBlockFP64Direct(dims);
+					default:
+						throw new DMLRuntimeException("Unsupported off-heap dense block value type: "+vt.name());
+				}
 			default:
 				throw new DMLRuntimeException("Unexpected dense block type: "+type.name());
 		}
 	}
 
+	/**
+	 * Creates a dense FP64 row block that keeps its values in direct
+	 * (off-heap) memory, see {@link DenseBlockFP64Direct}.
+	 *
+	 * @param dims dimensions of the dense block
+	 * @return off-heap dense block
+	 */
+	public static DenseBlock createDirectDenseBlock(int[] dims) {
+		return createDenseBlock(ValueType.FP64, DenseBlock.Type.DRB_DIRECT, dims, false);
+	}
+
+	/**
+	 * Copies an existing dense FP64 row block into direct (off-heap) memory.
+	 *
+	 * @param db dense row block
+	 * @return off-heap dense block
+	 */
+	public static DenseBlock createDirectDenseBlock(DenseBlock db) {
+		if( !(db instanceof DenseBlockFP64 || db instanceof DenseBlockFP64Direct) )
+			throw new DMLRuntimeException("Unsupported dense block for off-heap storage: "+db.getClass().getSimpleName());
+		int[] dims = new int[db.numDims()];
+		for( int i=0; i<dims.length; i++ )
+			dims[i] = db.getDim(i);
+		return new DenseBlockFP64Direct(dims, db.valuesAt(0));
+	}
+
 	public static boolean isDenseBlockType(DenseBlock sblock, DenseBlock.Type type) {
 		return (getDenseBlockType(sblock) == type);
 	}
 
 	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
-		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
+		return (dblock instanceof DenseBlockFP64Direct) ? DenseBlock.Type.DRB_DIRECT :
+			(dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
 			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : null;
 	}
 
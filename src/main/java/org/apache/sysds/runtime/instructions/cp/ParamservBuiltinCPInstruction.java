@@ -25,7 +25,10 @@ import static org.apache.sysds.parser.Statement.PS_EPOCHS;
 import static org.apache.sysds.parser.Statement.PS_FEATURES;
 import static org.apache.sysds.parser.Statement.PS_FED_RUNTIME_BALANCING;
 import static org.apache.sysds.parser.Statement.PS_FED_WEIGHTING;
+import static org.apache.sysds.parser.Statement.PS_COMBINE_PUSHES;
 import static org.apache.sysds.parser.Statement.PS_FREQUENCY;
+import static org.apache.sysds.parser.Statement.PS_GRAD_COMPRESSION;
+import static org.apache.sysds.parser.Statement.PS_GRAD_COMPRESSION_RATIO;
 import static org.apache.sysds.parser.Statement.PS_HE;
 import static org.apache.sysds.parser.Statement.PS_HYPER_PARAMS;
 import static org.apache.sysds.parser.Statement.PS_LABELS;
@@ -67,6 +70,7 @@ import org.apache.sysds.parser.Statement.PSFrequency;
 import org.apache.sysds.parser.Statement.PSModeType;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
 import org.apache.sysds.parser.Statement.PSScheme;
+import org.apache.sysds.parser.Statement.PSGradCompression;
 import org.apache.sysds.parser.Statement.PSUpdateType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
@@ -74,6 +78,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.paramserv.FederatedPSControlThread;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysds.runtime.controlprogram.paramserv.HEParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
@@ -107,6 +112,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	public static final int DEFAULT_NBATCHES = 1;
 	private static final Boolean DEFAULT_MODELAVG = false;
 	private static final Boolean DEFAULT_HE = false;
+	private static final Boolean DEFAULT_COMBINE_PUSHES = false;
+	private static final double DEFAULT_GRAD_COMPRESSION_RATIO = 0.01;
 	public static final int DEFAULT_NUM_BACKUP_WORKERS = 1;
 
 	public ParamservBuiltinCPInstruction(Operator op, LinkedHashMap<String, String> paramsMap, CPOperand out, String opcode, String istr) {
@@ -219,6 +226,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 			threads.get(i).setFeatures(result._pFeatures.get(i));
 			threads.get(i).setLabels(result._pLabels.get(i));
 			threads.get(i).setup(result._weightingFactors.get(i));
+			if(!use_homomorphic_encryption)
+				threads.get(i).setGradientCompressor(getGradientCompressor());
 		}
 
 		if (use_homomorphic_encryption) {
@@ -333,6 +342,9 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		if (tSetup != null)
 			ParamServStatistics.accSetupTime((long) tSetup.stop());
 
+		// Set the gradient compression (with error feedback state per partition)
+		worker.setGradientCompressor(getGradientCompressor());
+
 		MatrixObject features = sec.getMatrixObject(getParam(PS_FEATURES));
 		MatrixObject labels = sec.getMatrixObject(getParam(PS_LABELS));
 		try {
@@ -395,6 +407,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		boolean modelAvg = getModelAvg();
 		ParamServer ps = createPS(mode, aggFunc, updateType, freq, workerNum, model, aggServiceEC, getValFunction(),
 			num_batches_per_epoch, val_features, val_labels, nbatches, modelAvg, numBackupWorkers);
+		if(getCombinePushes(updateType, modelAvg))
+			((LocalParamServer) ps).setCombinePushes(true);
 
 		// Create the local workers
 		List<LocalPSWorker> workers = IntStream.range(0, workerNum)
@@ -405,6 +419,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		// Do data partition
 		PSScheme scheme = getScheme();
 		partitionLocally(scheme, ec, workers);
+		workers.forEach(w -> w.setGradientCompressor(getGradientCompressor()));
 
 		if (tSetup != null)
 			ParamServStatistics.accSetupTime((long) tSetup.stop());
@@ -709,6 +724,39 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		return Integer.parseInt(getParam(PS_NUM_BACKUP_WORKERS));
 	}
 
+	private boolean getCombinePushes(PSUpdateType updateType, boolean modelAvg) {
+		if(!getParameterMap().containsKey(PS_COMBINE_PUSHES))
+			return DEFAULT_COMBINE_PUSHES;
+		boolean combine = Boolean.parseBoolean(getParam(PS_COMBINE_PUSHES));
+		if(combine && (!updateType.isASP() || modelAvg)) {
+			LOG.warn("Combining pushes only applies to ASP updates of gradients, and has no effect otherwise");
+			return false;
+		}
+		return combine;
+	}
+
+	/**
+	 * Creates a new gradient compressor (with separate error feedback state per worker).
+	 *
+	 * @return gradient compressor, or null if gradients are not compressed
+	 */
+	private GradientCompressor getGradientCompressor() {
+		if(!getParameterMap().containsKey(PS_GRAD_COMPRESSION))
+			return null;
+		PSGradCompression type;
+		try {
+			type = PSGradCompression.valueOf(getParam(PS_GRAD_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: not support gradient compression '%s'.",
+				getParam(PS_GRAD_COMPRESSION)));
+		}
+		if(type == PSGradCompression.NONE)
+			return null;
+		double ratio = getParameterMap().containsKey(PS_GRAD_COMPRESSION_RATIO) ?
+			Double.parseDouble(getParam(PS_GRAD_COMPRESSION_RATIO)) : DEFAULT_GRAD_COMPRESSION_RATIO;
+		return new GradientCompressor(type, ratio);
+	}
+
 	private boolean getHe() {
 		if(!getParameterMap().containsKey(PS_HE))
 			return DEFAULT_HE;
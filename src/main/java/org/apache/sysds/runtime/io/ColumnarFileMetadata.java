@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+
+/**
+ * Footer of the columnar file format, shared by matrix and frame readers/writers.
+ *
+ * A columnar file has the layout [MAGIC, chunks, footer, footerOffset, MAGIC], where the
+ * chunks are serialized frame arrays (see {@link Array#write(DataOutput)}) in row-group-major
+ * order, i.e., all columns of the first row group, then all columns of the second row group.
+ * Low-cardinality columns are dictionary-encoded as {@link DDCArray}s. The footer holds
+ * the schema, column names, and per chunk the file offset, length, and min/max statistics,
+ * which allows readers to only touch the bytes of the requested columns.
+ */
+public class ColumnarFileMetadata
+{
+	public static final int MAGIC = 0x53445343; // "SDSC"
+	private static final int TRAILER_SIZE = 8 + 4; // footer offset, magic
+
+	private final ValueType[] _schema;
+	private final String[] _names;
+	private final long _nRows;
+	private final int[] _rgRows;
+	private final long[][] _offsets;
+	private final int[][] _lengths;
+	private final double[][] _min;
+	private final double[][] _max;
+
+	public ColumnarFileMetadata(ValueType[] schema, String[] names, long nRows, int numRowGroups) {
+		_schema = schema;
+		_names = names;
+		_nRows = nRows;
+		_rgRows = new int[numRowGroups];
+		_offsets = new long[numRowGroups][schema.length];
+		_lengths = new int[numRowGroups][schema.length];
+		_min = new double[numRowGroups][schema.length];
+		_max = new double[numRowGroups][schema.length];
+	}
+
+	public ValueType[] getSchema() {
+		return _schema;
+	}
+
+	public String[] getColumnNames() {
+		return _names;
+	}
+
+	public long getNumRows() {
+		return _nRows;
+	}
+
+	public int getNumColumns() {
+		return _schema.length;
+	}
+
+	public int getNumRowGroups() {
+		return _rgRows.length;
+	}
+
+	public int getNumRows(int rg) {
+		return _rgRows[rg];
+	}
+
+	public int getChunkLength(int rg, int c) {
+		return _lengths[rg][c];
+	}
+
+	/**
+	 * Gets the minimum of a column over all row groups, or NaN for non-numeric
+	 * columns and columns without non-null values.
+	 *
+	 * @param c column index (0-based)
+	 * @return column minimum
+	 */
+	public double getMin(int c) {
+		double ret = Double.NaN;
+		for(int rg = 0; rg < _rgRows.length; rg++)
+			ret = Double.isNaN(ret) ? _min[rg][c] : Math.min(ret, _min[rg][c]);
+		return ret;
+	}
+
+	/**
+	 * Gets the maximum of a column over all row groups, or NaN for non-numeric
+	 * columns and columns without non-null values.
+	 *
+	 * @param c column index (0-based)
+	 * @return column maximum
+	 */
+	public double getMax(int c) {
+		double ret = Double.NaN;
+		for(int rg = 0; rg < _rgRows.length; rg++)
+			ret = Double.isNaN(ret) ? _max[rg][c] : Math.max(ret, _max[rg][c]);
+		return ret;
+	}
+
+	/**
+	 * Writes a column chunk at the current position of the output stream and
+	 * records its location and statistics.
+	 *
+	 * @param out  output stream
+	 * @param rg   row group index
+	 * @param c    column index
+	 * @param data column chunk
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeChunk(FSDataOutputStream out, int rg, int c, Array<?> data) throws IOException {
+		// statistics over uncompressed values (nulls and NaNs ignored)
+		double min = Double.NaN, max = Double.NaN;
+		if(_schema[c].isNumeric() || _schema[c] == ValueType.BOOLEAN) {
+			for(int i = 0; i < data.size(); i++) {
+				double v = data.getAsNaNDouble(i);
+				min = (Double.isNaN(min) || v < min) ? v : min;
+				max = (Double.isNaN(max) || v > max) ? v : max;
+			}
+		}
+		// dictionary encoding of low-cardinality columns
+		Array<?> chunk = DDCArray.compressToDDC(data);
+		long pos = out.getPos();
+		chunk.write(out);
+		_rgRows[rg] = data.size();
+		_offsets[rg][c] = pos;
+		_lengths[rg][c] = (int) (out.getPos() - pos);
+		_min[rg][c] = min;
+		_max[rg][c] = max;
+	}
+
+	/**
+	 * Reads a single column chunk via positional read, i.e., without
+	 * touching any other bytes of the file.
+	 *
+	 * @param in input stream
+	 * @param rg row group index
+	 * @param c  column index
+	 * @return column chunk
+	 * @throws IOException if IOException occurs
+	 */
+	public Array<?> readChunk(FSDataInputStream in, int rg, int c) throws IOException {
+		byte[] buff = new byte[_lengths[rg][c]];
+		in.readFully(_offsets[rg][c], buff);
+		return ArrayFactory.read(new DataInputStream(new ByteArrayInputStream(buff)), _rgRows[rg]);
+	}
+
+	/**
+	 * Writes the footer and trailer at the current position of the output stream.
+	 *
+	 * @param out output stream
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeFooter(FSDataOutputStream out) throws IOException {
+		long pos = out.getPos();
+		out.writeLong(_nRows);
+		out.writeInt(_schema.length);
+		out.writeInt(_rgRows.length);
+		for(int c = 0; c < _schema.length; c++) {
+			out.writeByte(_schema[c].ordinal());
+			out.writeUTF(_names[c]);
+		}
+		for(int rg = 0; rg < _rgRows.length; rg++) {
+			out.writeInt(_rgRows[rg]);
+			for(int c = 0; c < _schema.length; c++) {
+				out.writeLong(_offsets[rg][c]);
+				out.writeInt(_lengths[rg][c]);
+				out.writeDouble(_min[rg][c]);
+				out.writeDouble(_max[rg][c]);
+			}
+		}
+		out.writeLong(pos);
+		out.writeInt(MAGIC);
+	}
+
+	/**
+	 * Reads the footer of a columnar file via positional reads.
+	 *
+	 * @param in  input stream
+	 * @param len file length in bytes
+	 * @return file metadata
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnarFileMetadata readFooter(FSDataInputStream in, long len) throws IOException {
+		if(len < 4 + TRAILER_SIZE)
+			throw new IOException("Invalid columnar file of length " + len + ".");
+		byte[] trailer = new byte[TRAILER_SIZE];
+		in.readFully(len - TRAILER_SIZE, trailer);
+		DataInputStream tin = new DataInputStream(new ByteArrayInputStream(trailer));
+		long pos = tin.readLong();
+		if(tin.readInt() != MAGIC || pos < 4 || pos > len - TRAILER_SIZE)
+			throw new IOException("Invalid columnar file: corrupted trailer.");
+
+		byte[] footer = new byte[(int) (len - TRAILER_SIZE - pos)];
+		in.readFully(pos, footer);
+		DataInputStream fin = new DataInputStream(new ByteArrayInputStream(footer));
+		long nRows = fin.readLong();
+		int nCols = fin.readInt();
+		int nRowGroups = fin.readInt();
+		ValueType[] schema = new ValueType[nCols];
+		String[] names = new String[nCols];
+		for(int c = 0; c < nCols; c++) {
+			schema[c] = ValueType.values()[fin.readByte()];
+			names[c] = fin.readUTF();
+		}
+		ColumnarFileMetadata ret = new ColumnarFileMetadata(schema, names, nRows, nRowGroups);
+		for(int rg = 0; rg < nRowGroups; rg++) {
+			ret._rgRows[rg] = fin.readInt();
+			for(int c = 0; c < nCols; c++) {
+				ret._offsets[rg][c] = fin.readLong();
+				ret._lengths[rg][c] = fin.readInt();
+				ret._min[rg][c] = fin.readDouble();
+				ret._max[rg][c] = fin.readDouble();
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Determines the number of rows per row group.
+	 *
+	 * @param props file format properties (optional)
+	 * @param nRows number of rows
+	 * @param nCols number of columns
+	 * @return number of rows per row group
+	 */
+	public static int getRowGroupSize(FileFormatPropertiesColumnar props, long nRows, long nCols) {
+		if(props != null && props.getRowGroupSize() > 0)
+			return props.getRowGroupSize();
+		// about 16M cells per row group, but at least 1K rows
+		return (int) Math.max(Math.min(nRows, Math.max(16L * 1024 * 1024 / Math.max(nCols, 1), 1024)), 1);
+	}
+}
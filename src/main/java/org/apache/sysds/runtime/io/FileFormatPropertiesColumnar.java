@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+public class FileFormatPropertiesColumnar extends FileFormatProperties implements Serializable
+{
+	private static final long serialVersionUID = 4317726402355128961L;
+
+	//number of rows per row group (-1 for automatic, based on the number of cells)
+	private int _rowGroupSize;
+	//0-based indexes of columns to read (null for all columns)
+	private int[] _columns;
+
+	public FileFormatPropertiesColumnar() {
+		this(-1, null);
+	}
+
+	public FileFormatPropertiesColumnar(int rowGroupSize, int[] columns) {
+		_rowGroupSize = rowGroupSize;
+		_columns = columns;
+	}
+
+	public int getRowGroupSize() {
+		return _rowGroupSize;
+	}
+
+	public void setRowGroupSize(int rowGroupSize) {
+		_rowGroupSize = rowGroupSize;
+	}
+
+	public int[] getColumns() {
+		return _columns;
+	}
+
+	public void setColumns(int[] columns) {
+		_columns = columns;
+	}
+
+	@Override
+	public String toString() {
+		return " rowGroupSize " + _rowGroupSize + " columns " + Arrays.toString(_columns);
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Frame reader for the columnar format (see {@link ColumnarFileMetadata}). With a column
+ * projection (see {@link FileFormatPropertiesColumnar#setColumns(int[])}), only the footer
+ * and the chunks of the requested columns are read. Columns are read and decoded in parallel,
+ * and single row-group files directly return the stored arrays (e.g., dictionary-encoded
+ * {@link org.apache.sysds.runtime.frame.data.columns.DDCArray}s).
+ */
+public class FrameReaderColumnar extends FrameReader {
+	protected final FileFormatPropertiesColumnar _props;
+
+	public FrameReaderColumnar(FileFormatPropertiesColumnar props) {
+		_props = props;
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException {
+		return readFrameFromHDFS(fname, (_props != null) ? _props.getColumns() : null);
+	}
+
+	/**
+	 * Reads the given subset of columns, where schema and column names
+	 * are obtained from the file.
+	 *
+	 * @param fname file name
+	 * @param cols  0-based column indexes, or null for all columns
+	 * @return frame block of the requested columns
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, int[] cols) throws IOException {
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+
+		FSDataInputStream in = fs.open(path);
+		try {
+			ColumnarFileMetadata meta = ColumnarFileMetadata.readFooter(in, fs.getFileStatus(path).getLen());
+			cols = getColumnIndexes(meta, cols);
+			Array<?>[] data = readColumns(in, meta, cols, OptimizerUtils.getParallelBinaryReadParallelism());
+			String[] names = new String[cols.length];
+			for(int i = 0; i < cols.length; i++)
+				names[i] = meta.getColumnNames()[cols[i]];
+			return (cols.length == 0) ? new FrameBlock() : new FrameBlock(data, names);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	/**
+	 * Reads the footer of a columnar file, which gives access to the schema
+	 * and column statistics without reading any column data.
+	 *
+	 * @param fname file name
+	 * @return file metadata
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnarFileMetadata readMetadata(String fname) throws IOException {
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		try(FSDataInputStream in = fs.open(path)) {
+			return ColumnarFileMetadata.readFooter(in, fs.getFileStatus(path).getLen());
+		}
+	}
+
+	protected static int[] getColumnIndexes(ColumnarFileMetadata meta, int[] cols) throws IOException {
+		final int nCols = meta.getNumColumns();
+		if(cols == null) {
+			cols = new int[nCols];
+			for(int i = 0; i < nCols; i++)
+				cols[i] = i;
+		}
+		for(int c : cols)
+			if(c < 0 || c >= nCols)
+				throw new IOException("Invalid column index " + c + " for columnar file with " + nCols + " columns.");
+		return cols;
+	}
+
+	protected static Array<?>[] readColumns(FSDataInputStream in, ColumnarFileMetadata meta, int[] cols, int k)
+		throws IOException {
+		Array<?>[] ret = new Array<?>[cols.length];
+		if(k <= 1 || cols.length <= 1) {
+			for(int i = 0; i < cols.length; i++)
+				ret[i] = readColumn(in, meta, cols[i]);
+			return ret;
+		}
+		ExecutorService pool = CommonThreadPool.get(Math.min(k, cols.length));
+		try {
+			List<Callable<Array<?>>> tasks = new ArrayList<>();
+			for(int c : cols)
+				tasks.add(() -> readColumn(in, meta, c));
+			List<Future<Array<?>>> rt = pool.invokeAll(tasks);
+			for(int i = 0; i < cols.length; i++)
+				ret[i] = rt.get(i).get();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of columnar file.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static Array<?> readColumn(FSDataInputStream in, ColumnarFileMetadata meta, int c) throws IOException {
+		final int nRows = (int) meta.getNumRows();
+		final int nRowGroups = meta.getNumRowGroups();
+		if(nRowGroups == 0)
+			return ArrayFactory.allocate(meta.getSchema()[c], nRows);
+		else if(nRowGroups == 1)
+			return meta.readChunk(in, 0, c);
+		Array<?> ret = null;
+		int rl = 0;
+		for(int rg = 0; rg < nRowGroups; rg++) {
+			Array<?> chunk = meta.readChunk(in, rg, c);
+			ret = ArrayFactory.set(ret, chunk, rl, rl + chunk.size() - 1, nRows);
+			rl += chunk.size();
+		}
+		return ret;
+	}
+}
@@ -48,6 +48,9 @@ public class FrameReaderFactory {
 			case COMPRESSED: // use same logic as a binary read
 			case BINARY:
 				return binaryParallel ? new FrameReaderBinaryBlockParallel() : new FrameReaderBinaryBlock();
+			case COLUMNAR:
+				return new FrameReaderColumnar((props instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar) props : null);
 			case PROTO:
 				// TODO performance improvement: add parallel reader
 				return new FrameReaderProto();
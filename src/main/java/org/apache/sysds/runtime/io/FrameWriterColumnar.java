@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+/**
+ * Single-threaded frame writer for the columnar format (see {@link ColumnarFileMetadata}),
+ * which writes the frame columns as (dictionary-encoded) chunks per row group.
+ */
+public class FrameWriterColumnar extends FrameWriter {
+	protected final FileFormatPropertiesColumnar _props;
+
+	public FrameWriterColumnar(FileFormatPropertiesColumnar props) {
+		_props = props;
+	}
+
+	@Override
+	public final void writeFrameToHDFS(FrameBlock src, String fname, long rlen, long clen) throws IOException {
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		// validity check frame dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen) {
+			throw new IOException("Frame dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+		}
+
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		writeColumnarFrameToFile(path, fs, src);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	protected void writeColumnarFrameToFile(Path path, FileSystem fs, FrameBlock src) throws IOException {
+		final int nRows = src.getNumRows();
+		final int nCols = src.getNumColumns();
+		final int rgSize = ColumnarFileMetadata.getRowGroupSize(_props, nRows, nCols);
+		final int nRowGroups = (nRows + rgSize - 1) / rgSize;
+		ColumnarFileMetadata meta = new ColumnarFileMetadata(
+			src.getSchema(), src.getColumnNames(), nRows, nRowGroups);
+
+		FSDataOutputStream out = fs.create(path, true);
+		try {
+			out.writeInt(ColumnarFileMetadata.MAGIC);
+			for(int rg = 0; rg < nRowGroups; rg++) {
+				final int rl = rg * rgSize;
+				final int ru = Math.min(rl + rgSize, nRows);
+				for(int c = 0; c < nCols; c++) {
+					Array<?> col = src.getColumn(c);
+					meta.writeChunk(out, rg, c, (rl == 0 && ru == nRows) ? col : col.slice(rl, ru));
+				}
+			}
+			meta.writeFooter(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+}
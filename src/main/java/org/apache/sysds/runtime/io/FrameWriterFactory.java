@@ -48,6 +48,9 @@ public class FrameWriterFactory {
 				return new FrameWriterCompressed(binaryParallel);
 			case BINARY:
 				return binaryParallel ? new FrameWriterBinaryBlockParallel() : new FrameWriterBinaryBlock();
+			case COLUMNAR:
+				return new FrameWriterColumnar((props instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar) props : null);
 			case PROTO:
 				return new FrameWriterProto();
 			default:
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+
+/**
+ * Local file system fast path for reading uncompressed binary block sequence files.
+ * Instead of the stream-based SequenceFile.Reader, this reader fills a large direct
+ * byte buffer via a FileChannel and deserializes keys and blocks directly from this
+ * buffer, where dense blocks are decoded with bulk copies (see {@link ByteBufferDataInput}).
+ *
+ * The record layout of uncompressed sequence files is [recordLength, keyLength, key, value],
+ * interleaved with sync markers [-1, 16 byte sync hash]. The header is parsed by the
+ * SequenceFile.Reader, which also validates the key/value classes and compression.
+ */
+public class LocalBinaryBlockReader implements Closeable
+{
+	//enable local fast path for binary block reads
+	public static boolean ENABLED = true;
+
+	private static final int SYNC_ESCAPE = -1;
+	private static final int SYNC_HASH_SIZE = 16;
+	private static final int BUFFER_SIZE = 32 * 1024 * 1024; //32MB
+	private static final int POOL_SIZE = 4; //max pooled buffers
+
+	//small bounded pool of read buffers shared by all threads, because direct
+	//buffers are only freed by GC (a buffer is taken while a reader is open,
+	//and buffers exceeding the pool size are left to GC on close)
+	private static final ArrayBlockingQueue<ByteBuffer> _buffers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+	private final FileChannel _channel;
+	private ByteBuffer _buff;
+	private ByteBufferDataInput _in;
+
+	private LocalBinaryBlockReader(FileChannel channel, long start) throws IOException {
+		_channel = channel;
+		_channel.position(start);
+		long len = _channel.size() - start;
+		int size = (int)Math.max(Math.min(BUFFER_SIZE, len), SYNC_HASH_SIZE+4);
+		_buff = _buffers.poll();
+		if( _buff != null && _buff.capacity() >= size )
+			_buff.clear();
+		else {
+			if( _buff != null )
+				_buffers.offer(_buff); //too small, keep for others
+			_buff = ByteBuffer.allocateDirect(size);
+		}
+		_buff.flip(); //empty read buffer
+		_in = new ByteBufferDataInput(_buff);
+	}
+
+	/**
+	 * Creates a local reader for the given sequence file if the fast path is
+	 * applicable (enabled, local file system, uncompressed matrix blocks).
+	 *
+	 * @param path sequence file path
+	 * @param job job configuration
+	 * @return local reader, or null if not applicable
+	 * @throws IOException if IOException occurs
+	 */
+	public static LocalBinaryBlockReader create(Path path, JobConf job) throws IOException {
+		if( !ENABLED )
+			return null;
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		if( !(fs instanceof LocalFileSystem) )
+			return null;
+
+		//parse and validate header, obtain start of first record
+		long start = -1;
+		try( SequenceFile.Reader reader = new SequenceFile.Reader(job, SequenceFile.Reader.file(path)) ) {
+			if( reader.isCompressed()
+				|| !MatrixIndexes.class.getName().equals(reader.getKeyClassName())
+				|| !MatrixBlock.class.getName().equals(reader.getValueClassName()) )
+				return null;
+			start = reader.getPosition();
+		}
+
+		File file = ((LocalFileSystem) fs).pathToFile(path);
+		return new LocalBinaryBlockReader(FileChannel.open(file.toPath(), StandardOpenOption.READ), start);
+	}
+
+	/**
+	 * Reads the next key-value pair into the given (reused) objects.
+	 *
+	 * @param key matrix indexes
+	 * @param value matrix block
+	 * @return true if a pair was read, false at the end of the file
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean next(MatrixIndexes key, MatrixBlock value) throws IOException {
+		if( !ensure(4) )
+			return false;
+		int len = _buff.getInt();
+		if( len == SYNC_ESCAPE ) {
+			if( !ensure(SYNC_HASH_SIZE) )
+				throw new IOException("Truncated sync marker in binary block file.");
+			_buff.position(_buff.position() + SYNC_HASH_SIZE);
+			if( !ensure(4) )
+				return false;
+			len = _buff.getInt();
+		}
+		if( !ensure(4 + len) )
+			throw new IOException("Truncated record of length "+len+" in binary block file.");
+		_buff.getInt(); //key length
+		int end = _buff.position() + len;
+		key.readFields(_in);
+		value.readFields(_in);
+		_buff.position(end);
+		return true;
+	}
+
+	private boolean ensure(int n) throws IOException {
+		if( _buff.remaining() >= n )
+			return true;
+		if( _buff.capacity() < n ) {
+			//grow buffer for records larger than the buffer
+			ByteBuffer tmp = ByteBuffer.allocateDirect(n);
+			tmp.put(_buff);
+			_buff = tmp;
+			_in = new ByteBufferDataInput(_buff);
+		}
+		else {
+			_buff.compact();
+		}
+		//fill the entire buffer (switch to read mode afterwards)
+		while( _buff.hasRemaining() && _channel.read(_buff) >= 0 );
+		_buff.flip();
+		return _buff.remaining() >= n;
+	}
+
+	@Override
+	public void close() throws IOException {
+		_channel.close();
+		//return the buffer for reuse by the next reader if the pool is
+		//not full, except buffers grown for large records
+		if( _buff != null && _buff.capacity() <= BUFFER_SIZE )
+			_buffers.offer(_buff);
+		_buff = null;
+	}
+}
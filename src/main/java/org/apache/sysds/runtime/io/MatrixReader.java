@@ -35,6 +35,7 @@ import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -61,6 +62,28 @@ public abstract class MatrixReader
 	public abstract MatrixBlock readMatrixFromInputStream( InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException;
 	
+	/**
+	 * Reads the matrix and compresses it. By default, the matrix is fully read and compressed afterwards,
+	 * while readers that support streaming compression encode the input chunk by chunk, such that the 
+	 * uncompressed matrix is never materialized.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @param estnnz estimated number of non-zeros
+	 * @param k parallelization degree of the compression
+	 * @return matrix block, compressed if beneficial
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock readMatrixFromHDFSCompressed( String fname, long rlen, long clen, int blen, long estnnz, int k )
+		throws IOException, DMLRuntimeException
+	{
+		MatrixBlock ret = readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		return CompressedMatrixBlockFactory.compress(ret, k).getLeft();
+	}
+	
 	/**
 	 * NOTE: mallocDense controls if the output matrix blocks is fully allocated, this can be redundant
 	 * if binary block read and single block. 
@@ -71,6 +71,10 @@ public class MatrixReaderFactory {
 			case COMPRESSED:
 				reader = ReaderCompressed.create();
 				break;
+
+			case COLUMNAR:
+				reader = new ReaderColumnar(new FileFormatPropertiesColumnar());
+				break;
 			
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
@@ -127,6 +131,11 @@ public class MatrixReaderFactory {
 			case COMPRESSED:
 				reader = new ReaderCompressed();
 				break;
+
+			case COLUMNAR:
+				reader = new ReaderColumnar((props.formatProperties instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar)props.formatProperties : new FileFormatPropertiesColumnar());
+				break;
 			default:
 				throw new DMLRuntimeException("Failed to create matrix reader for unknown format: " + fmt.toString());
 		}
@@ -94,6 +94,10 @@ public class MatrixWriterFactory{
 			case COMPRESSED:
 				return WriterCompressed.create(props);
 
+			case COLUMNAR:
+				return new WriterColumnar((props instanceof FileFormatPropertiesColumnar) ?
+					(FileFormatPropertiesColumnar) props : null);
+
 			default:
 				throw new DMLRuntimeException("Failed to create matrix writer for unknown format: " + fmt.toString());
 		}
@@ -22,7 +22,10 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -30,6 +33,7 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedStreamBuilder;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -86,6 +90,34 @@ public class ReaderBinaryBlock extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	@Override
+	public MatrixBlock readMatrixFromHDFSCompressed(String fname, long rlen, long clen, int blen, long estnnz, int k) 
+		throws IOException, DMLRuntimeException 
+	{
+		//early abort for known empty matrices and unknown dimensions
+		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
+			return new MatrixBlock((int)rlen, (int)clen, true);
+		if( rlen < 0 || clen < 0 )
+			return super.readMatrixFromHDFSCompressed(fname, rlen, clen, blen, estnnz, k);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		//core read, with streaming compression of row chunks
+		CompressedStreamBuilder builder = new CompressedStreamBuilder((int)clen, k);
+		if( !readBinaryBlockMatrixFromHDFSCompressed(path, job, fs, builder, rlen, clen, blen, estnnz) ) {
+			//blocks not ordered by rows (e.g., written by spark), read and compress the full matrix
+			LOG.debug("Binary blocks of "+fname+" not in row order, therefore not streaming the compression");
+			return super.readMatrixFromHDFSCompressed(fname, rlen, clen, blen, estnnz, k);
+		}
+		return builder.build();
+	}
+
 	public ArrayList<IndexedMatrixValue> readIndexedMatrixBlocksFromHDFS(String fname, long rlen, long clen, int blen) 
 		throws IOException, DMLRuntimeException 
 	{
@@ -153,14 +185,16 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
-			//directly read from sequence files (individual partfiles)
-			SequenceFile.Reader reader = new SequenceFile
-				.Reader(job, SequenceFile.Reader.file(lpath));
+			//directly read from sequence files (individual partfiles),
+			//w/ direct buffer fast path for uncompressed files in local FS
+			LocalBinaryBlockReader lreader = LocalBinaryBlockReader.create(lpath, job);
+			SequenceFile.Reader reader = (lreader == null) ? new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath)) : null;
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( (lreader != null) ? lreader.next(key, value) : reader.next(key, value) )
 				{	
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
@@ -199,6 +233,7 @@ public class ReaderBinaryBlock extends MatrixReader
 			finally
 			{
 				IOUtilFunctions.closeSilently(reader);
+				IOUtilFunctions.closeSilently(lreader);
 			}
 		}
 		
@@ -210,6 +245,122 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
+	/**
+	 * Reads the binary blocks into row chunks of multiple row blocks, and appends each chunk to the 
+	 * streaming compression once it is complete. The part files are read in the order of their names, 
+	 * in which the row blocks are ordered for files written in CP. Hence, a chunk is complete once all
+	 * its blocks are read, or once a block of a subsequent chunk is read, which also covers sparse files
+	 * without empty blocks. If a block of an already appended chunk is read, the read is aborted.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param builder streaming compression of row chunks
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @param estnnz estimated number of non-zeros
+	 * @return false if the blocks are not ordered by rows
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean readBinaryBlockMatrixFromHDFSCompressed( Path path, JobConf job, FileSystem fs, 
+		CompressedStreamBuilder builder, long rlen, long clen, int blen, long estnnz )
+		throws IOException
+	{
+		boolean sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz);
+		int chunkRows = CompressedStreamBuilder.getChunkRows(clen, blen);
+		int nChunks = (int)Math.ceil((double)rlen / chunkRows);
+		int nColBlocks = (int)Math.ceil((double)clen / blen);
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = getReuseBlock(blen, sparse);
+		Map<Integer, MatrixBlock> chunks = new HashMap<>();
+		int[] received = new int[nChunks];
+		int next = 0;
+		
+		//set up preferred custom serialization framework for binary block format
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		Path[] paths = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		Arrays.sort(paths); //part files in order of rows
+		for( Path lpath : paths ) //1..N files 
+		{
+			LocalBinaryBlockReader lreader = LocalBinaryBlockReader.create(lpath, job);
+			SequenceFile.Reader reader = (lreader == null) ? new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath)) : null;
+			
+			try
+			{
+				while( (lreader != null) ? lreader.next(key, value) : reader.next(key, value) )
+				{
+					int row_offset = (int)(key.getRowIndex()-1)*blen;
+					int col_offset = (int)(key.getColumnIndex()-1)*blen;
+					int rows = value.getNumRows();
+					int cols = value.getNumColumns();
+					
+					//bound check per block
+					if( row_offset + rows < 0 || row_offset + rows > rlen || col_offset + cols<0 || col_offset + cols > clen )
+					{
+						throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+								              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+					}
+					
+					//copy non-empty block to its chunk
+					int c = row_offset / chunkRows;
+					if( c < next )
+						return false; //chunk already appended
+					if( !value.isEmptyBlock(false) ) {
+						MatrixBlock chunk = chunks.get(c);
+						if( chunk == null ) {
+							chunk = new MatrixBlock(getChunkRows(rlen, chunkRows, c), (int)clen, sparse);
+							chunk.allocateBlock();
+							chunks.put(c, chunk);
+						}
+						int chunk_offset = row_offset - c * chunkRows;
+						if( sparse )
+							chunk.appendToSparse(value, chunk_offset, col_offset);
+						else
+							chunk.copy(chunk_offset, chunk_offset+rows-1, col_offset, col_offset+cols-1, value, false);
+					}
+					received[c]++;
+					
+					//compress all complete chunks in order (all blocks read, or block of subsequent chunk)
+					while( next < c || (next < nChunks && received[next] == getNumBlocks(rlen, chunkRows, next, blen) * nColBlocks) )
+						appendChunk(builder, chunks.remove(next), rlen, clen, chunkRows, next++, sparse && clen > blen);
+				}
+			}
+			finally
+			{
+				IOUtilFunctions.closeSilently(reader);
+				IOUtilFunctions.closeSilently(lreader);
+			}
+		}
+		
+		//compress remaining chunks with non-written empty blocks
+		while( next < nChunks )
+			appendChunk(builder, chunks.remove(next), rlen, clen, chunkRows, next++, sparse && clen > blen);
+		return true;
+	}
+	
+	private static void appendChunk(CompressedStreamBuilder builder, MatrixBlock chunk, long rlen, long clen, 
+		int chunkRows, int c, boolean sort)
+	{
+		if( chunk == null ) //all blocks empty
+			chunk = new MatrixBlock(getChunkRows(rlen, chunkRows, c), (int)clen, true);
+		else if( sort )
+			chunk.sortSparseRows();
+		chunk.recomputeNonZeros();
+		builder.append(chunk);
+	}
+	
+	private static int getChunkRows(long rlen, int chunkRows, int c) {
+		return (int)Math.min(chunkRows, rlen - (long)c * chunkRows);
+	}
+	
+	private static int getNumBlocks(long rlen, int chunkRows, int c, int blen) {
+		return (int)Math.ceil((double)getChunkRows(rlen, chunkRows, c) / blen);
+	}
+	
 	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int blen )
 		throws IOException
 	{
@@ -223,12 +374,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
 			//directly read from sequence files (individual partfiles)
-			SequenceFile.Reader reader = new SequenceFile
-				.Reader(job, SequenceFile.Reader.file(lpath));
+			LocalBinaryBlockReader lreader = LocalBinaryBlockReader.create(lpath, job);
+			SequenceFile.Reader reader = (lreader == null) ? new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath)) : null;
 			
 			try
 			{
-				while( reader.next(key, value) )
+				while( (lreader != null) ? lreader.next(key, value) : reader.next(key, value) )
 				{	
 					int row_offset = (int)(key.getRowIndex()-1)*blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*blen;
@@ -249,6 +401,7 @@ public class ReaderBinaryBlock extends MatrixReader
 			finally
 			{
 				IOUtilFunctions.closeSilently(reader);
+				IOUtilFunctions.closeSilently(lreader);
 			}
 		}
 	}
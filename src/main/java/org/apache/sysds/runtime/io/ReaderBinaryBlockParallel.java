@@ -152,14 +152,16 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			MatrixBlock value = getReuseBlock(_blen, sparse);
 			long lnnz = 0; //aggregate block nnz
 			
-			//directly read from sequence files (individual partfiles)
-			final Reader reader = new SequenceFile
-				.Reader(_job, SequenceFile.Reader.file(_path));
+			//directly read from sequence files (individual partfiles),
+			//w/ direct buffer fast path for uncompressed files in local FS
+			final LocalBinaryBlockReader lreader = LocalBinaryBlockReader.create(_path, _job);
+			final Reader reader = (lreader == null) ? new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_path)) : null;
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( (lreader != null) ? lreader.next(key, value) : reader.next(key, value) )
 				{	
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
@@ -221,6 +223,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			}
 			finally {
 				IOUtilFunctions.closeSilently(reader);
+				IOUtilFunctions.closeSilently(lreader);
 			}
 			
 			return lnnz;
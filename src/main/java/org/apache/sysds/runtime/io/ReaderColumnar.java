@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Matrix reader for the columnar format (see {@link ColumnarFileMetadata}), which supports
+ * the same column projection as {@link FrameReaderColumnar} and also reads numeric frames.
+ */
+public class ReaderColumnar extends MatrixReader {
+	protected final FileFormatPropertiesColumnar _props;
+
+	public ReaderColumnar(FileFormatPropertiesColumnar props) {
+		_props = props;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+
+		FSDataInputStream in = fs.open(path);
+		try {
+			ColumnarFileMetadata meta = ColumnarFileMetadata.readFooter(in, fs.getFileStatus(path).getLen());
+			int[] cols = FrameReaderColumnar.getColumnIndexes(meta, (_props != null) ? _props.getColumns() : null);
+			final int nRows = (int) meta.getNumRows();
+			if((rlen >= 0 && rlen != nRows) || (clen >= 0 && clen != cols.length))
+				throw new DMLRuntimeException("Read matrix inconsistent with given meta data: expected dims ["
+					+ rlen + "x" + clen + "], real dims [" + nRows + "x" + cols.length + "].");
+
+			MatrixBlock ret = new MatrixBlock(nRows, cols.length, false);
+			if(meta.getNumRowGroups() == 0 || nRows == 0 || cols.length == 0)
+				return ret;
+			Array<?>[] data = FrameReaderColumnar.readColumns(in, meta, cols,
+				OptimizerUtils.getParallelBinaryReadParallelism());
+
+			// scatter columns into a row-major dense block
+			DenseBlock a = ret.allocateBlock().getDenseBlock();
+			double[] tmp = new double[nRows];
+			for(int j = 0; j < cols.length; j++) {
+				data[j].extractDouble(tmp, 0, nRows);
+				data[j] = null;
+				for(int i = 0; i < nRows; i++)
+					a.values(i)[a.pos(i) + j] = tmp[i];
+			}
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+}
@@ -36,6 +36,7 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedStreamBuilder;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.UtilFunctions;
@@ -94,19 +95,82 @@ public class ReaderTextCSV extends MatrixReader
 		return ret;
 	}
 	
+	@Override
+	public MatrixBlock readMatrixFromHDFSCompressed(String fname, long rlen, long clen, int blen, long estnnz, int k) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//core read, with streaming compression of row chunks
+		MatrixBlock ret = readCSVMatrixFromHDFSCompressed(path, job, fs, clen, blen, k, _props.hasHeader(), 
+			_props.getDelim(), _props.isFill(), _props.getFillValue(), _props.getNAStrings());
+		if( rlen >= 0 && ret.getNumRows() != rlen )
+			throw new IOException("Invalid number of rows read from "+fname+": "+ret.getNumRows()+", expected "+rlen+".");
+		return ret;
+	}
+	
+	private static MatrixBlock readCSVMatrixFromHDFSCompressed( Path path, JobConf job, FileSystem fs, long clen, int blen, 
+			int k, boolean hasHeader, String delim, boolean fill, double fillValue, HashSet<String> naStrings )
+		throws IOException
+	{
+		List<Path> files = getFilePaths(fs, path);
+		if( clen < 0 )
+			clen = computeCSVNumColumns(files, fs, hasHeader, delim);
+		
+		CompressedStreamBuilder builder = new CompressedStreamBuilder((int)clen, k);
+		int chunkRows = CompressedStreamBuilder.getChunkRows(clen, blen);
+		MatrixBlock chunk = null;
+		int row = 0;
+		long lnnz = 0;
+		String value = null;
+		for(int fileNo=0; fileNo<files.size(); fileNo++) {
+			BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(fileNo))));
+			try {
+				if( fileNo==0 && hasHeader )
+					br.readLine(); //ignore header
+				while( (value=br.readLine())!=null ) { //foreach line
+					if( chunk == null ) {
+						chunk = new MatrixBlock(chunkRows, (int)clen, false);
+						chunk.allocateDenseBlock();
+					}
+					lnnz += parseCSVLineDense(value, chunk.getDenseBlock(), row, path.toString(), 
+						clen, delim, fill, fillValue, naStrings);
+					//compress full chunks (new chunk allocated per chunk)
+					if( ++row == chunkRows ) {
+						chunk.setNonZeros(lnnz);
+						builder.append(chunk);
+						chunk = null;
+						row = 0;
+						lnnz = 0;
+					}
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(br);
+			}
+		}
+		
+		//compress remaining partial chunk
+		if( chunk != null ) {
+			MatrixBlock last = chunk.slice(0, row-1);
+			last.setNonZeros(lnnz);
+			builder.append(last);
+		}
+		return builder.build();
+	}
+	
 	private static MatrixBlock readCSVMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
 			long rlen, long clen, int blen, boolean hasHeader, String delim, boolean fill, double fillValue, HashSet<String> naStrings )
 		throws IOException, DMLRuntimeException
 	{
 		//prepare file paths in alphanumeric order
-		ArrayList<Path> files=new ArrayList<>();
-		if(fs.getFileStatus(path).isDirectory()) {
-			for(FileStatus stat: fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
-				files.add(stat.getPath());
-			Collections.sort(files);
-		}
-		else
-			files.add(path);
+		List<Path> files = getFilePaths(fs, path);
 
 		//determine matrix size via additional pass if required
 		if ( dest == null ) {
@@ -182,29 +246,7 @@ public class ReaderTextCSV extends MatrixReader
 			{
 				DenseBlock a = dest.getDenseBlock();
 				while( (value=br.readLine())!=null ) { //foreach line
-					String cellStr = value.toString().trim();
-					emptyValuesFound = false;
-					String[] parts = IOUtilFunctions.split(cellStr, delim);
-					int col = 0;
-					for( String part : parts ) { //foreach cell
-						part = part.trim();
-						if ( part.isEmpty() ) {
-							emptyValuesFound = true;
-							cellValue = fillValue;
-						}
-						else {
-							cellValue = UtilFunctions.parseToDouble(part, naStrings);
-						}
-						if ( cellValue != 0 ) {
-							a.set(row, col, cellValue);
-							lnnz++;
-						}
-						col++;
-					}
-					
-					//sanity checks for empty values and number of columns
-					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
-					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
+					lnnz += parseCSVLineDense(value, a, row, srcInfo, clen, delim, fill, fillValue, naStrings);
 					row++;
 				}
 			}
@@ -217,6 +259,69 @@ public class ReaderTextCSV extends MatrixReader
 		return lnnz;
 	}
 
+	private static long parseCSVLineDense( String value, DenseBlock a, int row, String srcInfo, long clen, 
+			String delim, boolean fill, double fillValue, HashSet<String> naStrings )
+		throws IOException
+	{
+		String cellStr = value.toString().trim();
+		boolean emptyValuesFound = false;
+		String[] parts = IOUtilFunctions.split(cellStr, delim);
+		double cellValue = 0;
+		long lnnz = 0;
+		int col = 0;
+		for( String part : parts ) { //foreach cell
+			part = part.trim();
+			if ( part.isEmpty() ) {
+				emptyValuesFound = true;
+				cellValue = fillValue;
+			}
+			else {
+				cellValue = UtilFunctions.parseToDouble(part, naStrings);
+			}
+			if ( cellValue != 0 ) {
+				a.set(row, col, cellValue);
+				lnnz++;
+			}
+			col++;
+		}
+		
+		//sanity checks for empty values and number of columns
+		IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
+		IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(srcInfo, cellStr, parts, clen);
+		return lnnz;
+	}
+	
+	private static List<Path> getFilePaths( FileSystem fs, Path path ) 
+		throws IOException
+	{
+		//prepare file paths in alphanumeric order
+		ArrayList<Path> files=new ArrayList<>();
+		if(fs.getFileStatus(path).isDirectory()) {
+			for(FileStatus stat: fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+	
+	private static int computeCSVNumColumns( List<Path> files, FileSystem fs, boolean hasHeader, String delim ) 
+		throws IOException 
+	{
+		BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(files.get(0))));
+		try {
+			if ( hasHeader ) 
+				br.readLine(); //ignore header
+			String value = br.readLine();
+			//tokenize like IOUtilFunctions.countNumColumnsCSV (quotes and escapes)
+			return (value != null) ? IOUtilFunctions.countTokensCSV(value.trim(), delim) : 0;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+	}
+	
 	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		throws IOException, DMLRuntimeException 
 	{		
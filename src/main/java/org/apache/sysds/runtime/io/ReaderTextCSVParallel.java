@@ -21,7 +21,9 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -47,6 +49,7 @@ import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.DoubleParser;
 
 /**
  * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in order to compute row offsets and the actual
@@ -57,6 +60,9 @@ import org.apache.sysds.runtime.util.UtilFunctions;
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader {
+	// enable allocation-free parsing of lines from raw bytes (for single-byte delimiters)
+	public static boolean BYTE_PARSING = true;
+
 	final private int _numThreads;
 
 	protected final FileFormatPropertiesCSV _props;
@@ -71,6 +77,13 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		_props = props;
 	}
 
+	@Override
+	public MatrixBlock readMatrixFromHDFSCompressed(String fname, long rlen, long clen, int blen, long estnnz, int k)
+		throws IOException, DMLRuntimeException {
+		// sequential parsing of row chunks, with the streaming compression parallelized instead
+		return new ReaderTextCSV(_props).readMatrixFromHDFSCompressed(fname, rlen, clen, blen, estnnz, k);
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
@@ -131,8 +144,11 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			// create read tasks for all splits
 			ArrayList<Callable<Long>> tasks = new ArrayList<>();
 			int splitCount = 0;
+			final boolean byteParsing = BYTE_PARSING && isByteDelim(_props.getDelim());
 			for(InputSplit split : splits) {
-				if(dest.isInSparseFormat() && _props.getNAStrings() != null)
+				if(byteParsing)
+					tasks.add(new CSVReadBytesTask(split, informat, dest, splitCount++));
+				else if(dest.isInSparseFormat() && _props.getNAStrings() != null)
 					tasks.add(new CSVReadSparseNanTask(split, informat, dest, splitCount++));
 				else if(dest.isInSparseFormat() && _props.getFillValue() == 0)
 					tasks.add(new CSVReadSparseNoNanTaskAndFill(split, informat, dest, splitCount++));
@@ -543,4 +559,117 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			return nnz;
 		}
 	}
+	private static boolean isByteDelim(String delim) {
+		// UTF-8 multi-byte sequences never contain bytes in the ASCII range
+		return delim != null && delim.length() == 1 && delim.charAt(0) < 0x80;
+	}
+
+	/**
+	 * Read task that scans the raw bytes of each line for delimiters and parses numbers directly from these bytes
+	 * (see {@link DoubleParser}), which avoids the allocation of strings per line and cell. It handles dense and sparse
+	 * outputs, fill values and na-strings, and only materializes strings for exotic number formats and errors.
+	 */
+	private class CSVReadBytesTask extends CSVReadTask {
+		private final byte _delim;
+		private final byte[][] _naStrings;
+
+		public CSVReadBytesTask(InputSplit split, TextInputFormat informat, MatrixBlock dest, int splitCount) {
+			super(split, informat, dest, splitCount);
+			_delim = (byte) _props.getDelim().charAt(0);
+			_naStrings = (_props.getNAStrings() == null) ? null : _props.getNAStrings().stream()
+				.map(na -> na.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+		}
+
+		@Override
+		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
+			final boolean sparse = _dest.isInSparseFormat();
+			final DenseBlock a = sparse ? null : _dest.getDenseBlock();
+			final SparseBlock sb = sparse ? _dest.getSparseBlock() : null;
+			final boolean fill = _props.isFill();
+			final double fillValue = _props.getFillValue();
+			long nnz = 0;
+
+			while(reader.next(key, value)) { // foreach line
+				final byte[] buff = value.getBytes();
+				final int end = trimRight(buff, 0, value.getLength());
+				double[] avals = null;
+				int apos = 0;
+				SparseRow r = null;
+				if(sparse) {
+					sb.allocate(_row);
+					r = sb.get(_row);
+				}
+				else {
+					avals = a.values(_row);
+					apos = a.pos(_row);
+				}
+
+				_col = 0;
+				int from = trimLeft(buff, 0, end);
+				while(true) { // foreach cell
+					int to = indexOf(buff, from, end, _delim);
+					int cfrom = trimLeft(buff, from, to);
+					int cto = trimRight(buff, cfrom, to);
+					double cellValue;
+					if(cfrom == cto) {
+						if(!fill)
+							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(value.toString(), false, true);
+						cellValue = fillValue;
+					}
+					else if(_naStrings != null && isNAString(buff, cfrom, cto))
+						cellValue = Double.NaN;
+					else
+						cellValue = DoubleParser.parseFloatingPointLiteral(buff, cfrom, cto);
+
+					if(cellValue != 0 && _col < _cLen) {
+						if(sparse)
+							r.append(_col, cellValue);
+						else
+							avals[apos + _col] = cellValue;
+						nnz++;
+					}
+					_col++;
+					if(to == end)
+						break;
+					from = to + 1;
+				}
+
+				// sanity check number of columns (create split tokens only on errors)
+				if(_col != _cLen) {
+					String cellStr = value.toString().trim();
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr,
+						IOUtilFunctions.split(cellStr, _props.getDelim()), _cLen);
+				}
+				_row++;
+			}
+			return nnz;
+		}
+
+		private boolean isNAString(byte[] buff, int from, int to) {
+			for(byte[] na : _naStrings)
+				if(na.length == to - from && Arrays.equals(na, 0, na.length, buff, from, to))
+					return true;
+			return false;
+		}
+
+		private int indexOf(byte[] buff, int from, int to, byte delim) {
+			for(int i = from; i < to; i++)
+				if(buff[i] == delim)
+					return i;
+			return to;
+		}
+
+		// same whitespace semantics as String.trim()
+		private int trimLeft(byte[] buff, int from, int to) {
+			while(from < to && (buff[from] & 0xFF) <= ' ')
+				from++;
+			return from;
+		}
+
+		private int trimRight(byte[] buff, int from, int to) {
+			while(to > from && (buff[to - 1] & 0xFF) <= ' ')
+				to--;
+			return to;
+		}
+	}
 }
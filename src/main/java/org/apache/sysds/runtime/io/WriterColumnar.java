@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.DoubleArray;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.UtilFunctions;
+
+/**
+ * Matrix writer for the columnar format (see {@link ColumnarFileMetadata}). Each row group
+ * is transposed in order to obtain contiguous columns, which are then written as FP64 chunks
+ * (dictionary-encoded for low-cardinality columns such as mostly zero columns).
+ */
+public class WriterColumnar extends MatrixWriter {
+	protected final FileFormatPropertiesColumnar _props;
+
+	public WriterColumnar(FileFormatPropertiesColumnar props) {
+		_props = props;
+	}
+
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz,
+		boolean diag) throws IOException {
+		// validity check matrix dimensions
+		if(src.getNumRows() != rlen || src.getNumColumns() != clen)
+			throw new IOException("Matrix dimensions mismatch with metadata: " + src.getNumRows() + "x"
+				+ src.getNumColumns() + " vs " + rlen + "x" + clen + ".");
+		if(src instanceof CompressedMatrixBlock)
+			src = CompressedMatrixBlock.getUncompressed(src, "columnar write");
+
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		// if the file already exists on HDFS, remove it.
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		writeColumnarMatrixToFile(path, fs, src);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen) throws IOException {
+		writeMatrixToHDFS(new MatrixBlock((int) rlen, (int) clen, true), fname, rlen, clen, blen, 0);
+	}
+
+	protected void writeColumnarMatrixToFile(Path path, FileSystem fs, MatrixBlock src) throws IOException {
+		final int nRows = src.getNumRows();
+		final int nCols = src.getNumColumns();
+		final int rgSize = ColumnarFileMetadata.getRowGroupSize(_props, nRows, nCols);
+		final int nRowGroups = (nRows + rgSize - 1) / rgSize;
+		final int k = OptimizerUtils.getParallelBinaryWriteParallelism();
+		ColumnarFileMetadata meta = new ColumnarFileMetadata(UtilFunctions.nCopies(nCols, ValueType.FP64),
+			FrameBlock.createColNames(nCols), nRows, nRowGroups);
+
+		FSDataOutputStream out = fs.create(path, true);
+		try {
+			out.writeInt(ColumnarFileMetadata.MAGIC);
+			for(int rg = 0; rg < nRowGroups; rg++) {
+				final int rl = rg * rgSize;
+				final int ru = Math.min(rl + rgSize, nRows);
+				// transpose row group to obtain contiguous columns
+				MatrixBlock tmp = (rl == 0 && ru == nRows) ? src : src.slice(rl, ru - 1);
+				MatrixBlock t = LibMatrixReorg.transpose(tmp, k);
+				for(int c = 0; c < nCols; c++)
+					meta.writeChunk(out, rg, c, new DoubleArray(getRow(t, c)));
+			}
+			meta.writeFooter(out);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+	}
+
+	private static double[] getRow(MatrixBlock mb, int r) {
+		double[] ret = new double[mb.getNumColumns()];
+		if(mb.isEmptyBlock(false))
+			return ret;
+		if(mb.isInSparseFormat()) {
+			SparseBlock sb = mb.getSparseBlock();
+			if(!sb.isEmpty(r)) {
+				int apos = sb.pos(r);
+				int alen = sb.size(r);
+				int[] aix = sb.indexes(r);
+				double[] avals = sb.values(r);
+				for(int j = apos; j < apos + alen; j++)
+					ret[aix[j]] = avals[j];
+			}
+		}
+		else {
+			DenseBlock db = mb.getDenseBlock();
+			System.arraycopy(db.values(r), db.pos(r), ret, 0, ret.length);
+		}
+		return ret;
+	}
+}
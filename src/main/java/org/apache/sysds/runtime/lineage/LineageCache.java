@@ -105,12 +105,17 @@ public class LineageCache
 			//obtaining value to avoid blocking in critical section
 			LineageCacheEntry e = null;
 			boolean reuseAll = true;
+			//(read persisted entries w/o the monitor on _cache to avoid blocking on i/o)
+			Map<LineageItem, LineageCacheEntry> persisted = readPersistent(liList);
 			synchronized( _cache ) {
 				//try to reuse full or partial intermediates (CPU and FED only)
 				for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
-					if (LineageCacheConfig.getCacheType().isFullReuse())
+					if (LineageCacheConfig.getCacheType().isFullReuse()) {
 						//e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
 						e = getIntern(item.getKey()); //avoid double probing (containsKey + get)
+						if (e == null && persisted != null)
+							e = putPersistentIntern(persisted.get(item.getKey()));
+					}
 					//TODO need to also move execution of compensation plan out of here
 					//(create lazily evaluated entry)
 					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse()
@@ -143,6 +148,8 @@ public class LineageCache
 							ec.replaceLineageItem(outName, e._key); //reuse the lineage trace
 							return false;
 						}
+						if (mb == null && e.getCacheStatus() == LineageCacheStatus.SPILLED)
+							return false;  //concurrently spilled after the probe
 						ec.setMatrixOutput(outName, mb);
 					}
 					else if (e.isScalarValue()) {
@@ -153,6 +160,8 @@ public class LineageCache
 							ec.replaceLineageItem(outName, e._key); //reuse the lineage trace
 							return false;
 						}
+						if (so == null && e.getCacheStatus() == LineageCacheStatus.SPILLED)
+							return false;  //concurrently spilled after the probe
 						ec.setScalarOutput(outName, so);
 					}
 					else if (e.isRDDPersist()) {
@@ -694,6 +703,7 @@ public class LineageCache
 	
 	private static void putValueCPU(Instruction inst, List<Pair<LineageItem, Data>> liData, long computetime)
 	{
+		List<LineageCacheEntry> persist = null;
 		synchronized( _cache ) {
 			for (Pair<LineageItem, Data> entry : liData) {
 				LineageItem item = entry.getKey();
@@ -769,8 +779,21 @@ public class LineageCache
 
 				//maintain order for eviction
 				LineageCacheEviction.addEntry(centry);
+				
+				//collect expensive intermediates for the persistent cache
+				if (computetime >= LineagePersistentCache.getMinComputeTime()
+					&& LineagePersistentCache.isEnabled()) {
+					if (persist == null)
+						persist = new ArrayList<>();
+					persist.add(new LineageCacheEntry(item, centry._dt, mb, centry._SOval, computetime));
+				}
 			}
 		}
+		
+		//write to the persistent cache outside the critical section
+		if (persist != null)
+			for (LineageCacheEntry e : persist)
+				LineagePersistentCache.write(e._key, e._MBval, e._SOval, computetime);
 	}
 	
 	private static void putValueGPU(GPUObject gpuObj, LineageItem instLI, long computetime) {
@@ -1126,6 +1149,35 @@ public class LineageCache
 			return LineageCacheEviction.readFromLocalFS(_cache, key);
 	}
 	
+	private static Map<LineageItem, LineageCacheEntry> readPersistent(
+		List<MutablePair<LineageItem, LineageCacheEntry>> liList)
+	{
+		//Caller should not hold the monitor on _cache (probe and read from disk)
+		if (!LineageCacheConfig.getCacheType().isFullReuse() || !LineagePersistentCache.isEnabled())
+			return null;
+		Map<LineageItem, LineageCacheEntry> ret = null;
+		for (MutablePair<LineageItem, LineageCacheEntry> item : liList) {
+			synchronized( _cache ) { //short probe of the in-memory cache
+				if (_cache.containsKey(item.getKey()))
+					continue;
+			}
+			LineageCacheEntry pe = LineagePersistentCache.read(item.getKey());
+			if (pe != null) {
+				ret = (ret != null) ? ret : new HashMap<>();
+				ret.put(item.getKey(), pe);
+			}
+		}
+		return ret;
+	}
+	
+	private static LineageCacheEntry putPersistentIntern(LineageCacheEntry pe) {
+		//Caller should hold the monitor on _cache
+		if (pe == null)
+			return null;
+		putIntern(pe._key, pe._dt, pe._MBval, pe._SOval, pe._computeTime);
+		return _cache.get(pe._key);
+	}
+	
 	private static void mvIntern(LineageItem item, LineageItem probeItem, long computetime) {
 		if (ReuseCacheType.isNone())
 			return;
@@ -473,4 +473,11 @@ public class LineageCacheConfig
 		DMLConfig conf = ConfigurationManager.getDMLConfig();
 		return conf.getBooleanValue(DMLConfig.LINEAGECACHESPILL);
 	}
+
+	public static String getPersistentCacheDir() {
+		// Check if persistentdir set in SystemDS-config (default none)
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		String dir = conf.getTextValue(DMLConfig.LINEAGE_PERSISTENT_DIR);
+		return (dir == null || dir.isEmpty() || dir.equalsIgnoreCase("none")) ? null : dir;
+	}
 }
@@ -65,6 +65,8 @@ public class LineageCacheEntry {
 	
 	protected synchronized void setCacheStatus(LineageCacheStatus st) {
 		_status = st;
+		//wake up threads that wait on an empty entry
+		notifyAll();
 	}
 
 	public synchronized MatrixBlock getMBValue() {
@@ -284,10 +286,20 @@ public class LineageCacheEntry {
 	}
 
 	protected synchronized void setNullValues() {
+		setNullValues(LineageCacheStatus.EMPTY);
+	}
+
+	protected synchronized void setSpilled() {
+		setNullValues(LineageCacheStatus.SPILLED);
+	}
+	
+	private synchronized void setNullValues(LineageCacheStatus st) {
+		//atomically drop the values and set the new status (e.g., spilled),
+		//such that concurrent readers never observe an intermediate empty entry
 		_MBval = null;
 		_SOval = null;
 		_serialBytes = null;
-		_status = LineageCacheStatus.EMPTY;
+		setCacheStatus(st);
 	}
 	
 	protected synchronized void setOutfile(String outfile) {
@@ -119,8 +119,7 @@ public class LineageCacheEviction
 			if (spill) {
 				updateSize(e.getSize(), false);                //Release memory
 				spillToLocalFS(cache, e);                      //Spill to disk
-				e.setNullValues();                             //Set null
-				e.setCacheStatus(LineageCacheStatus.SPILLED);  //Set status to spilled
+				e.setSpilled();   //Set null and status to spilled
 			}
 			else
 				removeEntry(cache, e, true);
@@ -163,10 +162,8 @@ public class LineageCacheEviction
 			updateSize(e.getSize(), false);
 			LineageCacheEntry h = cache.get(e._origItem);  //head
 			while (h != null) {
-				// Set values to null for all the entries.
-				h.setNullValues();
-				// Set status to spilled for all the entries.
-				h.setCacheStatus(LineageCacheStatus.SPILLED);
+				// Set values to null and status to spilled for all the entries.
+				h.setSpilled();
 				h = h._nextEntry;
 			}
 			// Keep them in cache.
@@ -36,6 +36,8 @@ public class LineageCacheStatistics {
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numMemDel       = new LongAdder();
 	private static final LongAdder _numRewrites     = new LongAdder();
+	private static final LongAdder _numHitsPersist  = new LongAdder();
+	private static final LongAdder _numWritesPersist = new LongAdder();
 	// All the time measurements are in nanoseconds
 	private static final LongAdder _ctimeFSRead     = new LongAdder();
 	private static final LongAdder _ctimeFSWrite    = new LongAdder();
@@ -69,6 +71,8 @@ public class LineageCacheStatistics {
 		_numWritesFS.reset();
 		_numMemDel.reset();
 		_numRewrites.reset();
+		_numHitsPersist.reset();
+		_numWritesPersist.reset();
 		_ctimeFSRead.reset();
 		_ctimeFSWrite.reset();
 		_ctimeSaved.reset();
@@ -166,6 +170,24 @@ public class LineageCacheStatistics {
 		return _numWritesFS.longValue();
 	}
 
+	public static void incrementPersistentHits() {
+		// Number of hits in the persistent lineage cache.
+		_numHitsPersist.increment();
+	}
+
+	public static long getPersistentHits() {
+		return _numHitsPersist.longValue();
+	}
+
+	public static void incrementPersistentWrites() {
+		// Number of writes to the persistent lineage cache.
+		_numWritesPersist.increment();
+	}
+
+	public static long getPersistentWrites() {
+		return _numWritesPersist.longValue();
+	}
+
 	public static void incrementMemDeletes() {
 		// Number of deletions from cache (including spilling).
 		_numMemDel.increment();
@@ -305,6 +327,14 @@ public class LineageCacheStatistics {
 		return sb.toString();
 	}
 
+	public static String displayPersistent() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsPersist.longValue());
+		sb.append("/");
+		sb.append(_numWritesPersist.longValue());
+		return sb.toString();
+	}
+
 	public static String displayRewrites() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numRewrites.longValue());
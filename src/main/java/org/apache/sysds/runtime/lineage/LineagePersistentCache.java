@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.lineage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Stack;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObjectFactory;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.lineage.LineageItem.LineageItemType;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Persistent, on-disk lineage cache for the reuse of expensive intermediates across script
+ * invocations (e.g., daily retraining, or prepared scripts in fresh processes). Entries are stored
+ * in the configured directory (sysds.lineage.persistentdir) in files named by the SHA-256 digest
+ * of the canonical lineage key (the lineage DAG without runtime item IDs), and contain this key,
+ * the signatures of all input files (path, size, and modification time of their part files), and
+ * the matrix or scalar value. On a miss in the in-memory lineage cache, a persisted entry is only
+ * reused if its key equals the probed key and all input files are unchanged.
+ * 
+ * Only lineage traces whose leaves are literals or file reads are persisted, because other leaves
+ * (e.g., in-memory inputs) do not uniquely identify the data across processes.
+ */
+public class LineagePersistentCache {
+	private static final Log LOG = LogFactory.getLog(LineagePersistentCache.class.getName());
+	private static final int MAGIC = 0x4C494E32; //LIN2
+	private static final String FILE_SUFFIX = ".lin";
+	
+	//minimum compute time (in nanoseconds) of persisted intermediates
+	private static long _minComputeTime = 10_000_000; //10ms
+	
+	//configured cache directory (re-evaluated on config changes)
+	private static volatile String _dir = null;
+	private static volatile DMLConfig _conf = null;
+	
+	public static boolean isEnabled() {
+		return getCacheDir() != null;
+	}
+	
+	public static void setMinComputeTime(long computetime) {
+		_minComputeTime = computetime;
+	}
+	
+	public static long getMinComputeTime() {
+		return _minComputeTime;
+	}
+	
+	/**
+	 * Probes the persistent cache for the given lineage trace.
+	 * 
+	 * @param key lineage trace of the probed intermediate
+	 * @return cache entry with matrix or scalar value, or null if not available
+	 */
+	public static LineageCacheEntry read(LineageItem key) {
+		String dir = getCacheDir();
+		if( dir == null )
+			return null;
+		List<String> files = getInputFiles(key);
+		if( files == null )
+			return null; //not persistable
+		String ckey = getCanonicalKey(key);
+		File file = new File(dir, getFileName(ckey));
+		if( !file.exists() )
+			return null;
+		
+		long t0 = System.nanoTime();
+		try( DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(file))) )
+		{
+			if( in.readInt() != MAGIC )
+				return null;
+			//check full lineage key and input files
+			if( !ckey.equals(readString(in)) )
+				return null;
+			String signature = readString(in);
+			if( !signature.equals(getSignature(files)) )
+				return null;
+			
+			//read the cached value
+			long computetime = in.readLong();
+			LineageCacheEntry ret = null;
+			if( in.readBoolean() ) {
+				MatrixBlock mb = new MatrixBlock();
+				mb.readFields(in);
+				ret = new LineageCacheEntry(key, DataType.MATRIX, mb, null, computetime);
+			}
+			else {
+				ValueType vt = ValueType.valueOf(in.readUTF());
+				ScalarObject so = ScalarObjectFactory.createScalarObject(vt, readString(in));
+				ret = new LineageCacheEntry(key, DataType.SCALAR, null, so, computetime);
+			}
+			if( DMLScript.STATISTICS ) {
+				LineageCacheStatistics.incrementPersistentHits();
+				LineageCacheStatistics.incrementFSReadTime(System.nanoTime() - t0);
+			}
+			return ret;
+		}
+		catch(Exception ex) {
+			//robustness for corrupted or concurrently replaced entries
+			LOG.warn("Failed to read persistent lineage cache entry "+file+": "+ex.getMessage());
+			return null;
+		}
+	}
+	
+	/**
+	 * Writes the given intermediate to the persistent cache if it was expensive to compute and its
+	 * lineage trace only depends on literals and input files. Entries are written to a temporary
+	 * file and atomically moved, which allows concurrent processes to share the cache directory.
+	 * 
+	 * @param key         lineage trace of the intermediate
+	 * @param mb          matrix value, or null
+	 * @param so          scalar value, or null
+	 * @param computetime compute time in nanoseconds
+	 */
+	public static void write(LineageItem key, MatrixBlock mb, ScalarObject so, long computetime) {
+		String dir = getCacheDir();
+		if( dir == null || computetime < _minComputeTime || (mb == null && so == null)
+			|| mb instanceof CompressedMatrixBlock )
+			return;
+		List<String> files = getInputFiles(key);
+		if( files == null )
+			return; //not persistable
+		
+		long t0 = System.nanoTime();
+		String ckey = getCanonicalKey(key);
+		File file = new File(dir, getFileName(ckey));
+		File tmp = new File(dir, file.getName() + "." + UUID.randomUUID() + ".tmp");
+		try {
+			String signature = getSignature(files);
+			if( signature == null )
+				return; //missing input file
+			new File(dir).mkdirs();
+			try( DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tmp))) )
+			{
+				out.writeInt(MAGIC);
+				writeString(out, ckey);
+				writeString(out, signature);
+				out.writeLong(computetime);
+				out.writeBoolean(mb != null);
+				if( mb != null )
+					mb.write(out);
+				else {
+					out.writeUTF(so.getValueType().name());
+					writeString(out, so.getStringValue());
+				}
+			}
+			Files.move(tmp.toPath(), file.toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			if( DMLScript.STATISTICS ) {
+				LineageCacheStatistics.incrementPersistentWrites();
+				LineageCacheStatistics.incrementFSWriteTime(System.nanoTime() - t0);
+			}
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to write persistent lineage cache entry "+file+": "+ex.getMessage());
+			tmp.delete();
+		}
+	}
+	
+	/**
+	 * Obtains the sorted file names of all reads in the given lineage trace.
+	 * 
+	 * @param key lineage trace
+	 * @return list of input files, or null if the trace depends on other non-literal leaves
+	 */
+	protected static List<String> getInputFiles(LineageItem key) {
+		TreeSet<String> files = new TreeSet<>();
+		Map<LineageItem, Boolean> visited = new IdentityHashMap<>();
+		Stack<LineageItem> stack = new Stack<>();
+		stack.push(key);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.pop();
+			if( visited.put(li, Boolean.TRUE) != null )
+				continue;
+			if( li.isPlaceholder() || li.getType() == LineageItemType.Dedup )
+				return null;
+			if( li.isLeaf() ) {
+				String[] parts = li.getData().split(Lop.OPERAND_DELIMITOR);
+				if( li.getType() == LineageItemType.Literal ) {
+					//only literal values, but not unknown variables
+					if( !parts[parts.length-1].equals("true") )
+						return null;
+				}
+				else if( (li.getOpcode().equals("createvar") || li.getOpcode().equals("read"))
+					&& parts.length > 3 )
+					files.add(parts[3]);
+				else
+					return null;
+			}
+			else
+				for( LineageItem in : li.getInputs() )
+					stack.push(in);
+		}
+		return new ArrayList<>(files);
+	}
+	
+	/**
+	 * Obtains a canonical serialization of the given lineage trace, which numbers the distinct
+	 * items in post-order instead of using their runtime IDs, and thus is stable across processes.
+	 * 
+	 * @param key lineage trace
+	 * @return canonical lineage key
+	 */
+	protected static String getCanonicalKey(LineageItem key) {
+		StringBuilder sb = new StringBuilder();
+		Map<LineageItem, Integer> ids = new IdentityHashMap<>();
+		Stack<LineageItem> stack = new Stack<>();
+		stack.push(key);
+		while( !stack.isEmpty() ) {
+			LineageItem li = stack.peek();
+			if( ids.containsKey(li) ) {
+				stack.pop();
+				continue;
+			}
+			//serialize all inputs first
+			boolean ready = true;
+			if( !li.isLeaf() )
+				for( int i=li.getInputs().length-1; i>=0; i-- )
+					if( !ids.containsKey(li.getInputs()[i]) ) {
+						stack.push(li.getInputs()[i]);
+						ready = false;
+					}
+			if( !ready )
+				continue;
+			stack.pop();
+			String data = String.valueOf(li.getData());
+			sb.append(li.getType().name());
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(li.getOpcode());
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(data.length()).append(':').append(data); //length-prefixed
+			if( !li.isLeaf() )
+				for( LineageItem in : li.getInputs() )
+					sb.append(Lop.OPERAND_DELIMITOR).append(ids.get(in));
+			sb.append("\n");
+			ids.put(li, ids.size());
+		}
+		return sb.toString();
+	}
+	
+	private static String getSignature(List<String> files) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for( String fname : files ) {
+			Path path = new Path(fname);
+			FileSystem fs = IOUtilFunctions.getFileSystem(path);
+			if( !fs.exists(path) )
+				return null;
+			//signatures of all part files, because the size and modification
+			//time of a directory do not reflect in-place updates of its files
+			List<FileStatus> stats = new ArrayList<>();
+			RemoteIterator<LocatedFileStatus> iter = fs.listFiles(path, true);
+			while( iter.hasNext() ) {
+				FileStatus stat = iter.next();
+				if( IOUtilFunctions.hiddenFileFilter.accept(stat.getPath()) )
+					stats.add(stat);
+			}
+			stats.sort(Comparator.comparing(stat -> stat.getPath().toString()));
+			for( FileStatus stat : stats ) {
+				sb.append(stat.getPath().toString());
+				sb.append(Lop.OPERAND_DELIMITOR);
+				sb.append(stat.getLen());
+				sb.append(Lop.OPERAND_DELIMITOR);
+				sb.append(stat.getModificationTime());
+				sb.append("\n");
+			}
+		}
+		return sb.toString();
+	}
+	
+	private static String getFileName(String ckey) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+				.digest(ckey.getBytes(StandardCharsets.UTF_8));
+			StringBuilder sb = new StringBuilder();
+			for( byte b : digest )
+				sb.append(String.format("%02x", b));
+			return sb.append(FILE_SUFFIX).toString();
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static String getCacheDir() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf != _conf ) {
+			_dir = LineageCacheConfig.getPersistentCacheDir();
+			_conf = conf;
+		}
+		return _dir;
+	}
+	
+	private static void writeString(DataOutputStream out, String str) throws IOException {
+		byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+	
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -295,26 +295,26 @@ public class LibMatrixAgg {
 		//(currently: always parallelization over number of rows)
 		ExecutorService pool = CommonThreadPool.get(k);
 		try {
-			ArrayList<AggTask> tasks = new ArrayList<>();
-			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k,
-				(uaop.indexFn instanceof ReduceRow)); //use static partitioning for col*()
-			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ ) {
-				tasks.add( (uaop.indexFn instanceof ReduceCol) ? 
-					new RowAggTask(in, out, aggtype, uaop, lb, lb+blklens.get(i)) :
-					new PartialAggTask(in, out, aggtype, uaop, lb, lb+blklens.get(i)) );
-			}
-			List<Future<Object>> rtasks = pool.invokeAll(tasks);
-
-			//aggregate partial results
 			if( uaop.indexFn instanceof ReduceCol ) {
-				//error handling and nnz aggregation
-				out.setNonZeros(rtasks.stream()
-					.mapToLong(t -> (long)UtilFunctions.getSafe(t)).sum());
+				//row aggregates over row ranges (work stealing for skewed sparse rows),
+				//incl error handling and nnz aggregation
+				out.setNonZeros(CommonThreadPool.invokeRanges(pool, "aggregateUnary", m, k,
+					LibMatrixMult.getRowCosts(in), (rl, ru) -> (Long) new RowAggTask(in, out, aggtype, uaop, rl, ru).call()));
 			}
 			else { //colAgg()/agg()
-				out.copy(((PartialAggTask)tasks.get(0)).getResult(), false); //for init
+				//use static partitioning for col*() and partial aggregates per task
+				ArrayList<PartialAggTask> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(m, k,
+					(uaop.indexFn instanceof ReduceRow));
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new PartialAggTask(in, out, aggtype, uaop, lb, lb+blklens.get(i)));
+				for( Future<Object> rtask : pool.invokeAll(tasks) )
+					rtask.get(); //error handling
+				
+				//aggregate partial results
+				out.copy(tasks.get(0).getResult(), false); //for init
 				for( int i=1; i<tasks.size(); i++ )
-					aggregateFinalResult(uaop.aggOp, out, ((PartialAggTask)tasks.get(i)).getResult());
+					aggregateFinalResult(uaop.aggOp, out, tasks.get(i).getResult());
 				out.recomputeNonZeros();
 			}
 		}
@@ -507,19 +507,9 @@ public class LibMatrixBincell {
 	private static void bincellOpMatrixParallel(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int k) throws Exception {
 		final ExecutorService pool = CommonThreadPool.get(k);
 		try {
-			//execute binary cell operations
-			ArrayList<BincellTask> tasks = new ArrayList<>();
-			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(ret.rlen, k, false);
-			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-				tasks.add(new BincellTask(m1, m2, ret, op, atype, lb, lb+blklens.get(i)));
-			List<Future<Long>> taskret = pool.invokeAll(tasks);
-			
-			//aggregate non-zeros
-			long nnz =  0; //reset after execute
-			for( Future<Long> task : taskret )
-				nnz += task.get();
-			
-			ret.nonZeros = nnz;
+			//execute binary cell operations over row ranges and aggregate non-zeros
+			ret.nonZeros = CommonThreadPool.invokeRanges(pool, "bincellOp", ret.rlen, k,
+				LibMatrixMult.getRowCosts(m1), (rl, ru) -> binCellOpExecute(m1, m2, ret, op, atype, rl, ru));
 			//ensure empty results sparse representation
 			//(no additional memory requirements)
 			if( ret.isEmptyBlock(false) )
@@ -3228,31 +3218,6 @@ public class LibMatrixBincell {
 		return new SparsityEstimate(MatrixBlock.evalSparseFormatInMemory(m, n, estnnz), estnnz);
 	}
 	
-	private static class BincellTask implements Callable<Long> {
-		private final MatrixBlock _m1;
-		private final MatrixBlock _m2;
-		private final MatrixBlock _ret;
-		private final BinaryOperator _bop;
-		BinaryAccessType _atype;
-		private final int _rl;
-		private final int _ru;
-
-		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator bop, BinaryAccessType atype, int rl, int ru ) {
-			_m1 = m1;
-			_m2 = m2;
-			_ret = ret;
-			_bop = bop;
-			_atype = atype;
-			_rl = rl;
-			_ru = ru;
-		}
-		
-		@Override
-		public Long call() throws Exception {
-			return binCellOpExecute(_m1,_m2, _ret,_bop, _atype, _rl, _ru);
-		}
-	}
-	
 	private static class BincellScalarTask implements Callable<Long> {
 		private final MatrixBlock _m1;
 		private final MatrixBlock _ret;
@@ -284,10 +284,18 @@ public class LibMatrixMult
 		// (currently: always parallelization over number of rows)
 		final ExecutorService pool = CommonThreadPool.get(k);
 		try {
+			ConcurrentHashMap<double[], double[]> cache = m1.denseBlock instanceof DenseBlockFP64DEDUP ? new ConcurrentHashMap<>(): null;
+			if( !pm2r && !pm2c && cache == null && !(ret.denseBlock instanceof DenseBlockFP64DEDUP) ) {
+				// row ranges with recursive, nnz-aware splitting (work stealing for skewed sparse rows),
+				// or static balanced row ranges for dense inputs (no row costs)
+				ret.nonZeros = CommonThreadPool.invokeRanges(pool, "matrixMult", num, k, getRowCosts(m1),
+					(rl, ru) -> (Long) new MatrixMultTask(m1, m2, ret, tm2, false, false, m1Perm, sparse, rl, ru, null).call());
+				ret.examSparsity(k);
+				return;
+			}
 			ArrayList<MatrixMultTask> tasks = new ArrayList<>();
 			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(num, k,
 				(pm2r || pm2c || ret.denseBlock instanceof DenseBlockFP64DEDUP));
-			ConcurrentHashMap<double[], double[]> cache = m1.denseBlock instanceof DenseBlockFP64DEDUP ? new ConcurrentHashMap<>(): null;
 			for(int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++)
 				tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, m1Perm, sparse, lb, lb + blklens.get(i), cache));
 			// execute tasks
@@ -321,6 +329,23 @@ public class LibMatrixMult
 
 	}
 
+	/**
+	 * Obtains the prefix sums of row costs (1 + nnz per row) of a sparse left-hand-side input,
+	 * which allows nnz-aware range splitting of skewed inputs.
+	 * 
+	 * @param m1 left-hand-side input
+	 * @return prefix sums of row costs of length rlen+1, or null for dense inputs
+	 */
+	protected static long[] getRowCosts(MatrixBlock m1) {
+		if( !m1.sparse || m1.sparseBlock == null )
+			return null;
+		SparseBlock a = m1.sparseBlock;
+		long[] ret = new long[m1.rlen + 1];
+		for( int i=0; i<m1.rlen; i++ )
+			ret[i+1] = ret[i] + 1 + (a.isEmpty(i) ? 0 : a.size(i));
+		return ret;
+	}
+
 	public static MatrixBlock emptyMatrixMult(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret){
 		final int rl = m1.rlen;
 		final int cl = m2.clen;
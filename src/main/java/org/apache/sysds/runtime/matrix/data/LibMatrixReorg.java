@@ -555,6 +555,7 @@ public class LibMatrixReorg {
 		//step 4: create output matrix (guaranteed non-empty, see step 2)
 		if( !ixret ) {
 			out.allocateBlock();
+			out.nonZeros = in.nonZeros; //reset by allocation
 			//copy input data in sorted order into result
 			if(k > 1){
 
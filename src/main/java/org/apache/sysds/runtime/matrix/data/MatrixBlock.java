@@ -62,6 +62,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFP64;
 import org.apache.sysds.runtime.data.DenseBlockFP64DEDUP;
+import org.apache.sysds.runtime.data.DenseBlockFP64Direct;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
@@ -634,6 +635,37 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 	public void setDenseBlock(DenseBlock dblock){
 		denseBlock = dblock;
 	}
+
+	/**
+	 * Moves a non-empty dense FP64 block into direct (off-heap) memory, or
+	 * releases the heap view of an already off-heap dense block. This is
+	 * only safe if no kernel holds a reference to the block's values.
+	 */
+	public void offloadDenseBlock() {
+		offloadDenseBlock(0, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Moves a non-empty dense FP64 block into direct (off-heap) memory if it
+	 * is at least of the given size and the total off-heap size of all blocks
+	 * stays within the given limit, or releases the heap view of an already
+	 * off-heap dense block. This is only safe if no kernel holds a reference
+	 * to the block's values.
+	 * 
+	 * @param minSize minimum size of the dense block in bytes
+	 * @param limit   maximum total size of off-heap dense blocks in bytes
+	 */
+	public void offloadDenseBlock(long minSize, long limit) {
+		if( sparse || denseBlock == null )
+			return;
+		if( denseBlock instanceof DenseBlockFP64Direct )
+			((DenseBlockFP64Direct) denseBlock).offload();
+		else if( denseBlock instanceof DenseBlockFP64 && !isEmptyBlock(false) ) {
+			long size = 8L * rlen * clen;
+			if( size >= minSize && DenseBlockFP64Direct.getTotalOffHeapSize() + size <= limit )
+				denseBlock = DenseBlockFactory.createDirectDenseBlock(denseBlock);
+		}
+	}
 	
 	public double[] getDenseBlockValues() {
 		//this method is used as a short-hand for all operations that
@@ -2402,7 +2434,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock<MatrixBlock>,
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
 		DenseBlock a = getDenseBlock();
-		if( out instanceof MatrixBlockDataOutput ) { //fast serialize
+		if( a instanceof DenseBlockFP64Direct ) //off-heap w/o pinning
+			((DenseBlockFP64Direct) a).write(out, a.size(0));
+		else if( out instanceof MatrixBlockDataOutput ) { //fast serialize
 			MatrixBlockDataOutput mout = (MatrixBlockDataOutput)out;
 			for(int i=0; i<a.numBlocks(); i++)
 				mout.writeDoubleArray(a.size(i), a.valuesAt(i));
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map.Entry;
@@ -29,13 +31,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.ParallelKernelStatistics;
 
 /**
  * This common thread pool provides an abstraction to obtain a shared thread pool.
@@ -47,6 +53,9 @@ import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
  * 
  * Alternatively the class also contain a dynamic threadPool, that is intended for asynchronous long running tasks with
  * low compute overhead, such as broadcast and collect from federated workers.
+ * 
+ * Finally, row-partitioned kernels can use {@link #invokeRanges} to execute a range of rows either via recursive,
+ * cost-aware range splitting with work stealing on ForkJoinPools, or via static partitioning into balanced ranges.
  */
 public class CommonThreadPool implements ExecutorService {
 	/** Log object */
@@ -70,6 +79,11 @@ public class CommonThreadPool implements ExecutorService {
 	/** This common thread pool */
 	private final ExecutorService _pool;
 
+	/** Flag for work-stealing execution of range kernels via recursive range splitting (see invokeRanges) */
+	public static boolean WORK_STEALING = true;
+	/** Number of leaf ranges per thread for recursive range splitting, i.e., over-decomposition for stealing */
+	private static final int LEAF_RANGES_PER_THREAD = 16;
+
 	/**
 	 * Constructor of the threadPool. This is intended not to be used except for tests. Please use the static
 	 * constructors.
@@ -151,6 +165,125 @@ public class CommonThreadPool implements ExecutorService {
 		}
 	}
 
+	/**
+	 * Execute a range kernel over the rows [0, len) and aggregate the returned counts (e.g., the number of non-zeros).
+	 * 
+	 * If work stealing is enabled, row costs are given, and the pool is backed by a ForkJoinPool, the range is
+	 * recursively split at the cost midpoint until leaf ranges of about 1/(16k) of the total cost, which allows idle
+	 * workers to steal sub-ranges of skewed inputs such as power-law sparse matrices. Otherwise (e.g., for dense inputs
+	 * with uniform row costs), the range is statically partitioned into balanced row ranges, which keeps ranges large
+	 * enough for cache-blocked kernels. If statistics are enabled, the utilization and load imbalance of the workers
+	 * are maintained per kernel.
+	 * 
+	 * @param pool   The pool to execute in (not shutdown by this call)
+	 * @param kernel The kernel name for statistics
+	 * @param len    The number of rows
+	 * @param k      The degree of parallelism
+	 * @param cost   The optional prefix sums of row costs of length len+1, or null for uniform costs (static ranges)
+	 * @param task   The range kernel, executed for disjoint ranges [rl, ru)
+	 * @return The sum of all task results
+	 */
+	public static long invokeRanges(ExecutorService pool, String kernel, int len, int k, long[] cost, RangeTask task) {
+		final boolean stats = DMLScript.STATISTICS;
+		final ConcurrentHashMap<Long, LongAdder> busy = stats ? new ConcurrentHashMap<>() : null;
+		final RangeTask ltask = !stats ? task : (rl, ru) -> {
+			long t0 = System.nanoTime();
+			try {
+				return task.execute(rl, ru);
+			}
+			finally {
+				busy.computeIfAbsent(Thread.currentThread().getId(), id -> new LongAdder())
+					.add(System.nanoTime() - t0);
+			}
+		};
+		final long t0 = stats ? System.nanoTime() : 0;
+
+		long ret = 0;
+		final ForkJoinPool fjp = getForkJoinPool(pool);
+		if(WORK_STEALING && fjp != null && cost != null) {
+			long total = cost[len] - cost[0];
+			long grain = Math.max(total / ((long) k * LEAF_RANGES_PER_THREAD), 1);
+			ret = fjp.invoke(new RangeSplitTask(ltask, cost, 0, len, grain));
+		}
+		else {
+			try {
+				ArrayList<Callable<Long>> tasks = new ArrayList<>();
+				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(len, k, false);
+				for(int i = 0, lb = 0; i < blklens.size(); lb += blklens.get(i), i++) {
+					final int rl = lb, ru = lb + blklens.get(i);
+					tasks.add(() -> ltask.execute(rl, ru));
+				}
+				for(Future<Long> f : pool.invokeAll(tasks))
+					ret += f.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+
+		if(stats) {
+			long wall = System.nanoTime() - t0;
+			long sum = 0, max = 0;
+			for(LongAdder t : busy.values()) {
+				sum += t.longValue();
+				max = Math.max(max, t.longValue());
+			}
+			ParallelKernelStatistics.maintainStats(kernel, k, wall, sum, max);
+		}
+		return ret;
+	}
+
+	private static ForkJoinPool getForkJoinPool(ExecutorService pool) {
+		if(pool instanceof CommonThreadPool)
+			pool = ((CommonThreadPool) pool)._pool;
+		return (pool instanceof ForkJoinPool) ? (ForkJoinPool) pool : null;
+	}
+
+	/**
+	 * Range kernel over the rows [rl, ru), which returns a count that is summed up over all ranges.
+	 */
+	@FunctionalInterface
+	public interface RangeTask {
+		long execute(int rl, int ru) throws Exception;
+	}
+
+	private static class RangeSplitTask extends RecursiveTask<Long> {
+		private static final long serialVersionUID = -4170283715389137491L;
+		private final RangeTask _task;
+		private final long[] _cost;
+		private final int _rl;
+		private final int _ru;
+		private final long _grain;
+
+		protected RangeSplitTask(RangeTask task, long[] cost, int rl, int ru, long grain) {
+			_task = task;
+			_cost = cost;
+			_rl = rl;
+			_ru = ru;
+			_grain = grain;
+		}
+
+		@Override
+		protected Long compute() {
+			long lcost = _cost[_ru] - _cost[_rl];
+			if(_ru - _rl <= 1 || lcost <= _grain) {
+				try {
+					return _task.execute(_rl, _ru);
+				}
+				catch(Exception ex) {
+					throw (ex instanceof RuntimeException) ? (RuntimeException) ex : new DMLRuntimeException(ex);
+				}
+			}
+			// split at the cost midpoint and fork the left half for stealing
+			int pos = Arrays.binarySearch(_cost, _rl + 1, _ru, _cost[_rl] + lcost / 2);
+			int mid = Math.min(Math.max((pos >= 0) ? pos : -pos - 1, _rl + 1), _ru - 1);
+			RangeSplitTask left = new RangeSplitTask(_task, _cost, _rl, mid, _grain);
+			left.fork();
+			long ret = new RangeSplitTask(_task, _cost, mid, _ru, _grain).compute();
+			return ret + left.join();
+		}
+	}
+
 	/**
 	 * Get a dynamic thread pool that allocate threads as the requests are made. This pool is intended for async remote
 	 * calls that does not depend on local compute.
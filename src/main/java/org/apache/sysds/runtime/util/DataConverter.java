@@ -158,6 +158,44 @@ public class DataConverter {
 		return readMatrixFromHDFS(prop);
 	}
 
+	/**
+	 * Reads a matrix and compresses it, where CSV and binary block readers compress the input in row chunks
+	 * without materializing the uncompressed matrix.
+	 *
+	 * @param dir file name
+	 * @param fmt file format
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen block size
+	 * @param expectedNnz expected number of non-zeros
+	 * @param formatProperties format properties or null
+	 * @param k parallelization degree of the compression
+	 * @return matrix block, compressed if beneficial
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixFromHDFSCompressed(String dir, FileFormat fmt, long rlen, long clen,
+		int blen, long expectedNnz, FileFormatProperties formatProperties, int k)
+		throws IOException
+	{
+		ReadProperties prop = new ReadProperties();
+
+		prop.path = dir;
+		prop.fmt = fmt;
+		prop.rlen = rlen;
+		prop.clen = clen;
+		prop.blen = blen;
+		prop.expectedNnz = expectedNnz;
+		prop.formatProperties = formatProperties;
+
+		try {
+			MatrixReader reader = MatrixReaderFactory.createMatrixReader(prop);
+			return reader.readMatrixFromHDFSCompressed(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz, k);
+		}
+		catch(DMLRuntimeException rex) {
+			throw new IOException(rex);
+		}
+	}
+
 	public static TensorBlock readTensorFromHDFS(String dir, FileFormat fmt, long[] dims, int blen,
 		ValueType[] schema) throws IOException {
 		TensorBlock ret;
@@ -30,8 +30,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
@@ -43,8 +52,14 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP64;
+import org.apache.sysds.runtime.data.DenseBlockFP64Direct;
+import org.apache.sysds.runtime.data.DenseBlockLFP64;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -57,6 +72,16 @@ public class LocalFileUtils
 	public static final int BUFFER_SIZE = 8192;
 	public static final int DOUBLE_BUFFERING_MIN = 100*1024;
 	
+	//header of memory-mapped dense cache files (magic, rlen, clen, nnz, padding),
+	//where the negative magic distinguishes them from serialized matrix blocks
+	public static final int MAPPED_MAGIC = 0xDB64DB64;
+	public static final int MAPPED_HEADER_SIZE = 24;
+	//max number of doubles per mapped region (1GB, below the 2GB mapping limit),
+	//aligned with the chunks of off-heap dense blocks
+	private static final int MAPPED_CHUNK_SIZE = DenseBlockFP64Direct.CHUNK_SIZE;
+	//Unsafe.invokeCleaner for explicit unmapping, or null if not available (unmap on GC)
+	private static final MethodHandle UNMAP = createUnmapHandle();
+	
 	//unique IDs per JVM for tmp files
 	private static IDSequence _seq = null;
 	private static String _workingDir = null;
@@ -112,9 +137,67 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock<?> readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
+		if( matrix && CacheableData.CACHING_EVICTION_MMAP ) {
+			MatrixBlock ret = readMatrixBlockFromMappedLocal(fname);
+			if( ret != null )
+				return ret;
+		}
 		return (CacheBlock<?>) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	/**
+	 * Reads a dense matrix block from a raw local cache file, written via
+	 * {@link #writeDenseBlockToMappedLocal(String, MatrixBlock)}. The values are
+	 * not copied but the file is mapped in copy-on-write mode, where the mapped
+	 * regions directly back an off-heap dense block. Values are read lazily
+	 * from the OS page cache on access, and updates never reach the file. The
+	 * regions are unmapped once the block is pinned to heap or garbage collected.
+	 * 
+	 * @param fname file name to read
+	 * @return matrix block, or null if the file is not a memory-mapped cache file
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixBlock readMatrixBlockFromMappedLocal(String fname) throws IOException {
+		if(fname == null)
+			throw new IOException("Cannot read from null fname");
+		FileChannel channel = null;
+		try {
+			//copy-on-write mappings require a channel opened for read and write
+			channel = FileChannel.open(Paths.get(fname),
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			if( channel.size() < MAPPED_HEADER_SIZE )
+				return null;
+			ByteBuffer header = ByteBuffer.allocate(MAPPED_HEADER_SIZE);
+			while( header.hasRemaining() && channel.read(header) >= 0 );
+			header.flip();
+			if( header.getInt() != MAPPED_MAGIC )
+				return null;
+			int rlen = header.getInt();
+			int clen = header.getInt();
+			long nnz = header.getLong();
+			
+			//map regions aligned with the chunks of the off-heap dense block
+			//(mappings stay valid after closing the channel or deleting the file)
+			long len = (long) rlen * clen;
+			int nchunks = (int) Math.max((len + MAPPED_CHUNK_SIZE - 1) / MAPPED_CHUNK_SIZE, 1);
+			DoubleBuffer[] chunks = new DoubleBuffer[nchunks];
+			long off = MAPPED_HEADER_SIZE;
+			for( int i=0; i<nchunks; i++ ) {
+				int blen = (int)Math.min(len - (long)i*MAPPED_CHUNK_SIZE, MAPPED_CHUNK_SIZE);
+				chunks[i] = channel.map(MapMode.PRIVATE, off, 8L*blen)
+					.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+				off += 8L*blen;
+			}
+			MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+			ret.setDenseBlock(new DenseBlockFP64Direct(new int[] {rlen, clen}, chunks));
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
@@ -221,7 +304,122 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeCacheBlockToLocal(String fname, CacheBlock<?> cb) throws IOException {
-		writeWritableToLocal(fname, cb, cb.getInMemorySize()>=DOUBLE_BUFFERING_MIN);
+		if( CacheableData.CACHING_EVICTION_MMAP && isMappableCacheBlock(cb) )
+			writeDenseBlockToMappedLocal(fname, (MatrixBlock) cb);
+		else
+			writeWritableToLocal(fname, cb, cb.getInMemorySize()>=DOUBLE_BUFFERING_MIN);
+	}
+	
+	/**
+	 * Indicates if the given cache block can be written to a memory-mapped
+	 * file, which applies to uncompressed, dense FP64 matrix blocks (incl. off-heap).
+	 * 
+	 * @param cb cache block
+	 * @return true if the cache block can be written via memory-mapping
+	 */
+	public static boolean isMappableCacheBlock(CacheBlock<?> cb) {
+		if( !(cb instanceof MatrixBlock) || cb instanceof CompressedMatrixBlock )
+			return false;
+		MatrixBlock mb = (MatrixBlock) cb;
+		DenseBlock db = mb.getDenseBlock();
+		return !mb.isInSparseFormat() && db != null && !mb.isEmptyBlock(false)
+			&& (db.getClass() == DenseBlockFP64.class || db.getClass() == DenseBlockLFP64.class
+			|| db instanceof DenseBlockFP64Direct);
+	}
+	
+	/**
+	 * Writes a dense matrix block to a memory-mapped local file. The raw
+	 * values are copied once into the mapped regions, and written back by
+	 * the OS, which avoids the per-value serialization through streams.
+	 * All regions are explicitly unmapped after copying.
+	 * 
+	 * @param fname file name to write
+	 * @param mb dense matrix block (FP64)
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeDenseBlockToMappedLocal(String fname, MatrixBlock mb) throws IOException {
+		DenseBlock db = mb.getDenseBlock();
+		long size = MAPPED_HEADER_SIZE + 8L * mb.getNumRows() * mb.getNumColumns();
+		FileChannel channel = null;
+		try {
+			//create a new file instead of truncating an existing one, which might
+			//still be mapped by a block restored from it (see readMatrixBlockFromMappedLocal)
+			Files.deleteIfExists(Paths.get(fname));
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE_NEW,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+			MappedByteBuffer header = channel.map(MapMode.READ_WRITE, 0, MAPPED_HEADER_SIZE);
+			header.putInt(MAPPED_MAGIC).putInt(mb.getNumRows())
+				.putInt(mb.getNumColumns()).putLong(mb.getNonZeros());
+			unmap(header);
+			long off = MAPPED_HEADER_SIZE;
+			if( db instanceof DenseBlockFP64Direct ) {
+				//copy off-heap data directly, w/o pinning a heap view
+				DenseBlockFP64Direct ddb = (DenseBlockFP64Direct) db;
+				long len = (long) mb.getNumRows() * mb.getNumColumns();
+				for( long pos=0; pos<len; pos+=MAPPED_CHUNK_SIZE ) {
+					int blen = (int)Math.min(len-pos, MAPPED_CHUNK_SIZE);
+					MappedByteBuffer mbuff = channel.map(MapMode.READ_WRITE, off, 8L*blen);
+					try {
+						ddb.copyOut(pos, mbuff.order(ByteOrder.nativeOrder()).asDoubleBuffer(), blen);
+					}
+					finally {
+						unmap(mbuff);
+					}
+					off += 8L*blen;
+				}
+			}
+			else for( int bix=0; bix<db.numBlocks(); bix++ ) {
+				double[] vals = db.valuesAt(bix);
+				int len = db.size(bix);
+				for( int pos=0; pos<len; pos+=MAPPED_CHUNK_SIZE ) {
+					int blen = Math.min(len-pos, MAPPED_CHUNK_SIZE);
+					MappedByteBuffer mbuff = channel.map(MapMode.READ_WRITE, off, 8L*blen);
+					try {
+						mbuff.order(ByteOrder.nativeOrder()).asDoubleBuffer().put(vals, pos, blen);
+					}
+					finally {
+						unmap(mbuff);
+					}
+					off += 8L*blen;
+				}
+			}
+			if( off != size )
+				throw new IOException("Invalid size of mapped file "+fname+": "+off+" vs "+size);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+	
+	/**
+	 * Explicitly unmaps the given mapped region instead of waiting for GC,
+	 * which would otherwise keep the file mapped (and its pages resident).
+	 * 
+	 * @param buff mapped byte buffer, not to be accessed afterwards
+	 * @throws IOException if IOException occurs
+	 */
+	private static void unmap(MappedByteBuffer buff) throws IOException {
+		if( UNMAP == null )
+			return;
+		try {
+			UNMAP.invokeExact((ByteBuffer) buff);
+		}
+		catch(Throwable t) {
+			throw new IOException("Failed to unmap buffer.", t);
+		}
+	}
+	
+	private static MethodHandle createUnmapHandle() {
+		try {
+			Class<?> clazz = Class.forName("sun.misc.Unsafe");
+			Field f = clazz.getDeclaredField("theUnsafe");
+			f.setAccessible(true);
+			return MethodHandles.lookup().findVirtual(clazz, "invokeCleaner",
+				MethodType.methodType(void.class, ByteBuffer.class)).bindTo(f.get(null));
+		}
+		catch(Exception ex) {
+			return null;
+		}
 	}
 	
 	/**
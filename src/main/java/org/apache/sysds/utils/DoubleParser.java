@@ -19,6 +19,8 @@
 
 package org.apache.sysds.utils;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * A fast double parser inspired from https://github.com/wrandelshofer/FastDoubleParser
  */
@@ -208,6 +210,72 @@ public interface DoubleParser {
 		return isNegative ? -val : val;
 	}
 
+	/**
+	 * Parses a double from a range of (UTF-8 or ASCII) bytes without intermediate string allocation.
+	 * Plain decimal numbers [+-]digits[.digits][(e|E)[+-]digits] with up to 19 significant digits
+	 * are parsed directly, while all other formats (e.g., NaN, Infinity, hex, type suffixes,
+	 * surrounding whitespace) and rare cases of ambiguous rounding fall back to Double.parseDouble.
+	 *
+	 * @param b        byte array
+	 * @param offset   start position (inclusive)
+	 * @param endIndex end position (exclusive)
+	 * @return parsed double value
+	 * @throws NumberFormatException if the bytes do not represent a valid double
+	 */
+	public static double parseFloatingPointLiteral(byte[] b, int offset, int endIndex) {
+		final double val = parseDecFloatLiteral(b, offset, endIndex);
+		if(Double.isNaN(val))
+			return Double.parseDouble(new String(b, offset, endIndex - offset, StandardCharsets.UTF_8));
+		return val;
+	}
+
+	private static double parseDecFloatLiteral(byte[] b, int index, int endIndex) {
+		final boolean isNegative = index < endIndex && b[index] == '-';
+		if(isNegative || (index < endIndex && b[index] == '+'))
+			index++;
+
+		// parse significand, ignoring leading zeros
+		long significand = 0;
+		int digitCount = 0, sigDigitCount = 0, exponent = 0;
+		for(; index < endIndex && isDigit(b[index]); index++, digitCount++)
+			if(sigDigitCount > 0 || b[index] != '0') {
+				significand = 10 * significand + b[index] - '0';
+				sigDigitCount++;
+			}
+		if(index < endIndex && b[index] == '.')
+			for(index++; index < endIndex && isDigit(b[index]); index++, digitCount++, exponent--)
+				if(sigDigitCount > 0 || b[index] != '0') {
+					significand = 10 * significand + b[index] - '0';
+					sigDigitCount++;
+				}
+		if(digitCount == 0 || sigDigitCount > 19)
+			return Double.NaN;
+
+		// parse optional exponent
+		if(index < endIndex && (b[index] | 0x20) == 'e') {
+			index++;
+			final boolean isExponentNegative = index < endIndex && b[index] == '-';
+			if(isExponentNegative || (index < endIndex && b[index] == '+'))
+				index++;
+			if(index >= endIndex || !isDigit(b[index]))
+				return Double.NaN;
+			int expNumber = 0;
+			for(; index < endIndex && isDigit(b[index]); index++)
+				if(expNumber < MAX_EXPONENT_NUMBER)
+					expNumber = 10 * expNumber + b[index] - '0';
+			exponent += isExponentNegative ? -expNumber : expNumber;
+		}
+		if(index != endIndex)
+			return Double.NaN;
+
+		final double val = (significand == 0) ? 0 : tryDecFloatToDoubleTruncated(significand, exponent, false, 0);
+		return isNegative ? -val : val;
+	}
+
+	private static boolean isDigit(byte c) {
+		return c >= '0' && c <= '9';
+	}
+
 	private static void illegal() {
 		throw new NumberFormatException("illegal syntax");
 	}
@@ -27,6 +27,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FederatedCompilationTimer;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
 import org.apache.sysds.runtime.instructions.Instruction;
@@ -37,12 +38,14 @@ import org.apache.sysds.runtime.instructions.spark.SPInstruction;
 import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.lineage.LineagePersistentCache;
 import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.utils.stats.CodegenStatistics;
 import org.apache.sysds.utils.stats.NGramBuilder;
 import org.apache.sysds.utils.stats.NativeStatistics;
 import org.apache.sysds.utils.stats.ParForStatistics;
+import org.apache.sysds.utils.stats.ParallelKernelStatistics;
 import org.apache.sysds.utils.stats.ParamServStatistics;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 import org.apache.sysds.utils.stats.SparkStatistics;
@@ -348,6 +351,7 @@ public class Statistics
 
 		CodegenStatistics.reset();
 		ParForStatistics.reset();
+		ParallelKernelStatistics.reset();
 		ParamServStatistics.reset();
 		SparkStatistics.reset();
 		TransformStatistics.reset();
@@ -1057,6 +1061,12 @@ public class Statistics
 
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
+			if( LazyWriteBuffer.getCompressedWriteBuffer() != null )
+				sb.append("Cache compressed (Wr/Hit/Ratio):\t" + CacheStatistics.displayCTier() + ".\n");
+			if( OptimizerUtils.isUMMEnabled() )
+				sb.append("UMM reclaims (Reserve/Evict):\t" + CacheStatistics.displayUMMReclaims() + ".\n");
+			if( CacheableData.CACHING_PREFETCH_DEPTH > 0 )
+				sb.append("Cache prefetch (Req/Hit/Miss):\t" + CacheStatistics.displayPrefetches() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
@@ -1083,6 +1093,8 @@ public class Statistics
 				sb.append("LinCache FStimes (Rd/Wr): \t" + LineageCacheStatistics.displayFSTime() + " sec.\n");
 				sb.append("LinCache Computetime (S/M/P): \t" + LineageCacheStatistics.displayComputeTime() + " sec.\n");
 				sb.append("LinCache Rewrites:    \t\t" + LineageCacheStatistics.displayRewrites() + ".\n");
+				if (LineagePersistentCache.isEnabled())
+					sb.append("LinCache persistent (Hit/Wr):\t" + LineageCacheStatistics.displayPersistent() + ".\n");
 			}
 
 			if( ConfigurationManager.isCodegenEnabled() )
@@ -1096,6 +1108,7 @@ public class Statistics
 			sb.append(ParamServStatistics.displayStatistics());
 
 			sb.append(ParForStatistics.displayStatistics());
+			sb.append(ParallelKernelStatistics.displayStatistics());
 
 			sb.append(FederatedStatistics.displayFedIOExecStatistics());
 			sb.append(FederatedStatistics.displayFedWorkerStats());
@@ -29,6 +29,8 @@ public class ParForStatistics {
 	private static final LongAdder optCount = new LongAdder(); //count
 	private static final LongAdder initTime = new LongAdder(); //in milli sec
 	private static final LongAdder mergeTime = new LongAdder(); //in milli sec
+	private static final LongAdder numTasks = new LongAdder(); //count
+	private static final LongAdder numQueueWaits = new LongAdder(); //count
 
 	public static synchronized void incrementOptimCount(){
 		optCount.increment();
@@ -46,6 +48,11 @@ public class ParForStatistics {
 		mergeTime.add(time);
 	}
 
+	public static void incrementTaskQueueStats( long tasks, long waits ) {
+		numTasks.add(tasks);
+		numQueueWaits.add(waits);
+	}
+
 	public static long getOptCount(){
 		return optCount.longValue();
 	}
@@ -62,11 +69,21 @@ public class ParForStatistics {
 		return mergeTime.longValue();
 	}
 
+	public static long getNumTasks(){
+		return numTasks.longValue();
+	}
+
+	public static long getNumQueueWaits(){
+		return numQueueWaits.longValue();
+	}
+
 	public static void reset() {
 		optCount.reset();
 		optTime.reset();
 		initTime.reset();
 		mergeTime.reset();
+		numTasks.reset();
+		numQueueWaits.reset();
 	}
 
 	public static String displayStatistics() {
@@ -76,6 +93,8 @@ public class ParForStatistics {
 			sb.append("ParFor optimize time:\t\t" + String.format("%.3f", ((double)getOptTime())/1000) + " sec.\n");
 			sb.append("ParFor initialize time:\t\t" + String.format("%.3f", ((double)getInitTime())/1000) + " sec.\n");
 			sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getMergeTime())/1000) + " sec.\n");
+			if( getNumTasks() > 0 )
+				sb.append("ParFor local tasks/waits:\t" + getNumTasks() + "/" + getNumQueueWaits() + ".\n");
 			sb.append("ParFor total update in-place:\t" + Statistics.getTotalUIPVar() + "/"
 				+ Statistics.getTotalLixUIP() + "/" + Statistics.getTotalLix() + "\n");
 			return sb.toString();
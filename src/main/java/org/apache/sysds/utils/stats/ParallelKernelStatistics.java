@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-imbalance statistics of multi-threaded range kernels (see
+ * {@link org.apache.sysds.runtime.util.CommonThreadPool#invokeRanges}). Per kernel, we
+ * maintain the wall time, the aggregated busy time of all workers, the available capacity
+ * (number of threads times wall time), and the busy time of the slowest worker, which gives
+ * the core utilization (busy/capacity) and imbalance (max/avg busy time per worker).
+ */
+public class ParallelKernelStatistics {
+	private static final ConcurrentHashMap<String, KernelStats> stats = new ConcurrentHashMap<>();
+
+	public static void maintainStats(String kernel, int k, long wallTime, long busyTime, long maxWorkerTime) {
+		KernelStats s = stats.computeIfAbsent(kernel, n -> new KernelStats());
+		s.calls.increment();
+		s.wallTime.add(wallTime);
+		s.busyTime.add(busyTime);
+		s.capacity.add(k * wallTime);
+		s.maxWorkerTime.add(maxWorkerTime);
+		s.avgWorkerTime.add(busyTime / k);
+	}
+
+	public static long getNumCalls(String kernel) {
+		KernelStats s = stats.get(kernel);
+		return (s != null) ? s.calls.longValue() : 0;
+	}
+
+	public static double getUtilization(String kernel) {
+		KernelStats s = stats.get(kernel);
+		return (s != null) ? s.getUtilization() : 0;
+	}
+
+	public static double getImbalance(String kernel) {
+		KernelStats s = stats.get(kernel);
+		return (s != null) ? s.getImbalance() : 0;
+	}
+
+	public static void reset() {
+		stats.clear();
+	}
+
+	public static String displayStatistics() {
+		if(stats.isEmpty())
+			return "";
+		StringBuilder sb = new StringBuilder();
+		sb.append("Parallel kernels (Calls/Time/Util/Imbal):\n");
+		for(Entry<String, KernelStats> e : new TreeMap<>(stats).entrySet()) {
+			KernelStats s = e.getValue();
+			sb.append("  " + e.getKey() + ":\t" + s.calls.longValue() + "/"
+				+ String.format("%.3f", s.wallTime.longValue() * 1e-9) + " sec/"
+				+ String.format("%.2f", s.getUtilization()) + "/"
+				+ String.format("%.2f", s.getImbalance()) + ".\n");
+		}
+		return sb.toString();
+	}
+
+	private static class KernelStats {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder wallTime = new LongAdder();
+		private final LongAdder busyTime = new LongAdder();
+		private final LongAdder capacity = new LongAdder();
+		private final LongAdder maxWorkerTime = new LongAdder();
+		private final LongAdder avgWorkerTime = new LongAdder();
+
+		private double getUtilization() {
+			long cap = capacity.longValue();
+			return (cap > 0) ? Math.min((double) busyTime.longValue() / cap, 1) : 0;
+		}
+
+		private double getImbalance() {
+			long avg = avgWorkerTime.longValue();
+			return (avg > 0) ? (double) maxWorkerTime.longValue() / avg : 0;
+		}
+	}
+}
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.utils.stats;
 
+import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
 public class ParamServStatistics {
@@ -34,6 +35,14 @@ public class ParamServStatistics {
 	private static final LongAdder batchIndexTime = new LongAdder();
 	private static final LongAdder rpcRequestTime = new LongAdder();
 	private static final LongAdder validationTime = new LongAdder();
+	// Combined pushes of concurrent workers (ASP) and resulting model updates
+	private static final LongAdder combinedPushes = new LongAdder();
+	private static final LongAdder combinedUpdates = new LongAdder();
+	// Compressed pushes of gradients (bytes before/after compression, relative compression error)
+	private static final LongAdder compressedPushes = new LongAdder();
+	private static final LongAdder gradientBytes = new LongAdder();
+	private static final LongAdder compressedGradientBytes = new LongAdder();
+	private static final DoubleAdder compressionError = new DoubleAdder();
 	// Federated parameter server specifics (time is in milli sec)
 	private static final LongAdder fedDataPartitioningTime = new LongAdder();
 	private static final LongAdder fedWorkerComputingTime = new LongAdder();
@@ -96,6 +105,46 @@ public class ParamServStatistics {
 		rpcRequestTime.add(t);
 	}
 
+	public static void incCombinedPushes() {
+		combinedPushes.increment();
+	}
+
+	public static void incCombinedUpdates() {
+		combinedUpdates.increment();
+	}
+
+	public static long getCombinedPushes() {
+		return combinedPushes.longValue();
+	}
+
+	public static long getCombinedUpdates() {
+		return combinedUpdates.longValue();
+	}
+
+	public static void accGradientCompression(long bytes, long compressedBytes, double relError) {
+		compressedPushes.increment();
+		gradientBytes.add(bytes);
+		compressedGradientBytes.add(compressedBytes);
+		compressionError.add(relError);
+	}
+
+	public static long getCompressedPushes() {
+		return compressedPushes.longValue();
+	}
+
+	public static long getGradientBytes() {
+		return gradientBytes.longValue();
+	}
+
+	public static long getCompressedGradientBytes() {
+		return compressedGradientBytes.longValue();
+	}
+
+	public static double getCompressionError() {
+		long n = compressedPushes.longValue();
+		return (n > 0) ? compressionError.doubleValue() / n : 0;
+	}
+
 	public static double getValidationTime() {
 		return validationTime.doubleValue();
 	}
@@ -159,6 +208,12 @@ public class ParamServStatistics {
 		batchIndexTime.reset();
 		rpcRequestTime.reset();
 		validationTime.reset();
+		combinedPushes.reset();
+		combinedUpdates.reset();
+		compressedPushes.reset();
+		gradientBytes.reset();
+		compressedGradientBytes.reset();
+		compressionError.reset();
 		fedDataPartitioningTime.reset();
 		fedWorkerComputingTime.reset();
 		fedGradientWeightingTime.reset();
@@ -189,6 +244,15 @@ public class ParamServStatistics {
 				sb.append(String.format("Paramserv model broadcast time:\t%.3f secs.\n", modelBroadcastTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", batchIndexTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", rpcRequestTime.doubleValue() / 1000));
+				if(combinedPushes.longValue() > 0)
+					sb.append(String.format("Paramserv combined push/update:\t%d/%d.\n",
+						combinedPushes.longValue(), combinedUpdates.longValue()));
+			}
+			if(compressedPushes.longValue() > 0) {
+				long n = compressedPushes.longValue();
+				sb.append(String.format("Paramserv grad bytes/push:\t%d/%d (%d pushes).\n",
+					gradientBytes.longValue() / n, compressedGradientBytes.longValue() / n, n));
+				sb.append(String.format("Paramserv grad compr. error:\t%.4f.\n", getCompressionError()));
 			}
 			sb.append(String.format("Paramserv valdiation time:\t%.3f secs.\n", validationTime.doubleValue() / 1000));
 			return sb.toString();
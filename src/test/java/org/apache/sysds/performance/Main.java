@@ -34,6 +34,8 @@ import org.apache.sysds.performance.matrix.MatrixBinaryCellPerf;
 import org.apache.sysds.performance.matrix.MatrixMulPerformance;
 import org.apache.sysds.performance.matrix.MatrixReplacePerf;
 import org.apache.sysds.performance.matrix.MatrixStorage;
+import org.apache.sysds.performance.matrix.MemoryManagerPerf;
+import org.apache.sysds.performance.matrix.RangeKernelPerf;
 import org.apache.sysds.performance.matrix.ReshapePerf;
 import org.apache.sysds.performance.matrix.SparseAppend;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -131,6 +133,12 @@ public class Main {
 			case 1006: 
 				MatrixBinaryCellPerf.main(args);
 				break;
+			case 1007:
+				MemoryManagerPerf.main(args);
+				break;
+			case 1008:
+				RangeKernelPerf.main(args);
+				break;
 			default:
 				break;
 		}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.matrix;
+
+import java.util.Random;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+/**
+ * Compares the throughput of the static memory partitioning (LazyWriteBuffer with
+ * 15% of the heap) with the unified memory manager. The workload keeps a working set
+ * of live matrices that exceeds the static buffer pool but fits into the unified
+ * memory, and repeatedly reads two random inputs and overwrites a random output.
+ */
+public class MemoryManagerPerf {
+
+	private final int rows;
+	private final int cols;
+	private final int numObjects;
+	private final int N;
+
+	public MemoryManagerPerf(int rows, int cols, double workingSet, int N) {
+		this.rows = rows;
+		this.cols = cols;
+		this.N = N;
+		double size = MatrixBlock.estimateSizeDenseInMemory(rows, cols);
+		this.numObjects = Math.max((int) (workingSet * InfrastructureAnalyzer.getLocalMaxMemory() / size), 3);
+	}
+
+	public void run() throws Exception {
+		System.out.println(String.format("MemoryManagerPerf %d x %d, %d objects, %d repetitions", //
+			rows, cols, numObjects, N));
+		boolean stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		try {
+			CacheableData.initCaching("perf_umm");
+			OptimizerUtils.disableUMM();
+			execute("static");
+			OptimizerUtils.enableUMM();
+			execute("unified");
+		}
+		finally {
+			OptimizerUtils.disableUMM();
+			CacheableData.cleanupCacheDir();
+			DMLScript.STATISTICS = stats;
+		}
+	}
+
+	private void execute(String name) {
+		CacheStatistics.reset();
+		MatrixObject[] mo = new MatrixObject[numObjects];
+		for(int i = 0; i < numObjects; i++) {
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+			mo[i] = new MatrixObject(ValueType.FP64, "m" + i, new MetaDataFormat(mc, FileFormat.BINARY));
+			mo[i].acquireModify(TestUtils.generateTestMatrixBlock(rows, cols, 0, 1, 1.0, i + 1));
+			mo[i].release();
+		}
+
+		final Random rand = new Random(7);
+		final BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+		double[] times = TimingUtils.time(() -> task(mo, rand, op), N);
+
+		double total = 0;
+		for(double t : times)
+			total += t;
+		System.out.println(String.format("%35s, %s, %10.2f ops/sec, FS writes/hits: %d/%d", name,
+			TimingUtils.stats(times), N / (total / 1000), CacheStatistics.getFSWrites(), CacheStatistics.getFSHits()));
+
+		for(MatrixObject m : mo)
+			m.clearData();
+	}
+
+	private static void task(MatrixObject[] mo, Random rand, BinaryOperator op) {
+		MatrixObject a = mo[rand.nextInt(mo.length)];
+		MatrixObject b = mo[rand.nextInt(mo.length)];
+		MatrixObject c = mo[rand.nextInt(mo.length)];
+		MatrixBlock ret = a.acquireRead().binaryOperations(op, b.acquireRead(), new MatrixBlock());
+		a.release();
+		b.release();
+		c.acquireModify(ret);
+		c.release();
+	}
+
+	public static void main(String[] args) throws Exception {
+		// ... [rows] [cols] [working set fraction of heap] [repetitions]
+		int rows = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+		int cols = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+		double workingSet = args.length > 3 ? Double.parseDouble(args[3]) : 0.4;
+		int N = args.length > 4 ? Integer.parseInt(args[4]) : 200;
+		new MemoryManagerPerf(rows, cols, workingSet, N).run();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.matrix;
+
+import java.util.Random;
+
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * Compares multi-threaded matrix multiplication with and without work-stealing range
+ * execution, for dense inputs (uniform row costs) and power-law sparse inputs (skewed
+ * row costs).
+ */
+public class RangeKernelPerf {
+
+	private final int rows;
+	private final int cols;
+	private final int k;
+	private final int N;
+
+	public RangeKernelPerf(int rows, int cols, int k, int N) {
+		this.rows = rows;
+		this.cols = cols;
+		this.k = k;
+		this.N = N;
+	}
+
+	public void run() throws Exception {
+		System.out.println(String.format("RangeKernelPerf %d x %d, k=%d, %d repetitions", rows, cols, k, N));
+		MatrixBlock dense = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixBlock sparse = createPowerLawMatrix(rows, cols, 7);
+		MatrixBlock rhs = TestUtils.generateTestMatrixBlock(cols, cols, -1, 1, 1.0, 3);
+		boolean flag = CommonThreadPool.WORK_STEALING;
+		try {
+			for(boolean ws : new boolean[] {false, true}) {
+				CommonThreadPool.WORK_STEALING = ws;
+				execute("dense" + (ws ? " (work stealing)" : " (static)"), dense, rhs);
+				execute("power-law sparse" + (ws ? " (work stealing)" : " (static)"), sparse, rhs);
+			}
+		}
+		finally {
+			CommonThreadPool.WORK_STEALING = flag;
+		}
+	}
+
+	private void execute(String name, MatrixBlock m1, MatrixBlock m2) {
+		// warmup
+		TimingUtils.time(() -> LibMatrixMult.matrixMult(m1, m2, k), Math.max(N / 5, 1));
+		double[] times = TimingUtils.time(() -> LibMatrixMult.matrixMult(m1, m2, k), N);
+		System.out.println(String.format("%35s, %s", name, TimingUtils.stats(times)));
+	}
+
+	private static MatrixBlock createPowerLawMatrix(int rows, int cols, long seed) {
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, cols, true);
+		for(int i = 0; i < rows; i++) {
+			int nnz = Math.min(cols, (int) (cols / Math.pow(i + 1, 0.8)) + rand.nextInt(2));
+			for(int j = 0; j < nnz; j++)
+				ret.set(i, rand.nextInt(cols), rand.nextDouble() + 0.1);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	public static void main(String[] args) throws Exception {
+		// ... [rows] [cols] [threads] [repetitions]
+		int rows = args.length > 1 ? Integer.parseInt(args[1]) : 4000;
+		int cols = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+		int k = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		int N = args.length > 4 ? Integer.parseInt(args[4]) : 50;
+		new RangeKernelPerf(rows, cols, k, N).run();
+	}
+}
@@ -0,0 +1,284 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile.Writer;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedStreamBuilder;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderTextCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class StreamCompressTest {
+	private final static String fname = "target/testTemp/StreamCompressTest/X";
+	private final static int blen = 100;
+
+	@Test
+	public void streamDense() {
+		compareStream(createCompressible(1000, 5, 5, 1.0, 1), 200, true);
+	}
+
+	@Test
+	public void streamNewValuesInLaterChunks() {
+		MatrixBlock mb = createCompressible(1000, 5, 3, 1.0, 2);
+		MatrixBlock tail = createCompressible(500, 5, 9, 1.0, 3);
+		mb = mb.slice(0, 499).append(tail, new MatrixBlock(), false);
+		compareStream(mb, 200, true);
+	}
+
+	@Test
+	public void streamSparse() {
+		compareStream(createCompressible(2000, 8, 4, 0.05, 4), 300, true);
+	}
+
+	@Test
+	public void streamEmptyChunks() {
+		MatrixBlock mb = createCompressible(1000, 4, 5, 1.0, 5);
+		MatrixBlock empty = new MatrixBlock(400, 4, true);
+		mb = mb.slice(0, 199).append(empty, new MatrixBlock(), false)
+			.append(mb.slice(600, 999), new MatrixBlock(), false);
+		compareStream(mb, 200, true);
+	}
+
+	@Test
+	public void streamConstantFirstChunk() {
+		MatrixBlock mb = new MatrixBlock(300, 3, 7.0);
+		mb = mb.append(createCompressible(600, 3, 4, 1.0, 6), new MatrixBlock(), false);
+		compareStream(mb, 300, true);
+	}
+
+	@Test
+	public void streamConstantFirstChunkReEncoded() {
+		// the constant chunk is re-encoded with the final scheme instead of decompressing the columns
+		MatrixBlock mb = new MatrixBlock(300, 3, 7.0);
+		mb = mb.append(createCompressible(600, 3, 4, 1.0, 6), new MatrixBlock(), false);
+		CompressedStreamBuilder b = new CompressedStreamBuilder(3, 4);
+		for(int rl = 0; rl < 900; rl += 300)
+			b.append(mb.slice(rl, rl + 299));
+		MatrixBlock ret = b.build();
+		verify(mb, ret, true);
+		for(AColGroup g : ((CompressedMatrixBlock) ret).getColGroups())
+			assertFalse(g instanceof ColGroupUncompressed);
+	}
+
+	@Test
+	public void streamNotCompressible() {
+		compareStream(TestUtils.generateTestMatrixBlock(1000, 5, -1, 1, 1.0, 7), 200, false);
+	}
+
+	@Test
+	public void streamSingleChunk() {
+		compareStream(createCompressible(1000, 5, 5, 1.0, 8), 1000, true);
+	}
+
+	@Test
+	public void streamInvalidChunkSize() {
+		CompressedStreamBuilder b = new CompressedStreamBuilder(3, 1);
+		b.append(createCompressible(100, 3, 3, 1.0, 9));
+		b.append(createCompressible(50, 3, 3, 1.0, 10));
+		try {
+			b.append(createCompressible(50, 3, 3, 1.0, 11));
+			fail("Appending after a partial chunk should fail");
+		}
+		catch(DMLCompressionException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void readCSV() throws Exception {
+		runCSVReadTest(1050, 10, 1.0, false, false);
+	}
+
+	@Test
+	public void readCSVSparse() throws Exception {
+		runCSVReadTest(1050, 10, 0.1, false, false);
+	}
+
+	@Test
+	public void readCSVUnknownDims() throws Exception {
+		runCSVReadTest(1050, 10, 1.0, false, true);
+	}
+
+	@Test
+	public void readCSVParallel() throws Exception {
+		runCSVReadTest(1050, 10, 1.0, true, false);
+	}
+
+	@Test
+	public void readBinary() throws Exception {
+		runBinaryReadTest(1050, 10, 1.0, false);
+	}
+
+	@Test
+	public void readBinaryMultiColBlocks() throws Exception {
+		runBinaryReadTest(1050, 250, 1.0, false);
+	}
+
+	@Test
+	public void readBinarySparseMultiColBlocks() throws Exception {
+		runBinaryReadTest(1050, 250, 0.3, false);
+	}
+
+	@Test
+	public void readBinaryParallelWrite() throws Exception {
+		runBinaryReadTest(1050, 250, 1.0, true);
+	}
+
+	@Test
+	public void readBinaryOmittedEmptyBlocks() throws Exception {
+		runBinaryBlockReadTest(false);
+	}
+
+	@Test
+	public void readBinaryUnorderedBlocks() throws Exception {
+		runBinaryBlockReadTest(true);
+	}
+
+	private static void compareStream(MatrixBlock mb, int chunkRows, boolean compressed) {
+		final int rows = mb.getNumRows();
+		CompressedStreamBuilder b = new CompressedStreamBuilder(mb.getNumColumns(), 4);
+		for(int rl = 0; rl < rows; rl += chunkRows)
+			b.append(mb.slice(rl, Math.min(rl + chunkRows, rows) - 1));
+		assertEquals(rows, b.getNumRows());
+		verify(mb, b.build(), compressed);
+	}
+
+	private static void runCSVReadTest(int rows, int cols, double sparsity, boolean parallel, boolean unknown)
+		throws Exception {
+		long chunkCells = CompressedStreamBuilder.CHUNK_CELLS;
+		try {
+			CompressedStreamBuilder.CHUNK_CELLS = 200 * cols;
+			MatrixBlock mb = createCompressible(rows, cols, 4, sparsity, 12);
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+			new WriterTextCSV(props).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+			MatrixReader reader = parallel ? new ReaderTextCSVParallel(props) : new ReaderTextCSV(props);
+			MatrixBlock ret = unknown ? reader.readMatrixFromHDFSCompressed(fname, -1, -1, blen, -1, 4) : reader
+				.readMatrixFromHDFSCompressed(fname, rows, cols, blen, mb.getNonZeros(), 4);
+			verify(mb, ret, true);
+		}
+		finally {
+			CompressedStreamBuilder.CHUNK_CELLS = chunkCells;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void runBinaryReadTest(int rows, int cols, double sparsity, boolean parallel) throws Exception {
+		long chunkCells = CompressedStreamBuilder.CHUNK_CELLS;
+		try {
+			CompressedStreamBuilder.CHUNK_CELLS = 200 * cols;
+			MatrixBlock mb = createCompressible(rows, cols, 4, sparsity, 13);
+			if(parallel)
+				new WriterBinaryBlockParallel(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+			else
+				new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+			MatrixBlock ret = new ReaderBinaryBlock(false).readMatrixFromHDFSCompressed(fname, rows, cols, blen,
+				mb.getNonZeros(), 4);
+			verify(mb, ret, true);
+		}
+		finally {
+			CompressedStreamBuilder.CHUNK_CELLS = chunkCells;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void runBinaryBlockReadTest(boolean reverse) throws Exception {
+		long chunkCells = CompressedStreamBuilder.CHUNK_CELLS;
+		try {
+			// sparse input with empty row ranges, written w/o empty blocks (e.g., like spark)
+			final int rows = 1050, cols = 250;
+			CompressedStreamBuilder.CHUNK_CELLS = 200 * cols;
+			MatrixBlock mb = createCompressible(rows, cols, 4, 0.1, 14);
+			for(int i = 300; i < 700; i++)
+				for(int j = 0; j < cols; j++)
+					mb.set(i, j, 0);
+			mb.examSparsity();
+			writeBlocks(mb, reverse);
+			MatrixBlock ret = new ReaderBinaryBlock(false).readMatrixFromHDFSCompressed(fname, rows, cols, blen,
+				mb.getNonZeros(), 4);
+			verify(mb, ret, true);
+		}
+		finally {
+			CompressedStreamBuilder.CHUNK_CELLS = chunkCells;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void writeBlocks(MatrixBlock mb, boolean reverse) throws Exception {
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		final int nRowBlocks = (int) Math.ceil((double) mb.getNumRows() / blen);
+		final int nColBlocks = (int) Math.ceil((double) mb.getNumColumns() / blen);
+		final JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		final Writer writer = IOUtilFunctions.getSeqWriter(new Path(fname), job, 1);
+		try {
+			for(int bi = 0; bi < nRowBlocks; bi++) {
+				final int r = reverse ? nRowBlocks - 1 - bi : bi;
+				for(int bj = 0; bj < nColBlocks; bj++) {
+					final int rl = r * blen, cl = bj * blen;
+					MatrixBlock block = mb.slice(rl, Math.min(rl + blen, mb.getNumRows()) - 1, cl,
+						Math.min(cl + blen, mb.getNumColumns()) - 1);
+					if(!block.isEmptyBlock(false))
+						writer.append(new MatrixIndexes(r + 1, bj + 1), block);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+
+	private static void verify(MatrixBlock exp, MatrixBlock ret, boolean compressed) {
+		if(compressed)
+			assertTrue(ret instanceof CompressedMatrixBlock);
+		else
+			assertFalse(ret instanceof CompressedMatrixBlock);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		assertEquals(exp.getNumColumns(), ret.getNumColumns());
+		assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(exp, ret, 0, "stream compress");
+	}
+
+	private static MatrixBlock createCompressible(int rows, int cols, int max, double sparsity, int seed) {
+		return TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols, 1, max, sparsity, seed));
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.KahanPlus;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibGroupedAggTest {
+	private static final int nRows = 10000;
+	private static final Operator sum = new AggregateOperator(0, KahanPlus.getKahanPlusFnObject());
+	private static final Operator count = new CMOperator(CM.getCMFnObject(AggregateOperationTypes.COUNT),
+		AggregateOperationTypes.COUNT);
+	private static final Operator ctable = new SimpleOperator(null);
+
+	@Test
+	public void groupedSumDDCDenseTarget() {
+		CompressedMatrixBlock g = createDDC(nRows, 7, 1, 1);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 2);
+		compareGroupedAgg(g, t, null, 7, sum);
+	}
+
+	@Test
+	public void groupedSumDDCSparseTarget() {
+		CompressedMatrixBlock g = createDDC(nRows, 5, 1, 3);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 0.1, 4);
+		compareGroupedAgg(g, t, null, 5, sum);
+	}
+
+	@Test
+	public void groupedSumDDCCompressedTarget() {
+		CompressedMatrixBlock g = createDDC(nRows, 6, 1, 5);
+		CompressedMatrixBlock t = createDDC(nRows, 9, -4, 6);
+		compareGroupedAgg(g, t, null, 6, sum);
+	}
+
+	@Test
+	public void groupedSumSDCCompressedTarget() {
+		CompressedMatrixBlock g = createSDC(nRows, 4, 3, 7);
+		CompressedMatrixBlock t = createSDC(nRows, 3, 0, 8);
+		compareGroupedAgg(g, t, null, 4, sum);
+	}
+
+	@Test
+	public void groupedSumSDCWeights() {
+		CompressedMatrixBlock g = createSDC(nRows, 4, 2, 9);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 10);
+		MatrixBlock w = TestUtils.generateTestMatrixBlock(nRows, 1, 0, 1, 1.0, 11);
+		compareGroupedAgg(g, t, w, 4, sum);
+	}
+
+	@Test
+	public void groupedSumUnknownNumGroups() {
+		CompressedMatrixBlock g = createDDC(nRows, 8, 1, 12);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 13);
+		compareGroupedAgg(g, t, null, -1, sum);
+	}
+
+	@Test
+	public void groupedSumFewerGroups() {
+		CompressedMatrixBlock g = createDDC(nRows, 8, 1, 14);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 15);
+		compareGroupedAgg(g, t, null, 3, sum);
+	}
+
+	@Test
+	public void groupedCountDDC() {
+		CompressedMatrixBlock g = createDDC(nRows, 10, 1, 16);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 17);
+		compareGroupedAgg(g, t, null, 10, count);
+	}
+
+	@Test
+	public void groupedCountSDC() {
+		CompressedMatrixBlock g = createSDC(nRows, 5, 6, 18);
+		MatrixBlock t = TestUtils.generateTestMatrixBlock(nRows, 1, -1, 1, 1.0, 19);
+		compareGroupedAgg(g, t, null, 6, count);
+	}
+
+	@Test
+	public void ctableDDCCompressed() {
+		CompressedMatrixBlock a = createDDC(nRows, 6, 1, 20);
+		CompressedMatrixBlock b = createDDC(nRows, 4, 1, 21);
+		compareCTable(a, b, null, 6, 4);
+	}
+
+	@Test
+	public void ctableSDCCompressed() {
+		CompressedMatrixBlock a = createSDC(nRows, 6, 7, 22);
+		CompressedMatrixBlock b = createDDC(nRows, 3, 1, 23);
+		compareCTable(a, b, null, 7, 3);
+	}
+
+	@Test
+	public void ctableDDCDense() {
+		CompressedMatrixBlock a = createDDC(nRows, 6, 1, 24);
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(nRows, 1, 1, 5, 1.0, 25));
+		compareCTable(a, b, null, 6, 5);
+	}
+
+	@Test
+	public void ctableDDCWeights() {
+		CompressedMatrixBlock a = createDDC(nRows, 6, 1, 26);
+		CompressedMatrixBlock b = createSDC(nRows, 3, 4, 27);
+		MatrixBlock w = TestUtils.generateTestMatrixBlock(nRows, 1, 0, 1, 1.0, 28);
+		compareCTable(a, b, w, 6, 4);
+	}
+
+	@Test
+	public void ctableScalar() {
+		CompressedMatrixBlock a = createSDC(nRows, 5, 6, 29);
+		MatrixBlock exp = new MatrixBlock(6, 2, false);
+		decompress(a).ctableOperations(ctable, 2, 0.5, null, exp);
+		MatrixBlock ret = new MatrixBlock(6, 2, false);
+		a.ctableOperations(ctable, 2, 0.5, null, ret);
+		TestUtils.compareMatricesBitAvgDistance(exp, ret, 0, 0);
+		assertNull(a.getCachedDecompressed());
+	}
+
+	@Test
+	public void ctableMap() {
+		CompressedMatrixBlock a = createDDC(nRows, 6, 1, 30);
+		CompressedMatrixBlock b = createDDC(nRows, 7, 1, 31);
+		CTableMap exp = new CTableMap();
+		decompress(a).ctableOperations(ctable, decompress(b), 1, false, exp, null);
+		CTableMap ret = new CTableMap();
+		a.ctableOperations(ctable, b, 1, false, ret, null);
+		TestUtils.compareMatricesBitAvgDistance(exp.toMatrixBlock(6, 7), ret.toMatrixBlock(6, 7), 0, 0);
+		assertNull(a.getCachedDecompressed());
+	}
+
+	private static void compareGroupedAgg(CompressedMatrixBlock g, MatrixBlock t, MatrixBlock w, int ngroups,
+		Operator op) {
+		MatrixBlock exp = decompress(g).groupedAggOperations(decompress(t), w, new MatrixBlock(), ngroups, op, 1);
+		MatrixBlock ret = g.groupedAggOperations(t, w, new MatrixBlock(), ngroups, op, 4);
+		TestUtils.compareMatrices(exp, ret, 1e-9, "groupedAgg");
+		assertNull(g.getCachedDecompressed());
+		if(t instanceof CompressedMatrixBlock)
+			assertNull(((CompressedMatrixBlock) t).getCachedDecompressed());
+	}
+
+	private static void compareCTable(CompressedMatrixBlock a, MatrixBlock b, MatrixBlock w, int rows, int cols) {
+		MatrixBlock exp = new MatrixBlock(rows, cols, false);
+		MatrixBlock ret = new MatrixBlock(rows, cols, false);
+		if(w == null) {
+			decompress(a).ctableOperations(ctable, decompress(b), 1, false, null, exp);
+			a.ctableOperations(ctable, b, 1, false, null, ret);
+		}
+		else {
+			decompress(a).ctableOperations(ctable, decompress(b), w, null, exp);
+			a.ctableOperations(ctable, b, w, null, ret);
+		}
+		TestUtils.compareMatrices(exp, ret, 1e-9, "ctable");
+		assertNull(a.getCachedDecompressed());
+	}
+
+	private static MatrixBlock decompress(MatrixBlock mb) {
+		// decompress a copy to keep the cached decompressed block of the input empty
+		if(!(mb instanceof CompressedMatrixBlock))
+			return mb;
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), 1, false);
+		ret.allocateDenseBlock();
+		for(int i = 0; i < mb.getNumRows(); i++)
+			ret.set(i, 0, mb.get(i, 0));
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static CompressedMatrixBlock createDDC(int rows, int nVals, int start, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = start + i;
+		int[] map = new int[rows];
+		for(int i = 0; i < rows; i++)
+			map[i] = r.nextInt(nVals);
+		AColGroup g = ColGroupDDC.create(ColIndexFactory.create(1), Dictionary.create(values),
+			MapToFactory.create(map, nVals), null);
+		return create(rows, g);
+	}
+
+	private static CompressedMatrixBlock createSDC(int rows, int nVals, double def, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = i + 1;
+		int[] offsets = r.ints(0, rows).distinct().limit(rows / 10).sorted().toArray();
+		int[] map = new int[offsets.length];
+		for(int i = 0; i < map.length; i++)
+			map[i] = r.nextInt(nVals);
+		AColGroup g = ColGroupSDC.create(ColIndexFactory.create(1), rows, Dictionary.create(values),
+			new double[] {def}, OffsetFactory.createOffset(offsets), MapToFactory.create(map, nVals), null);
+		return create(rows, g);
+	}
+
+	private static CompressedMatrixBlock create(int rows, AColGroup g) {
+		List<AColGroup> groups = Arrays.asList(g);
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rows, 1, -1, false, groups);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
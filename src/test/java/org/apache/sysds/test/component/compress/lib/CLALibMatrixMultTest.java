@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibMatrixMultTest {
+	private static final int nRows = 5000;
+
+	@Test
+	public void leftTransposedDDC_DDC() {
+		compareLeftTransposed(create(createDDC(0, 3, 5, 1)), create(createDDC(0, 4, 7, 2)));
+	}
+
+	@Test
+	public void leftTransposedDDC_DDCSingleColumn() {
+		compareLeftTransposed(create(createDDC(0, 1, 5, 3)), create(createDDC(0, 1, 7, 4)));
+	}
+
+	@Test
+	public void leftTransposedDDC_DDCManyValues() {
+		compareLeftTransposed(create(createDDC(0, 3, 200, 5)), create(createDDC(0, 4, 300, 6)));
+	}
+
+	@Test
+	public void leftTransposedDDC_DDCWideLeft() {
+		compareLeftTransposed(create(createDDC(0, 8, 4, 7)), create(createDDC(0, 2, 6, 8)));
+	}
+
+	@Test
+	public void leftTransposedSDC_DDC() {
+		compareLeftTransposed(create(createSDC(0, 3, 4, 2, 0.2, 9)), create(createDDC(0, 4, 6, 10)));
+	}
+
+	@Test
+	public void leftTransposedSDCZeros_DDC() {
+		compareLeftTransposed(create(createSDC(0, 3, 4, 0, 0.1, 11)), create(createDDC(0, 4, 6, 12)));
+	}
+
+	@Test
+	public void leftTransposedSDCSingleZeros_DDC() {
+		compareLeftTransposed(create(createSDC(0, 3, 1, 0, 0.1, 13)), create(createDDC(0, 4, 6, 14)));
+	}
+
+	@Test
+	public void leftTransposedDDC_SDCZeros() {
+		compareLeftTransposed(create(createDDC(0, 3, 5, 15)), create(createSDC(0, 4, 4, 0, 0.3, 16)));
+	}
+
+	@Test
+	public void leftTransposedDDC_SDC() {
+		compareLeftTransposed(create(createDDC(0, 3, 5, 17)), create(createSDC(0, 4, 4, 1, 0.3, 18)));
+	}
+
+	@Test
+	public void leftTransposedMultipleGroups() {
+		List<AColGroup> left = new ArrayList<>();
+		left.add(createDDC(0, 2, 5, 19));
+		left.add(createSDC(2, 3, 3, 0, 0.2, 20));
+		left.add(createSDC(5, 2, 4, 1, 0.2, 21));
+		List<AColGroup> right = new ArrayList<>();
+		right.add(createDDC(0, 3, 4, 22));
+		right.add(createDDC(3, 2, 9, 23));
+		right.add(createSDC(5, 2, 3, 0, 0.4, 24));
+		compareLeftTransposed(create(left), create(right));
+	}
+
+	private static void compareLeftTransposed(CompressedMatrixBlock left, CompressedMatrixBlock right) {
+		for(int k : new int[] {1, 4}) {
+			final MatrixBlock lt = LibMatrixReorg.transpose(decompress(left));
+			final MatrixBlock exp = LibMatrixMult.matrixMult(lt, decompress(right));
+			final MatrixBlock ret = CLALibMatrixMult.matrixMultiply(left, right, null, k, true, false);
+			assertEquals(exp.getNumRows(), ret.getNumRows());
+			assertEquals(exp.getNumColumns(), ret.getNumColumns());
+			TestUtils.compareMatrices(exp, ret, 0, "t(left) %*% right k=" + k);
+			assertNull(left.getCachedDecompressed());
+			assertNull(right.getCachedDecompressed());
+		}
+	}
+
+	private static MatrixBlock decompress(MatrixBlock mb) {
+		// decompress a copy to keep the cached decompressed block of the input empty
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		for(int i = 0; i < mb.getNumRows(); i++)
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				ret.set(i, j, mb.get(i, j));
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static AColGroup createDDC(int col, int nCol, int nVals, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals * nCol];
+		for(int i = 0; i < values.length; i++)
+			values[i] = r.nextInt(20) - 5;
+		int[] map = new int[nRows];
+		for(int i = 0; i < nRows; i++)
+			map[i] = r.nextInt(nVals);
+		return ColGroupDDC.create(ColIndexFactory.create(col, col + nCol), Dictionary.create(values),
+			MapToFactory.create(map, nVals), null);
+	}
+
+	private static AColGroup createSDC(int col, int nCol, int nVals, double def, double sparsity, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals * nCol];
+		for(int i = 0; i < values.length; i++)
+			values[i] = r.nextInt(10) + 1 + def;
+		double[] defTuple = new double[nCol];
+		for(int i = 0; i < nCol; i++)
+			defTuple[i] = def;
+		int[] offsets = r.ints(0, nRows).distinct().limit((long) (nRows * sparsity)).sorted().toArray();
+		int[] map = new int[offsets.length];
+		for(int i = 0; i < map.length; i++)
+			map[i] = r.nextInt(nVals);
+		return ColGroupSDC.create(ColIndexFactory.create(col, col + nCol), nRows, Dictionary.create(values), defTuple,
+			OffsetFactory.createOffset(offsets), MapToFactory.create(map, nVals), null);
+	}
+
+	private static CompressedMatrixBlock create(AColGroup g) {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(g);
+		return create(groups);
+	}
+
+	private static CompressedMatrixBlock create(List<AColGroup> groups) {
+		int nCols = 0;
+		for(AColGroup g : groups)
+			nCols = Math.max(nCols, g.getColIndices().get(g.getColIndices().size() - 1) + 1);
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(nRows, nCols, -1, false, groups);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
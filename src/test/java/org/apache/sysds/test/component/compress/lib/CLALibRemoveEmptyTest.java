@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibRemoveEmptyTest {
+	private static final int nRows = 3000;
+
+	@Test
+	public void selectRows() {
+		compareRemoveEmpty(createAllGroups(1), createSelect(0.3, 2), false);
+	}
+
+	@Test
+	public void selectRowsSparse() {
+		compareRemoveEmpty(createAllGroups(3), createSelect(0.001, 4), false);
+	}
+
+	@Test
+	public void selectRowsDense() {
+		compareRemoveEmpty(createAllGroups(5), createSelect(0.99, 6), false);
+	}
+
+	@Test
+	public void selectFirstAndLastRow() {
+		MatrixBlock select = new MatrixBlock(nRows, 1, false);
+		select.set(0, 0, 1);
+		select.set(nRows - 1, 0, 1);
+		compareRemoveEmpty(createAllGroups(7), select, false);
+	}
+
+	@Test
+	public void selectNone() {
+		CompressedMatrixBlock in = createAllGroups(8);
+		MatrixBlock select = new MatrixBlock(nRows, 1, true);
+		MatrixBlock ret = in.removeEmptyOperations(new MatrixBlock(), true, true, select);
+		assertEquals(1, ret.getNumRows());
+		assertTrue(ret.isEmpty());
+		ret = in.removeEmptyOperations(new MatrixBlock(), true, false, select);
+		assertEquals(0, ret.getNumRows());
+	}
+
+	@Test
+	public void selectAll() {
+		CompressedMatrixBlock in = createAllGroups(9);
+		MatrixBlock select = new MatrixBlock(nRows, 1, 1.0);
+		assertSame(in, in.removeEmptyOperations(new MatrixBlock(), true, false, select));
+	}
+
+	@Test
+	public void removeEmptyRows() {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(createSDC(0, 3, 0, 0.2, 10));
+		groups.add(createSDC(1, 1, 0, 0.1, 11));
+		groups.add(new ColGroupEmpty(ColIndexFactory.create(2, 4)));
+		compareRemoveEmpty(create(groups), null, false);
+	}
+
+	@Test
+	public void removeEmptyRowsNone() {
+		compareRemoveEmpty(createAllGroups(12), null, false);
+	}
+
+	@Test
+	public void removeEmptyRowsAllEmpty() {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(new ColGroupEmpty(ColIndexFactory.create(3)));
+		CompressedMatrixBlock in = create(groups);
+		assertEquals(1, in.removeEmptyOperations(new MatrixBlock(), true, true, null).getNumRows());
+	}
+
+	@Test
+	public void removeEmptyColumns() {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(createSDC(0, 3, 0, 0.2, 13));
+		groups.add(new ColGroupEmpty(ColIndexFactory.create(1, 3)));
+		groups.add(createDDC(3, 4, 14));
+		CompressedMatrixBlock in = create(groups);
+		MatrixBlock exp = decompress(in).removeEmptyOperations(new MatrixBlock(), false, false, null);
+		MatrixBlock ret = in.removeEmptyOperations(new MatrixBlock(), false, false, null);
+		TestUtils.compareMatrices(exp, ret, 0, "removeEmpty cols");
+	}
+
+	private static void compareRemoveEmpty(CompressedMatrixBlock in, MatrixBlock select, boolean emptyReturn) {
+		MatrixBlock exp = decompress(in).removeEmptyOperations(new MatrixBlock(), true, emptyReturn, select);
+		MatrixBlock ret = in.removeEmptyOperations(new MatrixBlock(), true, emptyReturn, select);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		assertNull(in.getCachedDecompressed());
+		TestUtils.compareMatrices(exp, ret, 0, "removeEmpty rows");
+	}
+
+	private static MatrixBlock decompress(MatrixBlock mb) {
+		// decompress a copy to keep the cached decompressed block of the input empty
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		for(int i = 0; i < mb.getNumRows(); i++)
+			for(int j = 0; j < mb.getNumColumns(); j++)
+				ret.set(i, j, mb.get(i, j));
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static MatrixBlock createSelect(double sparsity, int seed) {
+		return TestUtils.round(TestUtils.generateTestMatrixBlock(nRows, 1, 1, 1, sparsity, seed));
+	}
+
+	private static CompressedMatrixBlock createAllGroups(int seed) {
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(createDDC(0, 5, seed));
+		groups.add(createSDC(1, 4, 3, 0.1, seed + 1)); // SDC
+		groups.add(createSDC(2, 4, 0, 0.1, seed + 2)); // SDCZeros
+		groups.add(createSDC(3, 1, 2, 0.1, seed + 3)); // SDCSingle
+		groups.add(createSDC(4, 1, 0, 0.1, seed + 4)); // SDCSingleZeros
+		groups.add(ColGroupConst.create(ColIndexFactory.create(5, 6), new double[] {7}));
+		groups.add(new ColGroupEmpty(ColIndexFactory.create(6, 7)));
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(nRows, 2, -1, 1, 0.2, seed + 5);
+		groups.add(ColGroupUncompressed.create(mb, ColIndexFactory.create(7, 9)));
+		return create(groups);
+	}
+
+	private static AColGroup createDDC(int col, int nVals, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = i + 1;
+		int[] map = new int[nRows];
+		for(int i = 0; i < nRows; i++)
+			map[i] = r.nextInt(nVals);
+		return ColGroupDDC.create(ColIndexFactory.create(col, col + 1), Dictionary.create(values),
+			MapToFactory.create(map, nVals), null);
+	}
+
+	private static AColGroup createSDC(int col, int nVals, double def, double sparsity, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = i + 1 + def;
+		int[] offsets = r.ints(0, nRows).distinct().limit((long) (nRows * sparsity)).sorted().toArray();
+		int[] map = new int[offsets.length];
+		for(int i = 0; i < map.length; i++)
+			map[i] = r.nextInt(nVals);
+		return ColGroupSDC.create(ColIndexFactory.create(col, col + 1), nRows, Dictionary.create(values),
+			new double[] {def}, OffsetFactory.createOffset(offsets), MapToFactory.create(map, nVals), null);
+	}
+
+	private static CompressedMatrixBlock create(List<AColGroup> groups) {
+		int nCols = 0;
+		for(AColGroup g : groups)
+			nCols = Math.max(nCols, g.getColIndices().get(g.getColIndices().size() - 1) + 1);
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(nRows, nCols, -1, false, groups);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
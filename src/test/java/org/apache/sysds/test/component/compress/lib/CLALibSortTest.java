@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupSDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.offset.OffsetFactory;
+import org.apache.sysds.runtime.functionobjects.SortIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibSortTest {
+	private static final int nRows = 10000;
+	private static final MatrixBlock quantiles = new MatrixBlock(5, 1, new double[] {0.01, 0.25, 0.5, 0.75, 0.99});
+
+	@Test
+	public void quantilesDDCPositive() {
+		compareQuantiles(createDDC(nRows, 7, 1, 1));
+	}
+
+	@Test
+	public void quantilesDDCNegative() {
+		compareQuantiles(createDDC(nRows, 5, -10, 2));
+	}
+
+	@Test
+	public void quantilesDDCWithZero() {
+		compareQuantiles(createDDC(nRows, 9, -4, 3));
+	}
+
+	@Test
+	public void quantilesSDCZeroDefault() {
+		compareQuantiles(createSDC(nRows, 4, 0, 4));
+	}
+
+	@Test
+	public void quantilesSDCDuplicateDefault() {
+		compareQuantiles(createSDC(nRows, 4, 2, 5));
+	}
+
+	@Test
+	public void quantilesEvenMedian() {
+		compareQuantiles(createDDC(nRows + 1, 2, 1, 6));
+	}
+
+	@Test
+	public void orderDDC() {
+		compareOrder(createDDC(nRows, 7, -3, 7));
+	}
+
+	@Test
+	public void orderSDC() {
+		compareOrder(createSDC(nRows, 5, 0, 8));
+	}
+
+	@Test
+	public void orderSDCDuplicateDefault() {
+		compareOrder(createSDC(nRows, 5, 3, 9));
+	}
+
+	@Test
+	public void orderConst() {
+		compareOrder(createDDC(nRows, 1, 4, 10));
+	}
+
+	private static void compareQuantiles(CompressedMatrixBlock in) {
+		MatrixBlock exp = decompress(in).sortOperations(null, new MatrixBlock(), 1);
+		MatrixBlock ret = in.sortOperations(null, new MatrixBlock(), 4);
+		assertEquals(exp.getNumRows(), ret.getNumRows());
+		TestUtils.compareMatrices(exp, ret, 0, "sort");
+		assertEquals(exp.sumWeightForQuantile(), ret.sumWeightForQuantile(), 0);
+		assertEquals(exp.median(), ret.median(), 0);
+		assertEquals(exp.interQuartileMean(), ret.interQuartileMean(), 1e-9);
+		TestUtils.compareMatrices(exp.pickValues(quantiles, new MatrixBlock()),
+			ret.pickValues(quantiles, new MatrixBlock()), 0, "quantiles");
+		assertNull(in.getCachedDecompressed());
+	}
+
+	private static void compareOrder(CompressedMatrixBlock in) {
+		for(boolean desc : new boolean[] {false, true}) {
+			for(boolean ixret : new boolean[] {false, true}) {
+				ReorgOperator op = new ReorgOperator(new SortIndex(1, desc, ixret), 1);
+				MatrixBlock exp = decompress(in).reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+				MatrixBlock ret = in.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+				assertTrue(ixret || ret instanceof CompressedMatrixBlock);
+				assertEquals(exp.getNonZeros(), ret.getNonZeros());
+				TestUtils.compareMatrices(exp, ret, 0, "order desc=" + desc + " ixret=" + ixret);
+			}
+		}
+		assertNull(in.getCachedDecompressed());
+	}
+
+	private static MatrixBlock decompress(MatrixBlock mb) {
+		// decompress a copy to keep the cached decompressed block of the input empty
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), 1, false);
+		ret.allocateDenseBlock();
+		for(int i = 0; i < mb.getNumRows(); i++)
+			ret.set(i, 0, mb.get(i, 0));
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static CompressedMatrixBlock createDDC(int rows, int nVals, int start, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = start + i;
+		int[] map = new int[rows];
+		for(int i = 0; i < rows; i++)
+			map[i] = r.nextInt(nVals);
+		AColGroup g = ColGroupDDC.create(ColIndexFactory.create(1), Dictionary.create(values),
+			MapToFactory.create(map, nVals), null);
+		return create(rows, g);
+	}
+
+	private static CompressedMatrixBlock createSDC(int rows, int nVals, double def, int seed) {
+		Random r = new Random(seed);
+		double[] values = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			values[i] = i + 1;
+		int[] offsets = r.ints(0, rows).distinct().limit(rows / 10).sorted().toArray();
+		int[] map = new int[offsets.length];
+		for(int i = 0; i < map.length; i++)
+			map[i] = r.nextInt(nVals);
+		AColGroup g = ColGroupSDC.create(ColIndexFactory.create(1), rows, Dictionary.create(values),
+			new double[] {def}, OffsetFactory.createOffset(offsets), MapToFactory.create(map, nVals), null);
+		return create(rows, g);
+	}
+
+	private static CompressedMatrixBlock create(int rows, AColGroup g) {
+		List<AColGroup> groups = Arrays.asList(g);
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rows, 1, -1, false, groups);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+@net.jcip.annotations.NotThreadSafe
+public class FedWorkerBinaryProtocol extends FedWorkerBase {
+
+	// the in-process worker sets its config globally, i.e., coordinator and worker both use the binary protocol
+	private static final String confB = "src/test/resources/component/federated/binary.xml";
+
+	private final MatrixBlock mb;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		final ArrayList<Object[]> tests = new ArrayList<>();
+
+		final int port = startWorker(confB);
+
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(10, 10, 0.5, 9.5, 1.0, 1342)});
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(100, 100, 0.5, 9.5, 0.1, 1343)});
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(1000, 10, 0.5, 9.5, 0.7, 1344)});
+
+		return tests;
+	}
+
+	public FedWorkerBinaryProtocol(int port, MatrixBlock mb) {
+		super(port);
+		this.mb = mb;
+	}
+
+	@Test
+	public void verifyBinaryProtocolEnabled() {
+		assertTrue(ConfigurationManager.isFederatedBinaryProtocol());
+	}
+
+	@Test
+	public void verifyPutGetMatrixBlock() {
+		final long id = putMatrixBlock(mb);
+		final MatrixBlock mbr = getMatrixBlock(id);
+		TestUtils.compareMatricesBitAvgDistance(mb, mbr, 0, 0,
+			"Not equivalent matrix block returned from federated site");
+	}
+
+	@Test
+	public void verifyMatrixMultiply() {
+		final MatrixBlock mbt = TestUtils.generateTestMatrixBlock(mb.getNumColumns(), 7, 0.5, 9.5, 1.0, 1345);
+		final long idl = putMatrixBlock(mb);
+		final long idr = putMatrixBlock(mbt);
+		final MatrixBlock mbr = getMatrixBlock(matrixMult(idl, idr));
+		TestUtils.compareMatricesBitAvgDistance(LibMatrixMult.matrixMult(mb, mbt), mbr, 0, 0,
+			"Not equivalent matrix multiply result from federated site");
+	}
+}
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedLookupTable;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageDecoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageEncoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedReadCache;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWorkerHandler;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedPipeliningTest {
+	private static EventLoopGroup group;
+	private static Channel server;
+	private static Channel slowServer;
+	private static InetSocketAddress address;
+	private static InetSocketAddress slowAddress;
+	private static DMLConfig prevConf;
+
+	@BeforeClass
+	public static void startWorker() throws Exception {
+		// the client channels are initialized by netty threads, hence enable the binary protocol globally
+		prevConf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.FEDERATED_BINARY_PROTOCOL, "true");
+		ConfigurationManager.setGlobalConfig(conf);
+
+		// minimal federated workers without ssl, using the binary wire protocol
+		group = new NioEventLoopGroup(2);
+		server = startServer(0);
+		address = getAddress(server);
+		slowServer = startServer(2000);
+		slowAddress = getAddress(slowServer);
+	}
+
+	private static Channel startServer(long delayMs) throws Exception {
+		final FederatedLookupTable flt = new FederatedLookupTable();
+		final FederatedReadCache frc = new FederatedReadCache();
+		return new ServerBootstrap().group(group).channel(NioServerSocketChannel.class)
+			.childHandler(new ChannelInitializer<SocketChannel>() {
+				@Override
+				public void initChannel(SocketChannel ch) {
+					ch.pipeline().addLast(new FederatedMessageDecoder(), new FederatedMessageEncoder());
+					if(delayMs > 0)
+						ch.pipeline().addLast(new ChannelInboundHandlerAdapter() {
+							@Override
+							public void channelRead(ChannelHandlerContext ctx, Object msg) {
+								ctx.executor().schedule(() -> ctx.fireChannelRead(msg), delayMs, TimeUnit.MILLISECONDS);
+							}
+						});
+					ch.pipeline().addLast(new FederatedWorkerHandler(flt, frc, null));
+				}
+			}).bind("localhost", 0).sync().channel();
+	}
+
+	private static InetSocketAddress getAddress(Channel ch) {
+		return new InetSocketAddress("localhost", ((InetSocketAddress) ch.localAddress()).getPort());
+	}
+
+	@AfterClass
+	public static void stopWorker() throws Exception {
+		FederatedData.clearWorkGroup();
+		server.close().sync();
+		slowServer.close().sync();
+		group.shutdownGracefully().sync();
+		ConfigurationManager.setGlobalConfig(prevConf);
+	}
+
+	@Test
+	public void testPipelinedPutThenGet() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 20, -1, 1, 0.7, 3);
+		Future<FederatedResponse> put = FederatedData.pipelineFederatedOperation(address,
+			new FederatedRequest(RequestType.PUT_VAR, 101, mb));
+		assertFalse(put.isDone());
+
+		// the get is sent together with the pipelined put
+		FederatedResponse get = FederatedData.executeFederatedOperation(address,
+			new FederatedRequest(RequestType.GET_VAR, 101)).get();
+		assertTrue(get.isSuccessful());
+		TestUtils.compareMatrices(mb, (MatrixBlock) get.getData()[0], 0);
+		assertTrue(put.isDone());
+		assertTrue(put.get().isSuccessful());
+	}
+
+	@Test
+	public void testPipelinedInstructionsInOrder() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(30, 30, -1, 1, 1.0, 7);
+		FederatedData.pipelineFederatedOperation(address, new FederatedRequest(RequestType.PUT_VAR, 201, mb));
+		FederatedData.pipelineFederatedOperation(address, new FederatedRequest(RequestType.EXEC_INST, -1,
+			VariableCPInstruction.prepareCopyInstruction("201", "202").toString()));
+		FederatedData.pipelineFederatedOperation(address, new FederatedRequest(RequestType.EXEC_INST, -1,
+			VariableCPInstruction.prepareRemoveInstruction(201).toString()));
+
+		FederatedResponse get = FederatedData.executeFederatedOperation(address,
+			new FederatedRequest(RequestType.GET_VAR, 202)).get();
+		assertTrue(get.isSuccessful());
+		TestUtils.compareMatrices(mb, (MatrixBlock) get.getData()[0], 0);
+	}
+
+	@Test
+	public void testFlushOnAccess() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 10, -1, 1, 1.0, 5);
+		Future<FederatedResponse> put = FederatedData.pipelineFederatedOperation(address,
+			new FederatedRequest(RequestType.PUT_VAR, 301, mb));
+		assertTrue(put.get().isSuccessful());
+
+		FederatedResponse get = FederatedData.executeFederatedOperation(address,
+			new FederatedRequest(RequestType.GET_VAR, 301)).get();
+		TestUtils.compareMatrices(mb, (MatrixBlock) get.getData()[0], 0);
+	}
+
+	@Test
+	public void testErrorPropagation() throws Exception {
+		Future<FederatedResponse> copy = FederatedData.pipelineFederatedOperation(address,
+			new FederatedRequest(RequestType.EXEC_INST, -1,
+				VariableCPInstruction.prepareCopyInstruction("401", "402").toString()));
+
+		// the failing pipelined instruction is reported for the consumed request as well
+		FederatedResponse get = FederatedData.executeFederatedOperation(address,
+			new FederatedRequest(RequestType.GET_VAR, 402)).get();
+		assertFalse(get.isSuccessful());
+		assertFalse(copy.get().isSuccessful());
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		DMLScript.STATISTICS = true;
+		try {
+			FederatedStatistics.reset();
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 10, -1, 1, 1.0, 5);
+			FederatedData.pipelineFederatedOperation(address, new FederatedRequest(RequestType.PUT_VAR, 501, mb));
+			FederatedData.pipelineFederatedOperation(address, new FederatedRequest(RequestType.EXEC_INST, -1,
+				VariableCPInstruction.prepareCopyInstruction("501", "502").toString()));
+			FederatedData.flushPipelines();
+			assertEquals(2, FederatedStatistics.getPipelinedRequestCount());
+			assertEquals(1, FederatedStatistics.getPipelineFlushCount());
+		}
+		finally {
+			DMLScript.STATISTICS = false;
+			FederatedStatistics.reset();
+		}
+	}
+
+	@Test
+	public void testFlushDoesNotBlockOtherSites() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 10, -1, 1, 1.0, 9);
+		Future<FederatedResponse> put = FederatedData.pipelineFederatedOperation(slowAddress,
+			new FederatedRequest(RequestType.PUT_VAR, 601, mb));
+		Thread flush = new Thread(() -> FederatedData.flushPipeline(slowAddress));
+		flush.start();
+		Thread.sleep(200);
+
+		// a request to another site is served while the flush waits for the slow site
+		FederatedResponse get = FederatedData.executeFederatedOperation(address,
+			new FederatedRequest(RequestType.PUT_VAR, 602, mb)).get();
+		assertTrue(get.isSuccessful());
+		assertFalse(put.isDone());
+		flush.join();
+		assertTrue(put.get().isSuccessful());
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedReadCache;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedReadCache.EvictionPolicy;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedReadCacheTest {
+	private static final MatrixObject m1 = createData(1);
+	private static final MatrixObject m2 = createData(2);
+	private static final MatrixObject m3 = createData(3);
+	private static final long size = m1.getDataSize();
+
+	@Before
+	public void setup() {
+		DMLScript.STATISTICS = true;
+		FederatedStatistics.reset();
+	}
+
+	@After
+	public void cleanup() {
+		DMLScript.STATISTICS = false;
+		FederatedStatistics.reset();
+	}
+
+	@Test
+	public void testHitAndMiss() {
+		FederatedReadCache frc = new FederatedReadCache(10 * size, EvictionPolicy.LRU);
+		assertNull(frc.get("a", true));
+		frc.setData("a", m1);
+		assertSame(m1, frc.get("a", true));
+		assertSame(m1, frc.get("a", false));
+		assertEquals(2, FederatedStatistics.getFedReadCacheHitCount());
+		assertEquals(1, FederatedStatistics.getFedReadCacheMissCount());
+		assertEquals(size, frc.getSize());
+		assertEquals(size, FederatedStatistics.getFedReadCacheBytes());
+	}
+
+	@Test
+	public void testEvictionLRU() {
+		FederatedReadCache frc = new FederatedReadCache(2 * size, EvictionPolicy.LRU);
+		put(frc, "a", m1);
+		put(frc, "b", m2);
+		frc.get("a", true); // b least recently used
+		put(frc, "c", m3);
+		assertTrue(frc.contains("a"));
+		assertFalse(frc.contains("b"));
+		assertTrue(frc.contains("c"));
+		assertEquals(2 * size, frc.getSize());
+		assertEquals(1, FederatedStatistics.getFedReadCacheEvictionCount());
+	}
+
+	@Test
+	public void testEvictionLFU() {
+		FederatedReadCache frc = new FederatedReadCache(2 * size, EvictionPolicy.LFU);
+		put(frc, "a", m1);
+		put(frc, "b", m2);
+		frc.get("a", true);
+		frc.get("a", true);
+		frc.get("b", true); // b less frequently, but most recently used
+		put(frc, "c", m3);
+		assertTrue(frc.contains("a"));
+		assertFalse(frc.contains("b"));
+		assertTrue(frc.contains("c"));
+	}
+
+	@Test
+	public void testEntryLargerThanLimit() {
+		FederatedReadCache frc = new FederatedReadCache(size / 2, EvictionPolicy.LRU);
+		put(frc, "a", m1);
+		assertFalse(frc.contains("a"));
+		assertEquals(0, frc.getSize());
+		// reread after eviction
+		assertNull(frc.get("a", true));
+		assertEquals(2, FederatedStatistics.getFedReadCacheMissCount());
+	}
+
+	@Test
+	public void testPlaceholdersNotEvicted() {
+		FederatedReadCache frc = new FederatedReadCache(size, EvictionPolicy.LRU);
+		assertNull(frc.get("a", true)); // ongoing read
+		put(frc, "b", m2);
+		put(frc, "c", m3);
+		assertTrue(frc.contains("a"));
+		assertFalse(frc.contains("b"));
+		assertTrue(frc.contains("c"));
+	}
+
+	@Test
+	public void testDisplayStatistics() {
+		FederatedReadCache frc = new FederatedReadCache(size, EvictionPolicy.LRU);
+		put(frc, "a", m1);
+		put(frc, "b", m2);
+		assertTrue(FederatedStatistics.displayFedReadCacheStats().contains("0/2/1"));
+	}
+
+	private static void put(FederatedReadCache frc, String fname, MatrixObject mo) {
+		assertNull(frc.get(fname, true));
+		frc.setData(fname, mo);
+	}
+
+	private static MatrixObject createData(int seed) {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 100, -1, 1, 1.0, seed);
+		return ExecutionContext.createMatrixObject(mb);
+	}
+}
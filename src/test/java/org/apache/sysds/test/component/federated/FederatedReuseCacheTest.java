@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedReuseCache;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedReuseCache.ReuseKey;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
+import org.apache.sysds.runtime.instructions.CPInstructionParser;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class FederatedReuseCacheTest {
+	private static final String MM = "CP°ba+*°X·MATRIX·FP64°X·MATRIX·FP64°Y·MATRIX·FP64°1";
+	private static final String SUM = "CP°uak+°Y·MATRIX·FP64°s·SCALAR·FP64°1";
+
+	private final MatrixBlock mb = TestUtils.generateTestMatrixBlock(40, 40, -1, 1, 1.0, 7);
+
+	@Before
+	public void setup() {
+		DMLScript.STATISTICS = true;
+		FederatedStatistics.reset();
+	}
+
+	@After
+	public void cleanup() {
+		DMLScript.STATISTICS = false;
+		FederatedStatistics.reset();
+	}
+
+	@Test
+	public void testReuseAcrossCoordinators() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec1 = createContext(rc, true, null);
+		ExecutionContext ec2 = createContext(rc, true, null);
+
+		// first coordinator computes and caches the result
+		assertFalse(execute(rc, MM, ec1));
+		MatrixBlock res1 = ec1.getMatrixInput("Y");
+		ec1.releaseMatrixInput("Y");
+
+		// second coordinator reuses the result over the same file
+		assertTrue(execute(rc, MM, ec2));
+		MatrixBlock res2 = ec2.getMatrixInput("Y");
+		ec2.releaseMatrixInput("Y");
+		// with private copies per coordinator
+		assertNotSame(res1, res2);
+		TestUtils.compareMatrices(res1, res2, 0);
+		assertEquals(1, FederatedStatistics.getFedResultReuseHitCount());
+		assertEquals(1, FederatedStatistics.getFedResultReusePutCount());
+	}
+
+	@Test
+	public void testReuseOfDependentInstructions() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec1 = createContext(rc, true, null);
+		ExecutionContext ec2 = createContext(rc, true, null);
+		execute(rc, MM, ec1);
+		execute(rc, SUM, ec1);
+
+		// outputs of reused results are keyed as well
+		assertTrue(execute(rc, MM, ec2));
+		assertTrue(execute(rc, SUM, ec2));
+		assertEquals(ec1.getScalarInput("s", null, false).getDoubleValue(),
+			ec2.getScalarInput("s", null, false).getDoubleValue(), 0);
+	}
+
+	@Test
+	public void testNoReuseForUnkeyedInputs() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec = createContext(rc, false, null);
+		Instruction ins = CPInstructionParser.parseSingleInstruction(MM);
+		assertNull(rc.getKey(ins, ec));
+	}
+
+	@Test
+	public void testScopedPutKeys() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec1 = createContext(rc, false, "host1-1");
+		ExecutionContext ec2 = createContext(rc, false, "host2-1");
+		ExecutionContext ec3 = createContext(rc, false, "host1-1");
+		assertFalse(execute(rc, MM, ec1));
+		// received data is not shared with other coordinators
+		assertFalse(execute(rc, MM, ec2));
+		// but reused by the same coordinator
+		assertTrue(execute(rc, MM, ec3));
+		ReuseKey key = rc.getKey(CPInstructionParser.parseSingleInstruction(MM), ec2);
+		assertNotNull(key);
+		assertFalse(key.isShared());
+	}
+
+	@Test
+	public void testEviction() {
+		long size = mb.getInMemorySize();
+		FederatedReuseCache rc = new FederatedReuseCache(size + size / 2);
+		ExecutionContext ec = createContext(rc, true, null);
+		execute(rc, MM, ec);
+		execute(rc, "CP°+°X·MATRIX·FP64°X·MATRIX·FP64°Z·MATRIX·FP64°1", ec);
+		assertEquals(1, rc.getNumEntries());
+		assertEquals(1, FederatedStatistics.getFedResultReuseEvictionCount());
+		assertTrue(FederatedStatistics.displayFedResultReuseStats().contains("0/2/1"));
+	}
+
+	@Test
+	public void testOverwrittenOutputInvalidated() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec = createContext(rc, true, null);
+		execute(rc, MM, ec);
+		// overwrite the keyed input by an unkeyed computation
+		ec.setVariable("X", ExecutionContext.createMatrixObject(mb));
+		assertNull(rc.getKey(CPInstructionParser.parseSingleInstruction(MM), ec));
+	}
+
+	@Test
+	public void testReusedResultIsolated() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec1 = createContext(rc, true, null);
+		ExecutionContext ec2 = createContext(rc, true, null);
+		ExecutionContext ec3 = createContext(rc, true, null);
+		execute(rc, MM, ec1);
+		MatrixBlock exp = new MatrixBlock(ec1.getMatrixInput("Y"));
+		ec1.releaseMatrixInput("Y");
+
+		// in-place updates of computed or reused results do not affect the cached result
+		ec1.getMatrixInput("Y").set(0, 0, 7);
+		ec1.releaseMatrixInput("Y");
+		assertTrue(execute(rc, MM, ec2));
+		ec2.getMatrixInput("Y").set(1, 1, 7);
+		ec2.releaseMatrixInput("Y");
+		assertTrue(execute(rc, MM, ec3));
+		TestUtils.compareMatrices(exp, ec3.getMatrixInput("Y"), 0);
+		ec3.releaseMatrixInput("Y");
+	}
+
+	@Test
+	public void testReadKeyFormatAndModificationTime() {
+		FederatedReuseCache rc = new FederatedReuseCache(Long.MAX_VALUE);
+		ExecutionContext ec1 = createContext(rc, false, null);
+		ExecutionContext ec2 = createContext(rc, false, null);
+		ExecutionContext ec3 = createContext(rc, false, null);
+		rc.setReadKey(ec1.getVariable("X"), "hdfs:/data/X", FileFormat.BINARY, 1);
+		rc.setReadKey(ec2.getVariable("X"), "hdfs:/data/X", FileFormat.BINARY, 2);
+		rc.setReadKey(ec3.getVariable("X"), "hdfs:/data/X", FileFormat.CSV, 1);
+		assertFalse(execute(rc, MM, ec1));
+		// updated file or different format
+		assertFalse(execute(rc, MM, ec2));
+		assertFalse(execute(rc, MM, ec3));
+		// non-existing files are not keyed
+		MatrixObject mo = ExecutionContext.createMatrixObject(mb);
+		ec3.setVariable("X", mo);
+		rc.setReadKey(mo, "/nonexisting/X");
+		assertNull(rc.getKey(CPInstructionParser.parseSingleInstruction(MM), ec3));
+	}
+
+	private static boolean execute(FederatedReuseCache rc, String inst, ExecutionContext ec) {
+		Instruction ins = CPInstructionParser.parseSingleInstruction(inst);
+		ReuseKey key = rc.getKey(ins, ec);
+		if(key != null && rc.reuse(key, ins, ec))
+			return true;
+		ins.processInstruction(ec);
+		rc.put(key, ins, ec);
+		return false;
+	}
+
+	private ExecutionContext createContext(FederatedReuseCache rc, boolean read, String coordinator) {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixObject mo = ExecutionContext.createMatrixObject(mb);
+		ec.setVariable("X", mo);
+		// outputs are created by the coordinator ahead of the instructions
+		ec.setVariable("Y", ExecutionContext.createMatrixObject(new MatrixBlock()));
+		ec.setVariable("Z", ExecutionContext.createMatrixObject(new MatrixBlock()));
+		if(read)
+			rc.setReadKey(mo, "hdfs:/data/X", FileFormat.BINARY, 1);
+		else if(coordinator != null)
+			rc.setPutKey(mo, "12345", coordinator);
+		return ec;
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageDecoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedMessageEncoder;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.cp.BooleanObject;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.apache.sysds.runtime.instructions.cp.StringObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+public class FederatedWireProtocolTest {
+
+	@Test
+	public void testRequestBatch() throws Exception {
+		MatrixBlock dense = TestUtils.generateTestMatrixBlock(100, 50, -1, 1, 1.0, 7);
+		MatrixBlock sparse = TestUtils.generateTestMatrixBlock(200, 100, -1, 1, 0.05, 7);
+		FrameBlock frame = TestUtils.generateRandomFrameBlock(20, new ValueType[] {ValueType.STRING,
+			ValueType.FP64, ValueType.INT64, ValueType.BOOLEAN}, 3);
+		FederatedRequest r1 = new FederatedRequest(RequestType.PUT_VAR, 3, dense);
+		r1.setTID(17);
+		FederatedRequest r2 = new FederatedRequest(RequestType.PUT_VAR, 4, sparse, frame);
+		FederatedRequest r3 = new FederatedRequest(RequestType.EXEC_INST, 5, "CP°+°_mVar3·MATRIX·FP64", null, 7L,
+			2.5, true, new IntObject(-3), new DoubleObject(0.1), new BooleanObject(true), new StringObject("abc"),
+			new int[] {1, 2, 3});
+		FederatedRequest r4 = new FederatedRequest(RequestType.CLEAR);
+
+		FederatedRequest[] ret = (FederatedRequest[]) roundtrip(
+			new FederatedRequest[] {r1, r2, r3, r4}, false);
+		assertEquals(4, ret.length);
+		for(int i = 0; i < 4; i++) {
+			FederatedRequest expected = new FederatedRequest[] {r1, r2, r3, r4}[i];
+			assertEquals(expected.getType(), ret[i].getType());
+			assertEquals(expected.getID(), ret[i].getID());
+			assertEquals(expected.getTID(), ret[i].getTID());
+			assertEquals(expected.getPID(), ret[i].getPID());
+			assertEquals(expected.getNumParams(), ret[i].getNumParams());
+		}
+		TestUtils.compareMatrices(dense, (MatrixBlock) ret[0].getParam(0), 0);
+		TestUtils.compareMatrices(sparse, (MatrixBlock) ret[1].getParam(0), 0);
+		assertEquals(sparse.getNonZeros(), ((MatrixBlock) ret[1].getParam(0)).getNonZeros());
+		TestUtils.compareFrames(frame, (FrameBlock) ret[1].getParam(1), true);
+		assertEquals(r3.getParam(0), ret[2].getParam(0));
+		assertNull(ret[2].getParam(1));
+		assertEquals(7L, ret[2].getParam(2));
+		assertEquals(2.5, ret[2].getParam(3));
+		assertEquals(true, ret[2].getParam(4));
+		assertEquals(-3, ((IntObject) ret[2].getParam(5)).getLongValue());
+		assertEquals(0.1, ((DoubleObject) ret[2].getParam(6)).getDoubleValue(), 0);
+		assertTrue(((BooleanObject) ret[2].getParam(7)).getBooleanValue());
+		assertEquals("abc", ((StringObject) ret[2].getParam(8)).getStringValue());
+		assertArrayEquals(new int[] {1, 2, 3}, (int[]) ret[2].getParam(9));
+	}
+
+	@Test
+	public void testRequestChecksumsAndLineage() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(10, 10, -1, 1, 1.0, 7);
+		FederatedRequest r = new FederatedRequest(RequestType.PUT_VAR, 3, mb);
+		r.setChecksum();
+		FederatedRequest ret = ((FederatedRequest[]) roundtrip(r, false))[0];
+		assertEquals(r.getChecksum(0), ret.getChecksum(0));
+		assertEquals(r.getLineageTrace(), ret.getLineageTrace());
+	}
+
+	@Test
+	public void testResponseFragmented() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 300, -1, 1, 1.0, 7);
+		FederatedResponse r = new FederatedResponse(ResponseType.SUCCESS, mb);
+		FederatedResponse ret = (FederatedResponse) roundtrip(r, true);
+		assertTrue(ret.isSuccessful());
+		TestUtils.compareMatrices(mb, (MatrixBlock) ret.getData()[0], 0);
+	}
+
+	@Test
+	public void testResponseEmpty() throws Exception {
+		FederatedResponse ret = (FederatedResponse) roundtrip(new FederatedResponse(ResponseType.SUCCESS), false);
+		assertTrue(ret.isSuccessful());
+	}
+
+	@Test
+	public void testResponseError() throws Exception {
+		FederatedResponse r = new FederatedResponse(ResponseType.ERROR, new RuntimeException("remote failure"));
+		FederatedResponse ret = (FederatedResponse) roundtrip(r, false);
+		assertFalse(ret.isSuccessful());
+		assertTrue(ret.getErrorMessage().contains("remote failure"));
+	}
+
+	private static Object roundtrip(Object msg, boolean fragmented) {
+		EmbeddedChannel out = new EmbeddedChannel(new FederatedMessageEncoder());
+		EmbeddedChannel in = new EmbeddedChannel(new FederatedMessageDecoder());
+		try {
+			assertTrue(out.writeOutbound(msg));
+			ByteBuf buff = out.readOutbound();
+			if(fragmented) {
+				// deliver the message in multiple chunks
+				int len = buff.readableBytes();
+				int[] cuts = new int[] {0, 7, len / 3, len / 2, len};
+				for(int i = 0; i < cuts.length - 1; i++)
+					in.writeInbound(buff.retainedSlice(cuts[i], cuts[i + 1] - cuts[i]));
+				buff.release();
+			}
+			else
+				in.writeInbound(buff);
+			Object ret = in.readInbound();
+			assertNull(in.readInbound());
+			return ret;
+		}
+		finally {
+			out.finishAndReleaseAll();
+			in.finishAndReleaseAll();
+		}
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.DDCArray;
+import org.apache.sysds.runtime.io.ColumnarFileMetadata;
+import org.apache.sysds.runtime.io.FileFormatPropertiesColumnar;
+import org.apache.sysds.runtime.io.FrameReaderColumnar;
+import org.apache.sysds.runtime.io.FrameReaderFactory;
+import org.apache.sysds.runtime.io.FrameWriterFactory;
+import org.apache.sysds.runtime.io.MatrixReaderFactory;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderColumnar;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Test;
+
+public class FrameColumnarReadWriteTest {
+	private final static String fname = "target/testTemp/FrameColumnarReadWriteTest/X";
+	private final static ValueType[] schema = new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.INT64,
+		ValueType.BOOLEAN, ValueType.INT32, ValueType.FP32, ValueType.STRING};
+
+	@After
+	public void cleanup() throws Exception {
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+	}
+
+	@Test
+	public void testFrameRoundtrip() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 7);
+		FrameBlock ret = writeAndReadFrame(fb, new FileFormatPropertiesColumnar());
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void testFrameRoundtripWithNulls() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(500, schema, 3, 0.2);
+		FrameBlock ret = writeAndReadFrame(fb, new FileFormatPropertiesColumnar());
+		TestUtils.compareFrames(fb, ret, true);
+	}
+
+	@Test
+	public void testFrameRowGroups() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 11);
+		FrameBlock ret = writeAndReadFrame(fb, new FileFormatPropertiesColumnar(128, null));
+		TestUtils.compareFrames(fb, ret, true);
+		assertEquals(8, FrameReaderColumnar.readMetadata(fname).getNumRowGroups());
+	}
+
+	@Test
+	public void testFrameDictionaryEncoding() throws Exception {
+		String[] vals = new String[1000];
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = "category_" + (i % 5);
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING}, new String[] {"C1"});
+		fb.ensureAllocatedColumns(vals.length);
+		for(int i = 0; i < vals.length; i++)
+			fb.set(i, 0, vals[i]);
+		FrameBlock ret = writeAndReadFrame(fb, new FileFormatPropertiesColumnar());
+		TestUtils.compareFrames(fb, ret, true);
+		assertTrue(ret.getColumn(0) instanceof DDCArray);
+	}
+
+	@Test
+	public void testFrameProjection() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(300, schema, 5);
+		int[] cols = new int[] {6, 1, 3};
+		FrameBlock ret = writeAndReadFrame(fb, new FileFormatPropertiesColumnar(100, cols));
+		assertEquals(3, ret.getNumColumns());
+		assertArrayEquals(new ValueType[] {ValueType.STRING, ValueType.FP64, ValueType.BOOLEAN}, ret.getSchema());
+		for(int j = 0; j < cols.length; j++) {
+			assertEquals(fb.getColumnName(cols[j]), ret.getColumnName(j));
+			for(int i = 0; i < fb.getNumRows(); i++)
+				assertEquals(fb.get(i, cols[j]), ret.get(i, j));
+		}
+	}
+
+	@Test
+	public void testStatistics() throws Exception {
+		FrameBlock fb = TestUtils.generateRandomFrameBlock(1000, schema, 13);
+		writeAndReadFrame(fb, new FileFormatPropertiesColumnar(300, null));
+		ColumnarFileMetadata meta = FrameReaderColumnar.readMetadata(fname);
+		assertEquals(1000, meta.getNumRows());
+		assertTrue(Double.isNaN(meta.getMin(0)));
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for(int i = 0; i < fb.getNumRows(); i++) {
+			min = Math.min(min, fb.getColumn(1).getAsDouble(i));
+			max = Math.max(max, fb.getColumn(1).getAsDouble(i));
+		}
+		assertEquals(min, meta.getMin(1), 0);
+		assertEquals(max, meta.getMax(1), 0);
+	}
+
+	@Test
+	public void testMatrixDenseRoundtrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 37, -10, 10, 1.0, 7);
+		MatrixBlock ret = writeAndReadMatrix(mb, new FileFormatPropertiesColumnar(500, null));
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertEquals(mb.getNonZeros(), ret.getNonZeros());
+	}
+
+	@Test
+	public void testMatrixSparseRoundtrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1200, 300, -10, 10, 0.01, 7);
+		MatrixBlock ret = writeAndReadMatrix(mb, new FileFormatPropertiesColumnar());
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertTrue(ret.isInSparseFormat());
+	}
+
+	@Test
+	public void testMatrixProjection() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(400, 50, -10, 10, 0.7, 3);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.COLUMNAR, -1, null)
+			.writeMatrixToHDFS(mb, fname, 400, 50, -1, mb.getNonZeros());
+		MatrixBlock ret = new ReaderColumnar(new FileFormatPropertiesColumnar(-1, new int[] {49, 0, 7}))
+			.readMatrixFromHDFS(fname, 400, 3, -1, -1);
+		TestUtils.compareMatrices(mb.slice(0, 399, 49, 49), ret.slice(0, 399, 0, 0), 0);
+		TestUtils.compareMatrices(mb.slice(0, 399, 0, 0), ret.slice(0, 399, 1, 1), 0);
+		TestUtils.compareMatrices(mb.slice(0, 399, 7, 7), ret.slice(0, 399, 2, 2), 0);
+	}
+
+	@Test
+	public void testMatrixAsFrame() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 4, -10, 10, 1.0, 9);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.COLUMNAR, -1, null)
+			.writeMatrixToHDFS(mb, fname, 100, 4, -1, mb.getNonZeros());
+		FrameBlock ret = FrameReaderFactory.createFrameReader(FileFormat.COLUMNAR, null)
+			.readFrameFromHDFS(fname, 100, 4);
+		for(int i = 0; i < 100; i++)
+			for(int j = 0; j < 4; j++)
+				assertEquals(mb.get(i, j), (Double) ret.get(i, j), 0);
+	}
+
+	private static FrameBlock writeAndReadFrame(FrameBlock fb, FileFormatPropertiesColumnar props) throws Exception {
+		FrameWriterFactory.createFrameWriter(FileFormat.COLUMNAR, props)
+			.writeFrameToHDFS(fb, fname, fb.getNumRows(), fb.getNumColumns());
+		return FrameReaderFactory.createFrameReader(FileFormat.COLUMNAR, props)
+			.readFrameFromHDFS(fname, fb.getSchema(), fb.getNumRows(), fb.getNumColumns());
+	}
+
+	private static MatrixBlock writeAndReadMatrix(MatrixBlock mb, FileFormatPropertiesColumnar props)
+		throws Exception {
+		MatrixWriterFactory.createMatrixWriter(FileFormat.COLUMNAR, -1, props)
+			.writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), -1, mb.getNonZeros());
+		return MatrixReaderFactory.createMatrixReader(FileFormat.COLUMNAR)
+			.readMatrixFromHDFS(fname, mb.getNumRows(), mb.getNumColumns(), -1, mb.getNonZeros());
+	}
+}
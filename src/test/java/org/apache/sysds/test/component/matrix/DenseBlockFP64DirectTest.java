@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.DenseBlockFP64Direct;
+import org.apache.sysds.runtime.data.DenseBlockFactory;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.runtime.util.FastBufferedDataOutputStream;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class DenseBlockFP64DirectTest {
+	private final static int rows = 123;
+	private final static int cols = 77;
+
+	@Test
+	public void testGetSetWithoutPinning() {
+		DenseBlockFP64Direct db = (DenseBlockFP64Direct)
+			DenseBlockFactory.createDirectDenseBlock(new int[]{rows, cols});
+		db.set(3, 7, 1.5);
+		db.incr(3, 7, 2);
+		db.set(5, new double[cols]);
+		db.set(10, 12, 0, cols, 4);
+		assertEquals(3.5, db.get(3, 7), 0);
+		assertEquals(4, db.get(11, cols-1), 0);
+		assertEquals(1 + 2 * cols, db.countNonZeros());
+		assertEquals(8L * rows * cols, db.getOffHeapSize());
+		assertFalse(db.isPinned());
+	}
+
+	@Test
+	public void testPinAndOffload() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 3);
+		DenseBlockFP64Direct db = (DenseBlockFP64Direct)
+			DenseBlockFactory.createDirectDenseBlock(mb.getDenseBlock());
+		double[] vals = db.valuesAt(0);
+		assertTrue(db.isPinned());
+		vals[7] = 42;
+		db.offload();
+		assertFalse(db.isPinned());
+		assertEquals(42, db.get(0, 7), 0);
+		assertEquals(mb.get(1, 0), db.get(1, 0), 0);
+	}
+
+	@Test
+	public void testPinReleasesOffHeap() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 5);
+		long size = 8L * rows * cols;
+		DenseBlockFP64Direct db = (DenseBlockFP64Direct)
+			DenseBlockFactory.createDirectDenseBlock(mb.getDenseBlock());
+		assertEquals(size, db.getOffHeapSize());
+		//pinning moves the data to the heap and releases the off-heap chunks w/o GC
+		long total = DenseBlockFP64Direct.getTotalOffHeapSize();
+		db.valuesAt(0);
+		assertEquals(0, db.getOffHeapSize());
+		assertTrue(DenseBlockFP64Direct.getTotalOffHeapSize() <= total - size);
+		assertEquals(mb.get(3, 5), db.get(3, 5), 0);
+		db.set(3, 5, 7);
+		//offloading allocates new chunks and releases the heap view
+		db.offload();
+		assertEquals(size, db.getOffHeapSize());
+		assertEquals(7, db.get(3, 5), 0);
+		assertEquals(mb.get(4, 5), db.get(4, 5), 0);
+	}
+
+	@Test
+	public void testKernelsMatMultBinary() {
+		MatrixBlock a = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixBlock b = TestUtils.generateTestMatrixBlock(cols, rows, -1, 1, 1.0, 8);
+		MatrixBlock a2 = new MatrixBlock(a, false);
+		MatrixBlock b2 = new MatrixBlock(b, false);
+		a2.offloadDenseBlock();
+		b2.offloadDenseBlock();
+		assertTrue(a2.getDenseBlock() instanceof DenseBlockFP64Direct);
+
+		AggregateBinaryOperator mmop = InstructionUtils.getMatMultOperator(1);
+		TestUtils.compareMatrices(a.aggregateBinaryOperations(a, b, new MatrixBlock(), mmop),
+			a2.aggregateBinaryOperations(a2, b2, new MatrixBlock(), mmop), 1e-10);
+		BinaryOperator op = new BinaryOperator(Multiply.getMultiplyFnObject());
+		TestUtils.compareMatrices(a.binaryOperations(op, a, new MatrixBlock()),
+			a2.binaryOperations(op, a2, new MatrixBlock()), 1e-10);
+		BinaryOperator op2 = new BinaryOperator(Plus.getPlusFnObject());
+		a2.offloadDenseBlock();
+		TestUtils.compareMatrices(a.binaryOperations(op2, a, new MatrixBlock()),
+			a2.binaryOperations(op2, a2, new MatrixBlock()), 1e-10);
+	}
+
+	@Test
+	public void testSerializationRoundtrip() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 11);
+		MatrixBlock mb2 = new MatrixBlock(mb, false);
+		mb2.offloadDenseBlock();
+
+		//general data output
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		mb2.write(new DataOutputStream(bos));
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		TestUtils.compareMatrices(mb, ret, 0);
+
+		//fast buffered data output
+		bos = new ByteArrayOutputStream();
+		FastBufferedDataOutputStream fos = new FastBufferedDataOutputStream(bos);
+		mb2.write(fos);
+		fos.flush();
+		ret = new MatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		TestUtils.compareMatrices(mb, ret, 0);
+		assertFalse(((DenseBlockFP64Direct)mb2.getDenseBlock()).isPinned());
+	}
+
+	@Test
+	public void testOffloadOnEviction() throws Exception {
+		boolean oldFlag = CacheableData.CACHING_OFFHEAP;
+		long oldThreshold = CacheableData.CACHING_OFFHEAP_THRESHOLD;
+		try {
+			CacheableData.initCaching("tmp_matrix_offheap_test");
+			CacheableData.CACHING_OFFHEAP = true;
+			CacheableData.CACHING_OFFHEAP_THRESHOLD = 0;
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows*10, cols, -10, 10, 1.0, 13);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows*10, cols, -1, -1);
+			MatrixObject mo = new MatrixObject(ValueType.FP64, "mA", new MetaDataFormat(mc, FileFormat.BINARY));
+			mo.acquireModify(new MatrixBlock(mb, false));
+			mo.release();
+
+			MatrixBlock ret = mo.acquireRead();
+			DenseBlock db = ret.getDenseBlock();
+			assertTrue(db instanceof DenseBlockFP64Direct);
+			TestUtils.compareMatrices(mb, ret, 0);
+			mo.release();
+			//read releases keep the heap view (no repeated pin copies)
+			assertTrue(((DenseBlockFP64Direct)db).isPinned());
+			ret = mo.acquireRead();
+			assertTrue(ret.getDenseBlock() == db);
+			mo.release();
+			assertTrue(((DenseBlockFP64Direct)db).isPinned());
+			mo.clearData();
+		}
+		finally {
+			CacheableData.CACHING_OFFHEAP = oldFlag;
+			CacheableData.CACHING_OFFHEAP_THRESHOLD = oldThreshold;
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	@Test
+	public void testOffloadThresholdAndLimit() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 17);
+		long size = 8L * rows * cols;
+		mb.offloadDenseBlock(size + 1, Long.MAX_VALUE);
+		assertFalse(mb.getDenseBlock() instanceof DenseBlockFP64Direct);
+		mb.offloadDenseBlock(size, DenseBlockFP64Direct.getTotalOffHeapSize() + size - 1);
+		assertFalse(mb.getDenseBlock() instanceof DenseBlockFP64Direct);
+		long total = DenseBlockFP64Direct.getTotalOffHeapSize();
+		mb.offloadDenseBlock(size, Long.MAX_VALUE);
+		assertTrue(mb.getDenseBlock() instanceof DenseBlockFP64Direct);
+		assertEquals(DenseBlock.Type.DRB_DIRECT, DenseBlockFactory.getDenseBlockType(mb.getDenseBlock()));
+		assertTrue(DenseBlockFP64Direct.getTotalOffHeapSize() >= total + size);
+	}
+
+	@Test
+	public void testMappedEvictionWithoutPinning() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 19);
+		MatrixBlock mb2 = new MatrixBlock(mb, false);
+		mb2.offloadDenseBlock();
+		assertTrue(LocalFileUtils.isMappableCacheBlock(mb2));
+		File f = File.createTempFile("offheap", ".mmap");
+		try {
+			LocalFileUtils.writeDenseBlockToMappedLocal(f.getAbsolutePath(), mb2);
+			assertFalse(((DenseBlockFP64Direct)mb2.getDenseBlock()).isPinned());
+			//restored block is backed by the mapped file (no copy, no off-heap allocation)
+			MatrixBlock ret = LocalFileUtils.readMatrixBlockFromMappedLocal(f.getAbsolutePath());
+			DenseBlockFP64Direct db = (DenseBlockFP64Direct) ret.getDenseBlock();
+			assertFalse(db.isPinned());
+			assertEquals(0, db.getOffHeapSize());
+			TestUtils.compareMatrices(mb, ret, 0);
+			//private updates and re-eviction into the same file
+			ret.set(0, 0, 42);
+			LocalFileUtils.writeDenseBlockToMappedLocal(f.getAbsolutePath(), ret);
+			MatrixBlock ret2 = LocalFileUtils.readMatrixBlockFromMappedLocal(f.getAbsolutePath());
+			assertEquals(42, ret2.get(0, 0), 0);
+			assertEquals(mb.get(1, 1), ret2.get(1, 1), 0);
+			//pinning copies the mapped values to heap
+			assertEquals(mb.get(2, 3), ret2.getDenseBlockValues()[2 * cols + 3], 0);
+			assertTrue(((DenseBlockFP64Direct) ret2.getDenseBlock()).isPinned());
+		}
+		finally {
+			f.delete();
+		}
+	}
+}
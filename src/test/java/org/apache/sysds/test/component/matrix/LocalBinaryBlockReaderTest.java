@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.LocalBinaryBlockReader;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class LocalBinaryBlockReaderTest {
+	private final static String fname = "target/testTemp/LocalBinaryBlockReaderTest/X";
+	private final static int blen = 100;
+
+	@Test
+	public void testDenseSingleBlock() throws Exception {
+		runReadTest(70, 80, 1.0, false);
+	}
+
+	@Test
+	public void testDenseMultiBlock() throws Exception {
+		runReadTest(550, 320, 1.0, false);
+	}
+
+	@Test
+	public void testSparseMultiBlock() throws Exception {
+		runReadTest(550, 320, 0.05, false);
+	}
+
+	@Test
+	public void testUltraSparseMultiBlock() throws Exception {
+		runReadTest(550, 320, 0.0005, false);
+	}
+
+	@Test
+	public void testDenseMultiBlockParallel() throws Exception {
+		runReadTest(1250, 320, 1.0, true);
+	}
+
+	@Test
+	public void testSparseMultiBlockParallel() throws Exception {
+		runReadTest(1250, 320, 0.05, true);
+	}
+
+	@Test
+	public void testRecordIteration() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(350, 250, -1, 1, 0.7, 3);
+		new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, 350, 250, blen, mb.getNonZeros());
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		int count = 0;
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(IOUtilFunctions.getFileSystem(path, job), path) ) {
+			try( LocalBinaryBlockReader reader = LocalBinaryBlockReader.create(lpath, job) ) {
+				assertNotNull(reader);
+				MatrixIndexes key = new MatrixIndexes();
+				MatrixBlock value = new MatrixBlock();
+				while( reader.next(key, value) ) {
+					MatrixBlock expected = mb.slice((int)(key.getRowIndex()-1)*blen,
+						(int)Math.min(key.getRowIndex()*blen, 350)-1, (int)(key.getColumnIndex()-1)*blen,
+						(int)Math.min(key.getColumnIndex()*blen, 250)-1);
+					TestUtils.compareMatrices(expected, value, 0);
+					count++;
+				}
+			}
+		}
+		assertEquals(12, count);
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+	}
+
+	private static void runReadTest(int rows, int cols, double sparsity, boolean parallel) throws Exception {
+		boolean flag = LocalBinaryBlockReader.ENABLED;
+		try {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+			if( parallel )
+				new WriterBinaryBlockParallel(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+			else
+				new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+
+			MatrixReader reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+			LocalBinaryBlockReader.ENABLED = true;
+			MatrixBlock ret1 = reader.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+			LocalBinaryBlockReader.ENABLED = false;
+			MatrixBlock ret2 = reader.readMatrixFromHDFS(fname, rows, cols, blen, mb.getNonZeros());
+
+			TestUtils.compareMatrices(mb, ret1, 0);
+			TestUtils.compareMatrices(ret2, ret1, 0);
+			assertEquals(mb.getNonZeros(), ret1.getNonZeros());
+		}
+		finally {
+			LocalBinaryBlockReader.ENABLED = flag;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class MatrixEvictionCostTest {
+	private final static int rows = 700;
+	private final static int cols = 300;
+
+	@Test
+	public void testFrequentlyReadBlockSurvivesEviction() throws Exception {
+		RPolicy oldPolicy = CacheableData.CACHING_BUFFER_POLICY;
+		long oldLimit = LazyWriteBuffer.getWriteBufferLimit();
+		try {
+			CacheableData.CACHING_BUFFER_POLICY = RPolicy.COSTNSIZE;
+			CacheableData.initCaching("tmp_matrix_eviction_cost_test");
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 7);
+			LazyWriteBuffer.setWriteBufferLimit(LazyWriteBuffer.getCacheBlockSize(mb) * 5 / 2);
+
+			MatrixObject hot = createMatrixObject("hot", 1);
+			MatrixObject cold1 = createMatrixObject("cold1", 2);
+
+			//repeated restores of the hot block from the buffer pool
+			for( int i = 0; i < 3; i++ )
+				restore(hot);
+			//rewrite of the hot block (e.g., loop-carried update), and further reads
+			hot.acquireModify(TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, 3));
+			hot.release();
+			restore(hot);
+			restore(hot);
+
+			//writes of new blocks evict the cold blocks first
+			MatrixObject cold2 = createMatrixObject("cold2", 4);
+			assertFalse(LazyWriteBuffer.probe(cold1));
+			assertTrue(LazyWriteBuffer.probe(hot));
+			MatrixObject cold3 = createMatrixObject("cold3", 5);
+			assertFalse(LazyWriteBuffer.probe(cold2));
+			assertTrue(LazyWriteBuffer.probe(hot));
+
+			for( MatrixObject mo : new MatrixObject[] {hot, cold1, cold2, cold3} )
+				mo.clearData();
+		}
+		finally {
+			CacheableData.CACHING_BUFFER_POLICY = oldPolicy;
+			LazyWriteBuffer.setWriteBufferLimit(oldLimit);
+			CacheableData.cleanupCacheDir();
+		}
+	}
+
+	private static MatrixObject createMatrixObject(String name, int seed) {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, seed);
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, name, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+		return mo;
+	}
+
+	private static void restore(MatrixObject mo) throws Exception {
+		//clear the in-memory reference to force a restore from the buffer pool
+		Method clearmo = CacheableData.class.getDeclaredMethod("clearCache", new Class[]{});
+		clearmo.setAccessible(true);
+		clearmo.invoke(mo, new Object[]{});
+		mo.acquireRead();
+		mo.release();
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class MatrixEvictionPrefetchTest {
+	private final static int rows = 700;
+	private final static int cols = 300;
+
+	@Test
+	public void testPrefetchEvictedDense() throws Exception {
+		runPrefetchTest(1.0, true);
+	}
+
+	@Test
+	public void testPrefetchEvictedSparse() throws Exception {
+		runPrefetchTest(0.05, true);
+	}
+
+	@Test
+	public void testPrefetchNotEvicted() throws Exception {
+		runPrefetchTest(1.0, false);
+	}
+
+	private static void runPrefetchTest(double sparsity, boolean evict) throws Exception {
+		boolean oldStats = DMLScript.STATISTICS;
+		int oldDepth = CacheableData.CACHING_PREFETCH_DEPTH;
+		try {
+			DMLScript.STATISTICS = true;
+			CacheableData.initCaching("tmp_matrix_prefetch_test");
+			CacheableData.CACHING_PREFETCH_DEPTH = 1;
+			CacheStatistics.reset();
+
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+			MatrixObject mo = new MatrixObject(ValueType.FP64, "mA", new MetaDataFormat(mc, FileFormat.BINARY));
+			mo.acquireModify(mb);
+			mo.release();
+
+			//evict matrix and clear in-memory reference
+			if( evict ) {
+				LazyWriteBuffer.forceEviction();
+				Method clearmo = CacheableData.class.getDeclaredMethod("clearCache", new Class[]{});
+				clearmo.setAccessible(true);
+				clearmo.invoke(mo, new Object[]{});
+			}
+
+			//asynchronous restore, picked up by subsequent acquire
+			assertEquals(evict, mo.prefetchEvictedBlob(LazyWriteBuffer.getUtilThreadPool()));
+			assertFalse(mo.prefetchEvictedBlob(LazyWriteBuffer.getUtilThreadPool()));
+			MatrixBlock mb2 = mo.acquireRead();
+			mo.release();
+
+			TestUtils.compareMatricesBitAvgDistance(mb, mb2, 0, 0, "prefetched matrix");
+			assertEquals(evict ? 1 : 0, CacheStatistics.getPrefetchHits());
+			assertEquals(0, CacheStatistics.getPrefetchMisses());
+			if( evict )
+				assertTrue(CacheStatistics.getFSHits() > 0);
+			mo.clearData();
+		}
+		finally {
+			DMLScript.STATISTICS = oldStats;
+			CacheableData.CACHING_PREFETCH_DEPTH = oldDepth;
+			CacheableData.cleanupCacheDir();
+		}
+	}
+}
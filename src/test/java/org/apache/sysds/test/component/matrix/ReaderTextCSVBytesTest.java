@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class ReaderTextCSVBytesTest {
+	private final static String fname = "target/testTemp/ReaderTextCSVBytesTest/X.csv";
+
+	@Test
+	public void testDense() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 70, -10, 10, 1.0, 7);
+		runWrittenTest(mb, ",");
+	}
+
+	@Test
+	public void testSparse() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 70, -10, 10, 0.05, 7);
+		runWrittenTest(mb, ",");
+	}
+
+	@Test
+	public void testDenseTabSingleColumn() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 1, -10, 10, 1.0, 3);
+		runWrittenTest(mb, "\t");
+	}
+
+	@Test
+	public void testFormatsAndWhitespace() throws Exception {
+		runTextTest("1.5, -2 ,3e2,+4.\n .5,NaN,-Infinity,1.0d\n0,0.000,7,1e-400\n",
+			new FileFormatPropertiesCSV(false, ",", false), 3, 4);
+	}
+
+	@Test
+	public void testFillDense() throws Exception {
+		runTextTest("1,,3\n,5,\n7,8,9\n", new FileFormatPropertiesCSV(false, ",", true, 0.5, ""), 3, 3);
+	}
+
+	@Test
+	public void testFillSparse() throws Exception {
+		runTextTest("1,,0\n,0,\n0,0,9\n0,0,0\n", new FileFormatPropertiesCSV(false, ",", true, 0, ""), 4, 3);
+	}
+
+	@Test
+	public void testNAStringsAndHeader() throws Exception {
+		runTextTest("a;b;c\n1;NA;3\n-999;5;?\n", new FileFormatPropertiesCSV(true, ";", false, 0, "NA·-999·?"), 2, 3);
+	}
+
+	@Test
+	public void testEmptyWithoutFill() throws Exception {
+		runErrorTest("1,,3\n4,5,6\n", new FileFormatPropertiesCSV(false, ",", false, 0, ""));
+	}
+
+	@Test
+	public void testInvalidNumColumns() throws Exception {
+		runErrorTest("1,2,3\n4,5\n", new FileFormatPropertiesCSV(false, ",", false));
+	}
+
+	private static void runWrittenTest(MatrixBlock mb, String delim) throws Exception {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, delim, false);
+		try {
+			new WriterTextCSV(props).writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), -1,
+				mb.getNonZeros());
+			MatrixBlock ret = compareReads(props, mb.getNumRows(), mb.getNumColumns());
+			TestUtils.compareMatrices(mb, ret, 0);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void runTextTest(String text, FileFormatPropertiesCSV props, int rows, int cols) throws Exception {
+		try {
+			writeText(text);
+			compareReads(props, rows, cols);
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static void runErrorTest(String text, FileFormatPropertiesCSV props) throws Exception {
+		boolean flag = ReaderTextCSVParallel.BYTE_PARSING;
+		try {
+			writeText(text);
+			ReaderTextCSVParallel.BYTE_PARSING = true;
+			new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, -1, -1, 1000, -1);
+			fail("expected read error");
+		}
+		catch(IOException ex) {
+			assertTrue(ExceptionUtils.getRootCause(ex).getMessage().contains("delimited file"));
+		}
+		finally {
+			ReaderTextCSVParallel.BYTE_PARSING = flag;
+			HDFSTool.deleteFileIfExistOnHDFS(fname);
+		}
+	}
+
+	private static MatrixBlock compareReads(FileFormatPropertiesCSV props, int rows, int cols) throws Exception {
+		boolean flag = ReaderTextCSVParallel.BYTE_PARSING;
+		try {
+			ReaderTextCSVParallel.BYTE_PARSING = true;
+			MatrixBlock ret1 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, rows, cols, 1000, -1);
+			ReaderTextCSVParallel.BYTE_PARSING = false;
+			MatrixBlock ret2 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, rows, cols, 1000, -1);
+			assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+			assertEquals(ret2.isInSparseFormat(), ret1.isInSparseFormat());
+			TestUtils.compareMatricesBitAvgDistance(ret2, ret1, 0, 0, "byte vs string parsing");
+			return ret1;
+		}
+		finally {
+			ReaderTextCSVParallel.BYTE_PARSING = flag;
+		}
+	}
+
+	private static void writeText(String text) throws IOException {
+		File f = new File(fname);
+		f.getParentFile().mkdirs();
+		Files.write(f.toPath(), text.getBytes(StandardCharsets.UTF_8));
+	}
+}
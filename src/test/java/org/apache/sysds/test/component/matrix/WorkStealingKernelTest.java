@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.ParallelKernelStatistics;
+import org.junit.After;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class WorkStealingKernelTest {
+	private static final int k = 4;
+
+	@After
+	public void cleanup() {
+		CommonThreadPool.WORK_STEALING = true;
+		DMLScript.STATISTICS = false;
+		ParallelKernelStatistics.reset();
+	}
+
+	@Test
+	public void testMatrixMultPowerLawSparseDense() {
+		MatrixBlock m1 = createPowerLawMatrix(2000, 500, 7);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(500, 200, -1, 1, 1.0, 3);
+		compareMatrixMult(m1, m2);
+	}
+
+	@Test
+	public void testMatrixMultPowerLawSparseSparse() {
+		MatrixBlock m1 = createPowerLawMatrix(2000, 500, 7);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(500, 300, -1, 1, 0.05, 3);
+		compareMatrixMult(m1, m2);
+	}
+
+	@Test
+	public void testMatrixMultDense() {
+		MatrixBlock m1 = TestUtils.generateTestMatrixBlock(1000, 100, -1, 1, 1.0, 7);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(100, 40, -1, 1, 1.0, 3);
+		compareMatrixMult(m1, m2);
+	}
+
+	@Test
+	public void testRowSumsPowerLaw() {
+		MatrixBlock m1 = createPowerLawMatrix(3000, 800, 11);
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator("uark+", k);
+		CommonThreadPool.WORK_STEALING = false;
+		MatrixBlock expected = m1.aggregateUnaryOperations(op);
+		CommonThreadPool.WORK_STEALING = true;
+		MatrixBlock actual = m1.aggregateUnaryOperations(op);
+		TestUtils.compareMatrices(expected, actual, 1e-10);
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+	}
+
+	@Test
+	public void testBincellPowerLaw() {
+		MatrixBlock m1 = createPowerLawMatrix(3000, 800, 13);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(3000, 800, -1, 1, 0.5, 5);
+		BinaryOperator op = new BinaryOperator(Multiply.getMultiplyFnObject(), k);
+		CommonThreadPool.WORK_STEALING = false;
+		MatrixBlock expected = LibMatrixBincell.bincellOp(m1, m2, new MatrixBlock(), op);
+		CommonThreadPool.WORK_STEALING = true;
+		MatrixBlock actual = LibMatrixBincell.bincellOp(m1, m2, new MatrixBlock(), op);
+		TestUtils.compareMatrices(expected, actual, 1e-10);
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+	}
+
+	@Test
+	public void testStatistics() {
+		DMLScript.STATISTICS = true;
+		ParallelKernelStatistics.reset();
+		MatrixBlock m1 = createPowerLawMatrix(2000, 500, 7);
+		MatrixBlock m2 = TestUtils.generateTestMatrixBlock(500, 200, -1, 1, 1.0, 3);
+		LibMatrixMult.matrixMult(m1, m2, k);
+		assertEquals(1, ParallelKernelStatistics.getNumCalls("matrixMult"));
+		assertTrue(ParallelKernelStatistics.getUtilization("matrixMult") > 0);
+		assertTrue(ParallelKernelStatistics.getImbalance("matrixMult") >= 1);
+		assertTrue(ParallelKernelStatistics.displayStatistics().contains("matrixMult"));
+	}
+
+	private static void compareMatrixMult(MatrixBlock m1, MatrixBlock m2) {
+		CommonThreadPool.WORK_STEALING = false;
+		MatrixBlock expected = LibMatrixMult.matrixMult(m1, m2, k);
+		CommonThreadPool.WORK_STEALING = true;
+		MatrixBlock actual = LibMatrixMult.matrixMult(m1, m2, k);
+		TestUtils.compareMatrices(expected, actual, 1e-10);
+		assertEquals(expected.getNonZeros(), actual.getNonZeros());
+		assertEquals(expected.isInSparseFormat(), actual.isInSparseFormat());
+	}
+
+	/**
+	 * Creates a sparse matrix with power-law distributed row lengths, i.e.,
+	 * few very dense rows at the top and a long tail of almost empty rows.
+	 */
+	private static MatrixBlock createPowerLawMatrix(int rows, int cols, long seed) {
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, cols, true);
+		for(int i = 0; i < rows; i++) {
+			int nnz = Math.min(cols, (int) (cols / Math.pow(i + 1, 0.8)) + rand.nextInt(2));
+			for(int j = 0; j < nnz; j++)
+				ret.set(i, rand.nextInt(cols), rand.nextDouble() + 0.1);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+}
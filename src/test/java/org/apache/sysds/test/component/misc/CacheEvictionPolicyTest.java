@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.CacheEvictionPolicy;
+import org.apache.sysds.runtime.controlprogram.caching.CacheEvictionQueue;
+import org.apache.sysds.runtime.controlprogram.caching.CostNSizeEvictionPolicy;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
+import org.junit.Test;
+
+public class CacheEvictionPolicyTest {
+
+	@Test
+	public void testFIFO() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.FIFO);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		insert(policy, q, "a", 100, -1);
+		insert(policy, q, "b", 100, -1);
+		policy.onAccess(q, "a", q.get("a"));
+		assertEquals("a", policy.removeVictim(q).getKey());
+		assertEquals("b", policy.removeVictim(q).getKey());
+	}
+
+	@Test
+	public void testLRU() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.LRU);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		insert(policy, q, "a", 100, -1);
+		insert(policy, q, "b", 100, -1);
+		policy.onAccess(q, "a", q.get("a"));
+		assertEquals("b", policy.removeVictim(q).getKey());
+		assertEquals("a", policy.removeVictim(q).getKey());
+	}
+
+	@Test
+	public void testCostNSizeRestoreCost() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.COSTNSIZE);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		//large block that is cheap to restore vs small expensive block
+		insert(policy, q, "small", 1000, 1000000);
+		insert(policy, q, "large", 1000000, 1000000);
+		assertEquals("large", policy.removeVictim(q).getKey());
+		assertEquals("small", policy.removeVictim(q).getKey());
+	}
+
+	@Test
+	public void testCostNSizeFrequency() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.COSTNSIZE);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		//frequently accessed (loop-invariant) vs temporary blocks of equal size
+		insert(policy, q, "invariant", 1000, -1);
+		for(int i = 0; i < 5; i++)
+			policy.onAccess(q, "invariant", q.get("invariant"));
+		insert(policy, q, "tmp1", 1000, -1);
+		insert(policy, q, "tmp2", 1000, -1);
+		assertEquals("tmp1", policy.removeVictim(q).getKey());
+		assertEquals("tmp2", policy.removeVictim(q).getKey());
+		assertEquals("invariant", policy.removeVictim(q).getKey());
+		assertTrue(q.isEmpty());
+	}
+
+	@Test
+	public void testCostNSizeAging() {
+		CostNSizeEvictionPolicy policy = new CostNSizeEvictionPolicy();
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		insert(policy, q, "old", 1000, -1);
+		policy.onAccess(q, "old", q.get("old"));
+		insert(policy, q, "a", 1000, -1);
+		assertEquals("a", policy.removeVictim(q).getKey());
+		assertTrue(policy.getInflation() > 0);
+		//after evictions, recently used entries outrank stale frequent entries
+		insert(policy, q, "b", 1000, -1);
+		policy.onAccess(q, "b", q.get("b"));
+		assertEquals("old", policy.removeVictim(q).getKey());
+		assertEquals("b", policy.removeVictim(q).getKey());
+	}
+
+	@Test
+	public void testCostNSizeEstimatedRestoreCost() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.COSTNSIZE);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		//estimated restore costs include a per-block overhead, i.e., size does not cancel out
+		insert(policy, q, "small", 1000, -1);
+		insert(policy, q, "large", 1000000, -1);
+		assertEquals("large", policy.removeVictim(q).getKey());
+		assertEquals("small", policy.removeVictim(q).getKey());
+	}
+
+	@Test
+	public void testCostNSizeRemovedEntries() {
+		CacheEvictionPolicy policy = CacheEvictionPolicy.create(RPolicy.COSTNSIZE);
+		CacheEvictionQueue q = new CacheEvictionQueue();
+		for(int i = 0; i < 100; i++)
+			insert(policy, q, "b" + i, 1000 + i, -1);
+		//entries deleted from or reinserted into the queue w/o eviction
+		for(int i = 50; i < 100; i++)
+			q.remove("b" + i);
+		for(int i = 0; i < 10; i++)
+			policy.onAccess(q, "b" + i, q.get("b" + i));
+		insert(policy, q, "b49", 10, -1);
+		for(int i = 48; i >= 10; i--)
+			assertEquals("b" + i, policy.removeVictim(q).getKey());
+		for(int i = 9; i >= 0; i--)
+			assertEquals("b" + i, policy.removeVictim(q).getKey());
+		assertEquals("b49", policy.removeVictim(q).getKey());
+		assertTrue(q.isEmpty());
+	}
+
+	private static void insert(CacheEvictionPolicy policy, CacheEvictionQueue q, String fname, long size, long cost) {
+		ByteBuffer bbuff = new ByteBuffer(size);
+		bbuff.setRestoreCost(cost);
+		q.addLast(fname, bbuff);
+		policy.onInsert(q, fname, bbuff);
+	}
+}
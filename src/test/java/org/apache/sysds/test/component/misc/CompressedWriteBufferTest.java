@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.sysds.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.CompressedWriteBuffer;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressedWriteBufferTest {
+
+	@Test
+	public void testLowCardinalityDense() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 20, 0, 3, 1.0, 7));
+		runCompressedTier(mb, 1L << 30, true);
+	}
+
+	@Test
+	public void testLowCardinalitySparse() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 100, 1, 3, 0.05, 7));
+		runCompressedTier(mb, 1L << 30, true);
+	}
+
+	@Test
+	public void testIncompressibleSpill() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 20, -1, 1, 1.0, 7);
+		runCompressedTier(mb, 1L << 30, false);
+	}
+
+	@Test
+	public void testBudgetSpill() throws Exception {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 20, 0, 3, 1.0, 7));
+		//budget for 1.5 compressed blocks
+		CompressedWriteBuffer tmp = new CompressedWriteBuffer(1L << 30);
+		tmp.writeBlock("tmp", serialize(mb));
+		CompressedWriteBuffer cbuff = new CompressedWriteBuffer(tmp.getSize() * 3 / 2);
+		File f1 = File.createTempFile("ctier", ".dat");
+		File f2 = File.createTempFile("ctier", ".dat");
+		try {
+			assertEquals(0, cbuff.writeBlock(f1.getAbsolutePath(), serialize(mb)));
+			assertEquals(1, cbuff.writeBlock(f2.getAbsolutePath(), serialize(mb)));
+			assertFalse(cbuff.containsBlock(f1.getAbsolutePath()));
+			assertTrue(cbuff.containsBlock(f2.getAbsolutePath()));
+			//spilled block is readable from local disk
+			MatrixBlock ret = LocalFileUtils.readMatrixBlockFromLocal(f1.getAbsolutePath());
+			TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "spilled block");
+			assertTrue(cbuff.deleteBlock(f2.getAbsolutePath()));
+			assertEquals(0, cbuff.getSize());
+		}
+		finally {
+			f1.delete();
+			f2.delete();
+		}
+	}
+
+	private static void runCompressedTier(MatrixBlock mb, long limit, boolean inMemory) throws Exception {
+		CompressedWriteBuffer cbuff = new CompressedWriteBuffer(limit);
+		File f = File.createTempFile("ctier", ".dat");
+		f.delete();
+		try {
+			int numEvicted = cbuff.writeBlock(f.getAbsolutePath(), serialize(mb));
+			assertEquals(inMemory ? 0 : 1, numEvicted);
+			assertEquals(inMemory, cbuff.containsBlock(f.getAbsolutePath()));
+			assertEquals(!inMemory, f.exists());
+			MatrixBlock ret = inMemory ?
+				(MatrixBlock) CompressedWriteBuffer.readBlock(cbuff.getBlock(f.getAbsolutePath())) :
+				LocalFileUtils.readMatrixBlockFromLocal(f.getAbsolutePath());
+			TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "compressed tier");
+			if( inMemory ) {
+				assertTrue(cbuff.getSize() * CompressedWriteBuffer.MIN_COMPRESSION_RATIO
+					<= mb.getExactSerializedSize());
+				assertTrue(cbuff.deleteBlock(f.getAbsolutePath()));
+				assertNull(cbuff.getBlock(f.getAbsolutePath()));
+			}
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	private static ByteBuffer serialize(MatrixBlock mb) {
+		ByteBuffer bbuff = new ByteBuffer(mb.isShallowSerialize() ?
+			mb.getInMemorySize() : mb.getExactSerializedSize());
+		bbuff.serializeBlock(mb);
+		return bbuff;
+	}
+}
@@ -21,6 +21,9 @@ package org.apache.sysds.test.component.misc;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Locale;
+import java.util.Random;
+
 import org.apache.sysds.utils.DoubleParser;
 import org.junit.Test;
 
@@ -172,8 +175,56 @@ public class DoubleParserTest {
 		parse("      ");
 	}
 
+	@Test
+	public void parseBytesRandom() {
+		Random rand = new Random(7);
+		for(int i = 0; i < 100000; i++) {
+			double v = Double.longBitsToDouble(rand.nextLong());
+			if(!Double.isNaN(v))
+				compareBytesToDoubleParser(Double.toString(v));
+			compareBytesToDoubleParser(Double.toString(rand.nextDouble() * 1000));
+			compareBytesToDoubleParser(String.format(Locale.US, "%.6f", rand.nextGaussian()));
+			compareBytesToDoubleParser(Long.toString(rand.nextLong()));
+		}
+	}
+
+	@Test
+	public void parseBytesOffset() {
+		byte[] b = "7,-0.25e2,1.5d".getBytes();
+		assertEquals(7, DoubleParser.parseFloatingPointLiteral(b, 0, 1), 0.0);
+		assertEquals(-25, DoubleParser.parseFloatingPointLiteral(b, 2, 9), 0.0);
+		assertEquals(1.5, DoubleParser.parseFloatingPointLiteral(b, 10, 14), 0.0);
+	}
+
+	@Test
+	public void parseBytesSignedZero() {
+		compareBytesToDoubleParser("-0.0");
+		compareBytesToDoubleParser("-0e400");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void parseBytesInvalid() {
+		parseBytes("1.2.3");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void parseBytesEmptyExponent() {
+		parseBytes("1.2e");
+	}
+
 	private void compareToDoubleParser(String s) {
 		assertEquals(Double.parseDouble(s), parse(s), 0.00);
+		compareBytesToDoubleParser(s);
+	}
+
+	private void compareBytesToDoubleParser(String s) {
+		assertEquals(s, Double.doubleToRawLongBits(Double.parseDouble(s)),
+			Double.doubleToRawLongBits(parseBytes(s)));
+	}
+
+	private double parseBytes(String s) {
+		byte[] b = s.getBytes();
+		return DoubleParser.parseFloatingPointLiteral(b, 0, b.length);
 	}
 
 	private double parse(String s) {
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class MappedCacheFileTest {
+
+	@Test
+	public void testDenseRoundTrip() throws Exception {
+		runRoundTrip(TestUtils.generateTestMatrixBlock(1234, 57, -10, 10, 0.9, 7));
+	}
+
+	@Test
+	public void testDenseVectorRoundTrip() throws Exception {
+		runRoundTrip(TestUtils.generateTestMatrixBlock(10000, 1, -10, 10, 1.0, 3));
+	}
+
+	@Test
+	public void testSparseNotMappable() {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(1000, 100, -10, 10, 0.01, 7);
+		assertFalse(LocalFileUtils.isMappableCacheBlock(mb));
+	}
+
+	@Test
+	public void testStreamFileFallback() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 10, -10, 10, 0.9, 7);
+		File f = File.createTempFile("mapped", ".dat");
+		try {
+			LocalFileUtils.writeMatrixBlockToLocal(f.getAbsolutePath(), mb);
+			assertNull(LocalFileUtils.readMatrixBlockFromMappedLocal(f.getAbsolutePath()));
+		}
+		finally {
+			f.delete();
+		}
+	}
+
+	@Test
+	public void testCacheBlockDispatch() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(321, 17, -10, 10, 0.7, 11);
+		File f = File.createTempFile("mapped", ".dat");
+		boolean flag = CacheableData.CACHING_EVICTION_MMAP;
+		try {
+			CacheableData.CACHING_EVICTION_MMAP = true;
+			LocalFileUtils.writeCacheBlockToLocal(f.getAbsolutePath(), mb);
+			assertEquals(LocalFileUtils.MAPPED_HEADER_SIZE + 8L * 321 * 17, f.length());
+			MatrixBlock ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(f.getAbsolutePath(), true);
+			TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "mapped cache block");
+		}
+		finally {
+			CacheableData.CACHING_EVICTION_MMAP = flag;
+			f.delete();
+		}
+	}
+
+	private static void runRoundTrip(MatrixBlock mb) throws Exception {
+		assertTrue(LocalFileUtils.isMappableCacheBlock(mb));
+		File f = File.createTempFile("mapped", ".dat");
+		try {
+			LocalFileUtils.writeDenseBlockToMappedLocal(f.getAbsolutePath(), mb);
+			MatrixBlock ret = LocalFileUtils.readMatrixBlockFromMappedLocal(f.getAbsolutePath());
+			assertEquals(mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0, "mapped round trip");
+		}
+		finally {
+			f.delete();
+		}
+	}
+}
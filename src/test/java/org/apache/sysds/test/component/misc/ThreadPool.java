@@ -24,6 +24,7 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -37,11 +38,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 import org.junit.Test;
 
@@ -415,4 +419,97 @@ public class ThreadPool {
 		t.join();
 		CommonThreadPool.shutdownAsyncPools(t);
 	}
+
+	@Test
+	public void invokeRangesWorkStealing() {
+		invokeRanges(true, null);
+	}
+
+	@Test
+	public void invokeRangesStatic() {
+		invokeRanges(false, null);
+	}
+
+	@Test
+	public void invokeRangesSkewedCosts() {
+		// power-law row costs, with most of the cost in the first rows
+		long[] cost = new long[1001];
+		for(int i = 0; i < 1000; i++)
+			cost[i + 1] = cost[i] + 1 + 100000 / (i + 1);
+		invokeRanges(true, cost);
+	}
+
+	@Test
+	public void invokeRangesUniformCostsStatic() {
+		// without row costs, ranges are statically balanced even if work stealing is enabled
+		final boolean flag = CommonThreadPool.WORK_STEALING;
+		String name = Thread.currentThread().getName();
+		Thread.currentThread().setName("main");
+		ExecutorService pool = CommonThreadPool.get(3);
+		try {
+			CommonThreadPool.WORK_STEALING = true;
+			AtomicInteger numRanges = new AtomicInteger();
+			CommonThreadPool.invokeRanges(pool, "test", 1000, 3, null, (rl, ru) -> {
+				numRanges.incrementAndGet();
+				return ru - rl;
+			});
+			assertEquals(UtilFunctions.getBalancedBlockSizesDefault(1000, 3, false).size(), numRanges.get());
+		}
+		finally {
+			CommonThreadPool.WORK_STEALING = flag;
+			pool.shutdown();
+			Thread.currentThread().setName(name);
+			CommonThreadPool.shutdownAsyncPools();
+		}
+	}
+
+	@Test
+	public void invokeRangesException() {
+		String name = Thread.currentThread().getName();
+		Thread.currentThread().setName("main");
+		ExecutorService pool = CommonThreadPool.get(3);
+		try {
+			CommonThreadPool.invokeRanges(pool, "test", 100, 3, null, (rl, ru) -> {
+				if(rl <= 50 && 50 < ru)
+					throw new RuntimeException("failed range");
+				return 0;
+			});
+			fail("expected exception");
+		}
+		catch(RuntimeException e) {
+			// expected
+		}
+		finally {
+			pool.shutdown();
+			Thread.currentThread().setName(name);
+			CommonThreadPool.shutdownAsyncPools();
+		}
+	}
+
+	private static void invokeRanges(boolean workStealing, long[] cost) {
+		final boolean flag = CommonThreadPool.WORK_STEALING;
+		String name = Thread.currentThread().getName();
+		Thread.currentThread().setName("main");
+		ExecutorService pool = CommonThreadPool.get(3);
+		try {
+			CommonThreadPool.WORK_STEALING = workStealing;
+			final int len = (cost != null) ? cost.length - 1 : 1000;
+			AtomicIntegerArray count = new AtomicIntegerArray(len);
+			long ret = CommonThreadPool.invokeRanges(pool, "test", len, 3, cost, (rl, ru) -> {
+				for(int i = rl; i < ru; i++)
+					count.incrementAndGet(i);
+				return ru - rl;
+			});
+			// all rows covered exactly once
+			assertEquals(len, ret);
+			for(int i = 0; i < len; i++)
+				assertEquals(1, count.get(i));
+		}
+		finally {
+			CommonThreadPool.WORK_STEALING = flag;
+			pool.shutdown();
+			Thread.currentThread().setName(name);
+			CommonThreadPool.shutdownAsyncPools();
+		}
+	}
 }
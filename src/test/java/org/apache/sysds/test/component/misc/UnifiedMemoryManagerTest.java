@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class UnifiedMemoryManagerTest {
+	private final static int rows = 200;
+	private final static int cols = 100;
+
+	private long _size;
+
+	@Before
+	public void setUp() throws Exception {
+		CacheableData.initCaching("tmp_umm_test");
+		OptimizerUtils.enableUMM();
+		_size = UnifiedMemoryManager.getCacheBlockSize(createBlock(1));
+		//capacity for three and a half objects
+		UnifiedMemoryManager.setUMMLimit(7 * _size / 2);
+	}
+
+	@After
+	public void tearDown() {
+		OptimizerUtils.disableUMM();
+		CacheableData.cleanupCacheDir();
+	}
+
+	@Test
+	public void testLendBufferPoolMemory() throws Exception {
+		MatrixObject[] mo = createObjects(3);
+		assertEquals(3 * _size, UnifiedMemoryManager.getUMMCached());
+		assertEquals(_size / 2, UnifiedMemoryManager.getUMMFree());
+		cleanup(mo);
+	}
+
+	@Test
+	public void testReserveOutputReclaims() throws Exception {
+		MatrixObject[] mo = createObjects(3);
+		int numEvicted = UnifiedMemoryManager.reserveOutputMem(2 * _size);
+		assertEquals(2, numEvicted);
+		assertEquals(_size, UnifiedMemoryManager.getUMMCached());
+		//reclaimed memory is held for the output until released
+		assertEquals(2 * _size, UnifiedMemoryManager.getUMMReserved());
+		UnifiedMemoryManager.releaseOutputMem();
+		assertTrue(UnifiedMemoryManager.getUMMFree() >= 2 * _size);
+		//evicted objects are restored correctly
+		for( int i=0; i<mo.length; i++ )
+			verifyObject(mo[i], i);
+		cleanup(mo);
+	}
+
+	@Test
+	public void testReserveSkipsPinned() throws Exception {
+		MatrixObject[] mo = createObjects(3);
+		mo[0].acquireRead();
+		mo[0].acquireRead();
+		UnifiedMemoryManager.reserveOutputMem(10 * _size);
+		//pinned first entry survives, the others are evicted
+		assertEquals(_size, UnifiedMemoryManager.getUMMCached());
+		assertTrue(UnifiedMemoryManager.probe(mo[0]));
+		mo[0].release();
+		assertTrue(UnifiedMemoryManager.probe(mo[0]));
+		mo[0].release();
+		UnifiedMemoryManager.releaseOutputMem();
+		UnifiedMemoryManager.reserveOutputMem(10 * _size);
+		assertEquals(0, UnifiedMemoryManager.getUMMCached());
+		assertEquals(0, UnifiedMemoryManager.getUMMPinned());
+		UnifiedMemoryManager.releaseOutputMem();
+		cleanup(mo);
+	}
+
+	@Test
+	public void testReservationHeldUntilWrite() throws Exception {
+		MatrixObject[] mo = createObjects(3);
+		assertEquals(1, UnifiedMemoryManager.reserveOutputMem(_size));
+		assertEquals(_size, UnifiedMemoryManager.getUMMReserved());
+		assertEquals(_size / 2, UnifiedMemoryManager.getUMMFree());
+		//concurrent writes of other threads do not consume the reservation
+		Thread t = new Thread(() -> cleanup(createObjects(1)));
+		t.start();
+		t.join();
+		assertEquals(_size, UnifiedMemoryManager.getUMMReserved());
+		//the write of the output hands the reservation over to the cache
+		MatrixObject[] out = createObjects(1);
+		assertEquals(0, UnifiedMemoryManager.getUMMReserved());
+		assertEquals(2 * _size, UnifiedMemoryManager.getUMMCached());
+		cleanup(mo);
+		cleanup(out);
+	}
+
+	@Test
+	public void testAllocationWithoutReservation() throws Exception {
+		MatrixObject[] mo = createObjects(3);
+		//generic allocations (e.g., temporaries) reserve nothing
+		MatrixBlock mb = new MatrixBlock(10 * rows, cols, false);
+		mb.allocateDenseBlock();
+		assertEquals(0, UnifiedMemoryManager.getUMMReserved());
+		assertEquals(3 * _size, UnifiedMemoryManager.getUMMCached());
+		cleanup(mo);
+	}
+
+	@Test
+	public void testDeleteAll() throws Exception {
+		createObjects(3);
+		UnifiedMemoryManager.forceEviction();
+		assertEquals(0, UnifiedMemoryManager.getUMMCached());
+		UnifiedMemoryManager.deleteAll();
+		assertEquals(7 * _size / 2, UnifiedMemoryManager.getUMMFree());
+		UnifiedMemoryManager.init();
+	}
+
+	private static MatrixBlock createBlock(int seed) {
+		return TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, 1.0, seed);
+	}
+
+	private static MatrixObject[] createObjects(int n) {
+		MatrixObject[] ret = new MatrixObject[n];
+		for( int i=0; i<n; i++ ) {
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1);
+			ret[i] = new MatrixObject(ValueType.FP64, "m"+i, new MetaDataFormat(mc, FileFormat.BINARY));
+			ret[i].acquireModify(createBlock(i + 1));
+			ret[i].release();
+		}
+		return ret;
+	}
+
+	private static void verifyObject(MatrixObject mo, int i) {
+		MatrixBlock mb = mo.acquireRead();
+		TestUtils.compareMatrices(createBlock(i + 1), mb, 0);
+		mo.release();
+	}
+
+	private static void cleanup(MatrixObject[] mo) {
+		for( MatrixObject m : mo )
+			m.clearData();
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSGradCompression;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.functionobjects.Minus;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class GradientCompressorTest {
+
+	@Test
+	public void testTopKSparsification() {
+		MatrixBlock g = TestUtils.generateTestMatrixBlock(100, 50, -1, 1, 1.0, 7);
+		GradientCompressor gc = new GradientCompressor(PSGradCompression.TOPK, 0.1);
+		MatrixBlock c = getBlock(gc.compress(createList(g)), 0);
+		assertTrue(c.isInSparseFormat());
+		assertEquals(500, c.getNonZeros());
+		// the sent values plus the residual recover the gradient
+		MatrixBlock r = gc.getResiduals()[0];
+		TestUtils.compareMatrices(g, plus(c, r), 1e-14);
+		// all sent values are at least as large in magnitude as all residual values
+		double minSent = Double.MAX_VALUE, maxResidual = 0;
+		for(int i = 0; i < g.getNumRows(); i++)
+			for(int j = 0; j < g.getNumColumns(); j++) {
+				if(c.get(i, j) != 0)
+					minSent = Math.min(minSent, Math.abs(c.get(i, j)));
+				maxResidual = Math.max(maxResidual, Math.abs(r.get(i, j)));
+			}
+		assertTrue(minSent >= maxResidual);
+	}
+
+	@Test
+	public void testErrorFeedback() {
+		MatrixBlock g = TestUtils.generateTestMatrixBlock(20, 20, -1, 1, 1.0, 3);
+		GradientCompressor gc = new GradientCompressor(PSGradCompression.TOPK, 0.05);
+		// over multiple pushes, the sum of sent values converges to the sum of gradients
+		MatrixBlock sent = new MatrixBlock(20, 20, 0d);
+		int n = 40;
+		for(int i = 0; i < n; i++)
+			sent = plus(sent, getBlock(gc.compress(createList(g)), 0));
+		MatrixBlock expected = new MatrixBlock(20, 20, 0d);
+		for(int i = 0; i < n; i++)
+			expected = plus(expected, g);
+		TestUtils.compareMatrices(expected, plus(sent, gc.getResiduals()[0]), 1e-10);
+	}
+
+	@Test
+	public void testQuantization() {
+		MatrixBlock g = TestUtils.generateTestMatrixBlock(200, 20, -1, 1, 1.0, 11);
+		GradientCompressor gc = new GradientCompressor(PSGradCompression.QUANTIZE, 0);
+		MatrixBlock c = getBlock(gc.compress(createList(g)), 0);
+		// quantized gradients have at most 256 distinct values, within half a step
+		MatrixBlock d = (c instanceof CompressedMatrixBlock) ? ((CompressedMatrixBlock) c).decompress() : c;
+		assertTrue(Arrays.stream(d.getDenseBlockValues()).distinct().count() <= 256);
+		TestUtils.compareMatrices(g, d, 2.0 / 255 / 2 + 1e-12);
+		assertTrue(c.getExactSizeOnDisk() < g.getExactSizeOnDisk());
+	}
+
+	@Test
+	public void testSerializeAndDecompress() throws Exception {
+		MatrixBlock g = TestUtils.generateTestMatrixBlock(200, 20, -1, 1, 1.0, 13);
+		GradientCompressor gc = new GradientCompressor(PSGradCompression.QUANTIZE, 0);
+		ListObject lo = gc.compress(createList(g));
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream out = new ObjectOutputStream(bos)) {
+			out.writeObject(lo);
+		}
+		ListObject lo2;
+		try(ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			lo2 = (ListObject) in.readObject();
+		}
+		MatrixBlock d = getBlock(GradientCompressor.decompress(lo2), 0);
+		assertFalse(d instanceof CompressedMatrixBlock);
+		MatrixBlock expected = g.binaryOperations(new BinaryOperator(Minus.getMinusFnObject()),
+			gc.getResiduals()[0], new MatrixBlock());
+		TestUtils.compareMatrices(expected, d, 1e-12);
+	}
+
+	@Test
+	public void testStatistics() {
+		DMLScript.STATISTICS = true;
+		try {
+			ParamServStatistics.reset();
+			MatrixBlock g = TestUtils.generateTestMatrixBlock(100, 100, -1, 1, 1.0, 5);
+			GradientCompressor gc = new GradientCompressor(PSGradCompression.TOPK, 0.01);
+			gc.compress(createList(g, g));
+			assertEquals(1, ParamServStatistics.getCompressedPushes());
+			assertEquals(2 * g.getExactSizeOnDisk(), ParamServStatistics.getGradientBytes());
+			assertTrue(ParamServStatistics.getCompressedGradientBytes() < ParamServStatistics.getGradientBytes() / 10);
+			assertTrue(ParamServStatistics.getCompressionError() > 0 && ParamServStatistics.getCompressionError() < 1);
+		}
+		finally {
+			DMLScript.STATISTICS = false;
+			ParamServStatistics.reset();
+		}
+	}
+
+	private static ListObject createList(MatrixBlock... mbs) {
+		List<Data> data = Arrays.stream(mbs)
+			.map(mb -> ParamservUtils.newMatrixObject(new MatrixBlock(mb))).collect(Collectors.toList());
+		return new ListObject(data);
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int i) {
+		return ((MatrixObject) lo.getData().get(i)).acquireReadAndRelease();
+	}
+
+	private static MatrixBlock plus(MatrixBlock a, MatrixBlock b) {
+		return a.binaryOperations(new BinaryOperator(Plus.getPlusFnObject()), b, new MatrixBlock());
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueTest {
+
+	@Test
+	public void testSingleProducerMultipleConsumers() {
+		testTaskQueue(1, 8, 100000);
+	}
+
+	@Test
+	public void testMultipleProducersMultipleConsumers() {
+		testTaskQueue(4, 8, 100000);
+	}
+
+	@Test
+	public void testMaxSizeBlockingProducer() {
+		testTaskQueue(2, 2, 3*LocalTaskQueue.MAX_SIZE);
+	}
+
+	@Test
+	public void testClosedEmptyQueue() throws InterruptedException {
+		LocalTaskQueue<Integer> queue = new LocalTaskQueue<>();
+		queue.closeInput();
+		Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, queue.dequeueTask());
+		Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, queue.dequeueTask());
+	}
+
+	@Test
+	public void testDrainAfterClose() throws InterruptedException {
+		LocalTaskQueue<Integer> queue = new LocalTaskQueue<>();
+		for(int i = 0; i < 10; i++)
+			queue.enqueueTask(i);
+		queue.closeInput();
+		for(int i = 0; i < 10; i++)
+			Assert.assertEquals(Integer.valueOf(i), queue.dequeueTask());
+		Assert.assertEquals(LocalTaskQueue.NO_MORE_TASKS, queue.dequeueTask());
+		Assert.assertEquals(10, queue.getNumDequeued());
+	}
+
+	private static void testTaskQueue(int numProducers, int numConsumers, int numTasks) {
+		LocalTaskQueue<Integer> queue = new LocalTaskQueue<>();
+		AtomicIntegerArray seen = new AtomicIntegerArray(numTasks);
+		ExecutorService pool = Executors.newFixedThreadPool(numProducers + numConsumers);
+		try {
+			//consumers waiting for tasks before and during task creation
+			List<Future<?>> consumers = new ArrayList<>();
+			for(int i = 0; i < numConsumers; i++)
+				consumers.add(pool.submit(() -> {
+					Integer t = null;
+					while((t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS)
+						seen.incrementAndGet(t);
+					return null;
+				}));
+			List<Future<?>> producers = new ArrayList<>();
+			for(int i = 0; i < numProducers; i++) {
+				final int pos = i;
+				producers.add(pool.submit(() -> {
+					for(int t = pos; t < numTasks; t += numProducers)
+						queue.enqueueTask(t);
+					return null;
+				}));
+			}
+			for(Future<?> f : producers)
+				f.get();
+			queue.closeInput();
+			for(Future<?> f : consumers)
+				f.get();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		//every task consumed exactly once
+		for(int i = 0; i < numTasks; i++)
+			Assert.assertEquals("task " + i, 1, seen.get(i));
+		Assert.assertEquals(numTasks, queue.getNumDequeued());
+	}
+}
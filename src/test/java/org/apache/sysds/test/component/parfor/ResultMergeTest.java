@@ -19,6 +19,9 @@
 
 package org.apache.sysds.test.component.parfor;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import org.apache.sysds.common.Types.FileFormat;
@@ -30,6 +33,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysds.runtime.controlprogram.parfor.ResultMerge;
+import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.test.AutomatedTestBase;
@@ -62,6 +66,31 @@ public class ResultMergeTest extends AutomatedTestBase{
 		testResultMergeAll(PResultMerge.LOCAL_AUTOMATIC);
 	}
 	
+	@Test
+	public void testLocalMemParallelAccum() {
+		testResultMerge(true, true, false, PResultMerge.LOCAL_MEM);
+	}
+	
+	@Test
+	public void testLocalMemParallelInterleavedSparse() {
+		testResultMergeInterleaved(0.1);
+	}
+	
+	@Test
+	public void testLocalMemParallelInterleavedDense() {
+		testResultMergeInterleaved(1.0);
+	}
+	
+	@Test
+	public void testInMemoryEstimateParallelInputs() {
+		//the partitioned merge pins all inputs, so the in-memory decision depends on par
+		long size = (long) MatrixBlock.estimateSizeInMemory(1000, 1000, 1.0);
+		assertTrue(OptimizerRuleBased.isInMemoryResultMerge(1000, 1000, 1, 5 * size));
+		assertTrue(OptimizerRuleBased.isInMemoryResultMerge(1000, 1000, 5 * size));
+		assertFalse(OptimizerRuleBased.isInMemoryResultMerge(1000, 1000, 4, 5 * size));
+		assertTrue(OptimizerRuleBased.isInMemoryResultMerge(1000, 1000, 4, 8 * size));
+	}
+	
 	private void testResultMergeAll(PResultMerge mtype) {
 		testResultMerge(false, false, false, mtype);
 		testResultMerge(false, true, false, mtype);
@@ -114,6 +143,42 @@ public class ResultMergeTest extends AutomatedTestBase{
 		}
 	}
 	
+	private void testResultMergeInterleaved(double sparsity) {
+		try{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//create worker results with interleaved rows and partially overlapping rows
+			//(disjoint cells), similar to factoring tasks of multiple workers
+			MatrixBlock A = MatrixBlock.randOperations(1200, 100, sparsity, -1, 1, "uniform", 7);
+			CacheableData<?> Cobj = toMatrixObject(new MatrixBlock(1200,100,true), output("C"));
+			MatrixBlock[] B = new MatrixBlock[4];
+			for( int k=0; k<B.length; k++ )
+				B[k] = new MatrixBlock(1200, 100, false);
+			for( int i=0; i<1200; i++ )
+				for( int j=0; j<100; j++ ) {
+					//rows of worker i%3, but last columns of every 10th row by worker 3
+					int k = (i % 10 == 0 && j >= 50) ? 3 : i % 3;
+					B[k].set(i, j, A.get(i, j));
+				}
+			MatrixObject[] Bobj = new MatrixObject[B.length];
+			for( int k=0; k<B.length; k++ ) {
+				B[k].examSparsity();
+				Bobj[k] = toMatrixObject(B[k], output("B"+k));
+			}
+			
+			ResultMerge<?> rm = ParForProgramBlock.createResultMerge(PResultMerge.LOCAL_MEM,
+				Cobj, Bobj, output("R"), false, 4, ExecutionContextFactory.createContext());
+			MatrixBlock C = (MatrixBlock)rm.executeParallelMerge(4).acquireReadAndRelease();
+			TestUtils.compareMatrices(A, C, 1e-14);
+			assertEquals(A.recomputeNonZeros(), C.getNonZeros());
+			assertEquals(MatrixBlock.evalSparseFormatInMemory(1200, 100, C.getNonZeros()), C.isInSparseFormat());
+		}
+		catch(Exception e){
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+	
 	private static MatrixObject toMatrixObject(MatrixBlock mb, String filename) {
 		MetaDataFormat md = new MetaDataFormat(
 			mb.getDataCharacteristics().setBlocksize(1000), FileFormat.BINARY);
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.functions.lineage;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.runtime.lineage.LineageCacheEntry;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LineageCacheEntryWaitTest {
+
+	@Test
+	public void testWakeupOnSpill() throws Exception {
+		// a reader waiting on an empty entry returns (as a miss) once the entry is spilled
+		TestEntry e = new TestEntry();
+		CompletableFuture<MatrixBlock> reader = CompletableFuture.supplyAsync(e::getMBValue);
+		Thread.sleep(100);
+		e.spill();
+		Assert.assertNull(reader.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testWakeupOnValue() throws Exception {
+		TestEntry e = new TestEntry();
+		CompletableFuture<MatrixBlock> reader = CompletableFuture.supplyAsync(e::getMBValue);
+		Thread.sleep(100);
+		MatrixBlock mb = new MatrixBlock(2, 2, 1.0);
+		e.setValue(mb, 1);
+		Assert.assertSame(mb, reader.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testSpilledEntryNoWait() throws Exception {
+		// a reader of a spilled entry returns immediately (as a miss)
+		TestEntry e = new TestEntry();
+		e.setValue(new MatrixBlock(2, 2, 1.0), 1);
+		e.spill();
+		Assert.assertNull(CompletableFuture.supplyAsync(e::getMBValue).get(10, TimeUnit.SECONDS));
+	}
+
+	private static class TestEntry extends LineageCacheEntry {
+		public TestEntry() {
+			// placeholder of an executing thread (empty entry)
+			super(new LineageItem("x"), DataType.MATRIX, null, null, 0);
+		}
+
+		public void spill() {
+			setSpilled();
+		}
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.lineage;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.runtime.lineage.Lineage;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheStatistics;
+import org.apache.sysds.runtime.lineage.LineagePersistentCache;
+import org.apache.sysds.runtime.matrix.data.MatrixValue;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class PersistentReuseTest extends LineageBase {
+
+	protected static final String TEST_DIR = "functions/lineage/";
+	protected static final String TEST_NAME1 = "PersistentReuse1";
+
+	protected String TEST_CLASS_DIR = TEST_DIR + PersistentReuseTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemDS-config-persistent.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+	private final static File   CACHE_DIR = new File("target/testTemp/functions/lineage/PersistentReuseTest/lincache");
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1));
+	}
+
+	@Test
+	public void testReuseAcrossRuns() {
+		runTest(TEST_NAME1);
+	}
+
+	public void runTest(String testname) {
+		long oldMinComputeTime = LineagePersistentCache.getMinComputeTime();
+		try {
+			getAndLoadTestConfiguration(testname);
+			fullDMLScriptName = getScript();
+			FileUtils.deleteQuietly(CACHE_DIR);
+			LineagePersistentCache.setMinComputeTime(0);
+			programArgs = new String[] {"-stats", "-lineage", ReuseCacheType.REUSE_FULL.name().toLowerCase(),
+				"-args", input("X"), output("R")};
+			double[][] X = getRandomMatrix(500, 50, 0, 1, 1.0, 7);
+			writeInputMatrixWithMTD("X", X, true);
+
+			// first run: compute and persist the intermediates
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R1 = readDMLMatrixFromOutputDir("R");
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistentHits());
+			Assert.assertTrue(LineageCacheStatistics.getPersistentWrites() > 0);
+			Assert.assertEquals(1, Statistics.getCPHeavyHitterCount("tsmm"));
+			for( String fname : CACHE_DIR.list() ) //named by SHA-256 digest
+				Assert.assertTrue(fname, fname.matches("[0-9a-f]{64}\\.lin"));
+
+			// second run with empty in-memory cache: reuse from the persistent cache
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			HashMap<MatrixValue.CellIndex, Double> R2 = readDMLMatrixFromOutputDir("R");
+			Assert.assertTrue(LineageCacheStatistics.getPersistentHits() > 0);
+			Assert.assertEquals(0, Statistics.getCPHeavyHitterCount("tsmm"));
+			TestUtils.compareMatrices(R1, R2, 1e-10, "run1", "run2");
+
+			// third run with modified input file: no reuse of stale entries
+			writeInputMatrixWithMTD("X", getRandomMatrix(500, 50, 0, 1, 1.0, 8), true);
+			Lineage.resetInternalState();
+			runTest(true, EXCEPTION_NOT_EXPECTED, null, -1);
+			Assert.assertEquals(0, LineageCacheStatistics.getPersistentHits());
+			Assert.assertEquals(1, Statistics.getCPHeavyHitterCount("tsmm"));
+		}
+		finally {
+			LineagePersistentCache.setMinComputeTime(oldMinComputeTime);
+			FileUtils.deleteQuietly(CACHE_DIR);
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.util.HashMap;
+
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class ParamservCombinePushesTest extends AutomatedTestBase {
+
+	private static final String TEST_NAME = "paramserv-combine";
+
+	private static final String TEST_DIR = "functions/paramserv/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ParamservCombinePushesTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+
+	@Test
+	public void testParamservASPWithoutCombine() {
+		runDMLTest(4, 2, false);
+	}
+
+	@Test
+	public void testParamservASPCombine() {
+		runDMLTest(4, 2, true);
+	}
+
+	@Test
+	public void testParamservASPCombineManyWorkers() {
+		runDMLTest(16, 3, true);
+	}
+
+	private void runDMLTest(int workers, int epochs, boolean combine) {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		programArgs = new String[] {"-stats", "-nvargs", "workers=" + workers, "epochs=" + epochs,
+			"combine=" + String.valueOf(combine).toUpperCase(), "out=" + output("R")};
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+		runTest(true, false, null, -1);
+
+		// all pushes are applied exactly once, independent of combining
+		int pushes = workers * (int) Math.ceil(64d / workers / 8) * epochs;
+		HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+		HashMap<CellIndex, Double> expected = new HashMap<>();
+		for(int i = 1; i <= 9; i++)
+			expected.put(new CellIndex(i, 1), (double) (i <= 6 ? pushes : 2 * pushes));
+		TestUtils.compareMatrices(expected, R, 0, "Expected", "Result");
+		if(combine) {
+			Assert.assertEquals(pushes, ParamServStatistics.getCombinedPushes());
+			Assert.assertTrue(ParamServStatistics.getCombinedUpdates() <= pushes);
+		}
+	}
+}
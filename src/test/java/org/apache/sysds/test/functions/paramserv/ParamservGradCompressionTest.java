@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.paramserv;
+
+import java.util.HashMap;
+
+import org.apache.sysds.parser.Statement.PSGradCompression;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class ParamservGradCompressionTest extends AutomatedTestBase {
+
+	private static final String TEST_NAME = "paramserv-compression";
+
+	private static final String TEST_DIR = "functions/paramserv/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + ParamservGradCompressionTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+
+	@Test
+	public void testParamservNoCompression() {
+		runDMLTest(PSGradCompression.NONE);
+	}
+
+	@Test
+	public void testParamservTopKCompression() {
+		runDMLTest(PSGradCompression.TOPK);
+	}
+
+	@Test
+	public void testParamservQuantizeCompression() {
+		runDMLTest(PSGradCompression.QUANTIZE);
+	}
+
+	private void runDMLTest(PSGradCompression compression) {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		programArgs = new String[] {"-stats", "-nvargs", "workers=2", "epochs=2",
+			"compression=" + compression, "out=" + output("R")};
+		fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+		runTest(true, false, null, -1);
+
+		int pushes = 64 / 8 * 2;
+		HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+		if(compression == PSGradCompression.TOPK) {
+			// with error feedback, at most one update per cell is still pending in the residuals
+			double sum = 0;
+			for(int i = 1; i <= 9; i++) {
+				double v = R.get(new CellIndex(i, 1));
+				double max = (i <= 6 ? 1 : 2) * pushes;
+				Assert.assertTrue(v <= max && v >= max - (i <= 6 ? 2 : 4) * 2);
+				sum += v;
+			}
+			Assert.assertTrue(sum > 0.9 * pushes * 12);
+		}
+		else {
+			// constant gradients are quantized without error (or pushed uncompressed)
+			HashMap<CellIndex, Double> expected = new HashMap<>();
+			for(int i = 1; i <= 9; i++)
+				expected.put(new CellIndex(i, 1), (double) (i <= 6 ? pushes : 2 * pushes));
+			TestUtils.compareMatrices(expected, R, 1e-10, "Expected", "Result");
+		}
+		Assert.assertEquals(compression == PSGradCompression.NONE ? 0 : pushes,
+			ParamServStatistics.getCompressedPushes());
+	}
+}